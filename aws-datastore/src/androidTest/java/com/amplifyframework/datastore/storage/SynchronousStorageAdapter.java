@@ -21,6 +21,8 @@ import androidx.annotation.NonNull;
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.query.Aggregate;
+import com.amplifyframework.core.model.query.AggregateResult;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
@@ -172,6 +174,52 @@ public final class SynchronousStorageAdapter {
         );
     }
 
+    /**
+     * Delete a batch of models, and then save another batch of models, as a single atomic
+     * write. Expect success.
+     * @param deletions Models to delete
+     * @param saves Models to save, after the deletions
+     * @param <T> Type of models being written
+     * @return One change per model: first for each of the deletions, and then for each of the saves
+     * @throws DataStoreException On any failure to write the models
+     */
+    public <T extends Model> List<StorageItemChange<T>> writeAll(
+            @NonNull List<T> deletions, @NonNull List<T> saves) throws DataStoreException {
+        return Await.result(
+            operationTimeoutMs,
+            (Consumer<List<StorageItemChange<T>>> onResult, Consumer<DataStoreException> onError) ->
+                asyncDelegate.writeAll(
+                    deletions,
+                    saves,
+                    StorageItemChange.Initiator.DATA_STORE_API,
+                    onResult,
+                    onError
+                )
+        );
+    }
+
+    /**
+     * Try to delete a batch of models and save another, but /expect/ it not to work.
+     * @param deletions Models to delete
+     * @param saves Models to save, after the deletions
+     * @param <T> Type of models being written
+     * @return The exception that was raised while attempting the write
+     */
+    public <T extends Model> DataStoreException writeAllExpectingError(
+            @NonNull List<T> deletions, @NonNull List<T> saves) {
+        return Await.error(
+            operationTimeoutMs,
+            (Consumer<List<StorageItemChange<T>>> onResult, Consumer<DataStoreException> onError) ->
+                asyncDelegate.writeAll(
+                    deletions,
+                    saves,
+                    StorageItemChange.Initiator.DATA_STORE_API,
+                    onResult,
+                    onError
+                )
+        );
+    }
+
     /**
      * Query the storage adapter for models of a given class.
      * @param modelClass Class of models being queried
@@ -206,6 +254,47 @@ public final class SynchronousStorageAdapter {
         return resultSet;
     }
 
+    /**
+     * Stream the models of a given class which meet some criteria from the storage adapter,
+     * and collect them into a list once the stream has completed.
+     * @param modelClass Class of models being queried
+     * @param options Query options with predicate and pagination info
+     * @param <T> Type of model being queried
+     * @return The list of models which were streamed, in the order they were emitted
+     * @throws DataStoreException On any failure to query the storage adapter
+     */
+    public <T extends Model> List<T> queryStream(@NonNull Class<T> modelClass, @NonNull QueryOptions options)
+            throws DataStoreException {
+        return Await.result(
+            operationTimeoutMs,
+            (Consumer<List<T>> onResult, Consumer<DataStoreException> onError) -> {
+                final List<T> resultSet = new ArrayList<>();
+                asyncDelegate.queryStream(modelClass, options, resultSet::add, onError,
+                    () -> onResult.accept(resultSet));
+            }
+        );
+    }
+
+    /**
+     * Compute an aggregate over the models of a given class which meet a predicate.
+     * @param modelClass Class of models being aggregated
+     * @param aggregate The aggregate to compute
+     * @param predicate Condition that the aggregated models meet
+     * @param <T> Type of model being aggregated
+     * @return The result for each group of models
+     * @throws DataStoreException On any failure to compute the aggregate
+     */
+    public <T extends Model> List<AggregateResult> aggregate(
+            @NonNull Class<T> modelClass,
+            @NonNull Aggregate aggregate,
+            @NonNull QueryPredicate predicate) throws DataStoreException {
+        return Await.result(
+            operationTimeoutMs,
+            (Consumer<List<AggregateResult>> onResult, Consumer<DataStoreException> onError) ->
+                asyncDelegate.aggregate(modelClass, aggregate, predicate, onResult, onError)
+        );
+    }
+
     /**
      * Delete a model, unconditionally. Expect success.
      * @param model A model to be deleted
@@ -15,9 +15,12 @@
 
 package com.amplifyframework.datastore.storage.sqlite;
 
+import com.amplifyframework.core.model.query.Aggregate;
+import com.amplifyframework.core.model.query.AggregateResult;
 import com.amplifyframework.core.model.query.Page;
 import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.StrictMode;
 import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
@@ -124,6 +127,70 @@ public final class SQLiteStorageAdapterQueryTest {
         );
     }
 
+    /**
+     * Test that streaming a query emits each of the saved items that match it,
+     * along with the items that they belong to.
+     * @throws DataStoreException On unexpected failure manipulating items in/out of DataStore
+     */
+    @Test
+    public void queryStreamEmitsMatchingItems() throws DataStoreException {
+        final BlogOwner blogOwner = BlogOwner.builder()
+            .name("Alan Turing")
+            .build();
+        adapter.save(blogOwner);
+        final List<Blog> savedModels = new ArrayList<>();
+        final int numModels = 10;
+        for (int counter = 0; counter < numModels; counter++) {
+            final Blog blog = Blog.builder()
+                .name("namePrefix:" + counter)
+                .owner(blogOwner)
+                .build();
+            adapter.save(blog);
+            savedModels.add(blog);
+        }
+
+        assertEquals(
+            new HashSet<>(savedModels),
+            new HashSet<>(adapter.queryStream(Blog.class, Where.matches(Blog.NAME.beginsWith("namePrefix:"))))
+        );
+    }
+
+    /**
+     * Test that an aggregate is computed for each group of the items which match a predicate,
+     * with the group's values of the grouping fields.
+     * @throws DataStoreException On unexpected failure manipulating items in/out of DataStore
+     */
+    @Test
+    public void aggregateIsComputedForEachGroup() throws DataStoreException {
+        BlogOwner blogOwner = BlogOwner.builder().name("Test Dummy").build();
+        adapter.save(blogOwner);
+        Blog blog = Blog.builder().name("Blogging for Dummies").owner(blogOwner).build();
+        adapter.save(blog);
+        final int numModels = 10;
+        for (int counter = 0; counter < numModels; counter++) {
+            adapter.save(Post.builder()
+                .title("title:" + counter)
+                .status(counter % 2 == 0 ? PostStatus.ACTIVE : PostStatus.INACTIVE)
+                .rating(counter)
+                .blog(blog)
+                .build());
+        }
+
+        assertEquals(
+            Collections.singletonList(new AggregateResult(Collections.emptyMap(), 7L)),
+            adapter.aggregate(Post.class, Aggregate.count(), Post.RATING.gt(2))
+        );
+        assertEquals(
+            new HashSet<>(Arrays.asList(
+                new AggregateResult(Collections.<String, Object>singletonMap("status", PostStatus.ACTIVE), 20L),
+                new AggregateResult(Collections.<String, Object>singletonMap("status", PostStatus.INACTIVE), 25L)
+            )),
+            new HashSet<>(adapter.aggregate(
+                Post.class, Aggregate.sum(Post.RATING).groupedBy(Post.STATUS), QueryPredicates.all()
+            ))
+        );
+    }
+
     /**
      * Test that querying the saved item with a foreign key
      * also populates that instance variable with object.
@@ -380,6 +447,90 @@ public final class SQLiteStorageAdapterQueryTest {
         assertEquals(1, result.size());
     }
 
+    /**
+     * When paging through sorted items by the last seen item, every item is returned exactly once,
+     * in order of the sort key and then the id, even when many items share the same sort key.
+     * @throws DataStoreException On failure to arrange items into store, or from the query action itself
+     */
+    @Test
+    public void queryWithKeysetPaginationVisitsEachItemOnce() throws DataStoreException {
+        final int pageSize = 2;
+        List<String> names = Arrays.asList("Joe", "Joe", "Joe", "Bob", "Bob", "Bob", "Dan", "Dan", "Dan");
+        List<BlogOwner> owners = new ArrayList<>();
+        for (String name : names) {
+            BlogOwner owner = BlogOwner.builder()
+                    .name(name)
+                    .build();
+            adapter.save(owner);
+            owners.add(owner);
+        }
+
+        List<BlogOwner> result = new ArrayList<>();
+        List<BlogOwner> page = adapter.query(
+            BlogOwner.class,
+            Where.sorted(BlogOwner.NAME.descending()).paginated(Page.firstPage().withLimit(pageSize))
+        );
+        while (!page.isEmpty()) {
+            assertTrue(page.size() <= pageSize);
+            result.addAll(page);
+            page = adapter.query(
+                BlogOwner.class,
+                Where.sorted(BlogOwner.NAME.descending())
+                    .paginated(Page.startingAfter(page.get(page.size() - 1)).withLimit(pageSize))
+            );
+        }
+
+        List<BlogOwner> sorted = new ArrayList<>(owners);
+        Collections.sort(sorted, Comparator
+                .comparing(BlogOwner::getName)
+                .reversed()
+                .thenComparing(BlogOwner::getId)
+        );
+        assertEquals(sorted, result);
+    }
+
+    /**
+     * When paging by the last seen item across items whose sort key is null, every item is still
+     * returned exactly once. Nulls sort first, in ascending order.
+     * @throws DataStoreException On failure to arrange items into store, or from the query action itself
+     */
+    @Test
+    public void queryWithKeysetPaginationAcrossNullSortKeys() throws DataStoreException {
+        final int pageSize = 2;
+        List<String> weas = Arrays.asList(null, "ther", null, "sel", null, "ther", null);
+        List<BlogOwner> owners = new ArrayList<>();
+        for (String wea : weas) {
+            BlogOwner owner = BlogOwner.builder()
+                    .name("Tim")
+                    .wea(wea)
+                    .build();
+            adapter.save(owner);
+            owners.add(owner);
+        }
+
+        List<BlogOwner> result = new ArrayList<>();
+        List<BlogOwner> page = adapter.query(
+            BlogOwner.class,
+            Where.sorted(BlogOwner.WEA.ascending()).paginated(Page.firstPage().withLimit(pageSize))
+        );
+        while (!page.isEmpty()) {
+            assertTrue(page.size() <= pageSize);
+            result.addAll(page);
+            page = adapter.query(
+                BlogOwner.class,
+                Where.sorted(BlogOwner.WEA.ascending())
+                    .paginated(Page.startingAfter(page.get(page.size() - 1)).withLimit(pageSize))
+            );
+        }
+
+        List<BlogOwner> sorted = new ArrayList<>(owners);
+        Collections.sort(sorted, Comparator
+                .comparing(BlogOwner::getWea, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparing(BlogOwner::getId)
+        );
+        assertEquals(sorted, result);
+    }
+
     /**
      * Test query with order by.  Validate that a list of BlogOwners can be sorted first by name in descending order,
      * then by wea in ascending order.
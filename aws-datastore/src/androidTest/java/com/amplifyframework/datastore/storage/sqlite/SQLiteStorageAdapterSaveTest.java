@@ -147,6 +147,30 @@ public final class SQLiteStorageAdapterSaveTest {
         assertTrue(blogOwners.contains(tony));
     }
 
+    /**
+     * Assert that an item with null optional values can be saved, and then updated. Before an
+     * update, the item is compared to the stored row, with its null values bound as SQL NULL.
+     * @throws DataStoreException from possible underlying DataStore exceptions
+     */
+    @Test
+    public void saveModelWithNullsUpdatesData() throws DataStoreException {
+        final BlogOwner tony = BlogOwner.builder()
+            .name("Tony Danielsen")
+            .wea(null)
+            .build();
+        adapter.save(tony);
+
+        final BlogOwner anthony = tony.copyOfBuilder()
+            .name("Anthony Danielsen")
+            .build();
+        adapter.save(anthony);
+
+        // Get the BlogOwner from the database
+        final List<BlogOwner> blogOwners = adapter.query(BlogOwner.class);
+        assertEquals(1, blogOwners.size());
+        assertTrue(blogOwners.contains(anthony));
+    }
+
     /**
      * Assert that save stores foreign key in the SQLite database correctly.
      * @throws DataStoreException from possible underlying DataStore exceptions
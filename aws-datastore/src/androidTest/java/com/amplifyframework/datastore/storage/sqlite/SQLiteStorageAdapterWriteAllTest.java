@@ -0,0 +1,185 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.util.Log;
+
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.StrictMode;
+import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
+import com.amplifyframework.testmodels.commentsblog.AmplifyModelProvider;
+import com.amplifyframework.testmodels.commentsblog.Blog;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import io.reactivex.rxjava3.observers.TestObserver;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test the batched write functionality of {@link SQLiteStorageAdapter}, which deletes
+ * and saves many models in a single transaction.
+ */
+public final class SQLiteStorageAdapterWriteAllTest {
+    private SynchronousStorageAdapter adapter;
+
+    /**
+     * Enables strict mode, for the purpose of catching some common errors while using
+     * a SQL data-base, such as forgetting to close it when done.
+     */
+    @BeforeClass
+    public static void enableStrictMode() {
+        StrictMode.enable();
+    }
+
+    /**
+     * Clear the storage adapter, and then provision a new one that will allow us
+     * to store the Comments-Blog models.
+     */
+    @Before
+    public void setup() {
+        TestStorageAdapter.cleanup();
+        this.adapter = TestStorageAdapter.create(AmplifyModelProvider.getInstance());
+    }
+
+    /**
+     * Close the storage adapter, and cleanup any database files it left.
+     */
+    @After
+    public void teardown() {
+        TestStorageAdapter.cleanup(adapter);
+    }
+
+    /**
+     * The changes of a batched write are reported in a fixed order: one for each of the
+     * deletions, and then one for each of the saves, in the order in which they were given.
+     * The sync engine relies on this order to tell the changes to models apart from the
+     * changes to their metadata.
+     * @throws DataStoreException On unexpected failure manipulating items in/out of DataStore
+     */
+    @Test
+    public void writeAllReportsDeletionsThenSaves() throws DataStoreException {
+        final BlogOwner raphael = BlogOwner.builder()
+            .name("Raphael Kim")
+            .build();
+        final BlogOwner ghost = BlogOwner.builder()
+            .name("Never Saved")
+            .build();
+        final BlogOwner jameson = BlogOwner.builder()
+            .name("Jameson Williams")
+            .build();
+        final BlogOwner isla = BlogOwner.builder()
+            .name("Isla Bandar")
+            .build();
+        adapter.save(raphael);
+        adapter.save(isla);
+        final BlogOwner renamedIsla = isla.copyOfBuilder()
+            .name("Isla Bandar-Kim")
+            .build();
+
+        List<StorageItemChange<BlogOwner>> changes =
+            adapter.writeAll(Arrays.asList(raphael, ghost), Arrays.asList(jameson, renamedIsla));
+
+        List<StorageItemChange.Type> types = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        for (StorageItemChange<BlogOwner> change : changes) {
+            types.add(change.type());
+            ids.add(change.item().getId());
+        }
+        assertEquals(Arrays.asList(
+            StorageItemChange.Type.DELETE,
+            StorageItemChange.Type.DELETE,
+            StorageItemChange.Type.CREATE,
+            StorageItemChange.Type.UPDATE
+        ), types);
+        assertEquals(Arrays.asList(raphael.getId(), ghost.getId(), jameson.getId(), isla.getId()), ids);
+        assertEquals(
+            new HashSet<>(Arrays.asList(jameson, renamedIsla)),
+            new HashSet<>(adapter.query(BlogOwner.class))
+        );
+    }
+
+    /**
+     * The deletion of a model which is not in the database is reported to the caller, but
+     * it is not published to the observers of the storage, since nothing changed.
+     * @throws DataStoreException On unexpected failure manipulating items in/out of DataStore
+     */
+    @Test
+    public void writeAllDoesNotPublishDeletionOfMissingModel() throws DataStoreException {
+        final BlogOwner ghost = BlogOwner.builder()
+            .name("Never Saved")
+            .build();
+        final BlogOwner jameson = BlogOwner.builder()
+            .name("Jameson Williams")
+            .build();
+        TestObserver<String> changeObserver = adapter.observe()
+            .filter(change -> BlogOwner.class.getSimpleName().equals(change.modelSchema().getName()))
+            .map(change -> change.type() + " " + change.item().getId())
+            .test();
+
+        List<StorageItemChange<BlogOwner>> changes =
+            adapter.writeAll(Collections.singletonList(ghost), Collections.singletonList(jameson));
+
+        assertEquals(2, changes.size());
+        changeObserver.assertValues(StorageItemChange.Type.CREATE + " " + jameson.getId());
+        assertEquals(Collections.singletonList(jameson), adapter.query(BlogOwner.class));
+    }
+
+    /**
+     * When any model of a batched write fails to be written, none of the deletions or
+     * saves take effect, and nothing is published to the observers of the storage.
+     * @throws DataStoreException On unexpected failure manipulating items in/out of DataStore
+     */
+    @Test
+    public void writeAllIsAtomic() throws DataStoreException {
+        final BlogOwner alan = BlogOwner.builder()
+            .name("Alan Turing")
+            .build();
+        adapter.save(alan);
+        final BlogOwner jameson = BlogOwner.builder()
+            .name("Jameson Williams")
+            .build();
+        final Blog orphanedBlog = Blog.builder()
+            .name("Nobody's Blog")
+            .owner(BlogOwner.builder()
+                .name("Susan Swanson")
+                .build())
+            .build();
+        TestObserver<StorageItemChange<? extends Model>> changeObserver = adapter.observe().test();
+
+        DataStoreException error = adapter.<Model>writeAllExpectingError(
+            Collections.singletonList(alan), Arrays.asList(jameson, orphanedBlog));
+
+        assertThat(Log.getStackTraceString(error), containsString("FOREIGN KEY constraint failed"));
+        changeObserver.assertNoValues();
+        assertEquals(Collections.singletonList(alan), adapter.query(BlogOwner.class));
+        assertEquals(Collections.emptyList(), adapter.query(Blog.class));
+    }
+}
@@ -17,9 +17,11 @@ package com.amplifyframework.datastore.storage.sqlite;
 
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.os.Build;
 import androidx.test.core.app.ApplicationProvider;
 
 import com.amplifyframework.core.Amplify;
+import com.amplifyframework.datastore.StorageConfiguration;
 import com.amplifyframework.datastore.StrictMode;
 import com.amplifyframework.logging.Logger;
 
@@ -33,15 +35,22 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 
 /**
  * Test the functions of {@link SQLiteStorageHelper}.
  */
 public class SQLiteStorageHelperInstrumentedTest {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore:test");
+    private static final String TUNED_DATABASE_NAME = "AmplifyDatastoreTuned.db";
+    private static final long READ_TIMEOUT_SECONDS = 5;
 
     private SQLiteStorageHelper sqLiteStorageHelper;
     private SQLiteDatabase sqLiteDatabase;
@@ -125,6 +134,82 @@ public class SQLiteStorageHelperInstrumentedTest {
         }
     }
 
+    /**
+     * With write-ahead logging, the database keeps a pool of connections. The configured
+     * synchronous mode is used by the primary connection, on which a transaction writes, and
+     * by the connection on which another thread reads while that transaction is open.
+     * The framework applies the mode to every connection from API 28.
+     * @throws Exception On failure to read from the other thread
+     */
+    @Test
+    public void synchronousModeAppliesToWriteAndReadConnections() throws Exception {
+        assumeTrue(Build.VERSION.SDK_INT >= Build.VERSION_CODES.P);
+        // EXTRA is unlikely to be the platform's default, unlike NORMAL and FULL.
+        StorageConfiguration storageConfiguration = StorageConfiguration.builder()
+            .writeAheadLoggingEnabled(true)
+            .synchronousMode(StorageConfiguration.SynchronousMode.EXTRA)
+            .build();
+        assertSynchronousMode(storageConfiguration, 3);
+    }
+
+    /**
+     * Without write-ahead logging, the database has a single connection, which uses the
+     * configured synchronous mode on any API level.
+     * @throws Exception On failure to read from the other thread
+     */
+    @Test
+    public void synchronousModeAppliesWithoutWriteAheadLogging() throws Exception {
+        StorageConfiguration storageConfiguration = StorageConfiguration.builder()
+            .writeAheadLoggingEnabled(false)
+            .synchronousMode(StorageConfiguration.SynchronousMode.OFF)
+            .build();
+        assertSynchronousMode(storageConfiguration, 0);
+    }
+
+    private void assertSynchronousMode(StorageConfiguration storageConfiguration, long expectedMode)
+            throws Exception {
+        SQLiteStorageHelper tunedStorageHelper = SQLiteStorageHelper.getInstance(
+                ApplicationProvider.getApplicationContext(),
+                TUNED_DATABASE_NAME,
+                1,
+                new CreateSqlCommands(createTableCommands, Collections.emptySet()),
+                storageConfiguration);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            SQLiteDatabase tunedDatabase = tunedStorageHelper.getWritableDatabase();
+            assertEquals(expectedMode, readSynchronousMode(tunedDatabase));
+
+            // A transaction holds the primary connection, on which all writes are made.
+            // While it is open, a read on another thread is made on one of the other
+            // connections of the pool. Without write-ahead logging, there are none.
+            tunedDatabase.beginTransaction();
+            try {
+                assertEquals(expectedMode, readSynchronousMode(tunedDatabase));
+                if (storageConfiguration.isWriteAheadLoggingEnabled()) {
+                    long modeOnConcurrentRead = reader.submit(() -> readSynchronousMode(tunedDatabase))
+                        .get(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    assertEquals(expectedMode, modeOnConcurrentRead);
+                }
+            } finally {
+                tunedDatabase.endTransaction();
+            }
+            long modeOnRead = reader.submit(() -> readSynchronousMode(tunedDatabase))
+                .get(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertEquals(expectedMode, modeOnRead);
+        } finally {
+            reader.shutdownNow();
+            tunedStorageHelper.close();
+            ApplicationProvider.getApplicationContext().deleteDatabase(TUNED_DATABASE_NAME);
+        }
+    }
+
+    private static long readSynchronousMode(SQLiteDatabase sqLiteDatabase) {
+        try (Cursor cursor = sqLiteDatabase.rawQuery("PRAGMA synchronous;", null)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getLong(0);
+        }
+    }
+
     private List<String> getTableNames(SQLiteDatabase sqLiteDatabase) {
         final ArrayList<String> tableNamesFromDatabase = new ArrayList<>();
         final String queryString = "SELECT name FROM sqlite_master WHERE type='table'";
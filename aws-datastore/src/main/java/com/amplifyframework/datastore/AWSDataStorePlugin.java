@@ -32,6 +32,8 @@ import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelProvider;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.query.Aggregate;
+import com.amplifyframework.core.model.query.AggregateResult;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
@@ -50,6 +52,7 @@ import com.amplifyframework.logging.Logger;
 import org.json.JSONObject;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -87,7 +90,8 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
             @NonNull ModelSchemaRegistry modelSchemaRegistry,
             @NonNull ApiCategory api,
             @Nullable DataStoreConfiguration userProvidedConfiguration) {
-        this.sqliteStorageAdapter = SQLiteStorageAdapter.forModels(modelSchemaRegistry, modelProvider);
+        this.sqliteStorageAdapter = SQLiteStorageAdapter.forModels(
+            modelSchemaRegistry, modelProvider, () -> pluginConfiguration);
         this.categoryInitializationsPending = new CountDownLatch(1);
         // Used to interrogate plugins, to understand if sync should be automatically turned on
         this.atlasvOrchestrator = new AtlasvOrchestrator(
@@ -111,7 +115,8 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
 
         ApiCategory api = builder.apiCategory == null ? Amplify.API : builder.apiCategory;
         this.userProvidedConfiguration = builder.dataStoreConfiguration;
-        this.sqliteStorageAdapter = SQLiteStorageAdapter.forModels(modelSchemaRegistry, modelProvider);
+        this.sqliteStorageAdapter = SQLiteStorageAdapter.forModels(
+            modelSchemaRegistry, modelProvider, () -> pluginConfiguration);
         this.categoryInitializationsPending = new CountDownLatch(1);
 
         // Used to interrogate plugins, to understand if sync should be automatically turned on
@@ -468,6 +473,31 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
         start(() -> sqliteStorageAdapter.query(itemClass, options, onQueryResults, onQueryFailure), onQueryFailure);
     }
 
+    @Override
+    public <T extends Model> void queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<Cancelable> onQueryStarted,
+            @NonNull Consumer<T> onQueryResult,
+            @NonNull Consumer<DataStoreException> onQueryFailure,
+            @NonNull Action onQueryCompleted) {
+        start(() -> onQueryStarted.accept(sqliteStorageAdapter.queryStream(
+            itemClass, options, onQueryResult, onQueryFailure, onQueryCompleted
+        )), onQueryFailure);
+    }
+
+    @Override
+    public <T extends Model> void aggregate(
+            @NonNull Class<T> itemClass,
+            @NonNull Aggregate aggregate,
+            @NonNull QueryPredicate predicate,
+            @NonNull Consumer<List<AggregateResult>> onAggregateResults,
+            @NonNull Consumer<DataStoreException> onAggregateFailure) {
+        start(() -> sqliteStorageAdapter.aggregate(
+            itemClass, aggregate, predicate, onAggregateResults, onAggregateFailure
+        ), onAggregateFailure);
+    }
+
     @Override
     public void observe(
             @NonNull Consumer<Cancelable> onObservationStarted,
@@ -584,6 +614,28 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
         onObservationFailure.accept(new DataStoreException("Not implemented yet, buster!", "Check back later!"));
     }
 
+    @Override
+    public <T extends Model> void observeQuery(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<Cancelable> onObservationStarted,
+            @NonNull Consumer<DataStoreQuerySnapshot<T>> onQuerySnapshot,
+            @NonNull Consumer<DataStoreException> onObservationFailure,
+            @NonNull Action onObservationCompleted) {
+        start(() -> {
+            ObserveQueryManager<T> observeQueryManager = new ObserveQueryManager<>(
+                sqliteStorageAdapter,
+                itemClass,
+                options,
+                pluginConfiguration.getObserveQueryMaxRecords(),
+                pluginConfiguration.getObserveQueryMaxTimeMs(),
+                Schedulers.computation()
+            );
+            onObservationStarted.accept(
+                observeQueryManager.start(onQuerySnapshot, onObservationFailure, onObservationCompleted));
+        }, onObservationFailure);
+    }
+
     /**
      * Creates a builder that provides available options to be set when creating
      * a DataStore plugin.
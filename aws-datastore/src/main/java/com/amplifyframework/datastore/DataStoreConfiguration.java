@@ -43,6 +43,46 @@ public final class DataStoreConfiguration {
     static final int DEFAULT_SYNC_MAX_RECORDS = 10_000;
     @VisibleForTesting 
     static final int DEFAULT_SYNC_PAGE_SIZE = 1_000;
+    /**
+     * The default number of threads on which the local storage runs queries. Writes always run
+     * on a single, separate thread.
+     */
+    public static final int DEFAULT_STORAGE_READ_POOL_SIZE = 4;
+    /**
+     * The default number of changes to the results of an observed query, after which a new
+     * snapshot of the results is emitted, even if less than the maximum time has passed.
+     */
+    public static final int DEFAULT_OBSERVE_QUERY_MAX_RECORDS = 1_000;
+    /**
+     * The default time, in milliseconds, during which changes to the results of an observed query
+     * are gathered into a single snapshot.
+     */
+    public static final long DEFAULT_OBSERVE_QUERY_MAX_TIME_MS = 2_000;
+    /**
+     * The default number of pages which a sync fetches from the network at the same time,
+     * across all models.
+     */
+    public static final int DEFAULT_SYNC_MAX_CONCURRENT_FETCHES = 4;
+    /**
+     * The default number of fetched pages which a sync writes to the local storage at the same
+     * time, across all models.
+     */
+    public static final int DEFAULT_SYNC_MAX_CONCURRENT_WRITES = 2;
+    /**
+     * The default number of fetched pages of a model which a sync holds, waiting to be written,
+     * while an earlier page of the model is being written.
+     */
+    public static final int DEFAULT_SYNC_PAGE_BUFFER_SIZE = 2;
+    /**
+     * The default number of pending mutations which are published from the outbox at the same
+     * time. By default, mutations are published one at a time, in the order they were made.
+     */
+    public static final int DEFAULT_OUTBOX_MAX_CONCURRENT_MUTATIONS = 1;
+    /**
+     * The default number of pending mutations which are sent to the backend in a single request.
+     * By default, each mutation is sent in a request of its own.
+     */
+    public static final int DEFAULT_OUTBOX_MAX_BATCH_SIZE = 1;
 
     private final DataStoreErrorHandler errorHandler;
     private final DataStoreConflictHandler conflictHandler;
@@ -52,6 +92,15 @@ public final class DataStoreConfiguration {
     private final Long syncIntervalInMinutes;
     private final Long lastDbPublishTime;
     private final Boolean mergeAllRequest;
+    private final Integer storageReadPoolSize;
+    private final StorageConfiguration storageConfiguration;
+    private final Integer observeQueryMaxRecords;
+    private final Long observeQueryMaxTimeMs;
+    private final Integer syncMaxConcurrentFetches;
+    private final Integer syncMaxConcurrentWrites;
+    private final Integer syncPageBufferSize;
+    private final Integer outboxMaxConcurrentMutations;
+    private final Integer outboxMaxBatchSize;
 
     private DataStoreConfiguration(Builder builder) {
         this.errorHandler = builder.errorHandler;
@@ -62,6 +111,15 @@ public final class DataStoreConfiguration {
         this.syncExpressions = builder.syncExpressions;
         this.lastDbPublishTime = builder.lastDbPublishTime;
         this.mergeAllRequest = builder.mergeAllRequest;
+        this.storageReadPoolSize = builder.storageReadPoolSize;
+        this.storageConfiguration = builder.storageConfiguration;
+        this.observeQueryMaxRecords = builder.observeQueryMaxRecords;
+        this.observeQueryMaxTimeMs = builder.observeQueryMaxTimeMs;
+        this.syncMaxConcurrentFetches = builder.syncMaxConcurrentFetches;
+        this.syncMaxConcurrentWrites = builder.syncMaxConcurrentWrites;
+        this.syncPageBufferSize = builder.syncPageBufferSize;
+        this.outboxMaxConcurrentMutations = builder.outboxMaxConcurrentMutations;
+        this.outboxMaxBatchSize = builder.outboxMaxBatchSize;
     }
 
     /**
@@ -115,6 +173,15 @@ public final class DataStoreConfiguration {
             .syncInterval(DEFAULT_SYNC_INTERVAL_MINUTES, TimeUnit.MINUTES)
             .syncPageSize(DEFAULT_SYNC_PAGE_SIZE)
             .syncMaxRecords(DEFAULT_SYNC_MAX_RECORDS)
+            .storageReadPoolSize(DEFAULT_STORAGE_READ_POOL_SIZE)
+            .storageConfiguration(StorageConfiguration.defaults())
+            .observeQueryMaxRecords(DEFAULT_OBSERVE_QUERY_MAX_RECORDS)
+            .observeQueryMaxTime(DEFAULT_OBSERVE_QUERY_MAX_TIME_MS, TimeUnit.MILLISECONDS)
+            .syncMaxConcurrentFetches(DEFAULT_SYNC_MAX_CONCURRENT_FETCHES)
+            .syncMaxConcurrentWrites(DEFAULT_SYNC_MAX_CONCURRENT_WRITES)
+            .syncPageBufferSize(DEFAULT_SYNC_PAGE_BUFFER_SIZE)
+            .outboxMaxConcurrentMutations(DEFAULT_OUTBOX_MAX_CONCURRENT_MUTATIONS)
+            .outboxMaxBatchSize(DEFAULT_OUTBOX_MAX_BATCH_SIZE)
             .build();
     }
 
@@ -178,6 +245,99 @@ public final class DataStoreConfiguration {
         return this.syncPageSize;
     }
 
+    /**
+     * Gets the number of threads on which the local storage runs queries, at most. Writes to the
+     * local storage always run in order, on a single separate thread.
+     * @return Size of the pool of threads which read from the local storage
+     */
+    @IntRange(from = 1)
+    public Integer getStorageReadPoolSize() {
+        return this.storageReadPoolSize;
+    }
+
+    /**
+     * Gets the options with which the local SQLite database is tuned, such as its journal mode
+     * and cache size.
+     * @return Tuning options for the local storage
+     */
+    public StorageConfiguration getStorageConfiguration() {
+        return this.storageConfiguration;
+    }
+
+    /**
+     * Gets the number of changes to the results of an observed query, after which a new snapshot
+     * of the results is emitted, even if the maximum time has not yet passed.
+     * @return Number of changes which are gathered into a snapshot, at most
+     */
+    @IntRange(from = 1)
+    public Integer getObserveQueryMaxRecords() {
+        return this.observeQueryMaxRecords;
+    }
+
+    /**
+     * Gets the time, in milliseconds, during which changes to the results of an observed query
+     * are gathered into a single snapshot. A burst of changes, such as a sync, results in one
+     * snapshot per interval, instead of one per change.
+     * @return Time during which changes are gathered into a snapshot, in milliseconds
+     */
+    @IntRange(from = 0)
+    public Long getObserveQueryMaxTimeMs() {
+        return this.observeQueryMaxTimeMs;
+    }
+
+    /**
+     * Gets the number of pages which a sync fetches from the network at the same time, across
+     * all models. A model is synced once the models it belongs to have been synced, so
+     * independent models are fetched side by side, up to this limit.
+     * @return Number of concurrent page fetches, at most
+     */
+    @IntRange(from = 1)
+    public Integer getSyncMaxConcurrentFetches() {
+        return this.syncMaxConcurrentFetches;
+    }
+
+    /**
+     * Gets the number of fetched pages which a sync writes to the local storage at the same time,
+     * across all models.
+     * @return Number of concurrent page writes, at most
+     */
+    @IntRange(from = 1)
+    public Integer getSyncMaxConcurrentWrites() {
+        return this.syncMaxConcurrentWrites;
+    }
+
+    /**
+     * Gets the number of fetched pages of a model which a sync holds, waiting to be written.
+     * The next page is fetched while the current page is written, and the fetches pause once
+     * this many pages are waiting.
+     * @return Number of pages buffered ahead of the page being written, at most
+     */
+    @IntRange(from = 1)
+    public Integer getSyncPageBufferSize() {
+        return this.syncPageBufferSize;
+    }
+
+    /**
+     * Gets the number of pending mutations which are published from the outbox at the same time.
+     * Mutations of the same model are always published one after another, in order, and are
+     * removed from the outbox in the order they were made.
+     * @return Number of mutations in flight, at most
+     */
+    @IntRange(from = 1)
+    public Integer getOutboxMaxConcurrentMutations() {
+        return this.outboxMaxConcurrentMutations;
+    }
+
+    /**
+     * Gets the number of pending mutations which are sent to the backend in a single request.
+     * A batch only ever holds one mutation of a model.
+     * @return Number of mutations in a request, at most
+     */
+    @IntRange(from = 1)
+    public Integer getOutboxMaxBatchSize() {
+        return this.outboxMaxBatchSize;
+    }
+
     public Long getLastDbPublishTime() {
         return this.lastDbPublishTime;
     }
@@ -223,6 +383,33 @@ public final class DataStoreConfiguration {
         if (!ObjectsCompat.equals(getSyncExpressions(), that.getSyncExpressions())) {
             return false;
         }
+        if (!ObjectsCompat.equals(getStorageReadPoolSize(), that.getStorageReadPoolSize())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getStorageConfiguration(), that.getStorageConfiguration())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getObserveQueryMaxRecords(), that.getObserveQueryMaxRecords())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getObserveQueryMaxTimeMs(), that.getObserveQueryMaxTimeMs())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getSyncMaxConcurrentFetches(), that.getSyncMaxConcurrentFetches())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getSyncMaxConcurrentWrites(), that.getSyncMaxConcurrentWrites())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getSyncPageBufferSize(), that.getSyncPageBufferSize())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getOutboxMaxConcurrentMutations(), that.getOutboxMaxConcurrentMutations())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getOutboxMaxBatchSize(), that.getOutboxMaxBatchSize())) {
+            return false;
+        }
         return true;
     }
 
@@ -234,6 +421,16 @@ public final class DataStoreConfiguration {
         result = 31 * result + (getSyncPageSize() != null ? getSyncPageSize().hashCode() : 0);
         result = 31 * result + (getSyncIntervalInMinutes() != null ? getSyncIntervalInMinutes().hashCode() : 0);
         result = 31 * result + (getSyncExpressions() != null ? getSyncExpressions().hashCode() : 0);
+        result = 31 * result + (getStorageReadPoolSize() != null ? getStorageReadPoolSize().hashCode() : 0);
+        result = 31 * result + (getStorageConfiguration() != null ? getStorageConfiguration().hashCode() : 0);
+        result = 31 * result + (getObserveQueryMaxRecords() != null ? getObserveQueryMaxRecords().hashCode() : 0);
+        result = 31 * result + (getObserveQueryMaxTimeMs() != null ? getObserveQueryMaxTimeMs().hashCode() : 0);
+        result = 31 * result + (getSyncMaxConcurrentFetches() != null ? getSyncMaxConcurrentFetches().hashCode() : 0);
+        result = 31 * result + (getSyncMaxConcurrentWrites() != null ? getSyncMaxConcurrentWrites().hashCode() : 0);
+        result = 31 * result + (getSyncPageBufferSize() != null ? getSyncPageBufferSize().hashCode() : 0);
+        result = 31 * result +
+            (getOutboxMaxConcurrentMutations() != null ? getOutboxMaxConcurrentMutations().hashCode() : 0);
+        result = 31 * result + (getOutboxMaxBatchSize() != null ? getOutboxMaxBatchSize().hashCode() : 0);
         return result;
     }
 
@@ -246,6 +443,15 @@ public final class DataStoreConfiguration {
             ", syncPageSize=" + syncPageSize +
             ", syncIntervalInMinutes=" + syncIntervalInMinutes +
             ", syncExpressions=" + syncExpressions +
+            ", storageReadPoolSize=" + storageReadPoolSize +
+            ", storageConfiguration=" + storageConfiguration +
+            ", observeQueryMaxRecords=" + observeQueryMaxRecords +
+            ", observeQueryMaxTimeMs=" + observeQueryMaxTimeMs +
+            ", syncMaxConcurrentFetches=" + syncMaxConcurrentFetches +
+            ", syncMaxConcurrentWrites=" + syncMaxConcurrentWrites +
+            ", syncPageBufferSize=" + syncPageBufferSize +
+            ", outboxMaxConcurrentMutations=" + outboxMaxConcurrentMutations +
+            ", outboxMaxBatchSize=" + outboxMaxBatchSize +
             '}';
     }
 
@@ -261,6 +467,15 @@ public final class DataStoreConfiguration {
         private Integer syncPageSize;
         private Long lastDbPublishTime;
         private Boolean mergeAllRequest;
+        private Integer storageReadPoolSize;
+        private StorageConfiguration storageConfiguration;
+        private Integer observeQueryMaxRecords;
+        private Long observeQueryMaxTimeMs;
+        private Integer syncMaxConcurrentFetches;
+        private Integer syncMaxConcurrentWrites;
+        private Integer syncPageBufferSize;
+        private Integer outboxMaxConcurrentMutations;
+        private Integer outboxMaxBatchSize;
         private Map<String, DataStoreSyncExpression> syncExpressions;
         private boolean ensureDefaults;
         private JSONObject pluginJson;
@@ -348,6 +563,119 @@ public final class DataStoreConfiguration {
             return Builder.this;
         }
 
+        /**
+         * Sets the number of threads on which the local storage may run queries at the same time.
+         * Writes always run in order, on a single separate thread.
+         * @param storageReadPoolSize Size of the pool of threads which read from the local storage
+         * @return Current builder
+         */
+        @NonNull
+        public Builder storageReadPoolSize(@IntRange(from = 1) Integer storageReadPoolSize) {
+            this.storageReadPoolSize = storageReadPoolSize;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the options with which the local SQLite database is tuned, such as its journal mode
+         * and cache size. The defaults suit applications which sync many models.
+         * @param storageConfiguration Tuning options for the local storage
+         * @return Current builder
+         */
+        @NonNull
+        public Builder storageConfiguration(@NonNull StorageConfiguration storageConfiguration) {
+            this.storageConfiguration = Objects.requireNonNull(storageConfiguration);
+            return Builder.this;
+        }
+
+        /**
+         * Sets the number of changes to the results of an observed query, after which a new snapshot
+         * of the results is emitted, even if the maximum time has not yet passed.
+         * @param observeQueryMaxRecords Number of changes which are gathered into a snapshot, at most
+         * @return Current builder
+         */
+        @NonNull
+        public Builder observeQueryMaxRecords(@IntRange(from = 1) Integer observeQueryMaxRecords) {
+            this.observeQueryMaxRecords = observeQueryMaxRecords;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the time during which changes to the results of an observed query are gathered into
+         * a single snapshot.
+         * @param duration The time during which changes are gathered into a snapshot
+         * @param timeUnit The time unit of the duration field
+         * @return Current builder
+         */
+        @NonNull
+        public Builder observeQueryMaxTime(@IntRange(from = 0) long duration, @NonNull TimeUnit timeUnit) {
+            this.observeQueryMaxTimeMs = timeUnit.toMillis(duration);
+            return Builder.this;
+        }
+
+        /**
+         * Sets the number of pages which a sync fetches from the network at the same time,
+         * across all models.
+         * @param syncMaxConcurrentFetches Number of concurrent page fetches, at most
+         * @return Current builder
+         */
+        @NonNull
+        public Builder syncMaxConcurrentFetches(@IntRange(from = 1) Integer syncMaxConcurrentFetches) {
+            this.syncMaxConcurrentFetches = syncMaxConcurrentFetches;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the number of fetched pages which a sync writes to the local storage at the same
+         * time, across all models.
+         * @param syncMaxConcurrentWrites Number of concurrent page writes, at most
+         * @return Current builder
+         */
+        @NonNull
+        public Builder syncMaxConcurrentWrites(@IntRange(from = 1) Integer syncMaxConcurrentWrites) {
+            this.syncMaxConcurrentWrites = syncMaxConcurrentWrites;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the number of fetched pages of a model which a sync holds, waiting to be written,
+         * before it pauses fetching. A larger buffer keeps the network busy through slow writes,
+         * at the cost of holding more records in memory.
+         * @param syncPageBufferSize Number of pages buffered ahead of the page being written, at most
+         * @return Current builder
+         */
+        @NonNull
+        public Builder syncPageBufferSize(@IntRange(from = 1) Integer syncPageBufferSize) {
+            this.syncPageBufferSize = syncPageBufferSize;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the number of pending mutations which are published from the outbox at the same
+         * time. Mutations of the same model are still published one after another, but mutations
+         * of different models may reach the backend in a different order than they were made.
+         * @param outboxMaxConcurrentMutations Number of mutations in flight, at most
+         * @return Current builder
+         */
+        @NonNull
+        public Builder outboxMaxConcurrentMutations(@IntRange(from = 1) Integer outboxMaxConcurrentMutations) {
+            this.outboxMaxConcurrentMutations = outboxMaxConcurrentMutations;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the number of pending mutations which are sent to the backend in a single request.
+         * Consecutive mutations of different models are packed into one mutation document, and
+         * each of them succeeds or fails on its own. Larger batches save requests, when many
+         * changes were made offline.
+         * @param outboxMaxBatchSize Number of mutations in a request, at most
+         * @return Current builder
+         */
+        @NonNull
+        public Builder outboxMaxBatchSize(@IntRange(from = 1) Integer outboxMaxBatchSize) {
+            this.outboxMaxBatchSize = outboxMaxBatchSize;
+            return Builder.this;
+        }
+
         /**
          * Sets a sync expression for a particular model to filter which data is synced locally.  The expression
          * is evaluated each time DataStore is started.  The QueryPredicate is applied on both sync and subscriptions.
@@ -433,6 +761,33 @@ public final class DataStoreConfiguration {
                 syncIntervalInMinutes);
             syncMaxRecords = getValueOrDefault(userProvidedConfiguration.getSyncMaxRecords(), syncMaxRecords);
             syncPageSize = getValueOrDefault(userProvidedConfiguration.getSyncPageSize(), syncPageSize);
+            storageReadPoolSize = getValueOrDefault(
+                userProvidedConfiguration.getStorageReadPoolSize(),
+                storageReadPoolSize);
+            storageConfiguration = getValueOrDefault(
+                userProvidedConfiguration.getStorageConfiguration(),
+                storageConfiguration);
+            observeQueryMaxRecords = getValueOrDefault(
+                userProvidedConfiguration.getObserveQueryMaxRecords(),
+                observeQueryMaxRecords);
+            observeQueryMaxTimeMs = getValueOrDefault(
+                userProvidedConfiguration.getObserveQueryMaxTimeMs(),
+                observeQueryMaxTimeMs);
+            syncMaxConcurrentFetches = getValueOrDefault(
+                userProvidedConfiguration.getSyncMaxConcurrentFetches(),
+                syncMaxConcurrentFetches);
+            syncMaxConcurrentWrites = getValueOrDefault(
+                userProvidedConfiguration.getSyncMaxConcurrentWrites(),
+                syncMaxConcurrentWrites);
+            syncPageBufferSize = getValueOrDefault(
+                userProvidedConfiguration.getSyncPageBufferSize(),
+                syncPageBufferSize);
+            outboxMaxConcurrentMutations = getValueOrDefault(
+                userProvidedConfiguration.getOutboxMaxConcurrentMutations(),
+                outboxMaxConcurrentMutations);
+            outboxMaxBatchSize = getValueOrDefault(
+                userProvidedConfiguration.getOutboxMaxBatchSize(),
+                outboxMaxBatchSize);
             syncExpressions = userProvidedConfiguration.getSyncExpressions();
             lastDbPublishTime = userProvidedConfiguration.lastDbPublishTime;
             mergeAllRequest = userProvidedConfiguration.mergeAllRequest;
@@ -462,6 +817,60 @@ public final class DataStoreConfiguration {
                 syncIntervalInMinutes = getValueOrDefault(syncIntervalInMinutes, DEFAULT_SYNC_INTERVAL_MINUTES);
                 syncMaxRecords = getValueOrDefault(syncMaxRecords, DEFAULT_SYNC_MAX_RECORDS);
                 syncPageSize = getValueOrDefault(syncPageSize, DEFAULT_SYNC_PAGE_SIZE);
+                storageReadPoolSize = getValueOrDefault(storageReadPoolSize, DEFAULT_STORAGE_READ_POOL_SIZE);
+                storageConfiguration = getValueOrDefault(storageConfiguration, StorageConfiguration.defaults());
+                observeQueryMaxRecords = getValueOrDefault(observeQueryMaxRecords, DEFAULT_OBSERVE_QUERY_MAX_RECORDS);
+                observeQueryMaxTimeMs = getValueOrDefault(observeQueryMaxTimeMs, DEFAULT_OBSERVE_QUERY_MAX_TIME_MS);
+                syncMaxConcurrentFetches =
+                    getValueOrDefault(syncMaxConcurrentFetches, DEFAULT_SYNC_MAX_CONCURRENT_FETCHES);
+                syncMaxConcurrentWrites =
+                    getValueOrDefault(syncMaxConcurrentWrites, DEFAULT_SYNC_MAX_CONCURRENT_WRITES);
+                syncPageBufferSize = getValueOrDefault(syncPageBufferSize, DEFAULT_SYNC_PAGE_BUFFER_SIZE);
+                outboxMaxConcurrentMutations =
+                    getValueOrDefault(outboxMaxConcurrentMutations, DEFAULT_OUTBOX_MAX_CONCURRENT_MUTATIONS);
+                outboxMaxBatchSize = getValueOrDefault(outboxMaxBatchSize, DEFAULT_OUTBOX_MAX_BATCH_SIZE);
+            }
+            if (storageReadPoolSize != null && storageReadPoolSize < 1) {
+                throw new DataStoreException(
+                    "Invalid storage read pool size: " + storageReadPoolSize,
+                    "Provide a storage read pool size of at least 1."
+                );
+            }
+            if (observeQueryMaxRecords != null && observeQueryMaxRecords < 1) {
+                throw new DataStoreException(
+                    "Invalid observe query max records: " + observeQueryMaxRecords,
+                    "Provide an observe query max records of at least 1."
+                );
+            }
+            if (syncMaxConcurrentFetches != null && syncMaxConcurrentFetches < 1) {
+                throw new DataStoreException(
+                    "Invalid sync max concurrent fetches: " + syncMaxConcurrentFetches,
+                    "Provide a sync max concurrent fetches of at least 1."
+                );
+            }
+            if (syncMaxConcurrentWrites != null && syncMaxConcurrentWrites < 1) {
+                throw new DataStoreException(
+                    "Invalid sync max concurrent writes: " + syncMaxConcurrentWrites,
+                    "Provide a sync max concurrent writes of at least 1."
+                );
+            }
+            if (syncPageBufferSize != null && syncPageBufferSize < 1) {
+                throw new DataStoreException(
+                    "Invalid sync page buffer size: " + syncPageBufferSize,
+                    "Provide a sync page buffer size of at least 1."
+                );
+            }
+            if (outboxMaxConcurrentMutations != null && outboxMaxConcurrentMutations < 1) {
+                throw new DataStoreException(
+                    "Invalid outbox max concurrent mutations: " + outboxMaxConcurrentMutations,
+                    "Provide an outbox max concurrent mutations of at least 1."
+                );
+            }
+            if (outboxMaxBatchSize != null && outboxMaxBatchSize < 1) {
+                throw new DataStoreException(
+                    "Invalid outbox max batch size: " + outboxMaxBatchSize,
+                    "Provide an outbox max batch size of at least 1."
+                );
             }
             return new DataStoreConfiguration(this);
         }
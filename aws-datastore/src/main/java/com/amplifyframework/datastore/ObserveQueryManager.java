@@ -0,0 +1,497 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.core.Action;
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.Consumer;
+import com.amplifyframework.core.async.Cancelable;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.QuerySortBy;
+import com.amplifyframework.core.model.query.QuerySortOrder;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicateGroup;
+import com.amplifyframework.core.model.query.predicate.QueryPredicateOperation;
+import com.amplifyframework.datastore.storage.LocalStorageAdapter;
+import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.logging.Logger;
+import com.amplifyframework.util.Empty;
+import com.amplifyframework.util.FieldFinder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Scheduler;
+
+/**
+ * Keeps a live snapshot of the results of a query, and emits it whenever the results change.
+ *
+ * The results are queried once, when the observation starts. After that, each change to the
+ * local storage is applied to the results in memory: the changed item is evaluated against the
+ * query's predicate, and is inserted into, replaced in, or removed from the sorted results.
+ * A query whose predicate or sort order refers to the fields of another model can't be evaluated
+ * on a single item, so its results are queried again instead, after any change.
+ *
+ * Snapshots are emitted at most once per {@link DataStoreConfiguration#getObserveQueryMaxTimeMs()},
+ * or as soon as {@link DataStoreConfiguration#getObserveQueryMaxRecords()} changes have been gathered,
+ * so that a burst of changes, such as a sync, results in a few snapshots, and not in one per change.
+ * @param <T> The type of the observed items
+ */
+final class ObserveQueryManager<T extends Model> {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+
+    private final LocalStorageAdapter localStorageAdapter;
+    private final Class<T> itemClass;
+    private final QueryOptions options;
+    private final int maxRecords;
+    private final long maxTimeMs;
+    private final Scheduler.Worker worker;
+    private final boolean evaluatedInMemory;
+    private final Comparator<T> comparator;
+
+    private final Object lock;
+    private final Map<String, T> itemsById;
+    private final List<T> sortedItems;
+    private final Map<String, T> added;
+    private final Map<String, T> changed;
+    private final Map<String, T> removed;
+    private final List<StorageItemChange<? extends Model>> bufferedChanges;
+    private int pendingChangeCount;
+    private boolean emitted;
+    private boolean querying;
+    private boolean stale;
+    private boolean ended;
+    private long lastEmissionMs;
+    private Long nextEmissionMs;
+    private Cancelable storageObservation;
+
+    private Consumer<DataStoreQuerySnapshot<T>> onQuerySnapshot;
+    private Consumer<DataStoreException> onObservationFailure;
+    private Action onObservationCompleted;
+
+    /**
+     * Constructs a manager for one observed query.
+     * @param localStorageAdapter The local storage, which is queried and observed
+     * @param itemClass The class of the observed items
+     * @param options The filtering and sorting options of the observed query
+     * @param maxRecords The number of changes after which a snapshot is emitted right away
+     * @param maxTimeMs The time, in milliseconds, during which changes are gathered into one snapshot
+     * @param scheduler The scheduler on which snapshots are emitted, one at a time
+     */
+    ObserveQueryManager(
+            @NonNull LocalStorageAdapter localStorageAdapter,
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            int maxRecords,
+            long maxTimeMs,
+            @NonNull Scheduler scheduler) {
+        this.localStorageAdapter = Objects.requireNonNull(localStorageAdapter);
+        this.itemClass = Objects.requireNonNull(itemClass);
+        this.options = Objects.requireNonNull(options);
+        this.maxRecords = maxRecords;
+        this.maxTimeMs = maxTimeMs;
+        this.worker = Objects.requireNonNull(scheduler).createWorker();
+        String modelName = itemClass.getSimpleName();
+        this.evaluatedInMemory = !referencesOtherModel(modelName, options.getQueryPredicate()) &&
+                !referencesOtherModel(modelName, options.getSortBy());
+        this.comparator = evaluatedInMemory && !Empty.check(options.getSortBy()) ?
+                new SortByComparator<>(options.getSortBy()) : null;
+        this.lock = new Object();
+        this.itemsById = new LinkedHashMap<>();
+        this.sortedItems = new ArrayList<>();
+        this.added = new LinkedHashMap<>();
+        this.changed = new LinkedHashMap<>();
+        this.removed = new LinkedHashMap<>();
+        this.bufferedChanges = new ArrayList<>();
+    }
+
+    /**
+     * Starts observing the results of the query. The local storage is observed before the results
+     * are first queried, so that no change is missed in between.
+     * @param onQuerySnapshot Called with each snapshot of the results
+     * @param onObservationFailure Called if the observation ends with a failure
+     * @param onObservationCompleted Called if the observation of the local storage completes
+     * @return A cancelable, which ends the observation
+     */
+    @NonNull
+    Cancelable start(
+            @NonNull Consumer<DataStoreQuerySnapshot<T>> onQuerySnapshot,
+            @NonNull Consumer<DataStoreException> onObservationFailure,
+            @NonNull Action onObservationCompleted) {
+        this.onQuerySnapshot = Objects.requireNonNull(onQuerySnapshot);
+        this.onObservationFailure = Objects.requireNonNull(onObservationFailure);
+        this.onObservationCompleted = Objects.requireNonNull(onObservationCompleted);
+        if (options.getPaginationInput() != null || !Empty.check(options.getProjection())) {
+            fail(new DataStoreException(
+                "Unable to observe a query of " + itemClass.getSimpleName() + " which is paginated or projected.",
+                "Observe a query without pagination or projection."
+            ));
+            return this::cancel;
+        }
+        Cancelable observation = localStorageAdapter.observe(this::onItemChange, this::fail, this::complete);
+        synchronized (lock) {
+            storageObservation = observation;
+            if (ended) {
+                observation.cancel();
+                return this::cancel;
+            }
+            query();
+        }
+        return this::cancel;
+    }
+
+    private void onItemChange(StorageItemChange<? extends Model> change) {
+        synchronized (lock) {
+            if (ended) {
+                return;
+            }
+            if (querying) {
+                bufferedChanges.add(change);
+            } else if (apply(change)) {
+                scheduleEmission();
+            }
+        }
+    }
+
+    // Applies a change to the results, and returns whether the results may have changed.
+    // Must be called while holding the lock.
+    private boolean apply(StorageItemChange<? extends Model> change) {
+        if (!evaluatedInMemory) {
+            // Any change might affect the results, since they depend on other models.
+            stale = true;
+            return true;
+        }
+        if (!change.modelSchema().getName().equals(itemClass.getSimpleName())) {
+            return false;
+        }
+        Model changedItem = change.item();
+        if (!itemClass.isInstance(changedItem)) {
+            // A serialized form of the model can't be compared against the results.
+            stale = true;
+            return true;
+        }
+        T item = itemClass.cast(changedItem);
+        T previous = itemsById.get(item.getId());
+        boolean matches;
+        try {
+            matches = !StorageItemChange.Type.DELETE.equals(change.type()) &&
+                options.getQueryPredicate().evaluate(item);
+        } catch (IllegalArgumentException cannotEvaluate) {
+            LOG.debug("Unable to evaluate the observed query against " + item.getId() + "; querying it again.");
+            stale = true;
+            return true;
+        }
+        if (matches) {
+            if (item.equals(previous)) {
+                return false;
+            }
+            insert(previous, item);
+            recordUpsert(previous, item);
+            return true;
+        } else if (previous != null) {
+            remove(previous);
+            recordRemoval(previous);
+            return true;
+        }
+        return false;
+    }
+
+    // Schedules the next snapshot, no sooner than maxTimeMs after the last one, unless enough changes
+    // have been gathered already. Must be called while holding the lock.
+    private void scheduleEmission() {
+        long nowMs = worker.now(TimeUnit.MILLISECONDS);
+        long emissionMs = pendingChangeCount >= maxRecords ? nowMs : Math.max(nowMs, lastEmissionMs + maxTimeMs);
+        if (nextEmissionMs != null && nextEmissionMs <= emissionMs) {
+            return;
+        }
+        nextEmissionMs = emissionMs;
+        worker.schedule(this::emit, emissionMs - nowMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void emit() {
+        synchronized (lock) {
+            nextEmissionMs = null;
+            if (ended || querying) {
+                return;
+            }
+            if (stale) {
+                // The snapshot is delivered once the results have been queried again.
+                query();
+                return;
+            }
+        }
+        deliver();
+    }
+
+    private void deliver() {
+        DataStoreQuerySnapshot<T> snapshot = null;
+        synchronized (lock) {
+            if (ended || querying) {
+                return;
+            }
+            if (!emitted || pendingChangeCount > 0) {
+                snapshot = takeSnapshot();
+            }
+            if (stale) {
+                scheduleEmission();
+            }
+        }
+        if (snapshot != null) {
+            onQuerySnapshot.accept(snapshot);
+        }
+    }
+
+    // Queries the results again, while buffering the changes which arrive in the meantime.
+    // Must be called while holding the lock.
+    private void query() {
+        querying = true;
+        stale = false;
+        localStorageAdapter.query(itemClass, options, this::onQueryResults, this::fail);
+    }
+
+    private void onQueryResults(Iterator<T> results) {
+        synchronized (lock) {
+            if (ended) {
+                return;
+            }
+            replaceAll(results);
+            // A change which was buffered while querying may or may not be reflected in the results.
+            // Applying it again is harmless, since each change holds the whole item.
+            for (StorageItemChange<? extends Model> change : bufferedChanges) {
+                apply(change);
+            }
+            bufferedChanges.clear();
+            querying = false;
+            worker.schedule(this::deliver);
+        }
+    }
+
+    // Must be called while holding the lock.
+    private void replaceAll(Iterator<T> results) {
+        Map<String, T> previousItems = new HashMap<>(itemsById);
+        itemsById.clear();
+        sortedItems.clear();
+        while (results.hasNext()) {
+            T item = results.next();
+            T previous = previousItems.remove(item.getId());
+            itemsById.put(item.getId(), item);
+            sortedItems.add(item);
+            if (!item.equals(previous)) {
+                recordUpsert(previous, item);
+            }
+        }
+        for (T previous : previousItems.values()) {
+            recordRemoval(previous);
+        }
+        if (comparator != null) {
+            // Keep the results in the exact order which the in-memory comparator expects,
+            // so that changes can be placed by a binary search.
+            Collections.sort(sortedItems, comparator);
+        }
+    }
+
+    // Must be called while holding the lock.
+    private void insert(@Nullable T previous, T item) {
+        if (previous != null) {
+            remove(previous);
+        }
+        itemsById.put(item.getId(), item);
+        if (comparator != null) {
+            int index = Collections.binarySearch(sortedItems, item, comparator);
+            sortedItems.add(index < 0 ? -index - 1 : index, item);
+        }
+    }
+
+    // Must be called while holding the lock.
+    private void remove(T previous) {
+        if (comparator != null) {
+            int index = Collections.binarySearch(sortedItems, previous, comparator);
+            if (index >= 0) {
+                sortedItems.remove(index);
+            }
+        }
+        // Results which are not sorted are listed from the map, which keeps their order.
+        itemsById.remove(previous.getId());
+    }
+
+    // Records that an item was added or updated since the last snapshot.
+    // Must be called while holding the lock.
+    private void recordUpsert(@Nullable T previous, T item) {
+        String id = item.getId();
+        if (previous == null && removed.remove(id) == null) {
+            added.put(id, item);
+        } else if (added.containsKey(id)) {
+            added.put(id, item);
+        } else {
+            changed.put(id, item);
+        }
+        pendingChangeCount++;
+    }
+
+    // Records that an item was removed since the last snapshot.
+    // Must be called while holding the lock.
+    private void recordRemoval(T previous) {
+        String id = previous.getId();
+        if (added.remove(id) == null) {
+            changed.remove(id);
+            removed.put(id, previous);
+        }
+        pendingChangeCount++;
+    }
+
+    // Must be called while holding the lock.
+    private DataStoreQuerySnapshot<T> takeSnapshot() {
+        List<T> items = new ArrayList<>(comparator != null ? sortedItems : itemsById.values());
+        DataStoreQuerySnapshot<T> snapshot = new DataStoreQuerySnapshot<>(
+            items,
+            new ArrayList<>(added.values()),
+            new ArrayList<>(changed.values()),
+            new ArrayList<>(removed.values())
+        );
+        added.clear();
+        changed.clear();
+        removed.clear();
+        pendingChangeCount = 0;
+        emitted = true;
+        lastEmissionMs = worker.now(TimeUnit.MILLISECONDS);
+        return snapshot;
+    }
+
+    private void fail(DataStoreException failure) {
+        if (end()) {
+            onObservationFailure.accept(failure);
+        }
+    }
+
+    private void complete() {
+        if (end()) {
+            onObservationCompleted.call();
+        }
+    }
+
+    private void cancel() {
+        end();
+    }
+
+    // Ends the observation, and returns whether it had not already ended.
+    private boolean end() {
+        Cancelable observation;
+        synchronized (lock) {
+            if (ended) {
+                return false;
+            }
+            ended = true;
+            observation = storageObservation;
+            bufferedChanges.clear();
+        }
+        worker.dispose();
+        if (observation != null) {
+            observation.cancel();
+        }
+        return true;
+    }
+
+    // Whether the predicate refers to a field of a model other than the observed one.
+    private static boolean referencesOtherModel(String modelName, QueryPredicate predicate) {
+        if (predicate instanceof QueryPredicateOperation) {
+            String predicateModelName = ((QueryPredicateOperation<?>) predicate).modelName();
+            return predicateModelName != null && !predicateModelName.equals(modelName);
+        } else if (predicate instanceof QueryPredicateGroup) {
+            for (QueryPredicate member : ((QueryPredicateGroup) predicate).predicates()) {
+                if (referencesOtherModel(modelName, member)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Whether any sort key is a field of a model other than the observed one.
+    private static boolean referencesOtherModel(String modelName, List<QuerySortBy> sortByList) {
+        if (sortByList != null) {
+            for (QuerySortBy sortBy : sortByList) {
+                if (sortBy.getModelName() != null && !sortBy.getModelName().equals(modelName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Orders models in memory the way the local storage orders them for a list of sort keys.
+     * Null values come first, enums are ordered by name, and associated models by ID, as they
+     * are stored. Models with equal sort keys are ordered by ID, so that no two models are equal.
+     * @param <T> The type of the ordered models
+     */
+    private static final class SortByComparator<T extends Model> implements Comparator<T> {
+        private final List<QuerySortBy> sortByList;
+
+        SortByComparator(List<QuerySortBy> sortByList) {
+            this.sortByList = sortByList;
+        }
+
+        @Override
+        public int compare(T one, T other) {
+            for (QuerySortBy sortBy : sortByList) {
+                int comparison = compareValues(valueOf(one, sortBy.getField()), valueOf(other, sortBy.getField()));
+                if (comparison != 0) {
+                    return QuerySortOrder.DESCENDING.equals(sortBy.getSortOrder()) ? -comparison : comparison;
+                }
+            }
+            return one.getId().compareTo(other.getId());
+        }
+
+        @Nullable
+        private static Object valueOf(Model model, String fieldName) {
+            Object value;
+            try {
+                value = FieldFinder.extractFieldValue(model, fieldName);
+            } catch (NoSuchFieldException noSuchField) {
+                return null;
+            }
+            if (value instanceof Enum) {
+                return ((Enum<?>) value).name();
+            } else if (value instanceof Model) {
+                return ((Model) value).getId();
+            }
+            return value;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"}) // Only values of the same class are compared.
+        private static int compareValues(@Nullable Object one, @Nullable Object other) {
+            if (one == null || other == null) {
+                return one == null ? (other == null ? 0 : -1) : 1;
+            }
+            if (one.getClass().equals(other.getClass()) && one instanceof Comparable) {
+                return ((Comparable) one).compareTo(other);
+            }
+            return one.toString().compareTo(other.toString());
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.ObjectsCompat;
+
+import java.util.Objects;
+
+/**
+ * Tuning options for the SQLite database in which the DataStore keeps its local data.
+ * These are applied each time the database is opened.
+ *
+ * The defaults favor workloads which save many models in a row, as during a sync:
+ * write-ahead logging lets queries proceed while a sync writes, and with the
+ * {@link SynchronousMode#NORMAL} mode a commit does not wait for an fsync. A committed
+ * write may be rolled back by a power loss, but the database can not be corrupted.
+ */
+public final class StorageConfiguration {
+    private final boolean writeAheadLoggingEnabled;
+    private final SynchronousMode synchronousMode;
+    private final Integer pageSizeBytes;
+    private final int modelCacheSize;
+
+    private StorageConfiguration(Builder builder) {
+        this.writeAheadLoggingEnabled = builder.writeAheadLoggingEnabled;
+        this.synchronousMode = builder.synchronousMode;
+        this.pageSizeBytes = builder.pageSizeBytes;
+        this.modelCacheSize = builder.modelCacheSize;
+    }
+
+    /**
+     * Begin building a new instance of {@link StorageConfiguration}.
+     * Any option which is not set will have its default value.
+     * @return A new builder instance
+     */
+    @NonNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a {@link StorageConfiguration} which uses all default values.
+     * @return A default {@link StorageConfiguration}
+     */
+    @NonNull
+    public static StorageConfiguration defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Whether the database uses write-ahead logging. When it does, queries may run at the
+     * same time as a write transaction.
+     * @return True if write-ahead logging is enabled
+     */
+    public boolean isWriteAheadLoggingEnabled() {
+        return writeAheadLoggingEnabled;
+    }
+
+    /**
+     * Gets how often SQLite waits for data to reach the disk. The mode is applied to every
+     * connection from Android 9 (API 28), or on any version when write-ahead logging is
+     * disabled. Otherwise, the platform's default mode is used.
+     * @return The synchronous mode
+     */
+    @NonNull
+    public SynchronousMode getSynchronousMode() {
+        return synchronousMode;
+    }
+
+    /**
+     * Gets the page size of the database, in bytes. The page size only takes effect when the
+     * database file is first created.
+     * @return Page size, in bytes, or null to use SQLite's default
+     */
+    @Nullable
+    public Integer getPageSizeBytes() {
+        return pageSizeBytes;
+    }
+
+    /**
+     * Gets the number of models which are kept in memory after they are read or written, so that
+     * they can be looked up by ID without a query.
+     * @return Maximum number of cached models; 0 if the model cache is disabled
+     */
+    @IntRange(from = 0)
+    public int getModelCacheSize() {
+        return modelCacheSize;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object thatObject) {
+        if (this == thatObject) {
+            return true;
+        }
+        if (thatObject == null || getClass() != thatObject.getClass()) {
+            return false;
+        }
+        StorageConfiguration that = (StorageConfiguration) thatObject;
+        return writeAheadLoggingEnabled == that.writeAheadLoggingEnabled &&
+            synchronousMode == that.synchronousMode &&
+            ObjectsCompat.equals(pageSizeBytes, that.pageSizeBytes) &&
+            modelCacheSize == that.modelCacheSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return ObjectsCompat.hash(writeAheadLoggingEnabled, synchronousMode, pageSizeBytes, modelCacheSize);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "StorageConfiguration{" +
+            "writeAheadLoggingEnabled=" + writeAheadLoggingEnabled +
+            ", synchronousMode=" + synchronousMode +
+            ", pageSizeBytes=" + pageSizeBytes +
+            ", modelCacheSize=" + modelCacheSize +
+            '}';
+    }
+
+    /**
+     * How often SQLite waits for data to reach the disk, as set by PRAGMA synchronous.
+     */
+    public enum SynchronousMode {
+        /**
+         * Never wait for the disk. An operating system crash or power loss may corrupt the database.
+         */
+        OFF,
+        /**
+         * With write-ahead logging, wait for the disk only at checkpoints. A power loss may roll back
+         * the most recent commits, but will not corrupt the database.
+         */
+        NORMAL,
+        /**
+         * Wait for the disk at every commit.
+         */
+        FULL,
+        /**
+         * Like {@link #FULL}, and also wait for the directory after a rollback journal is deleted.
+         */
+        EXTRA
+    }
+
+    /**
+     * Builds instances of {@link StorageConfiguration}.
+     */
+    public static final class Builder {
+        private boolean writeAheadLoggingEnabled;
+        private SynchronousMode synchronousMode;
+        private Integer pageSizeBytes;
+        private int modelCacheSize;
+
+        private Builder() {
+            this.writeAheadLoggingEnabled = true;
+            this.synchronousMode = SynchronousMode.NORMAL;
+            this.pageSizeBytes = null;
+            // The model cache is off by default, since it holds on to models that the
+            // application may no longer reference.
+            this.modelCacheSize = 0;
+        }
+
+        /**
+         * Sets whether the database uses write-ahead logging.
+         * @param writeAheadLoggingEnabled True to enable write-ahead logging
+         * @return Current builder instance
+         */
+        @NonNull
+        public Builder writeAheadLoggingEnabled(boolean writeAheadLoggingEnabled) {
+            this.writeAheadLoggingEnabled = writeAheadLoggingEnabled;
+            return Builder.this;
+        }
+
+        /**
+         * Sets how often SQLite waits for data to reach the disk. Before Android 9 (API 28),
+         * this has no effect when write-ahead logging is enabled.
+         * @param synchronousMode The synchronous mode
+         * @return Current builder instance
+         */
+        @NonNull
+        public Builder synchronousMode(@NonNull SynchronousMode synchronousMode) {
+            this.synchronousMode = Objects.requireNonNull(synchronousMode);
+            return Builder.this;
+        }
+
+        /**
+         * Sets the page size with which the database file is created. This has no effect on
+         * a database file which already exists.
+         * @param pageSizeBytes A power of two between 512 and 65536, or null for SQLite's default
+         * @return Current builder instance
+         */
+        @NonNull
+        public Builder pageSizeBytes(@Nullable Integer pageSizeBytes) {
+            this.pageSizeBytes = pageSizeBytes;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the number of recently read or written models which are kept in memory. The least
+         * recently used model is evicted when the cache is full.
+         * @param modelCacheSize Maximum number of cached models; 0 disables the model cache
+         * @return Current builder instance
+         */
+        @NonNull
+        public Builder modelCacheSize(@IntRange(from = 0) int modelCacheSize) {
+            this.modelCacheSize = modelCacheSize;
+            return Builder.this;
+        }
+
+        /**
+         * Builds a {@link StorageConfiguration} from the provided options.
+         * @return A new {@link StorageConfiguration}
+         * @throws IllegalArgumentException If the model cache size is negative, or the page size is invalid
+         */
+        @NonNull
+        public StorageConfiguration build() {
+            if (modelCacheSize < 0) {
+                throw new IllegalArgumentException("modelCacheSize must not be negative, but was " + modelCacheSize);
+            }
+            if (pageSizeBytes != null && !isValidPageSize(pageSizeBytes)) {
+                throw new IllegalArgumentException(
+                    "pageSizeBytes must be a power of two between 512 and 65536, but was " + pageSizeBytes
+                );
+            }
+            return new StorageConfiguration(this);
+        }
+
+        private static boolean isValidPageSize(int pageSizeBytes) {
+            final int minPageSize = 512;
+            final int maxPageSize = 65536;
+            return pageSizeBytes >= minPageSize && pageSizeBytes <= maxPageSize &&
+                Integer.bitCount(pageSizeBytes) == 1;
+        }
+    }
+}
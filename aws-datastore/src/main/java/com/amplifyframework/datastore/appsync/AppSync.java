@@ -29,6 +29,8 @@ import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.datastore.DataStoreException;
 
+import java.util.List;
+
 /**
  * Client interface for an AppSync service endpoint.
  *
@@ -41,7 +43,8 @@ import com.amplifyframework.datastore.DataStoreException;
  *   2. Supports create, update, delete mutations, to modify the state of any data
  *      that is warehoused at the endpoint. These operations consider a unique ID for
  *      each model instance, as well as a monotonically increasing version for every
- *      model instance warehoused at the endpoint;
+ *      model instance warehoused at the endpoint. Several of them may be sent at once,
+ *      as aliased fields of a single mutation document;
  *
  *   3. Can host subscriptions, over which a client may receive notifications when any
  *      of the above AppSync mutations have been performed on a particular model(s);
@@ -199,6 +202,24 @@ public interface AppSync {
             @NonNull Consumer<DataStoreException> onFailure
     );
 
+    /**
+     * Uses Amplify API to make several mutations in a single request. The mutations are
+     * performed in order, and each one applies or fails on its own, as if it had been
+     * requested separately.
+     * @param mutations Mutations to perform, in order
+     * @param onResponse Invoked with a response for each of the mutations, in the same order.
+     *                   A response contains either the result of its mutation, or the errors
+     *                   which AppSync returned for it.
+     * @param onFailure Invoked on failure to obtain response data
+     * @return A {@link Cancelable} to provide a means to cancel the asynchronous operation
+     */
+    @NonNull
+    Cancelable mutate(
+            @NonNull List<BatchedMutation<? extends Model>> mutations,
+            @NonNull Consumer<List<GraphQLResponse<ModelWithMetadata<? extends Model>>>> onResponse,
+            @NonNull Consumer<DataStoreException> onFailure
+    );
+
     /**
      * Get notified when a create event happens on a given class.
      * @param modelSchema The schema of the Model we are listening on
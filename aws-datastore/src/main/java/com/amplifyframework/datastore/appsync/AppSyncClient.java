@@ -22,6 +22,7 @@ import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.ApiCategoryBehavior;
 import com.amplifyframework.api.ApiException;
 import com.amplifyframework.api.graphql.GraphQLBehavior;
+import com.amplifyframework.api.graphql.GraphQLPathSegment;
 import com.amplifyframework.api.graphql.GraphQLRequest;
 import com.amplifyframework.api.graphql.GraphQLResponse;
 import com.amplifyframework.api.graphql.PaginatedResult;
@@ -35,6 +36,17 @@ import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.util.GsonFactory;
+import com.amplifyframework.util.TypeMaker;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 /**
  * An implementation of the {@link AppSync} client interface.
@@ -226,6 +238,85 @@ public final class AppSyncClient implements AppSync {
         return new NoOpCancelable();
     }
 
+    @NonNull
+    @Override
+    public Cancelable mutate(
+            @NonNull List<BatchedMutation<? extends Model>> mutations,
+            @NonNull Consumer<List<GraphQLResponse<ModelWithMetadata<? extends Model>>>> onResponse,
+            @NonNull Consumer<DataStoreException> onFailure) {
+        final GraphQLRequest<Map<String, JsonElement>> request;
+        try {
+            request = AppSyncRequestFactory.buildBatchedMutationRequest(mutations);
+        } catch (DataStoreException requestGenerationException) {
+            onFailure.accept(requestGenerationException);
+            return new NoOpCancelable();
+        }
+
+        final Consumer<GraphQLResponse<Map<String, JsonElement>>> responseConsumer = response -> {
+            try {
+                onResponse.accept(demultiplex(mutations, response));
+            } catch (DataStoreException demultiplexingException) {
+                onFailure.accept(demultiplexingException);
+            }
+        };
+        final Consumer<ApiException> failureConsumer =
+            failure -> onFailure.accept(new DataStoreException(
+                "Failure during batched mutation.", failure, "Check details."
+            ));
+        final Cancelable cancelable = api.mutate(request, responseConsumer, failureConsumer);
+        if (cancelable != null) {
+            return cancelable;
+        }
+        return new NoOpCancelable();
+    }
+
+    /**
+     * Splits the response to a batched mutation into a response for each of the mutations.
+     * The data of a mutation is found under its alias. An error belongs to the mutation whose
+     * alias begins its path; an error without a path applies to every mutation.
+     * @param mutations Mutations which were batched, in order
+     * @param response Response to the batched mutation
+     * @return A response for each of the mutations, in the same order
+     * @throws DataStoreException On failure to deserialize the result of a mutation
+     */
+    private static List<GraphQLResponse<ModelWithMetadata<? extends Model>>> demultiplex(
+            List<BatchedMutation<? extends Model>> mutations,
+            GraphQLResponse<Map<String, JsonElement>> response) throws DataStoreException {
+        final Map<String, JsonElement> data = response.hasData() ?
+            response.getData() : Collections.<String, JsonElement>emptyMap();
+        final List<GraphQLResponse<ModelWithMetadata<? extends Model>>> responses = new ArrayList<>();
+        for (int index = 0; index < mutations.size(); index++) {
+            final String alias = AppSyncRequestFactory.batchedMutationAlias(index);
+            final List<GraphQLResponse.Error> errors = new ArrayList<>();
+            for (GraphQLResponse.Error error : response.getErrors()) {
+                List<GraphQLPathSegment> path = error.getPath();
+                if (path == null || path.isEmpty() ||
+                        (path.get(0).isString() && alias.equals(path.get(0).getAsString()))) {
+                    errors.add(error);
+                }
+            }
+
+            final JsonElement result = data.get(alias);
+            if (!errors.isEmpty() || result == null || result.isJsonNull()) {
+                responses.add(new GraphQLResponse<>(null, errors));
+                continue;
+            }
+            final Type resultType = TypeMaker.getParameterizedType(
+                ModelWithMetadata.class, mutations.get(index).getModelSchema().getModelClass());
+            try {
+                ModelWithMetadata<? extends Model> modelWithMetadata =
+                    GsonFactory.instance().fromJson(result, resultType);
+                responses.add(new GraphQLResponse<>(modelWithMetadata, errors));
+            } catch (JsonParseException jsonParseException) {
+                throw new DataStoreException(
+                    "Failed to deserialize the result of " + mutations.get(index) + ".",
+                    jsonParseException, "Check that the model schema matches the AppSync schema."
+                );
+            }
+        }
+        return responses;
+    }
+
     @NonNull
     @Override
     public <T extends Model> Cancelable onCreate(
@@ -15,14 +15,18 @@
 
 package com.amplifyframework.datastore.appsync;
 
+import android.text.TextUtils;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.aws.AppSyncGraphQLRequest;
+import com.amplifyframework.api.aws.GsonVariablesSerializer;
+import com.amplifyframework.api.graphql.GraphQLRequest;
 import com.amplifyframework.api.graphql.MutationType;
 import com.amplifyframework.api.graphql.PaginatedResult;
 import com.amplifyframework.api.graphql.QueryType;
+import com.amplifyframework.api.graphql.SimpleGraphQLRequest;
 import com.amplifyframework.api.graphql.SubscriptionType;
 import com.amplifyframework.core.model.AuthRule;
 import com.amplifyframework.core.model.AuthStrategy;
@@ -50,8 +54,13 @@ import com.amplifyframework.core.model.temporal.Temporal;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.util.Casing;
 import com.amplifyframework.util.TypeMaker;
+import com.amplifyframework.util.Wrap;
+
+import com.google.gson.JsonElement;
+import com.google.gson.reflect.TypeToken;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -60,6 +69,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * A factory to generate requests against an AppSync endpoint.
@@ -71,6 +82,8 @@ import java.util.Map;
  * and AppSync-specific field names (`_version`, `_deleted`, etc.)
  */
 final class AppSyncRequestFactory {
+    private static final String BATCHED_MUTATION_ALIAS_PREFIX = "mutation";
+
     private AppSyncRequestFactory() {}
 
     /**
@@ -238,6 +251,76 @@ final class AppSyncRequestFactory {
         }
     }
 
+    /**
+     * Builds a single mutation document which performs several mutations, one after another.
+     * Each mutation is a field of the document, aliased by {@link #batchedMutationAlias(int)}
+     * for its position in the list. Its variables are renamed with the same position, so
+     * that the variables of the mutations do not collide. The response data is a map from
+     * alias to the result of the mutation, which has yet to be deserialized.
+     * @param mutations Mutations to perform, in order
+     * @return A request which performs all of the mutations
+     * @throws DataStoreException On failure to build a request for any of the mutations
+     */
+    @NonNull
+    static GraphQLRequest<Map<String, JsonElement>> buildBatchedMutationRequest(
+            @NonNull List<BatchedMutation<? extends Model>> mutations) throws DataStoreException {
+        List<String> variableTypes = new ArrayList<>();
+        Map<String, Object> variables = new HashMap<>();
+        List<String> fields = new ArrayList<>();
+        for (int index = 0; index < mutations.size(); index++) {
+            AppSyncGraphQLRequest<?> request = buildMutationRequest(mutations.get(index));
+            String field = request.getOperationContent();
+            for (Map.Entry<String, String> variableType : request.getVariableTypes().entrySet()) {
+                String name = variableType.getKey();
+                String batchedName = name + index;
+                variableTypes.add("$" + batchedName + ": " + variableType.getValue());
+                variables.put(batchedName, request.getVariables().get(name));
+                field = field.replaceAll(
+                    Pattern.quote("$" + name) + "\\b", Matcher.quoteReplacement("$" + batchedName));
+            }
+            fields.add(batchedMutationAlias(index) + ": " + field);
+        }
+        Collections.sort(variableTypes);
+
+        String document = "mutation BatchedMutation" +
+            Wrap.inParentheses(TextUtils.join(", ", variableTypes)) +
+            Wrap.inPrettyBraces(TextUtils.join("\n  ", fields), "", "  ") +
+            "\n";
+        Type responseType = TypeToken.getParameterized(Map.class, String.class, JsonElement.class).getType();
+        return new SimpleGraphQLRequest<>(
+            document, variables, responseType, Collections.emptyMap(), new GsonVariablesSerializer()
+        );
+    }
+
+    /**
+     * Gets the alias of a mutation in a batched mutation document.
+     * @param index Position of the mutation in the batch
+     * @return Alias of the mutation field, and key of its result in the response data
+     */
+    @NonNull
+    static String batchedMutationAlias(int index) {
+        return BATCHED_MUTATION_ALIAS_PREFIX + index;
+    }
+
+    private static <M extends Model> AppSyncGraphQLRequest<ModelWithMetadata<M>> buildMutationRequest(
+            BatchedMutation<M> mutation) throws DataStoreException {
+        switch (mutation.getMutationType()) {
+            case CREATE:
+                return buildCreationRequest(mutation.getModelSchema(), mutation.getModel());
+            case UPDATE:
+                return buildUpdateRequest(mutation.getModelSchema(), mutation.getModel(),
+                    mutation.getVersion(), mutation.getPredicate());
+            case DELETE:
+                return buildDeletionRequest(mutation.getModelSchema(), mutation.getModel(),
+                    mutation.getVersion(), mutation.getPredicate());
+            default:
+                throw new DataStoreException(
+                    "Unknown mutation type = " + mutation.getMutationType(),
+                    "This is likely a bug. Please file a ticket with AWS."
+                );
+        }
+    }
+
     static Map<String, Object> parsePredicate(QueryPredicate queryPredicate) throws DataStoreException {
         if (queryPredicate instanceof QueryPredicateOperation) {
             QueryPredicateOperation<?> qpo = (QueryPredicateOperation<?>) queryPredicate;
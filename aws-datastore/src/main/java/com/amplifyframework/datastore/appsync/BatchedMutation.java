@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.appsync;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.ObjectsCompat;
+
+import com.amplifyframework.api.graphql.MutationType;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+
+import java.util.Objects;
+
+/**
+ * One of several mutations which are sent to AppSync together, in a single request.
+ * See {@link AppSync#mutate(java.util.List, com.amplifyframework.core.Consumer,
+ * com.amplifyframework.core.Consumer)}.
+ * @param <T> The type of model being mutated
+ */
+public final class BatchedMutation<T extends Model> {
+    private final T model;
+    private final ModelSchema modelSchema;
+    private final MutationType mutationType;
+    private final Integer version;
+    private final QueryPredicate predicate;
+
+    private BatchedMutation(
+            T model, ModelSchema modelSchema, MutationType mutationType, Integer version, QueryPredicate predicate) {
+        this.model = model;
+        this.modelSchema = modelSchema;
+        this.mutationType = mutationType;
+        this.version = version;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Creates a mutation which creates a model.
+     * @param model An instance of the Model with the values to create
+     * @param modelSchema The schema of the object being created
+     * @param <T> The type of model being created
+     * @return A batched creation of the model
+     */
+    @NonNull
+    public static <T extends Model> BatchedMutation<T> creation(@NonNull T model, @NonNull ModelSchema modelSchema) {
+        return new BatchedMutation<>(
+            Objects.requireNonNull(model),
+            Objects.requireNonNull(modelSchema),
+            MutationType.CREATE,
+            null,
+            QueryPredicates.all()
+        );
+    }
+
+    /**
+     * Creates a mutation which updates a model, if the version sent matches the server version.
+     * @param model An instance of the Model with the values to mutate
+     * @param modelSchema The schema of the object being updated
+     * @param version The version of the model we have
+     * @param predicate Condition to use for the update operation
+     * @param <T> The type of model being updated
+     * @return A batched update of the model
+     */
+    @NonNull
+    public static <T extends Model> BatchedMutation<T> update(
+            @NonNull T model,
+            @NonNull ModelSchema modelSchema,
+            @NonNull Integer version,
+            @NonNull QueryPredicate predicate) {
+        return new BatchedMutation<>(
+            Objects.requireNonNull(model),
+            Objects.requireNonNull(modelSchema),
+            MutationType.UPDATE,
+            Objects.requireNonNull(version),
+            Objects.requireNonNull(predicate)
+        );
+    }
+
+    /**
+     * Creates a mutation which deletes a model, if the version sent matches the server version.
+     * @param model An instance of the Model to be deleted
+     * @param modelSchema The schema of the object being deleted
+     * @param version The version of the model we have
+     * @param predicate Condition to use for the delete operation
+     * @param <T> The type of model being deleted
+     * @return A batched deletion of the model
+     */
+    @NonNull
+    public static <T extends Model> BatchedMutation<T> deletion(
+            @NonNull T model,
+            @NonNull ModelSchema modelSchema,
+            @NonNull Integer version,
+            @NonNull QueryPredicate predicate) {
+        return new BatchedMutation<>(
+            Objects.requireNonNull(model),
+            Objects.requireNonNull(modelSchema),
+            MutationType.DELETE,
+            Objects.requireNonNull(version),
+            Objects.requireNonNull(predicate)
+        );
+    }
+
+    /**
+     * Gets the model being mutated.
+     * @return Model being mutated
+     */
+    @NonNull
+    public T getModel() {
+        return model;
+    }
+
+    /**
+     * Gets the schema of the model being mutated.
+     * @return Schema of the model
+     */
+    @NonNull
+    public ModelSchema getModelSchema() {
+        return modelSchema;
+    }
+
+    /**
+     * Gets the type of mutation.
+     * @return Type of mutation
+     */
+    @NonNull
+    public MutationType getMutationType() {
+        return mutationType;
+    }
+
+    /**
+     * Gets the version of the model we have.
+     * @return Version of the model; null, for a creation
+     */
+    @Nullable
+    public Integer getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the condition to use for the mutation.
+     * @return Condition for the mutation
+     */
+    @NonNull
+    public QueryPredicate getPredicate() {
+        return predicate;
+    }
+
+    @Override
+    public boolean equals(Object thatObject) {
+        if (this == thatObject) {
+            return true;
+        }
+        if (thatObject == null || getClass() != thatObject.getClass()) {
+            return false;
+        }
+
+        BatchedMutation<?> that = (BatchedMutation<?>) thatObject;
+        return ObjectsCompat.equals(model, that.model) &&
+            ObjectsCompat.equals(modelSchema, that.modelSchema) &&
+            ObjectsCompat.equals(mutationType, that.mutationType) &&
+            ObjectsCompat.equals(version, that.version) &&
+            ObjectsCompat.equals(predicate, that.predicate);
+    }
+
+    @Override
+    public int hashCode() {
+        return ObjectsCompat.hash(model, modelSchema, mutationType, version, predicate);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "BatchedMutation{" +
+            "model=" + model +
+            ", modelSchema=" + modelSchema +
+            ", mutationType=" + mutationType +
+            ", version=" + version +
+            ", predicate=" + predicate +
+            '}';
+    }
+}
@@ -22,13 +22,14 @@ import com.amplifyframework.datastore.appsync.ModelMetadata;
 import com.amplifyframework.datastore.storage.sqlite.PersistentModelVersion;
 import com.amplifyframework.datastore.syncengine.LastSyncMetadata;
 import com.amplifyframework.datastore.syncengine.PendingMutation;
+import com.amplifyframework.datastore.syncengine.SyncCheckpoint;
 
 /**
  * Creates a provide of system models, that are used internally by the DataStore.
  */
 public final class SystemModelsProviderFactory {
     // CHANGE this models version whenever any system models are added/removed/updated.
-    private static final String SYSTEM_MODELS_VERSION = "2f378292-cb5f-480e-b71d-cf441fd2e8be";
+    private static final String SYSTEM_MODELS_VERSION = "a76a2113-6132-4a4b-998f-310a30b53e3d";
 
     private SystemModelsProviderFactory() {}
 
@@ -51,6 +52,10 @@ public final class SystemModelsProviderFactory {
             // For example, "Post" model was last saved at 1585702708000 milliseconds past the Epoch.
             LastSyncMetadata.class,
 
+            // The progress of a sync which is still underway, so that an interrupted sync can
+            // resume from the page it had reached, instead of starting over.
+            SyncCheckpoint.class,
+
             // PersistentModelVersion.class stores the version of the data schema; that is,
             // which models exist in the system, and what is their shape. When the structure of
             // the data changes, this should see a version bump.
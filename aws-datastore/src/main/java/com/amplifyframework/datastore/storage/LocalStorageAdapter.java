@@ -24,10 +24,13 @@ import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelProvider;
 import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.query.Aggregate;
+import com.amplifyframework.core.model.query.AggregateResult;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.datastore.DataStoreException;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 
@@ -84,6 +87,24 @@ public interface LocalStorageAdapter {
             @NonNull Consumer<DataStoreException> onError
     );
 
+    /**
+     * Save a batch of items into local storage, as a single atomic unit. Either all of the
+     * items are saved, or none of them are. Changes are only published to observers of the
+     * storage after the whole batch has been written.
+     * @param <T> The type of the items being stored
+     * @param items the items to save into the repository
+     * @param initiator An identification of the actor who initiated this save
+     * @param onSuccess A callback that will be invoked with one change per item, in the order
+     *                  of the provided collection, if the save succeeds
+     * @param onError A callback that will be invoked if the save fails with an error
+     */
+    <T extends Model> void saveAll(
+            @NonNull Collection<T> items,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError
+    );
+
     /**
      * Query the storage for items of a given type with specific conditions.
      * @param itemClass Items that have this class will be solicited
@@ -113,6 +134,48 @@ public interface LocalStorageAdapter {
             @NonNull Consumer<DataStoreException> onError
     );
 
+    /**
+     * Query the storage for items of a given type with specific conditions, and stream
+     * the matching items one at a time. Each item is read from storage only after the previous
+     * item has been accepted by {@code onResult}, so that the results are never held in memory
+     * all at once. Any resources held by the query are released when the stream completes,
+     * fails, or is canceled.
+     * @param itemClass Items that have this class will be solicited
+     * @param options options, such as predicates, pagination to apply to query
+     * @param onResult A callback that will be invoked once for each matching item
+     * @param onError A callback that will be notified if the query fails with an error
+     * @param onComplete A callback that will be invoked after the last item
+     * @param <T> Type type of the items that are being queried
+     * @return A Cancelable, which may be used to stop the stream of results
+     */
+    @NonNull
+    <T extends Model> Cancelable queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<T> onResult,
+            @NonNull Consumer<DataStoreException> onError,
+            @NonNull Action onComplete
+    );
+
+    /**
+     * Computes an aggregate over the items of a given type which match a predicate,
+     * without reading the items themselves from storage. One result is returned for each
+     * group of items, or exactly one result if the aggregate does not group the items.
+     * @param itemClass Items that have this class will be aggregated
+     * @param aggregate The aggregate to compute, and the fields to group the items by
+     * @param predicate Condition that the aggregated items meet
+     * @param onSuccess A callback that will be invoked with the result for each group
+     * @param onError A callback that will be notified if the aggregate can not be computed
+     * @param <T> Type type of the items that are being aggregated
+     */
+    <T extends Model> void aggregate(
+            @NonNull Class<T> itemClass,
+            @NonNull Aggregate aggregate,
+            @NonNull QueryPredicate predicate,
+            @NonNull Consumer<List<AggregateResult>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError
+    );
+
     /**
      * Deletes an item from storage only if the data being deleted meets the
      * specific conditions. A {@link Consumer} will be invoked when the
@@ -132,6 +195,45 @@ public interface LocalStorageAdapter {
             @NonNull Consumer<DataStoreException> onError
     );
 
+    /**
+     * Deletes a batch of items from storage, as a single atomic unit. Either all of the
+     * items are deleted, or none of them are. Changes are only published to observers of the
+     * storage after the whole batch has been deleted.
+     * @param <T> The type of items being deleted
+     * @param items Items to delete
+     * @param initiator An identification of the actor who initiated this deletion
+     * @param onSuccess A callback that will be invoked with one change per item, in the order
+     *                  of the provided collection, when deletion succeeds
+     * @param onError A callback that will be invoked when deletion fails with an error
+     */
+    <T extends Model> void deleteAll(
+            @NonNull Collection<T> items,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError
+    );
+
+    /**
+     * Deletes a batch of items from storage, and then saves another batch of items into it, as a
+     * single atomic unit. Either all of the items are deleted and saved, or none of them are. Changes
+     * are only published to observers of the storage after both batches have been written.
+     * @param <T> The type of items being deleted and saved
+     * @param deletions Items to delete
+     * @param saves Items to save, after the deletions
+     * @param initiator An identification of the actor who initiated this write
+     * @param onSuccess A callback that will be invoked with one change per item: first for each of
+     *                  the deletions, and then for each of the saves, in the order of the provided
+     *                  collections, when the write succeeds
+     * @param onError A callback that will be invoked when the write fails with an error
+     */
+    <T extends Model> void writeAll(
+            @NonNull Collection<T> deletions,
+            @NonNull Collection<T> saves,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError
+    );
+
     /**
      * Deletes all items of a given type from storage that meet the
      * specific conditions. A {@link Consumer} will be invoked when the
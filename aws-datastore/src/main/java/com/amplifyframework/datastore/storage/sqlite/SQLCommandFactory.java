@@ -19,6 +19,7 @@ import androidx.annotation.NonNull;
 
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.query.Aggregate;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.datastore.DataStoreException;
@@ -30,6 +31,11 @@ import java.util.Set;
  * {@link ModelSchema} and the {@link com.amplifyframework.core.model.Model}.
  */
 interface SQLCommandFactory {
+    /**
+     * Name of the column in which an aggregate query returns the value of the aggregate.
+     */
+    String AGGREGATE_COLUMN_NAME = "aggregate";
+
     /**
      * Generates the CREATE TABLE SQL command from the {@link ModelSchema}.
      * @param modelSchema the schema of a {@link com.amplifyframework.core.model.Model}
@@ -68,6 +74,23 @@ interface SQLCommandFactory {
      * @param predicate predicate to filter by
      * @return the QUERY SQL command
      */
+    /**
+     * Generates a query which computes an aggregate over the rows that match a predicate.
+     * The query returns a row for each group of rows, or exactly one row if the aggregate
+     * is not grouped. Each row has a column for each grouping field, named by the aliased name
+     * of the field's column, followed by the value of the aggregate, in a column named
+     * {@link #AGGREGATE_COLUMN_NAME}.
+     *
+     * @param modelSchema schema of the model
+     * @param aggregate the aggregate to compute, and the fields to group by
+     * @param predicate predicate to filter by
+     * @return the aggregate SQL command
+     */
+    @NonNull
+    SqlCommand aggregateFor(@NonNull ModelSchema modelSchema,
+                            @NonNull Aggregate aggregate,
+                            @NonNull QueryPredicate predicate) throws DataStoreException;
+
     @NonNull
     SqlCommand existsFor(@NonNull ModelSchema modelSchema,
                          @NonNull QueryPredicate predicate) throws DataStoreException;
@@ -94,6 +117,34 @@ interface SQLCommandFactory {
     @NonNull
     <T extends Model> SqlCommand updateFor(@NonNull ModelSchema modelSchema, @NonNull T item) throws DataStoreException;
 
+    /**
+     * Generates an UPDATE command which only changes the row if it also matches a condition.
+     * The number of rows changed by the command tells whether the row existed and met the condition.
+     *
+     * @param modelSchema schema of the model
+     * @param item the Model to update
+     * @param predicate condition that the existing row must meet, to be updated
+     * @return the SQL command that encapsulates the conditional UPDATE command
+     */
+    @NonNull
+    <T extends Model> SqlCommand updateFor(@NonNull ModelSchema modelSchema,
+                                           @NonNull T item,
+                                           @NonNull QueryPredicate predicate) throws DataStoreException;
+
+    /**
+     * Generates a query which compares each column of the stored row for a model, to the value
+     * that the given item would write into it. The query returns no rows if the model is not stored.
+     * Otherwise, it returns one row with a column per model field, named after that field, which is
+     * 1 if the stored value is equal to the item's, and 0 if not.
+     *
+     * @param modelSchema schema of the model
+     * @param item the Model to compare against the stored row
+     * @return the SQL command that encapsulates the comparison query
+     */
+    @NonNull
+    <T extends Model> SqlCommand compareFor(@NonNull ModelSchema modelSchema, @NonNull T item)
+            throws DataStoreException;
+
     /**
      * Generates the DELETE command in a raw string representation.
      *
@@ -17,7 +17,10 @@ package com.amplifyframework.datastore.storage.sqlite;
 
 import android.database.Cursor;
 import android.database.SQLException;
+import android.database.sqlite.SQLiteCursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteProgram;
 import android.database.sqlite.SQLiteStatement;
 import androidx.annotation.NonNull;
 
@@ -26,27 +29,99 @@ import com.amplifyframework.core.Amplify;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.logging.Logger;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
- * Responsible for compiling, binding values to, and executing SQLiteStatements.   Currently, each statement is run in
- * its own transaction.  In the future, we can extend this class to support batching  multiple commands in the same
- * transaction to improve performance.
+ * Responsible for compiling, binding values to, and executing SQLiteStatements.  By default, each statement is run in
+ * its own transaction.  Multiple commands can be batched into the same transaction by way of
+ * {@link #runInTransaction(TransactionBlock)}, in which case compiled statements are reused for the duration
+ * of the transaction.  Compiled statements are kept in a bounded {@link SQLiteStatementCache}, so that the
+ * same SQL is not re-compiled every time it is executed.
  */
 final class SQLCommandProcessor {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+    private static final int STATEMENT_CACHE_SIZE = 64;
 
     private final SQLiteDatabase sqliteDatabase;
+    private final SQLiteStatementCache statementCache;
+
+    // Statements compiled while a batch transaction is open, keyed by SQL string. This is
+    // thread-confined, since an SQLite transaction belongs to the thread that began it.
+    private final ThreadLocal<Map<String, SQLiteStatement>> transactionStatements;
 
     SQLCommandProcessor(@NonNull SQLiteDatabase sqliteDatabase) {
         this.sqliteDatabase = sqliteDatabase;
+        this.statementCache = new SQLiteStatementCache(sqliteDatabase, STATEMENT_CACHE_SIZE);
+        this.transactionStatements = new ThreadLocal<>();
+    }
+
+    /**
+     * Gets the cache of compiled statements used by this processor. The cache must be
+     * invalidated when the schema changes, and before the database is closed.
+     * @return The cache of compiled statements
+     */
+    @NonNull
+    SQLiteStatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    /**
+     * Runs a block of commands inside of a single SQLite transaction. The transaction is committed
+     * if the block completes normally, and rolled back if it throws. While the transaction is open,
+     * statements with identical SQL are compiled once and re-bound for each subsequent execution.
+     * Nested calls join the outer transaction.
+     * @param block A block of commands to run in the transaction
+     * @throws DataStoreException If the block fails, or if the transaction can not be committed
+     */
+    void runInTransaction(@NonNull TransactionBlock block) throws DataStoreException {
+        Objects.requireNonNull(block);
+        if (transactionStatements.get() != null) {
+            block.run();
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        Map<String, SQLiteStatement> statements = new HashMap<>();
+        transactionStatements.set(statements);
+        try {
+            sqliteDatabase.beginTransaction();
+            try {
+                block.run();
+                sqliteDatabase.setTransactionSuccessful();
+            } finally {
+                sqliteDatabase.endTransaction();
+            }
+        } catch (SQLException sqlException) {
+            throw new DataStoreException(
+                "Failed to commit transaction.",
+                sqlException,
+                AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+            );
+        } finally {
+            transactionStatements.remove();
+            for (Map.Entry<String, SQLiteStatement> entry : statements.entrySet()) {
+                statementCache.release(entry.getKey(), entry.getValue());
+            }
+            LOG.verbose("SQLCommandProcessor runInTransaction in " + (System.currentTimeMillis() - startTime)
+                    + " ms, reusing " + statements.size() + " compiled statement(s).");
+        }
     }
 
     Cursor rawQuery(SqlCommand command) throws DataStoreException {
         try {
             long startTime = System.currentTimeMillis();
-            Cursor result = sqliteDatabase.rawQuery(command.sqlStatement(), command.getBindingsAsArray());
+            // Bind values by their type, as for other statements, instead of as strings: SQLiteDatabase.rawQuery
+            // doesn't accept null arguments, and a number bound as a string doesn't compare equal to a stored REAL.
+            Cursor result = sqliteDatabase.rawQueryWithFactory((database, driver, editTable, query) -> {
+                try {
+                    bindValuesToStatement(query, command.getBindings());
+                } catch (DataStoreException bindingFailure) {
+                    throw new SQLiteException(bindingFailure.getMessage(), bindingFailure);
+                }
+                return new SQLiteCursor(driver, editTable, query);
+            }, command.sqlStatement(), null, null);
             LOG.verbose("SQLCommandProcessor rawQuery in " + (System.currentTimeMillis() - startTime)
                     + " ms inTransaction: " + sqliteDatabase.inTransaction() + " SQL: " + command.sqlStatement());
             return result;
@@ -56,7 +131,7 @@ final class SQLCommandProcessor {
     }
 
     boolean executeExists(SqlCommand command) throws DataStoreException {
-        SQLiteStatement sqliteStatement = sqliteDatabase.compileStatement(command.sqlStatement());
+        SQLiteStatement sqliteStatement = acquireStatement(command.sqlStatement());
         try {
             long startTime = System.currentTimeMillis();
             bindValuesToStatement(sqliteStatement, command.getBindings());
@@ -66,11 +141,13 @@ final class SQLCommandProcessor {
             return result;
         } catch (SQLException sqlException) {
             throw dataStoreException(sqlException, command.sqlStatement());
+        } finally {
+            releaseStatement(command.sqlStatement(), sqliteStatement);
         }
     }
 
     void execute(SqlCommand command) throws DataStoreException {
-        SQLiteStatement sqliteStatement = sqliteDatabase.compileStatement(command.sqlStatement());
+        SQLiteStatement sqliteStatement = acquireStatement(command.sqlStatement());
         try {
             long startTime = System.currentTimeMillis();
             bindValuesToStatement(sqliteStatement, command.getBindings());
@@ -79,6 +156,51 @@ final class SQLCommandProcessor {
                     + " ms inTransaction: " + sqliteDatabase.inTransaction() + " SQL: " + command.sqlStatement());
         } catch (SQLException sqlException) {
             throw dataStoreException(sqlException, command.sqlStatement());
+        } finally {
+            releaseStatement(command.sqlStatement(), sqliteStatement);
+        }
+    }
+
+    /**
+     * Executes an UPDATE or DELETE command.
+     * @param command An UPDATE or DELETE command
+     * @return The number of rows changed by the command
+     * @throws DataStoreException If the command fails
+     */
+    int executeUpdateDelete(SqlCommand command) throws DataStoreException {
+        SQLiteStatement sqliteStatement = acquireStatement(command.sqlStatement());
+        try {
+            long startTime = System.currentTimeMillis();
+            bindValuesToStatement(sqliteStatement, command.getBindings());
+            int changedRows = sqliteStatement.executeUpdateDelete();
+            LOG.verbose("SQLCommandProcessor executeUpdateDelete in " + (System.currentTimeMillis() - startTime)
+                    + " ms inTransaction: " + sqliteDatabase.inTransaction() + " SQL: " + command.sqlStatement());
+            return changedRows;
+        } catch (SQLException sqlException) {
+            throw dataStoreException(sqlException, command.sqlStatement());
+        } finally {
+            releaseStatement(command.sqlStatement(), sqliteStatement);
+        }
+    }
+
+    // Inside of a batch transaction, a statement is held by the transaction until it ends.
+    // Otherwise, it is leased from the cache for the duration of a single execution.
+    private SQLiteStatement acquireStatement(String sqlStatement) {
+        Map<String, SQLiteStatement> statements = transactionStatements.get();
+        if (statements == null) {
+            return statementCache.acquire(sqlStatement);
+        }
+        SQLiteStatement statement = statements.get(sqlStatement);
+        if (statement == null) {
+            statement = statementCache.acquire(sqlStatement);
+            statements.put(sqlStatement, statement);
+        }
+        return statement;
+    }
+
+    private void releaseStatement(String sqlStatement, SQLiteStatement statement) {
+        if (transactionStatements.get() == null) {
+            statementCache.release(sqlStatement, statement);
         }
     }
 
@@ -91,7 +213,7 @@ final class SQLCommandProcessor {
     }
 
     private void bindValuesToStatement(
-            SQLiteStatement statement,
+            SQLiteProgram statement,
             List<Object> values
     ) throws DataStoreException {
         // remove any bindings if there is any
@@ -106,7 +228,7 @@ final class SQLCommandProcessor {
     }
 
     private void bindValueToStatement(
-            SQLiteStatement statement,
+            SQLiteProgram statement,
             int columnIndex,
             Object value
     ) throws DataStoreException {
@@ -131,4 +253,15 @@ final class SQLCommandProcessor {
             );
         }
     }
+
+    /**
+     * A unit of work to be run inside of a transaction, by {@link #runInTransaction(TransactionBlock)}.
+     */
+    interface TransactionBlock {
+        /**
+         * Runs the unit of work.
+         * @throws DataStoreException If any of the work fails, causing the transaction to roll back
+         */
+        void run() throws DataStoreException;
+    }
 }
@@ -24,11 +24,16 @@ import com.amplifyframework.core.model.ModelIndex;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
 import com.amplifyframework.core.model.PrimaryKey;
+import com.amplifyframework.core.model.query.Aggregate;
+import com.amplifyframework.core.model.query.AssociationLoadingPolicy;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.QueryPaginationInput;
 import com.amplifyframework.core.model.query.QuerySortBy;
+import com.amplifyframework.core.model.query.QuerySortOrder;
 import com.amplifyframework.core.model.query.predicate.QueryField;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicateGroup;
+import com.amplifyframework.core.model.query.predicate.QueryPredicateOperation;
 import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.storage.sqlite.adapter.SQLPredicate;
@@ -49,16 +54,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A factory that produces the SQLite commands for a given
  * {@link Model} and {@link ModelSchema}.
+ *
+ * The parts of each statement which depend only on the {@link ModelSchema}, such as the
+ * column lists and joins, are built once per schema and reused. Only the predicates,
+ * sort order, pagination and bindings are built on each call.
  */
 final class SQLiteCommandFactory implements SQLCommandFactory {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
 
     private final ModelSchemaRegistry modelSchemaRegistry;
     private final Gson gson;
+    private final Map<String, SqlTemplates> templatesByModelName;
 
     /**
      * Default constructor.
@@ -68,6 +79,7 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
             @NonNull Gson gson) {
         this.modelSchemaRegistry = Objects.requireNonNull(modelSchemaRegistry);
         this.gson = Objects.requireNonNull(gson);
+        this.templatesByModelName = new ConcurrentHashMap<>();
     }
 
     @NonNull
@@ -132,68 +144,62 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
     @Override
     public SqlCommand queryFor(@NonNull ModelSchema modelSchema,
                                @NonNull QueryOptions options) throws DataStoreException {
-        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
-        final String tableName = table.getName();
-        StringBuilder rawQuery = new StringBuilder();
-        StringBuilder selectColumns = new StringBuilder();
-        StringBuilder joinStatement = new StringBuilder();
+        final SqlTemplates templates = templatesFor(modelSchema);
+        final String tableName = templates.tableName;
         final List<Object> bindings = new ArrayList<>();
 
-        // Track the list of columns to return
-        List<SQLiteColumn> columns = new LinkedList<>(table.getSortedColumns());
-
-        // Joins the foreign keys
-        recursivelyBuildJoins(table, columns, joinStatement);
-
-        // Convert columns to comma-separated column names
-        Iterator<SQLiteColumn> columnsIterator = columns.iterator();
-        while (columnsIterator.hasNext()) {
-            final SQLiteColumn column = columnsIterator.next();
-            selectColumns.append(column.getQuotedColumnName());
-
-            // Alias primary keys to avoid duplicate column names
-            selectColumns.append(SqlKeyword.DELIMITER)
-                    .append(SqlKeyword.AS)
-                    .append(SqlKeyword.DELIMITER)
-                    .append(Wrap.inBackticks(column.getAliasedName()));
+        // Sorted pages must be in a total order, so that consecutive pages neither skip nor
+        // repeat items which have equal sort keys. The id breaks any ties.
+        final QueryPaginationInput paginationInput = options.getPaginationInput();
+        final Model lastSeenItem = paginationInput == null ? null : paginationInput.getLastSeenItem();
+        final List<QuerySortBy> sortByList =
+                lastSeenItem != null || (paginationInput != null && options.getSortBy() != null) ?
+                withIdTiebreaker(options.getSortBy()) : options.getSortBy();
+        final QueryPredicate predicate = options.getQueryPredicate();
 
-            if (columnsIterator.hasNext()) {
-                selectColumns.append(",").append(SqlKeyword.DELIMITER);
-            }
-        }
-
-        // Start SELECT statement.
-        // SELECT columns FROM tableName
-        rawQuery.append(SqlKeyword.SELECT)
-                .append(SqlKeyword.DELIMITER)
-                .append(selectColumns.toString())
-                .append(SqlKeyword.DELIMITER)
-                .append(SqlKeyword.FROM)
-                .append(SqlKeyword.DELIMITER)
-                .append(Wrap.inBackticks(tableName));
-
-        // Append join statements.
-        // INNER JOIN tableOne ON tableName.id=tableOne.foreignKey
-        // LEFT JOIN tableTwo ON tableName.id=tableTwo.foreignKey
-        if (!joinStatement.toString().isEmpty()) {
-            rawQuery.append(SqlKeyword.DELIMITER)
-                    .append(joinStatement.toString());
+        // Associated models are only joined when they will be read, or when the query
+        // filters or sorts by one of their fields. A projection only reads the model's own columns.
+        final List<QueryField> projection = options.getProjection();
+        final boolean readAssociations = projection == null &&
+                AssociationLoadingPolicy.EAGER.equals(options.getAssociationLoadingPolicy());
+        final boolean joinAssociations = readAssociations ||
+                referencesOtherModel(tableName, predicate) ||
+                referencesOtherModel(tableName, sortByList);
+        final StringBuilder rawQuery = new StringBuilder();
+        if (projection != null) {
+            rawQuery.append(selectStatementFor(tableName, projectedColumns(templates, projection),
+                    joinAssociations ? templates.joinStatement : ""));
+        } else {
+            rawQuery.append(joinAssociations ? templates.selectStatement : templates.selectWithoutJoinsStatement);
         }
 
         // Append predicates.
         // WHERE condition
-        final QueryPredicate predicate = options.getQueryPredicate();
-        if (!QueryPredicates.all().equals(predicate)) {
-            final SQLPredicate sqlPredicate = new SQLPredicate(predicate);
-            bindings.addAll(sqlPredicate.getBindings());
+        final boolean hasPredicate = !QueryPredicates.all().equals(predicate);
+        if (hasPredicate || lastSeenItem != null) {
             rawQuery.append(SqlKeyword.DELIMITER)
                     .append(SqlKeyword.WHERE)
-                    .append(SqlKeyword.DELIMITER)
-                    .append(sqlPredicate);
+                    .append(SqlKeyword.DELIMITER);
+        }
+        if (hasPredicate) {
+            final SQLPredicate sqlPredicate = new SQLPredicate(predicate);
+            bindings.addAll(sqlPredicate.getBindings());
+            if (lastSeenItem != null) {
+                rawQuery.append("(")
+                        .append(sqlPredicate)
+                        .append(")")
+                        .append(SqlKeyword.DELIMITER)
+                        .append(SqlKeyword.AND)
+                        .append(SqlKeyword.DELIMITER);
+            } else {
+                rawQuery.append(sqlPredicate);
+            }
+        }
+        if (lastSeenItem != null) {
+            appendKeysetCondition(templates, sortByList, lastSeenItem, rawQuery, bindings);
         }
 
         // Append order by
-        final List<QuerySortBy> sortByList = options.getSortBy();
         if (sortByList != null) {
             rawQuery.append(SqlKeyword.DELIMITER)
                     .append(SqlKeyword.ORDER_BY)
@@ -201,13 +207,7 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
             Iterator<QuerySortBy> sortByIterator = sortByList.iterator();
             while (sortByIterator.hasNext()) {
                 final QuerySortBy sortBy = sortByIterator.next();
-                String modelName = Wrap.inBackticks(sortBy.getModelName());
-                String fieldName = Wrap.inBackticks(sortBy.getField());
-                if (modelName == null) {
-                    modelName = Wrap.inBackticks(tableName);
-                }
-                final String columnName = modelName + "." + fieldName;
-                rawQuery.append(columnName)
+                rawQuery.append(sortColumnName(tableName, sortBy))
                         .append(SqlKeyword.DELIMITER)
                         .append(SqlKeyword.fromQuerySortOrder(sortBy.getSortOrder()));
 
@@ -219,8 +219,14 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
         }
 
         // Append pagination after order by
-        final QueryPaginationInput paginationInput = options.getPaginationInput();
-        if (paginationInput != null) {
+        if (lastSeenItem != null) {
+            // The keyset condition has already skipped the preceding pages.
+            rawQuery.append(SqlKeyword.DELIMITER)
+                .append(SqlKeyword.LIMIT)
+                .append(SqlKeyword.DELIMITER)
+                .append("?");
+            bindings.add(paginationInput.getLimit());
+        } else if (paginationInput != null) {
             rawQuery.append(SqlKeyword.DELIMITER)
                 .append(SqlKeyword.LIMIT)
                 .append(SqlKeyword.DELIMITER)
@@ -235,32 +241,17 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
 
         rawQuery.append(";");
         final String queryString = rawQuery.toString();
-        return new SqlCommand(table.getName(), queryString, bindings);
+        return new SqlCommand(tableName, queryString, bindings);
     }
 
     @NonNull
     @Override
     public SqlCommand existsFor(@NonNull ModelSchema modelSchema,
                                 @NonNull QueryPredicate predicate) throws DataStoreException {
-        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
-        final String tableName = table.getName();
-        StringBuilder rawQuery = new StringBuilder();
+        final SqlTemplates templates = templatesFor(modelSchema);
+        final StringBuilder rawQuery = new StringBuilder(templates.existsStatement);
         final List<Object> bindings = new ArrayList<>();
 
-        // Start SELECT statement.
-        // SELECT EXISTS(SELECT 1 FROM tableName
-        rawQuery.append(SqlKeyword.SELECT)
-                .append(SqlKeyword.DELIMITER)
-                .append(SqlKeyword.EXISTS)
-                .append("(")
-                .append(SqlKeyword.SELECT)
-                .append(SqlKeyword.DELIMITER)
-                .append("1")
-                .append(SqlKeyword.DELIMITER)
-                .append(SqlKeyword.FROM)
-                .append(SqlKeyword.DELIMITER)
-                .append(Wrap.inBackticks(tableName));
-
         // Append predicates.
         // WHERE condition
         if (!QueryPredicates.all().equals(predicate)) {
@@ -275,47 +266,92 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
         // Close the parentheses for EXISTS, and end with a semicolon.
         rawQuery.append(");");
         final String queryString = rawQuery.toString();
-        return new SqlCommand(table.getName(), queryString, bindings);
+        return new SqlCommand(templates.tableName, queryString, bindings);
     }
 
     @NonNull
     @Override
-    public <T extends Model> SqlCommand insertFor(@NonNull ModelSchema modelSchema,
-                                                  @NonNull T item) throws DataStoreException {
-        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
-        final StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("INSERT INTO")
+    public SqlCommand aggregateFor(@NonNull ModelSchema modelSchema,
+                                   @NonNull Aggregate aggregate,
+                                   @NonNull QueryPredicate predicate) throws DataStoreException {
+        final SqlTemplates templates = templatesFor(modelSchema);
+        final String tableName = templates.tableName;
+        final List<Object> bindings = new ArrayList<>();
+        final List<SQLiteColumn> groupColumns = new ArrayList<>();
+        for (QueryField field : aggregate.getGroupBy()) {
+            groupColumns.add(ownColumnFor(templates, field, "group by"));
+        }
+        final QueryField aggregatedField = aggregate.getField();
+        final String aggregatedColumn = aggregatedField == null ?
+                "*" : ownColumnFor(templates, aggregatedField, "aggregate").getQuotedColumnName();
+
+        // SELECT groupColumn AS alias, ..., FUNCTION(column) AS aggregate FROM tableName
+        final StringBuilder rawQuery = new StringBuilder();
+        rawQuery.append(SqlKeyword.SELECT)
+                .append(SqlKeyword.DELIMITER);
+        for (SQLiteColumn column : groupColumns) {
+            rawQuery.append(column.getQuotedColumnName())
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.AS)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(Wrap.inBackticks(column.getAliasedName()))
+                    .append(SqlKeyword.SEPARATOR);
+        }
+        rawQuery.append(SqlKeyword.fromAggregateFunction(aggregate.getFunction()))
+                .append("(")
+                .append(aggregatedColumn)
+                .append(")")
                 .append(SqlKeyword.DELIMITER)
-                .append(Wrap.inBackticks(table.getName()))
+                .append(SqlKeyword.AS)
                 .append(SqlKeyword.DELIMITER)
-                .append("(");
-        final List<SQLiteColumn> columns = table.getSortedColumns();
-        final Iterator<SQLiteColumn> columnsIterator = columns.iterator();
-        while (columnsIterator.hasNext()) {
-            final String columnName = columnsIterator.next().getName();
-            stringBuilder.append(Wrap.inBackticks(columnName));
-            if (columnsIterator.hasNext()) {
-                stringBuilder.append(",").append(SqlKeyword.DELIMITER);
-            }
-        }
-        stringBuilder.append(")")
+                .append(Wrap.inBackticks(AGGREGATE_COLUMN_NAME))
                 .append(SqlKeyword.DELIMITER)
-                .append("VALUES")
+                .append(SqlKeyword.FROM)
                 .append(SqlKeyword.DELIMITER)
-                .append("(");
-        for (int i = 0; i < columns.size(); i++) {
-            if (i == columns.size() - 1) {
-                stringBuilder.append("?");
-            } else {
-                stringBuilder.append("?, ");
+                .append(Wrap.inBackticks(tableName));
+
+        // Associated models are only joined when the predicate compares one of their fields.
+        if (referencesOtherModel(tableName, predicate) && !templates.joinStatement.isEmpty()) {
+            rawQuery.append(SqlKeyword.DELIMITER)
+                    .append(templates.joinStatement);
+        }
+
+        // WHERE condition
+        if (!QueryPredicates.all().equals(predicate)) {
+            final SQLPredicate sqlPredicate = new SQLPredicate(predicate);
+            bindings.addAll(sqlPredicate.getBindings());
+            rawQuery.append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.WHERE)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(sqlPredicate);
+        }
+
+        // GROUP BY groupColumn, ...
+        if (!groupColumns.isEmpty()) {
+            rawQuery.append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.GROUP_BY)
+                    .append(SqlKeyword.DELIMITER);
+            final Iterator<SQLiteColumn> groupColumnsIterator = groupColumns.iterator();
+            while (groupColumnsIterator.hasNext()) {
+                rawQuery.append(groupColumnsIterator.next().getQuotedColumnName());
+                if (groupColumnsIterator.hasNext()) {
+                    rawQuery.append(SqlKeyword.SEPARATOR);
+                }
             }
         }
-        stringBuilder.append(")");
-        final String preparedInsertStatement = stringBuilder.toString();
 
-        return new SqlCommand(table.getName(),
-                preparedInsertStatement,
-                extractFieldValues(item) // VALUES clause
+        rawQuery.append(";");
+        return new SqlCommand(tableName, rawQuery.toString(), bindings);
+    }
+
+    @NonNull
+    @Override
+    public <T extends Model> SqlCommand insertFor(@NonNull ModelSchema modelSchema,
+                                                  @NonNull T item) throws DataStoreException {
+        final SqlTemplates templates = templatesFor(modelSchema);
+        return new SqlCommand(templates.tableName,
+                templates.insertStatement,
+                extractFieldValues(templates, item) // VALUES clause
         );
     }
 
@@ -323,48 +359,48 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
     @Override
     public <T extends Model> SqlCommand updateFor(@NonNull ModelSchema modelSchema,
                                                   @NonNull T model) throws DataStoreException {
-        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
-        final StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("UPDATE")
-                .append(SqlKeyword.DELIMITER)
-                .append(Wrap.inBackticks(table.getName()))
-                .append(SqlKeyword.DELIMITER)
-                .append("SET")
-                .append(SqlKeyword.DELIMITER);
+        final SqlTemplates templates = templatesFor(modelSchema);
+        List<Object> bindings = extractFieldValues(templates, model); // SET clause
+        bindings.add(model.getId()); // WHERE clause
+        return new SqlCommand(templates.tableName,
+                templates.updateStatement,
+                bindings);
+    }
 
-        // Previously, we figured out the correct column names from the model schema.
-        // Instead of figuring out the correct column names again, just iterate
-        // over whatever is actually there (since it was "right".)
-        final List<SQLiteColumn> columns = table.getSortedColumns();
-        final Iterator<SQLiteColumn> columnsIterator = columns.iterator();
-        while (columnsIterator.hasNext()) {
-            final String columnName = columnsIterator.next().getName();
-            stringBuilder.append(Wrap.inBackticks(columnName))
-                    .append(SqlKeyword.DELIMITER)
-                    .append(SqlKeyword.EQUAL)
-                    .append(SqlKeyword.DELIMITER)
-                    .append("?");
-            if (columnsIterator.hasNext()) {
-                stringBuilder.append(", ");
-            }
+    @NonNull
+    @Override
+    public <T extends Model> SqlCommand updateFor(@NonNull ModelSchema modelSchema,
+                                                  @NonNull T model,
+                                                  @NonNull QueryPredicate predicate) throws DataStoreException {
+        if (QueryPredicates.all().equals(predicate)) {
+            return updateFor(modelSchema, model);
         }
+        final SqlTemplates templates = templatesFor(modelSchema);
+        final SQLPredicate sqlPredicate = new SQLPredicate(predicate);
+        List<Object> bindings = extractFieldValues(templates, model); // SET clause
+        bindings.add(model.getId()); // WHERE clause
+        bindings.addAll(sqlPredicate.getBindings());
+
+        // Replace the trailing semicolon with the condition.
+        final String unconditionalUpdate = templates.updateStatement;
+        final String conditionalUpdate =
+                unconditionalUpdate.substring(0, unconditionalUpdate.length() - 1) +
+                SqlKeyword.DELIMITER +
+                SqlKeyword.AND +
+                SqlKeyword.DELIMITER +
+                "(" + sqlPredicate + ");";
+        return new SqlCommand(templates.tableName, conditionalUpdate, bindings);
+    }
 
-        // Append WHERE statement
-        final SQLiteTable sqliteTable = SQLiteTable.fromSchema(modelSchema);
-        final String primaryKeyName = sqliteTable.getPrimaryKeyColumnName();
-        final QueryPredicate matchId = QueryField.field(primaryKeyName).eq(model.getId());
-        SQLPredicate sqlPredicate = new SQLPredicate(matchId);
-        stringBuilder.append(SqlKeyword.DELIMITER)
-                .append(SqlKeyword.WHERE)
-                .append(SqlKeyword.DELIMITER)
-                .append(sqlPredicate)
-                .append(";");
-
-        final String preparedUpdateStatement = stringBuilder.toString();
-        List<Object> bindings = extractFieldValues(model); // SET clause
-        bindings.addAll(sqlPredicate.getBindings()); // WHERE clause
-        return new SqlCommand(table.getName(),
-                preparedUpdateStatement,
+    @NonNull
+    @Override
+    public <T extends Model> SqlCommand compareFor(@NonNull ModelSchema modelSchema,
+                                                   @NonNull T model) throws DataStoreException {
+        final SqlTemplates templates = templatesFor(modelSchema);
+        List<Object> bindings = extractFieldValues(templates, model); // SELECT clause
+        bindings.add(model.getId()); // WHERE clause
+        return new SqlCommand(templates.tableName,
+                templates.compareStatement,
                 bindings);
     }
 
@@ -372,41 +408,318 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
     @Override
     public SqlCommand deleteFor(@NonNull ModelSchema modelSchema,
                                 @NonNull QueryPredicate predicate) throws DataStoreException {
-        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
+        final SqlTemplates templates = templatesFor(modelSchema);
         final SQLPredicate sqlPredicate = new SQLPredicate(predicate);
 
         final String preparedDeleteStatement =
-                "DELETE FROM" +
-                SqlKeyword.DELIMITER +
-                Wrap.inBackticks(table.getName()) +
+                templates.deleteStatement +
                 SqlKeyword.DELIMITER +
                 SqlKeyword.WHERE +
                 SqlKeyword.DELIMITER +
                 sqlPredicate +
                 ";";
-        return new SqlCommand(table.getName(),
+        return new SqlCommand(templates.tableName,
                 preparedDeleteStatement,
                 sqlPredicate.getBindings() // WHERE clause
         );
     }
 
+    // The columns of the fields in a projection, and of the primary key, in the table's column order.
+    private static List<SQLiteColumn> projectedColumns(SqlTemplates templates, List<QueryField> projection)
+            throws DataStoreException {
+        final Set<String> fieldNames = new HashSet<>(templates.modelSchema.getPrimaryIndexFields());
+        for (QueryField field : projection) {
+            fieldNames.add(ownColumnFor(templates, field, "select").getFieldName());
+        }
+        final List<SQLiteColumn> columns = new ArrayList<>();
+        for (SQLiteColumn column : templates.columns) {
+            if (fieldNames.contains(column.getFieldName())) {
+                columns.add(column);
+            }
+        }
+        return columns;
+    }
+
+    // The column of a field of the queried model. The verb describes what the query does with the field.
+    private static SQLiteColumn ownColumnFor(SqlTemplates templates, QueryField field, String verb)
+            throws DataStoreException {
+        final boolean ownField = field.getModelName() == null ||
+                field.getModelName().equals(templates.tableName);
+        if (ownField) {
+            for (SQLiteColumn column : templates.columns) {
+                if (column.getFieldName().equals(field.getFieldName())) {
+                    return column;
+                }
+            }
+        }
+        throw new DataStoreException(
+                "Unable to " + verb + " " + field + " in a query of " + templates.tableName + ".",
+                "Only " + verb + " fields of the queried model which are stored in its table."
+        );
+    }
+
+    // Whether a predicate compares a field of a model other than the one in the given table.
+    private static boolean referencesOtherModel(String tableName, QueryPredicate predicate) {
+        if (predicate instanceof QueryPredicateOperation) {
+            String modelName = ((QueryPredicateOperation<?>) predicate).modelName();
+            return modelName != null && !modelName.equals(tableName);
+        } else if (predicate instanceof QueryPredicateGroup) {
+            for (QueryPredicate member : ((QueryPredicateGroup) predicate).predicates()) {
+                if (referencesOtherModel(tableName, member)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Whether any sort key is a field of a model other than the one in the given table.
+    private static boolean referencesOtherModel(String tableName, List<QuerySortBy> sortByList) {
+        if (sortByList != null) {
+            for (QuerySortBy sortBy : sortByList) {
+                if (sortBy.getModelName() != null && !sortBy.getModelName().equals(tableName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String sortColumnName(String tableName, QuerySortBy sortBy) {
+        String modelName = Wrap.inBackticks(sortBy.getModelName());
+        String fieldName = Wrap.inBackticks(sortBy.getField());
+        if (modelName == null) {
+            modelName = Wrap.inBackticks(tableName);
+        }
+        return modelName + "." + fieldName;
+    }
+
+    private static List<QuerySortBy> withIdTiebreaker(List<QuerySortBy> sortByList) {
+        final List<QuerySortBy> keys = new ArrayList<>();
+        if (sortByList != null) {
+            keys.addAll(sortByList);
+        }
+        if (keys.isEmpty() || !PrimaryKey.fieldName().equals(keys.get(keys.size() - 1).getField())) {
+            keys.add(new QuerySortBy(PrimaryKey.fieldName(), QuerySortOrder.ASCENDING));
+        }
+        return keys;
+    }
+
+    /**
+     * Appends a condition which matches the rows that sort after the last seen item, i.e.
+     * (k1 after v1) OR (k1 IS v1 AND k2 after v2) OR ... where the last key is the id. The
+     * first key is also bound on its own when possible, so that SQLite can seek to the start
+     * of the page through an index on that column, instead of scanning the preceding rows.
+     */
+    private static void appendKeysetCondition(
+            SqlTemplates templates,
+            List<QuerySortBy> sortByList,
+            Model lastSeenItem,
+            StringBuilder rawQuery,
+            List<Object> bindings) throws DataStoreException {
+        final List<String> columnNames = new ArrayList<>(sortByList.size());
+        final List<ModelField> fields = new ArrayList<>(sortByList.size());
+        final List<Object> values = new ArrayList<>(sortByList.size());
+        for (QuerySortBy sortBy : sortByList) {
+            final String modelName = sortBy.getModelName();
+            final ModelField field = templates.modelSchema.getFields().get(sortBy.getField());
+            if ((modelName != null && !modelName.equals(templates.tableName)) || field == null) {
+                throw new DataStoreException(
+                    "Unable to paginate after the last seen item, when sorting by " + sortBy + ".",
+                    "Sort by fields of the queried model, or paginate with Page.startingAt(int) instead."
+                );
+            }
+            columnNames.add(sortColumnName(templates.tableName, sortBy));
+            fields.add(field);
+            values.add(templates.converter.convertValueFromTarget(lastSeenItem, field));
+        }
+
+        final QuerySortOrder firstOrder = sortByList.get(0).getSortOrder();
+        final Object firstValue = values.get(0);
+        if (firstValue != null && (QuerySortOrder.ASCENDING.equals(firstOrder) || fields.get(0).isRequired())) {
+            rawQuery.append(columnNames.get(0))
+                    .append(SqlKeyword.DELIMITER)
+                    .append(QuerySortOrder.ASCENDING.equals(firstOrder) ?
+                            SqlKeyword.GREATER_OR_EQUAL : SqlKeyword.LESS_OR_EQUAL)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.VARIABLE)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.AND)
+                    .append(SqlKeyword.DELIMITER);
+            bindings.add(firstValue);
+        }
+
+        rawQuery.append("(");
+        for (int key = 0; key < columnNames.size(); key++) {
+            if (key > 0) {
+                rawQuery.append(SqlKeyword.DELIMITER)
+                        .append(SqlKeyword.OR)
+                        .append(SqlKeyword.DELIMITER);
+            }
+            rawQuery.append("(");
+            for (int equalKey = 0; equalKey < key; equalKey++) {
+                final Object equalValue = values.get(equalKey);
+                rawQuery.append(columnNames.get(equalKey));
+                if (equalValue == null) {
+                    rawQuery.append(" IS NULL");
+                } else {
+                    rawQuery.append(" IS ")
+                            .append(SqlKeyword.VARIABLE);
+                    bindings.add(equalValue);
+                }
+                rawQuery.append(SqlKeyword.DELIMITER)
+                        .append(SqlKeyword.AND)
+                        .append(SqlKeyword.DELIMITER);
+            }
+            appendSortsAfter(columnNames.get(key), sortByList.get(key).getSortOrder(),
+                    !fields.get(key).isRequired(), values.get(key), rawQuery, bindings);
+            rawQuery.append(")");
+        }
+        rawQuery.append(")");
+    }
+
+    // SQLite sorts nulls before all other values, so they come first in ascending order and
+    // last in descending order.
+    private static void appendSortsAfter(
+            String columnName,
+            QuerySortOrder sortOrder,
+            boolean nullable,
+            Object value,
+            StringBuilder rawQuery,
+            List<Object> bindings) {
+        final boolean ascending = QuerySortOrder.ASCENDING.equals(sortOrder);
+        if (value == null) {
+            // Nothing sorts after null in descending order.
+            rawQuery.append(ascending ? columnName + " IS NOT NULL" : "0");
+            return;
+        }
+        bindings.add(value);
+        if (ascending) {
+            rawQuery.append(columnName)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.GREATER_THAN)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.VARIABLE);
+        } else if (nullable) {
+            rawQuery.append("(")
+                    .append(columnName)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.LESS_THAN)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.VARIABLE)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.OR)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(columnName)
+                    .append(" IS NULL)");
+        } else {
+            rawQuery.append(columnName)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.LESS_THAN)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.VARIABLE);
+        }
+    }
+
     // extract model field values to save in database
-    private List<Object> extractFieldValues(@NonNull Model model) throws DataStoreException {
-        final String modelName = model.getModelName();
-        final ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
-        final SQLiteTable table = SQLiteTable.fromSchema(schema);
-        final SQLiteModelFieldTypeConverter converter =
-                new SQLiteModelFieldTypeConverter(schema, modelSchemaRegistry, gson);
-        final Map<String, ModelField> modelFields = schema.getFields();
-        final List<Object> bindings = new ArrayList<>();
-        for (SQLiteColumn column : table.getSortedColumns()) {
-            final ModelField modelField = Objects.requireNonNull(modelFields.get(column.getFieldName()));
-            final Object fieldValue = converter.convertValueFromTarget(model, modelField);
-            bindings.add(fieldValue);
+    private List<Object> extractFieldValues(@NonNull SqlTemplates templates,
+                                            @NonNull Model model) throws DataStoreException {
+        final List<Object> bindings = new ArrayList<>(templates.fields.size());
+        for (ModelField modelField : templates.fields) {
+            bindings.add(templates.converter.convertValueFromTarget(model, modelField));
         }
         return bindings;
     }
 
+    // Gets the statement templates for a schema, building them the first time the schema is seen.
+    // Templates are keyed by model name, but are rebuilt if a different schema instance is passed
+    // for the same name, since the registry may have been reloaded.
+    private SqlTemplates templatesFor(@NonNull ModelSchema modelSchema) {
+        final String modelName = modelSchema.getName();
+        SqlTemplates templates = templatesByModelName.get(modelName);
+        if (templates == null || templates.modelSchema != modelSchema) {
+            templates = buildTemplates(modelSchema);
+            templatesByModelName.put(modelName, templates);
+        }
+        return templates;
+    }
+
+    private SqlTemplates buildTemplates(@NonNull ModelSchema modelSchema) {
+        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
+        final String tableName = table.getName();
+
+        // SELECT columns FROM tableName [INNER JOIN ...] [LEFT JOIN ...]
+        final StringBuilder joinStatement = new StringBuilder();
+
+        // Track the list of columns to return
+        List<SQLiteColumn> columns = new LinkedList<>(table.getSortedColumns());
+
+        // Joins the foreign keys
+        recursivelyBuildJoins(table, columns, joinStatement);
+
+        return new SqlTemplates(
+                modelSchema,
+                table,
+                joinStatement.toString(),
+                selectStatementFor(tableName, columns, joinStatement.toString()),
+                selectStatementFor(tableName, table.getSortedColumns(), ""),
+                new SQLiteModelFieldTypeConverter(modelSchema, modelSchemaRegistry, gson)
+        );
+    }
+
+    // SELECT columns FROM tableName [joins]
+    private static String selectStatementFor(String tableName, List<SQLiteColumn> columns, String joinStatement) {
+        final StringBuilder selectStatement = new StringBuilder();
+        final StringBuilder selectColumns = new StringBuilder();
+
+        // Convert columns to comma-separated column names
+        Iterator<SQLiteColumn> columnsIterator = columns.iterator();
+        while (columnsIterator.hasNext()) {
+            final SQLiteColumn column = columnsIterator.next();
+            selectColumns.append(column.getQuotedColumnName());
+
+            // Alias primary keys to avoid duplicate column names
+            selectColumns.append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.AS)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(Wrap.inBackticks(column.getAliasedName()));
+
+            if (columnsIterator.hasNext()) {
+                selectColumns.append(",").append(SqlKeyword.DELIMITER);
+            }
+        }
+        selectStatement.append(SqlKeyword.SELECT)
+                .append(SqlKeyword.DELIMITER)
+                .append(selectColumns.toString())
+                .append(SqlKeyword.DELIMITER)
+                .append(SqlKeyword.FROM)
+                .append(SqlKeyword.DELIMITER)
+                .append(Wrap.inBackticks(tableName));
+
+        // Append join statements.
+        // INNER JOIN tableOne ON tableName.id=tableOne.foreignKey
+        // LEFT JOIN tableTwo ON tableName.id=tableTwo.foreignKey
+        if (!joinStatement.isEmpty()) {
+            selectStatement.append(SqlKeyword.DELIMITER)
+                    .append(joinStatement);
+        }
+        return selectStatement.toString();
+    }
+
+    // Joins quoted column names with ", ", appending a suffix to each name.
+    private static String joinColumnNames(List<SQLiteColumn> columns, String suffix) {
+        final StringBuilder builder = new StringBuilder();
+        final Iterator<SQLiteColumn> columnsIterator = columns.iterator();
+        while (columnsIterator.hasNext()) {
+            builder.append(Wrap.inBackticks(columnsIterator.next().getName()))
+                    .append(suffix);
+            if (columnsIterator.hasNext()) {
+                builder.append(",").append(SqlKeyword.DELIMITER);
+            }
+        }
+        return builder.toString();
+    }
+
     /**
      * Recursively build joins for multilevel nested joins.
      *
@@ -502,4 +815,142 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
         }
         return builder;
     }
+
+    /**
+     * The parts of each SQL statement for a model which depend only on its schema.
+     */
+    private static final class SqlTemplates {
+        private final ModelSchema modelSchema;
+        private final String tableName;
+        private final List<SQLiteColumn> columns;
+        private final String joinStatement;
+        private final String selectStatement;
+        private final String selectWithoutJoinsStatement;
+        private final String existsStatement;
+        private final String insertStatement;
+        private final String updateStatement;
+        private final String compareStatement;
+        private final String deleteStatement;
+        private final List<ModelField> fields;
+        private final SQLiteModelFieldTypeConverter converter;
+
+        SqlTemplates(
+                ModelSchema modelSchema,
+                SQLiteTable table,
+                String joinStatement,
+                String selectStatement,
+                String selectWithoutJoinsStatement,
+                SQLiteModelFieldTypeConverter converter) {
+            this.modelSchema = modelSchema;
+            this.tableName = table.getName();
+            this.columns = table.getSortedColumns();
+            this.joinStatement = joinStatement;
+            this.selectStatement = selectStatement;
+            this.selectWithoutJoinsStatement = selectWithoutJoinsStatement;
+            this.converter = converter;
+
+            // SELECT EXISTS(SELECT 1 FROM tableName
+            this.existsStatement = new StringBuilder()
+                    .append(SqlKeyword.SELECT)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.EXISTS)
+                    .append("(")
+                    .append(SqlKeyword.SELECT)
+                    .append(SqlKeyword.DELIMITER)
+                    .append("1")
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.FROM)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(Wrap.inBackticks(tableName))
+                    .toString();
+
+            // INSERT INTO tableName (columns) VALUES (?, ?, ...)
+            final StringBuilder insert = new StringBuilder();
+            insert.append("INSERT INTO")
+                    .append(SqlKeyword.DELIMITER)
+                    .append(Wrap.inBackticks(tableName))
+                    .append(SqlKeyword.DELIMITER)
+                    .append("(")
+                    .append(joinColumnNames(columns, ""))
+                    .append(")")
+                    .append(SqlKeyword.DELIMITER)
+                    .append("VALUES")
+                    .append(SqlKeyword.DELIMITER)
+                    .append("(");
+            for (int i = 0; i < columns.size(); i++) {
+                if (i == columns.size() - 1) {
+                    insert.append("?");
+                } else {
+                    insert.append("?, ");
+                }
+            }
+            this.insertStatement = insert.append(")").toString();
+
+            // UPDATE tableName SET column = ?, ... WHERE id = ?;
+            // Previously, we figured out the correct column names from the model schema.
+            // Instead of figuring out the correct column names again, just iterate
+            // over whatever is actually there (since it was "right".)
+            this.updateStatement = "UPDATE" +
+                    SqlKeyword.DELIMITER +
+                    Wrap.inBackticks(tableName) +
+                    SqlKeyword.DELIMITER +
+                    "SET" +
+                    SqlKeyword.DELIMITER +
+                    joinColumnNames(columns, SqlKeyword.DELIMITER + SqlKeyword.EQUAL.toString() +
+                            SqlKeyword.DELIMITER + "?") +
+                    SqlKeyword.DELIMITER +
+                    SqlKeyword.WHERE +
+                    SqlKeyword.DELIMITER +
+                    table.getPrimaryKeyColumnName() +
+                    SqlKeyword.DELIMITER +
+                    SqlKeyword.EQUAL +
+                    SqlKeyword.DELIMITER +
+                    "?;";
+
+            // SELECT column IS ? AS field, ... FROM tableName WHERE id = ?;
+            final StringBuilder compare = new StringBuilder();
+            compare.append(SqlKeyword.SELECT)
+                    .append(SqlKeyword.DELIMITER);
+            final Iterator<SQLiteColumn> columnsIterator = columns.iterator();
+            while (columnsIterator.hasNext()) {
+                final SQLiteColumn column = columnsIterator.next();
+                compare.append(Wrap.inBackticks(column.getName()))
+                        .append(" IS ")
+                        .append(SqlKeyword.VARIABLE)
+                        .append(SqlKeyword.DELIMITER)
+                        .append(SqlKeyword.AS)
+                        .append(SqlKeyword.DELIMITER)
+                        .append(Wrap.inBackticks(column.getFieldName()));
+                if (columnsIterator.hasNext()) {
+                    compare.append(",").append(SqlKeyword.DELIMITER);
+                }
+            }
+            this.compareStatement = compare.append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.FROM)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(Wrap.inBackticks(tableName))
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.WHERE)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(table.getPrimaryKeyColumnName())
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.EQUAL)
+                    .append(SqlKeyword.DELIMITER)
+                    .append("?;")
+                    .toString();
+
+            // DELETE FROM tableName
+            this.deleteStatement = "DELETE FROM" +
+                    SqlKeyword.DELIMITER +
+                    Wrap.inBackticks(tableName);
+
+            // Columns are bound in sorted order, so resolve the field for each column up front.
+            final Map<String, ModelField> modelFields = modelSchema.getFields();
+            final List<ModelField> sortedFields = new ArrayList<>(columns.size());
+            for (SQLiteColumn column : columns) {
+                sortedFields.add(Objects.requireNonNull(modelFields.get(column.getFieldName())));
+            }
+            this.fields = Immutable.of(sortedFields);
+        }
+    }
 }
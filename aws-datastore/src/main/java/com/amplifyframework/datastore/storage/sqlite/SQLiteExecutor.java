@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the work of the {@link SQLiteStorageAdapter} on a small, bounded set of threads.
+ *
+ * SQLite allows only one writer at a time, so every write is run on a single writer thread,
+ * in the order in which it was submitted. Reads are run on a small pool of reader threads.
+ * When write-ahead logging is enabled, each reader uses its own connection from the database's
+ * connection pool, and may proceed while the writer holds a transaction open.
+ *
+ * Idle threads are allowed to exit, and are re-created when more work arrives.
+ */
+final class SQLiteExecutor {
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final ThreadPoolExecutor writer;
+    private final ThreadPoolExecutor readers;
+    private final AtomicInteger peakPendingWriteCount;
+    private final AtomicInteger peakPendingReadCount;
+
+    /**
+     * Constructs a new SQLiteExecutor.
+     * @param readPoolSize Maximum number of reads that may run at the same time
+     */
+    SQLiteExecutor(int readPoolSize) {
+        if (readPoolSize <= 0) {
+            throw new IllegalArgumentException("readPoolSize must be positive, but was " + readPoolSize);
+        }
+        this.writer = newPool(1, "amplify-datastore-writer");
+        this.readers = newPool(readPoolSize, "amplify-datastore-reader");
+        this.peakPendingWriteCount = new AtomicInteger();
+        this.peakPendingReadCount = new AtomicInteger();
+    }
+
+    /**
+     * Submits a task which writes to the database. Writes run one at a time, in submission order.
+     * @param task Task to run on the writer thread
+     * @return A future which completes when the task has run
+     */
+    @NonNull
+    Future<?> write(@NonNull Runnable task) {
+        Future<?> future = writer.submit(Objects.requireNonNull(task));
+        recordPeak(peakPendingWriteCount, writer.getQueue().size());
+        return future;
+    }
+
+    /**
+     * Submits a task which only reads from the database.
+     * @param task Task to run on a reader thread
+     * @return A future which completes when the task has run
+     */
+    @NonNull
+    Future<?> read(@NonNull Runnable task) {
+        Future<?> future = readers.submit(Objects.requireNonNull(task));
+        recordPeak(peakPendingReadCount, readers.getQueue().size());
+        return future;
+    }
+
+    /**
+     * Stops accepting new tasks. Tasks which were already submitted will still run.
+     */
+    void shutdown() {
+        writer.shutdown();
+        readers.shutdown();
+    }
+
+    /**
+     * Stops accepting new tasks, and attempts to interrupt the tasks which are running.
+     * Tasks which have not started are discarded.
+     */
+    void shutdownNow() {
+        writer.shutdownNow();
+        readers.shutdownNow();
+    }
+
+    /**
+     * Waits for all submitted tasks to finish, after a {@link #shutdown()}.
+     * @param timeout Maximum time to wait
+     * @param timeUnit Unit of the timeout
+     * @return True if all tasks finished, false if the timeout elapsed first
+     * @throws InterruptedException If interrupted while waiting
+     */
+    boolean awaitTermination(long timeout, @NonNull TimeUnit timeUnit) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+        return writer.awaitTermination(timeout, timeUnit) &&
+            readers.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of writes which are waiting for the writer thread.
+     * @return Number of pending writes
+     */
+    int getPendingWriteCount() {
+        return writer.getQueue().size();
+    }
+
+    /**
+     * Gets the number of reads which are waiting for a reader thread.
+     * @return Number of pending reads
+     */
+    int getPendingReadCount() {
+        return readers.getQueue().size();
+    }
+
+    /**
+     * Gets the largest number of writes that have been waiting for the writer thread at once.
+     * @return Peak number of pending writes
+     */
+    int getPeakPendingWriteCount() {
+        return peakPendingWriteCount.get();
+    }
+
+    /**
+     * Gets the largest number of reads that have been waiting for a reader thread at once.
+     * @return Peak number of pending reads
+     */
+    int getPeakPendingReadCount() {
+        return peakPendingReadCount.get();
+    }
+
+    private static void recordPeak(AtomicInteger peak, int current) {
+        int previous = peak.get();
+        while (current > previous && !peak.compareAndSet(previous, current)) {
+            previous = peak.get();
+        }
+    }
+
+    private static ThreadPoolExecutor newPool(int size, String threadNamePrefix) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadFactory threadFactory =
+            runnable -> new Thread(runnable, threadNamePrefix + "-" + threadCount.incrementAndGet());
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            size, size, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory
+        );
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
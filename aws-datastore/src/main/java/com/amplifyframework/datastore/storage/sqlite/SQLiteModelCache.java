@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.core.model.Model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the models which were most recently read from, or written to, the database,
+ * keyed by model name and ID. Each cached model is an exact image of its row, so that a lookup
+ * by ID, or the comparison of a model with its stored row, can be answered without a query.
+ *
+ * The cache is kept coherent by the storage adapter's write path: a model is put into the cache
+ * after it is written, and removed after it is deleted, once the write has been committed.
+ * A model read by a query is only put into the cache if no write has been recorded since the
+ * query began, so that a slow read can never overwrite the result of a newer write.
+ *
+ * The least recently used model is evicted when the cache is full. A cache with a size of
+ * zero is disabled, and caches nothing.
+ */
+final class SQLiteModelCache {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int maxSize;
+    private final Map<String, Model> models;
+    private long generation;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs a model cache.
+     * @param maxSize Number of models which are cached, at most; 0 disables the cache
+     */
+    SQLiteModelCache(int maxSize) {
+        this.maxSize = maxSize;
+        // An access-ordered map iterates from the least to the most recently used model.
+        this.models = new LinkedHashMap<String, Model>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Model> eldest) {
+                if (size() > SQLiteModelCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Whether the cache holds any models at all.
+     * @return True if the cache is enabled
+     */
+    boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Looks up a model, and records the lookup as a hit or a miss.
+     * @param modelName Name of the model
+     * @param id ID of the model
+     * @return The cached model, or null if it is not cached
+     */
+    @Nullable
+    synchronized Model get(@NonNull String modelName, @NonNull String id) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Model model = models.get(keyOf(modelName, id));
+        if (model == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return model;
+    }
+
+    /**
+     * Gets a number which changes whenever a write is recorded. A query which may populate the
+     * cache reads it before it begins.
+     * @return The current write generation
+     */
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches a model which was read by a query, unless a write has been recorded since the query began.
+     * @param model A model, as read from its row
+     * @param generationAtRead The write generation, as it was before the query began
+     */
+    synchronized void putIfUnchanged(@NonNull Model model, long generationAtRead) {
+        if (isEnabled() && generation == generationAtRead) {
+            models.put(keyOf(model.getModelName(), model.getId()), model);
+        }
+    }
+
+    /**
+     * Records that a model was written, and caches it as the image of its row.
+     * @param model A model, as it was written
+     */
+    synchronized void put(@NonNull Model model) {
+        generation++;
+        if (isEnabled()) {
+            models.put(keyOf(model.getModelName(), model.getId()), model);
+        }
+    }
+
+    /**
+     * Records that a model was deleted, or written in a form which can't be cached.
+     * @param modelName Name of the model
+     * @param id ID of the model
+     */
+    synchronized void invalidate(@NonNull String modelName, @NonNull String id) {
+        generation++;
+        models.remove(keyOf(modelName, id));
+    }
+
+    /**
+     * Removes every model from the cache, as when the tables are dropped.
+     */
+    synchronized void invalidateAll() {
+        generation++;
+        models.clear();
+    }
+
+    /**
+     * Gets the number of lookups which found a cached model.
+     * @return Number of cache hits
+     */
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups which did not find a cached model.
+     * @return Number of cache misses
+     */
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of models which were evicted to make room for others.
+     * @return Number of evictions
+     */
+    synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    // Model names are GraphQL type names, which can't contain a colon.
+    private static String keyOf(String modelName, String id) {
+        return modelName + ":" + id;
+    }
+}
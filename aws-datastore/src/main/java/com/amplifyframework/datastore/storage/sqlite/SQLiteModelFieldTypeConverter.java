@@ -25,6 +25,8 @@ import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelField;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.PrimaryKey;
+import com.amplifyframework.core.model.query.AssociationLoadingPolicy;
 import com.amplifyframework.core.model.temporal.Temporal;
 import com.amplifyframework.core.model.types.JavaFieldType;
 import com.amplifyframework.datastore.DataStoreException;
@@ -38,6 +40,7 @@ import com.amplifyframework.logging.Logger;
 import com.google.gson.Gson;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -124,13 +127,50 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
     }
 
     Map<String, Object> buildMapForModel(@NonNull Cursor cursor) throws DataStoreException {
+        return buildMapForModel(cursor, AssociationLoadingPolicy.EAGER);
+    }
+
+    /**
+     * Builds a map of field names to values from the current row of a cursor, loading associated
+     * models as described by an {@link AssociationLoadingPolicy}. Unless the policy is
+     * {@link AssociationLoadingPolicy#EAGER}, the associated models' columns need not be joined into
+     * the row: with {@link AssociationLoadingPolicy#LAZY}, an association is a map of just its ID,
+     * and with {@link AssociationLoadingPolicy#NONE}, it is left out. Fields whose columns are not
+     * in the row are left out, too.
+     */
+    Map<String, Object> buildMapForModel(
+            @NonNull Cursor cursor,
+            @NonNull AssociationLoadingPolicy associationLoadingPolicy) throws DataStoreException {
         final Map<String, Object> mapForModel = new HashMap<>();
         for (Map.Entry<String, ModelField> entry : parentSchema.getFields().entrySet()) {
-            mapForModel.put(entry.getKey(), convertValueFromSource(cursor, entry.getValue()));
+            final ModelField field = entry.getValue();
+            final SQLiteColumn column = columns.get(field.getName());
+            if (column != null && cursor.getColumnIndex(column.getAliasedName()) < 0) {
+                // The column was left out of the query by a projection.
+                continue;
+            }
+            if (!field.isModel() || AssociationLoadingPolicy.EAGER.equals(associationLoadingPolicy)) {
+                mapForModel.put(entry.getKey(), convertValueFromSource(cursor, field));
+            } else if (AssociationLoadingPolicy.LAZY.equals(associationLoadingPolicy)) {
+                mapForModel.put(entry.getKey(), convertForeignKeyToTarget(cursor, field));
+            }
         }
         return mapForModel;
     }
 
+    /**
+     * Reads the value of a field from the current row of a cursor, as the key of a group of models.
+     * An associated model is read as its ID, from the foreign key column, so that it need not be joined.
+     */
+    @Nullable
+    Object convertGroupKeyFromSource(@NonNull Cursor cursor, @NonNull ModelField field) throws DataStoreException {
+        if (!field.isModel()) {
+            return convertValueFromSource(cursor, field);
+        }
+        final Map<String, Object> foreignKey = convertForeignKeyToTarget(cursor, field);
+        return foreignKey == null ? null : foreignKey.get(PrimaryKey.fieldName());
+    }
+
     @Override
     public Object convertValueFromSource(
             @NonNull Cursor cursor,
@@ -211,6 +251,20 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
         return nestedModelConverter.buildMapForModel(cursor);
     }
 
+    // A map of just the ID of an associated model, read from the foreign key column.
+    @Nullable
+    private Map<String, Object> convertForeignKeyToTarget(@NonNull Cursor cursor, @NonNull ModelField field) {
+        final SQLiteColumn column = columns.get(field.getName());
+        if (column == null) {
+            return null;
+        }
+        final int columnIndex = cursor.getColumnIndexOrThrow(column.getAliasedName());
+        if (cursor.isNull(columnIndex)) {
+            return null;
+        }
+        return Collections.singletonMap(PrimaryKey.fieldName(), cursor.getString(columnIndex));
+    }
+
     private Object convertCustomTypeToTarget(Cursor cursor, ModelField field, int columnIndex) throws IOException {
         final String stringValue = cursor.getString(columnIndex);
         return gson.getAdapter(Objects.requireNonNull(field.getJavaClassForValue()))
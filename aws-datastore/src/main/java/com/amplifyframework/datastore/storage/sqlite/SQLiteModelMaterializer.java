@@ -0,0 +1,353 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.Cursor;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelField;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.PrimaryKey;
+import com.amplifyframework.core.model.query.AssociationLoadingPolicy;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.core.model.types.JavaFieldType;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteColumn;
+import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteTable;
+
+import com.google.gson.Gson;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Materializes instances of {@link Model} classes directly from the current row of a {@link Cursor}.
+ *
+ * Previously, each row was converted to a {@link Map}, serialized to a JSON string, and then
+ * deserialized into the model class by {@link Gson}. Instead, this class resolves the reflective
+ * {@link Field} and the result column for each {@link ModelField} once per model class, and then
+ * reads each row's values straight into a new instance.
+ *
+ * Models are instantiated in the same way that {@link Gson} instantiates them: by their no-arg
+ * constructor, if they have one, or else without calling any constructor. Fields which are not in
+ * the {@link ModelSchema} are left in the same state as before.
+ */
+final class SQLiteModelMaterializer {
+    private final ModelSchemaRegistry modelSchemaRegistry;
+    private final Gson gson;
+    private final Map<Class<?>, ModelBinding<?>> modelBindings;
+
+    SQLiteModelMaterializer(@NonNull ModelSchemaRegistry modelSchemaRegistry, @NonNull Gson gson) {
+        this.modelSchemaRegistry = Objects.requireNonNull(modelSchemaRegistry);
+        this.gson = Objects.requireNonNull(gson);
+        this.modelBindings = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates an instance of a model class from the current row of a cursor. Any model
+     * associations whose columns were joined into the row are materialized, too.
+     * @param cursor A cursor, positioned on the row to read
+     * @param itemClass The class of model to create
+     * @param <T> The type of model
+     * @return A new model instance, populated from the row
+     * @throws DataStoreException If the row can not be converted to the model class
+     */
+    @NonNull
+    <T extends Model> T materialize(@NonNull Cursor cursor, @NonNull Class<T> itemClass)
+            throws DataStoreException {
+        return materialize(cursor, itemClass, AssociationLoadingPolicy.EAGER);
+    }
+
+    /**
+     * Creates an instance of a model class from the current row of a cursor, loading the models
+     * that it belongs to as described by an {@link AssociationLoadingPolicy}. Only the
+     * {@link AssociationLoadingPolicy#EAGER} policy requires the associated models' columns to be
+     * joined into the row. With {@link AssociationLoadingPolicy#LAZY}, each association is an
+     * instance which has only the ID found in the foreign key column.
+     * @param cursor A cursor, positioned on the row to read
+     * @param itemClass The class of model to create
+     * @param associationLoadingPolicy How to load the models that the model belongs to
+     * @param <T> The type of model
+     * @return A new model instance, populated from the row
+     * @throws DataStoreException If the row can not be converted to the model class
+     */
+    @NonNull
+    <T extends Model> T materialize(
+            @NonNull Cursor cursor,
+            @NonNull Class<T> itemClass,
+            @NonNull AssociationLoadingPolicy associationLoadingPolicy) throws DataStoreException {
+        return bindingFor(itemClass).materialize(cursor, Objects.requireNonNull(associationLoadingPolicy));
+    }
+
+    @SuppressWarnings("unchecked") // Bindings are stored by their class, so the cast is safe.
+    private <T extends Model> ModelBinding<T> bindingFor(Class<T> itemClass) {
+        ModelBinding<T> binding = (ModelBinding<T>) modelBindings.get(itemClass);
+        if (binding == null) {
+            binding = new ModelBinding<>(itemClass);
+            modelBindings.put(itemClass, binding);
+        }
+        return binding;
+    }
+
+    @Nullable
+    private static Field findField(Class<?> clazz, String name) {
+        for (Class<?> current = clazz; current != null && current != Object.class;
+                current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException noSuchField) {
+                // Try the super class.
+            }
+        }
+        return null;
+    }
+
+    private static <T> Instantiator<T> instantiatorFor(Class<T> clazz) {
+        try {
+            Constructor<T> constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor::newInstance;
+        } catch (NoSuchMethodException noDefaultConstructor) {
+            // Models which are built by their builders have no such constructor.
+            return () -> UnsafeAllocator.allocate(clazz);
+        }
+    }
+
+    // The model schemas may declare a different, but compatible, numeric type for a field.
+    private static Object coerceNumber(Object value, Class<?> type) {
+        if (!(value instanceof Number)) {
+            return value;
+        }
+        Number number = (Number) value;
+        if (type == Integer.class || type == int.class) {
+            return number.intValue();
+        } else if (type == Long.class || type == long.class) {
+            return number.longValue();
+        } else if (type == Double.class || type == double.class) {
+            return number.doubleValue();
+        } else if (type == Float.class || type == float.class) {
+            return number.floatValue();
+        }
+        return value;
+    }
+
+    /**
+     * The reflective information needed to populate one model class from a row.
+     * @param <T> The type of model
+     */
+    private final class ModelBinding<T extends Model> {
+        private final ModelSchema modelSchema;
+        private final Instantiator<T> instantiator;
+        private final List<FieldBinding> fieldBindings;
+        private final Field idField;
+
+        ModelBinding(Class<T> itemClass) {
+            this.modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(itemClass.getSimpleName());
+            this.instantiator = instantiatorFor(itemClass);
+            final Map<String, SQLiteColumn> columns = SQLiteTable.fromSchema(modelSchema).getColumns();
+            final List<FieldBinding> bindings = new ArrayList<>();
+            for (ModelField modelField : modelSchema.getFields().values()) {
+                Field javaField = findField(itemClass, modelField.getName());
+                if (javaField != null) {
+                    bindings.add(new FieldBinding(modelField, javaField, columns.get(modelField.getName())));
+                }
+            }
+            this.fieldBindings = bindings;
+            this.idField = findField(itemClass, PrimaryKey.fieldName());
+        }
+
+        T materialize(Cursor cursor, AssociationLoadingPolicy associationLoadingPolicy) throws DataStoreException {
+            final T instance;
+            try {
+                instance = instantiator.newInstance();
+            } catch (Exception exception) {
+                throw new DataStoreException(
+                    String.format("Error creating an instance of model \"%s\"", modelSchema.getName()),
+                    exception,
+                    AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+                );
+            }
+            for (FieldBinding fieldBinding : fieldBindings) {
+                fieldBinding.populate(cursor, instance, modelSchema, associationLoadingPolicy);
+            }
+            return instance;
+        }
+
+        // An instance which has only its ID, to stand in for a model which was not read.
+        T placeholder(String id) throws Exception {
+            final T instance = instantiator.newInstance();
+            if (idField != null) {
+                idField.set(instance, id);
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Reads one column of a row into one field of a model.
+     */
+    private final class FieldBinding {
+        private final ModelField modelField;
+        private final Field javaField;
+        private final JavaFieldType javaFieldType;
+        private final String columnName;
+
+        FieldBinding(ModelField modelField, Field javaField, @Nullable SQLiteColumn column) {
+            this.modelField = modelField;
+            this.javaField = javaField;
+            this.javaFieldType = TypeConverter.getJavaFieldType(modelField);
+            this.columnName = column == null ? null : column.getAliasedName();
+        }
+
+        void populate(
+                Cursor cursor,
+                Object instance,
+                ModelSchema modelSchema,
+                AssociationLoadingPolicy associationLoadingPolicy) throws DataStoreException {
+            if (JavaFieldType.MODEL.equals(javaFieldType) &&
+                    AssociationLoadingPolicy.NONE.equals(associationLoadingPolicy)) {
+                return;
+            }
+            // A column which a projection left out of the query leaves the field empty.
+            final int columnIndex = columnName == null ? -1 : cursor.getColumnIndex(columnName);
+            if (columnName != null && columnIndex < 0) {
+                return;
+            }
+            try {
+                Object value = columnName == null ? null : readValue(cursor, columnIndex, associationLoadingPolicy);
+                // Primitive fields keep their default value, in place of null.
+                if (value != null || !javaField.getType().isPrimitive()) {
+                    javaField.set(instance, coerceNumber(value, javaField.getType()));
+                }
+            } catch (DataStoreException dataStoreException) {
+                throw dataStoreException;
+            } catch (Exception exception) {
+                throw new DataStoreException(
+                    String.format("Error converting field \"%s\" from model \"%s\"",
+                        modelField.getName(), modelSchema.getName()),
+                    exception,
+                    AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+                );
+            }
+        }
+
+        @Nullable
+        @SuppressWarnings({"unchecked", "rawtypes"}) // Enum class is checked by the schema.
+        private Object readValue(Cursor cursor, int columnIndex, AssociationLoadingPolicy associationLoadingPolicy)
+                throws Exception {
+            // This check is necessary, because primitive values will return 0 even when null
+            if (cursor.isNull(columnIndex)) {
+                return null;
+            }
+            switch (javaFieldType) {
+                case STRING:
+                    return cursor.getString(columnIndex);
+                case MODEL:
+                    ModelBinding<? extends Model> associatedBinding =
+                        bindingFor((Class<? extends Model>) javaField.getType());
+                    if (AssociationLoadingPolicy.LAZY.equals(associationLoadingPolicy)) {
+                        // The column holds the foreign key, which is the associated model's ID.
+                        return associatedBinding.placeholder(cursor.getString(columnIndex));
+                    }
+                    // The associated model's columns are joined into the row, if it is a foreign key.
+                    return associatedBinding.materialize(cursor, associationLoadingPolicy);
+                case ENUM:
+                    return Enum.valueOf((Class<Enum>) javaField.getType(), cursor.getString(columnIndex));
+                case CUSTOM_TYPE:
+                    // Use the declared type, so that generic collections get typed elements.
+                    return gson.fromJson(cursor.getString(columnIndex), javaField.getGenericType());
+                case INTEGER:
+                    return cursor.getInt(columnIndex);
+                case BOOLEAN:
+                    return cursor.getInt(columnIndex) != 0;
+                case FLOAT:
+                    return cursor.getFloat(columnIndex);
+                case DOUBLE:
+                    return cursor.getDouble(columnIndex);
+                case LONG:
+                    return cursor.getLong(columnIndex);
+                case DATE:
+                    return new Temporal.Date(cursor.getString(columnIndex));
+                case DATE_TIME:
+                    return new Temporal.DateTime(cursor.getString(columnIndex));
+                case TIME:
+                    return new Temporal.Time(cursor.getString(columnIndex));
+                case TIMESTAMP:
+                    return new Temporal.Timestamp(cursor.getLong(columnIndex), TimeUnit.SECONDS);
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Creates an empty instance of a class, to be populated field by field.
+     * @param <T> The type of instance
+     */
+    private interface Instantiator<T> {
+        T newInstance() throws Exception;
+    }
+
+    /**
+     * Allocates instances of classes which have no no-arg constructor, without calling any
+     * constructor, as {@link Gson} does. {@code sun.misc.Unsafe} is looked up once, reflectively,
+     * since it is not part of the public API.
+     */
+    private static final class UnsafeAllocator {
+        private static final Object UNSAFE;
+        private static final Method ALLOCATE_INSTANCE;
+
+        static {
+            Object unsafe = null;
+            Method allocateInstance = null;
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                unsafe = theUnsafe.get(null);
+                allocateInstance = unsafeClass.getMethod("allocateInstance", Class.class);
+            } catch (ClassNotFoundException | NoSuchFieldException | NoSuchMethodException
+                    | IllegalAccessException unavailable) {
+                // Left unresolved; allocate() reports it, for the classes that need it.
+            }
+            UNSAFE = unsafe;
+            ALLOCATE_INSTANCE = allocateInstance;
+        }
+
+        private UnsafeAllocator() {}
+
+        static <T> T allocate(Class<T> clazz) throws Exception {
+            if (ALLOCATE_INSTANCE == null) {
+                throw new InstantiationException(
+                    "Unable to create " + clazz.getName() + ", which has no no-arg constructor.");
+            }
+            return clazz.cast(ALLOCATE_INSTANCE.invoke(UNSAFE, clazz));
+        }
+    }
+}
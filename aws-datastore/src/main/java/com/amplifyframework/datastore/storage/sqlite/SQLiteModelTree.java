@@ -33,26 +33,45 @@ import com.amplifyframework.util.GsonFactory;
 import com.amplifyframework.util.Wrap;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 
 /**
  * Utility class to help traverse a tree of models by relationship.
+ *
+ * The tree is walked one level at a time. For each HasOne or HasMany association, the children
+ * of every parent found at the previous level are found together, by queries which bind the
+ * parent IDs in chunks. The number of queries grows with the number of associations and parent
+ * chunks, not with the number of models found.
  */
 final class SQLiteModelTree {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
 
+    // Upper bound on the number of parent IDs bound to a single query. This keeps each query under
+    // SQLite's default limit of 999 bound variables.
+    private static final int MAX_IDS_PER_QUERY = 500;
+
+    // Name of the static factory that generated models provide, to create an instance with only an ID.
+    private static final String JUST_ID_METHOD_NAME = "justId";
+
     private final ModelSchemaRegistry registry;
     private final SQLiteDatabase database;
     private final Gson gson;
+    private final Map<Class<? extends Model>, Method> justIdMethods;
 
     /**
      * Constructs a model family tree traversing utility.
@@ -64,6 +83,7 @@ final class SQLiteModelTree {
         this.registry = registry;
         this.database = database;
         this.gson = GsonFactory.instance();
+        this.justIdMethods = new HashMap<>();
     }
 
     /**
@@ -77,99 +97,180 @@ final class SQLiteModelTree {
         if (Empty.check(root)) {
             return new ArrayList<>();
         }
-        Map<ModelSchema, Set<String>> modelMap = new LinkedHashMap<>();
         Model rootModel = root.iterator().next();
         ModelSchema rootSchema = registry.getModelSchemaForModelClass(getModelName(rootModel));
-        Set<String> rootIds = new HashSet<>();
+        Set<String> rootIds = new LinkedHashSet<>();
         for (T model : root) {
             rootIds.add(model.getId());
         }
-        recurseTree(modelMap, rootSchema, rootIds);
+        boolean serialized = rootModel.getClass() == SerializedModel.class;
 
         List<Model> descendants = new ArrayList<>();
-        for (Map.Entry<ModelSchema, Set<String>> entry : modelMap.entrySet()) {
-            ModelSchema schema = entry.getKey();
+        for (Map.Entry<ModelSchema, Set<String>> entry : descendantIdsOf(rootSchema, rootIds).entrySet()) {
             for (String id : entry.getValue()) {
-                if (rootModel.getClass() == SerializedModel.class) {
-                    SerializedModel dummyItem = SerializedModel.builder()
-                            .serializedData(Collections.singletonMap("id", id))
-                            .modelSchema(schema)
-                            .build();
-                    descendants.add(dummyItem);
-                } else {
-                    // Create dummy model instance using just the ID and model type
-                    String dummyJson = gson.toJson(Collections.singletonMap("id", id));
-                    Model dummyItem = gson.fromJson(dummyJson, schema.getModelClass());
-                    descendants.add(dummyItem);
-                }
+                descendants.add(placeholderOf(entry.getKey(), id, serialized));
             }
         }
         return descendants;
     }
 
-    private void recurseTree(
-            Map<ModelSchema, Set<String>> map,
-            ModelSchema modelSchema,
-            Collection<String> parentIds
-    ) {
-        for (ModelAssociation association : modelSchema.getAssociations().values()) {
-            switch (association.getName()) {
-                case "HasOne":
-                case "HasMany":
-                    String childModel = association.getAssociatedType(); // model name
-                    ModelSchema childSchema = registry.getModelSchemaForModelClass(childModel);
-                    SQLiteTable childTable = SQLiteTable.fromSchema(childSchema);
-                    String childId = childTable.getPrimaryKey().getName();
-                    String parentId = childSchema.getAssociations() // get a map of associations
-                            .get(association.getAssociatedName()) // get @BelongsTo association linked to this field
-                            .getTargetName(); // get the target field (parent) name
-
-                    // Collect every children one level deeper than current level
-                    Set<String> childrenIds = new HashSet<>();
-                    try (Cursor cursor = queryChildren(childTable.getName(), childId, parentId, parentIds)) {
-                        if (cursor != null && cursor.moveToFirst()) {
-                            int index = cursor.getColumnIndexOrThrow(childId);
-                            do {
-                                childrenIds.add(cursor.getString(index));
-                            } while (cursor.moveToNext());
+    /**
+     * Returns the IDs of the descendants of a set of models of the same type, grouped by
+     * the schema of the descendants.
+     * @param rootSchema Schema of the models whose descendants are found
+     * @param rootIds IDs of the models whose descendants are found
+     * @return IDs of the descendants, by schema, in the order in which they were found
+     */
+    @NonNull
+    Map<ModelSchema, Set<String>> descendantIdsOf(
+            @NonNull ModelSchema rootSchema,
+            @NonNull Collection<String> rootIds) {
+        Map<ModelSchema, Set<String>> descendants = new LinkedHashMap<>();
+        Queue<Level> levels = new ArrayDeque<>();
+        levels.add(new Level(rootSchema, rootIds));
+        while (!levels.isEmpty()) {
+            Level level = levels.remove();
+            for (ModelAssociation association : level.schema.getAssociations().values()) {
+                switch (association.getName()) {
+                    case "HasOne":
+                    case "HasMany":
+                        String childModel = association.getAssociatedType(); // model name
+                        ModelSchema childSchema = registry.getModelSchemaForModelClass(childModel);
+                        Set<String> childrenIds = queryChildIds(childSchema, association, level.ids);
+
+                        // Only models that were not found before are descended into, so that
+                        // the walk ends even if the data contains a cycle.
+                        Set<String> knownIds = descendants.get(childSchema);
+                        if (knownIds == null) {
+                            knownIds = new LinkedHashSet<>();
+                            descendants.put(childSchema, knownIds);
+                        }
+                        Set<String> newIds = new LinkedHashSet<>();
+                        for (String childId : childrenIds) {
+                            if (knownIds.add(childId)) {
+                                newIds.add(childId);
+                            }
                         }
-                    } catch (SQLiteException exception) {
-                        // Don't cut the search short. Populate rest of the tree.
-                        LOG.warn("Failed to query children of deleted model(s).", exception);
-                    }
-
-                    // Add queried result to the map
-                    if (!childrenIds.isEmpty()) {
-                        if (!map.containsKey(childSchema)) {
-                            map.put(childSchema, childrenIds);
-                        } else {
-                            map.get(childSchema).addAll(childrenIds);
+                        if (!newIds.isEmpty()) {
+                            levels.add(new Level(childSchema, newIds));
                         }
-                        recurseTree(map, childSchema, childrenIds);
-                    }
-                    break;
-                case "BelongsTo":
-                default:
-                    // Ignore other relationships
+                        break;
+                    case "BelongsTo":
+                    default:
+                        // Ignore other relationships
+                }
+            }
+        }
+        // A root is not its own descendant, even if the data contains a cycle.
+        // Drop the schemas under which nothing was found.
+        Map<ModelSchema, Set<String>> found = new LinkedHashMap<>();
+        for (Map.Entry<ModelSchema, Set<String>> entry : descendants.entrySet()) {
+            if (entry.getKey().equals(rootSchema)) {
+                entry.getValue().removeAll(rootIds);
+            }
+            if (!entry.getValue().isEmpty()) {
+                found.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Creates a stand-in for a model which only has its type and ID, to describe its deletion.
+     * No JSON is written or parsed: serialized models are built from the ID directly, and generated
+     * models are created by their static {@code justId(String)} factory. Gson is only used for a model
+     * class which does not have such a factory.
+     * @param schema Schema of the model
+     * @param id ID of the model
+     * @param serialized Whether to create a {@link SerializedModel}, instead of an instance of the model class
+     * @return A model with the given type and ID, and no other field populated
+     */
+    @NonNull
+    Model placeholderOf(@NonNull ModelSchema schema, @NonNull String id, boolean serialized) {
+        if (serialized) {
+            return SerializedModel.builder()
+                    .serializedData(Collections.singletonMap("id", id))
+                    .modelSchema(schema)
+                    .build();
+        }
+        Class<? extends Model> modelClass = schema.getModelClass();
+        Method justId = justIdMethodOf(modelClass);
+        if (justId != null) {
+            try {
+                return modelClass.cast(justId.invoke(null, id));
+            } catch (IllegalAccessException | InvocationTargetException | ClassCastException exception) {
+                LOG.debug("Unable to call " + modelClass.getSimpleName() + "." + JUST_ID_METHOD_NAME +
+                        "(); falling back to Gson.");
+            }
+        }
+        JsonObject json = new JsonObject();
+        json.addProperty("id", id);
+        return gson.fromJson(json, modelClass);
+    }
+
+    private Method justIdMethodOf(Class<? extends Model> modelClass) {
+        if (justIdMethods.containsKey(modelClass)) {
+            return justIdMethods.get(modelClass);
+        }
+        Method justId = null;
+        try {
+            Method method = modelClass.getMethod(JUST_ID_METHOD_NAME, String.class);
+            if (Modifier.isStatic(method.getModifiers()) && modelClass.isAssignableFrom(method.getReturnType())) {
+                justId = method;
+            }
+        } catch (NoSuchMethodException noJustIdMethod) {
+            // Leave it null, and use Gson instead.
+        }
+        justIdMethods.put(modelClass, justId);
+        return justId;
+    }
+
+    private Set<String> queryChildIds(
+            ModelSchema childSchema,
+            ModelAssociation association,
+            Collection<String> parentIds
+    ) {
+        SQLiteTable childTable = SQLiteTable.fromSchema(childSchema);
+        String childId = childTable.getPrimaryKey().getName();
+        String parentId = childSchema.getAssociations() // get a map of associations
+                .get(association.getAssociatedName()) // get @BelongsTo association linked to this field
+                .getTargetName(); // get the target field (parent) name
+
+        // Collect every child one level deeper than current level
+        Set<String> childrenIds = new LinkedHashSet<>();
+        List<String> ids = new ArrayList<>(parentIds);
+        for (int start = 0; start < ids.size(); start += MAX_IDS_PER_QUERY) {
+            List<String> chunk = ids.subList(start, Math.min(ids.size(), start + MAX_IDS_PER_QUERY));
+            try (Cursor cursor = queryChildren(childTable.getName(), childId, parentId, chunk)) {
+                if (cursor != null && cursor.moveToFirst()) {
+                    int index = cursor.getColumnIndexOrThrow(childId);
+                    do {
+                        childrenIds.add(cursor.getString(index));
+                    } while (cursor.moveToNext());
+                }
+            } catch (SQLiteException exception) {
+                // Don't cut the search short. Populate rest of the tree.
+                LOG.warn("Failed to query children of deleted model(s).", exception);
             }
         }
+        return childrenIds;
     }
 
     private Cursor queryChildren(
             @NonNull String childTable,
             @NonNull String childIdField,
             @NonNull String parentIdField,
-            @NonNull Collection<String> parentIds
+            @NonNull List<String> parentIds
     ) {
-        // Wrap each ID with single quote
-        StringBuilder quotedIds = new StringBuilder();
-        for (Iterator<String> ids = parentIds.iterator(); ids.hasNext();) {
-            quotedIds.append(Wrap.inSingleQuotes(ids.next()));
-            if (ids.hasNext()) {
-                quotedIds.append(SqlKeyword.SEPARATOR);
+        // One bound variable per parent ID
+        StringBuilder variables = new StringBuilder();
+        for (int index = 0; index < parentIds.size(); index++) {
+            if (index > 0) {
+                variables.append(SqlKeyword.SEPARATOR);
             }
+            variables.append(SqlKeyword.VARIABLE);
         }
-        // SELECT <child_id> FROM <child_table> WHERE <parent_id> IN (<id_1>, <id_2>, ...)
+        // SELECT <child_id> FROM <child_table> WHERE <parent_id> IN (?, ?, ...)
         String queryString = String.valueOf(SqlKeyword.SELECT) +
                 SqlKeyword.DELIMITER +
                 Wrap.inBackticks(childIdField) +
@@ -184,9 +285,9 @@ final class SQLiteModelTree {
                 SqlKeyword.DELIMITER +
                 SqlKeyword.IN +
                 SqlKeyword.DELIMITER +
-                Wrap.inParentheses(quotedIds.toString()) +
+                Wrap.inParentheses(variables.toString()) +
                 ";";
-        return database.rawQuery(queryString, new String[0]);
+        return database.rawQuery(queryString, parentIds.toArray(new String[0]));
     }
 
     private String getModelName(@NonNull Model model) {
@@ -196,4 +297,17 @@ final class SQLiteModelTree {
             return model.getClass().getSimpleName();
         }
     }
+
+    /**
+     * The models of one type found at the same depth of the tree.
+     */
+    private static final class Level {
+        private final ModelSchema schema;
+        private final Collection<String> ids;
+
+        Level(ModelSchema schema, Collection<String> ids) {
+            this.schema = schema;
+            this.ids = ids;
+        }
+    }
 }
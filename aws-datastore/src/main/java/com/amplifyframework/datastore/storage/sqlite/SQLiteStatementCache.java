@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import androidx.annotation.NonNull;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A bounded, least-recently-used cache of compiled {@link SQLiteStatement}s, keyed by SQL string.
+ *
+ * A compiled statement holds binding state, so it must not be used by two threads at once. To
+ * avoid holding a lock while a statement executes, statements are leased out of the cache by
+ * {@link #acquire(String)}, and returned to it by {@link #release(String, SQLiteStatement)}.
+ * If a statement for the same SQL is already leased, a new one is compiled for the caller.
+ *
+ * Statements compiled against a schema that has since changed must not be reused. Calling
+ * {@link #invalidate()} closes all idle statements, and causes statements that are currently
+ * leased to be closed when they are released.
+ */
+final class SQLiteStatementCache {
+    private final SQLiteDatabase sqliteDatabase;
+    private final int maxSize;
+    private final LinkedHashMap<String, SQLiteStatement> idleStatements;
+    private final Map<SQLiteStatement, Integer> leasedStatements;
+    private int generation;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs a new SQLiteStatementCache.
+     * @param sqliteDatabase Database against which statements are compiled
+     * @param maxSize Maximum number of idle statements held by the cache
+     */
+    SQLiteStatementCache(@NonNull SQLiteDatabase sqliteDatabase, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive, but was " + maxSize);
+        }
+        this.sqliteDatabase = Objects.requireNonNull(sqliteDatabase);
+        this.maxSize = maxSize;
+        this.idleStatements = new LinkedHashMap<>(maxSize, 0.75f, true);
+        this.leasedStatements = new IdentityHashMap<>();
+    }
+
+    /**
+     * Leases a compiled statement for the provided SQL. The caller has exclusive use of the
+     * statement until it is passed back to {@link #release(String, SQLiteStatement)}.
+     * @param sql SQL string to compile
+     * @return A compiled statement for the SQL
+     */
+    @NonNull
+    SQLiteStatement acquire(@NonNull String sql) {
+        int leaseGeneration;
+        synchronized (this) {
+            SQLiteStatement statement = idleStatements.remove(sql);
+            if (statement != null) {
+                hitCount++;
+                leasedStatements.put(statement, generation);
+                return statement;
+            }
+            missCount++;
+            leaseGeneration = generation;
+        }
+        // Compile outside of the lock, since compilation may wait on a database connection
+        // which is held by another thread's transaction.
+        SQLiteStatement statement = sqliteDatabase.compileStatement(sql);
+        synchronized (this) {
+            leasedStatements.put(statement, leaseGeneration);
+        }
+        return statement;
+    }
+
+    /**
+     * Returns a leased statement to the cache. If the cache has been invalidated since the
+     * statement was leased, or if the cache already holds an idle statement for the same SQL,
+     * the statement is closed instead. If adding the statement exceeds the size bound, the
+     * least-recently-used idle statement is closed.
+     * @param sql SQL string that was used to acquire the statement
+     * @param statement Statement returned by {@link #acquire(String)}
+     */
+    void release(@NonNull String sql, @NonNull SQLiteStatement statement) {
+        SQLiteStatement evicted = null;
+        synchronized (this) {
+            Integer leaseGeneration = leasedStatements.remove(statement);
+            if (leaseGeneration == null || leaseGeneration != generation || idleStatements.containsKey(sql)) {
+                evicted = statement;
+            } else {
+                idleStatements.put(sql, statement);
+                if (idleStatements.size() > maxSize) {
+                    Iterator<SQLiteStatement> eldest = idleStatements.values().iterator();
+                    evicted = eldest.next();
+                    eldest.remove();
+                    evictionCount++;
+                }
+            }
+        }
+        if (evicted != null) {
+            evicted.close();
+        }
+    }
+
+    /**
+     * Closes all idle statements, and marks all leased statements to be closed upon release.
+     * This must be called when the schema changes, or before the database is closed.
+     */
+    void invalidate() {
+        final Map<String, SQLiteStatement> closing;
+        synchronized (this) {
+            generation++;
+            closing = new LinkedHashMap<>(idleStatements);
+            idleStatements.clear();
+        }
+        for (SQLiteStatement statement : closing.values()) {
+            statement.close();
+        }
+    }
+
+    /**
+     * Gets the number of times that a compiled statement was found in the cache.
+     * @return Number of cache hits
+     */
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of times that a statement had to be compiled, because none was found in the cache.
+     * @return Number of cache misses
+     */
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of statements which were closed to keep the cache within its size bound.
+     * @return Number of evictions
+     */
+    synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the number of idle statements currently held by the cache.
+     * @return Number of idle statements
+     */
+    synchronized int size() {
+        return idleStatements.size();
+    }
+}
@@ -19,6 +19,7 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import androidx.core.util.ObjectsCompat;
 
@@ -32,17 +33,29 @@ import com.amplifyframework.core.model.ModelField;
 import com.amplifyframework.core.model.ModelProvider;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.PrimaryKey;
+import com.amplifyframework.core.model.query.Aggregate;
+import com.amplifyframework.core.model.query.AggregateResult;
+import com.amplifyframework.core.model.query.AssociationLoadingPolicy;
 import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.QueryPaginationInput;
 import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.query.predicate.EqualQueryOperator;
 import com.amplifyframework.core.model.query.predicate.QueryField;
+import com.amplifyframework.core.model.query.predicate.QueryOperator;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicateOperation;
 import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+import com.amplifyframework.datastore.DataStoreConfiguration;
+import com.amplifyframework.datastore.DataStoreConfigurationProvider;
 import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.StorageConfiguration;
 import com.amplifyframework.datastore.appsync.SerializedModel;
 import com.amplifyframework.datastore.model.CompoundModelProvider;
 import com.amplifyframework.datastore.model.SystemModelsProviderFactory;
 import com.amplifyframework.datastore.storage.LocalStorageAdapter;
 import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteColumn;
 import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteTable;
 import com.amplifyframework.logging.Logger;
 import com.amplifyframework.util.GsonFactory;
@@ -51,20 +64,20 @@ import com.amplifyframework.util.Immutable;
 import com.google.gson.Gson;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.reactivex.rxjava3.core.Completable;
-import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.subjects.PublishSubject;
@@ -79,11 +92,6 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     // Database Version
     private static final int DATABASE_VERSION = 1;
 
-    // Thread pool size is determined as number of processors multiplied by this value.  We want to allow more threads
-    // than available processors to parallelize primarily IO bound work, but still provide a limit to avoid out of
-    // memory errors.
-    private static final int THREAD_POOL_SIZE_MULTIPLIER = 20;
-
     // Name of the database
     @VisibleForTesting @SuppressWarnings("checkstyle:all") // Keep logger first
     static final String DATABASE_NAME = "AmplifyDatastore.db";
@@ -96,8 +104,14 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     // based on Model class name lookup mechanism.
     private final ModelSchemaRegistry modelSchemaRegistry;
 
-    // ThreadPool for SQLite operations.
-    private ExecutorService threadPool;
+    // Provides the configuration used to size the executor.
+    private final DataStoreConfigurationProvider configurationProvider;
+
+    // Runs SQLite writes in order on a single thread, and reads on a small pool.
+    private SQLiteExecutor sqliteExecutor;
+
+    // Recently read and written models, which answer lookups by ID without a query.
+    private SQLiteModelCache sqliteModelCache;
 
     // Data is read from SQLite and de-serialized using GSON
     // into a strongly typed Java object.
@@ -121,6 +135,9 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     // Factory that produces SQL commands.
     private SQLCommandFactory sqlCommandFactory;
 
+    // Creates strongly typed Java objects directly from query results.
+    private SQLiteModelMaterializer sqliteModelMaterializer;
+
     // The helper object to iterate through associated models of a given model.
     private SQLiteModelTree sqliteModelTree;
 
@@ -136,12 +153,15 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
      * @param modelSchemaRegistry A registry of schema for all models used by the system
      * @param userModelsProvider Provides the models that will be usable by the DataStore
      * @param systemModelsProvider Provides the models that are used by the DataStore system internally
+     * @param configurationProvider Provides the DataStore configuration, once the adapter is initialized
      */
     private SQLiteStorageAdapter(
             ModelSchemaRegistry modelSchemaRegistry,
             ModelProvider userModelsProvider,
-            ModelProvider systemModelsProvider) {
+            ModelProvider systemModelsProvider,
+            DataStoreConfigurationProvider configurationProvider) {
         this.modelSchemaRegistry = modelSchemaRegistry;
+        this.configurationProvider = configurationProvider;
         this.modelsProvider = CompoundModelProvider.of(systemModelsProvider, userModelsProvider);
         this.gson = GsonFactory.instance();
         this.itemChangeSubject = PublishSubject.<StorageItemChange<? extends Model>>create().toSerialized();
@@ -158,10 +178,28 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     public static SQLiteStorageAdapter forModels(
             @NonNull ModelSchemaRegistry modelSchemaRegistry,
             @NonNull ModelProvider userModelsProvider) {
+        return forModels(modelSchemaRegistry, userModelsProvider, DataStoreConfiguration::defaults);
+    }
+
+    /**
+     * Gets a SQLiteStorageAdapter that can be initialized to use the provided models,
+     * and which sizes its pool of reader threads according to the DataStore configuration.
+     * @param modelSchemaRegistry Registry of schema for all models in the system
+     * @param userModelsProvider A provider of models that will be represented in SQL
+     * @param configurationProvider Provides the DataStore configuration. It is consulted when
+     *                              the adapter is initialized, so it may be configured later.
+     * @return A SQLiteStorageAdapter that will host the provided models in SQL tables
+     */
+    @NonNull
+    public static SQLiteStorageAdapter forModels(
+            @NonNull ModelSchemaRegistry modelSchemaRegistry,
+            @NonNull ModelProvider userModelsProvider,
+            @NonNull DataStoreConfigurationProvider configurationProvider) {
         return new SQLiteStorageAdapter(
             modelSchemaRegistry,
             Objects.requireNonNull(userModelsProvider),
-            SystemModelsProviderFactory.create()
+            SystemModelsProviderFactory.create(),
+            Objects.requireNonNull(configurationProvider)
         );
     }
 
@@ -176,12 +214,13 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(context);
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
-        // Create a thread pool large enough to take advantage of parallelization, but small enough to avoid
-        // OutOfMemoryError and CursorWindowAllocationException issues.
-        this.threadPool = Executors.newFixedThreadPool(
-                Runtime.getRuntime().availableProcessors() * THREAD_POOL_SIZE_MULTIPLIER);
+        // Writes are serialized by SQLite anyway, so they share one thread. A few reader threads
+        // are enough to overlap reads with writes, while avoiding OutOfMemoryError and
+        // CursorWindowAllocationException issues.
+        this.sqliteExecutor = new SQLiteExecutor(getReadPoolSize());
+        this.sqliteModelCache = new SQLiteModelCache(getStorageConfiguration().getModelCacheSize());
         this.context = context;
-        threadPool.submit(() -> {
+        sqliteExecutor.write(() -> {
             try {
                 /*
                  * Start with a fresh registry.
@@ -200,12 +239,14 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                  * create commands.
                  */
                 this.sqlCommandFactory = new SQLiteCommandFactory(modelSchemaRegistry, gson);
+                this.sqliteModelMaterializer = new SQLiteModelMaterializer(modelSchemaRegistry, gson);
                 CreateSqlCommands createSqlCommands = getCreateCommands(modelsProvider.modelNames());
                 sqliteStorageHelper = SQLiteStorageHelper.getInstance(
                         context,
                         DATABASE_NAME,
                         DATABASE_VERSION,
-                        createSqlCommands);
+                        createSqlCommands,
+                        getStorageConfiguration());
 
                 /*
                  * Create and/or open a database. This also invokes
@@ -274,54 +315,13 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(predicate);
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
-        threadPool.submit(() -> {
+        sqliteExecutor.write(() -> {
             try {
-                final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(item.getModelName());
-
-                final StorageItemChange.Type writeType;
-                SerializedModel patchItem = null;
-
-                if (modelExists(item, QueryPredicates.all())) {
-                    // if data exists already, then UPDATE the row
-                    writeType = StorageItemChange.Type.UPDATE;
-
-                    // Check if existing data meets the condition, only if a condition other than all() was provided.
-                    if (!QueryPredicates.all().equals(predicate) && !modelExists(item, predicate)) {
-                        throw new DataStoreException(
-                            "Save failed because condition did not match existing model instance.",
-                            "The save will continue to fail until the model instance is updated."
-                        );
-                    }
-                    if (initiator == StorageItemChange.Initiator.DATA_STORE_API) {
-                        // When saving items via the DataStore API, compute a SerializedModel containing only the fields
-                        // that differ from the model currently in the local storage.  This is not necessary when save
-                        // is initiated by the sync engine, so skip it for optimization to avoid the extra SQL query.
-                        patchItem = SerializedModel.difference(item, query(item), modelSchema);
-                    }
-                } else if (!QueryPredicates.all().equals(predicate)) {
-                    // insert not permitted with a condition
-                    throw new DataStoreException(
-                        "Conditional update must be performed against an already existing data. " +
-                            "Insertion is not permitted while using a predicate.",
-                        "Please save without specifying a predicate."
-                    );
-                } else {
-                    // if data doesn't exist yet, then INSERT a new row
-                    writeType = StorageItemChange.Type.CREATE;
-                }
-
                 // execute local save
-                writeData(item, writeType);
+                StorageItemChange<T> change = writeSave(item, initiator, predicate);
 
                 // publish successful save
-                StorageItemChange<T> change = StorageItemChange.<T>builder()
-                        .item(item)
-                        .patchItem(patchItem != null ? patchItem : SerializedModel.create(item, modelSchema))
-                        .modelSchema(modelSchema)
-                        .type(writeType)
-                        .predicate(predicate)
-                        .initiator(initiator)
-                        .build();
+                updateModelCache(change);
                 itemChangeSubject.onNext(change);
                 onSuccess.accept(change);
             } catch (DataStoreException dataStoreException) {
@@ -337,6 +337,49 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void saveAll(
+            @NonNull Collection<T> items,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Objects.requireNonNull(items);
+        Objects.requireNonNull(initiator);
+        Objects.requireNonNull(onSuccess);
+        Objects.requireNonNull(onError);
+        final List<T> batch = new ArrayList<>(items);
+        sqliteExecutor.write(() -> {
+            try {
+                final List<StorageItemChange<T>> changes = new ArrayList<>(batch.size());
+
+                // execute all local saves in one transaction
+                sqlCommandProcessor.runInTransaction(() -> {
+                    for (T item : batch) {
+                        changes.add(writeSave(item, initiator, QueryPredicates.all()));
+                    }
+                });
+
+                // publish successful saves, only after the transaction has been committed
+                for (StorageItemChange<T> change : changes) {
+                    updateModelCache(change);
+                    itemChangeSubject.onNext(change);
+                }
+                onSuccess.accept(Immutable.of(changes));
+            } catch (DataStoreException dataStoreException) {
+                onError.accept(dataStoreException);
+            } catch (Exception someOtherTypeOfException) {
+                DataStoreException dataStoreException = new DataStoreException(
+                    "Error in saving a batch of " + batch.size() + " models.",
+                    someOtherTypeOfException, "See attached exception for details."
+                );
+                onError.accept(dataStoreException);
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -350,30 +393,9 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(options);
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
-        threadPool.submit(() -> {
-            final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(itemClass.getSimpleName());
-            try (Cursor cursor = sqlCommandProcessor.rawQuery(sqlCommandFactory.queryFor(modelSchema, options))) {
-                LOG.debug("Querying item for: " + itemClass.getSimpleName());
-                final List<T> models = new ArrayList<>();
-                final SQLiteModelFieldTypeConverter converter =
-                    new SQLiteModelFieldTypeConverter(modelSchema, modelSchemaRegistry, gson);
-
-                if (cursor == null) {
-                    onError.accept(new DataStoreException(
-                        "Error in getting a cursor to the table for class: " + itemClass.getSimpleName(),
-                        AmplifyException.TODO_RECOVERY_SUGGESTION
-                    ));
-                }
-
-                if (cursor.moveToFirst()) {
-                    do {
-                        Map<String, Object> map = converter.buildMapForModel(cursor);
-                        String jsonString = gson.toJson(map);
-                        models.add(gson.fromJson(jsonString, itemClass));
-                    } while (cursor.moveToNext());
-                }
-
-                onSuccess.accept(models.iterator());
+        sqliteExecutor.read(() -> {
+            try {
+                onSuccess.accept(readModels(itemClass, options).iterator());
             } catch (Exception exception) {
                 onError.accept(new DataStoreException(
                     "Error in querying the model.", exception,
@@ -386,7 +408,6 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     /**
      * {@inheritDoc}
      */
-    @SuppressWarnings("unchecked")
     @Override
     public void query(
             @NonNull String modelName,
@@ -398,53 +419,83 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
 
-        threadPool.submit(() -> {
-            final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
-            try (Cursor cursor = sqlCommandProcessor.rawQuery(sqlCommandFactory.queryFor(modelSchema, options))) {
-                LOG.debug("Querying item for: " + modelName);
-
-                final List<Model> models = new ArrayList<>();
-                final SQLiteModelFieldTypeConverter converter =
-                    new SQLiteModelFieldTypeConverter(modelSchema, modelSchemaRegistry, gson);
+        sqliteExecutor.read(() -> {
+            try {
+                onSuccess.accept(readSerializedModels(modelName, options).iterator());
+            } catch (Exception exception) {
+                onError.accept(new DataStoreException(
+                        "Error in querying the model.", exception,
+                        "See attached exception for details."
+                ));
+            }
+        });
+    }
 
-                if (cursor == null) {
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public <T extends Model> Cancelable queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<T> onResult,
+            @NonNull Consumer<DataStoreException> onError,
+            @NonNull Action onComplete) {
+        Objects.requireNonNull(itemClass);
+        Objects.requireNonNull(options);
+        Objects.requireNonNull(onResult);
+        Objects.requireNonNull(onError);
+        Objects.requireNonNull(onComplete);
+        final AtomicBoolean canceled = new AtomicBoolean(false);
+        sqliteExecutor.read(() -> {
+            final ModelSchema modelSchema =
+                modelSchemaRegistry.getModelSchemaForModelClass(itemClass.getSimpleName());
+            // The cursor only holds one window of rows at a time, and each row is
+            // materialized after the previous model has been accepted.
+            try (Cursor cursor = sqlCommandProcessor.rawQuery(sqlCommandFactory.queryFor(modelSchema, options))) {
+                LOG.debug("Streaming items for: " + itemClass.getSimpleName());
+                while (!canceled.get() && cursor.moveToNext()) {
+                    onResult.accept(sqliteModelMaterializer.materialize(
+                        cursor, itemClass, associationLoadingPolicyOf(options)));
+                }
+                if (!canceled.get()) {
+                    onComplete.call();
+                }
+            } catch (Exception exception) {
+                if (!canceled.get()) {
                     onError.accept(new DataStoreException(
-                            "Error in getting a cursor to the table for class: " + modelName,
-                            AmplifyException.TODO_RECOVERY_SUGGESTION
+                        "Error in querying the model.", exception,
+                        "See attached exception for details."
                     ));
-                    return;
                 }
+            }
+        });
+        return () -> canceled.set(true);
+    }
 
-                if (cursor.moveToFirst()) {
-                    do {
-                        final Map<String, Object> serializedData = new HashMap<>();
-                        for (Map.Entry<String, Object> entry : converter.buildMapForModel(cursor).entrySet()) {
-                            ModelField field = modelSchema.getFields().get(entry.getKey());
-                            if (field == null || entry.getValue() == null) {
-                                // Skip it
-                            } else if (field.isModel()) {
-                                String id = (String) ((Map<String, Object>) entry.getValue()).get("id");
-                                serializedData.put(entry.getKey(), SerializedModel.builder()
-                                    .serializedData(Collections.singletonMap("id", id))
-                                    .modelSchema(null)
-                                    .build()
-                                );
-                            } else {
-                                serializedData.put(entry.getKey(), entry.getValue());
-                            }
-                        }
-                        SerializedModel model = SerializedModel.builder()
-                            .serializedData(serializedData)
-                            .modelSchema(modelSchema)
-                            .build();
-                        models.add(model);
-                    } while (cursor.moveToNext());
-                }
-                onSuccess.accept(models.iterator());
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void aggregate(
+            @NonNull Class<T> itemClass,
+            @NonNull Aggregate aggregate,
+            @NonNull QueryPredicate predicate,
+            @NonNull Consumer<List<AggregateResult>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Objects.requireNonNull(itemClass);
+        Objects.requireNonNull(aggregate);
+        Objects.requireNonNull(predicate);
+        Objects.requireNonNull(onSuccess);
+        Objects.requireNonNull(onError);
+        sqliteExecutor.read(() -> {
+            try {
+                onSuccess.accept(readAggregate(itemClass, aggregate, predicate));
             } catch (Exception exception) {
                 onError.accept(new DataStoreException(
-                        "Error in querying the model.", exception,
-                        "See attached exception for details."
+                    "Error in computing an aggregate of the model.", exception,
+                    "See attached exception for details."
                 ));
             }
         });
@@ -466,62 +517,26 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(predicate);
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
-        threadPool.submit(() -> {
+        sqliteExecutor.write(() -> {
             try {
-                final String modelName = item.getModelName();
-                final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
-
-                // Check if data being deleted exists; "Succeed" deletion in that case.
-                if (!modelExists(item, QueryPredicates.all())) {
-                    LOG.verbose(modelName + " model with id = " + item.getId() + " does not exist.");
-                    // Pass back item change instance without publishing it.
-                    onSuccess.accept(StorageItemChange.<T>builder()
-                        .item(item)
-                        .patchItem(SerializedModel.create(item, modelSchema))
-                        .modelSchema(modelSchema)
-                        .type(StorageItemChange.Type.DELETE)
-                        .predicate(predicate)
-                        .initiator(initiator)
-                        .build());
-                    return;
-                }
+                // execute local deletion
+                final List<StorageItemChange<? extends Model>> cascadedChanges = new ArrayList<>();
+                StorageItemChange<T> change = writeDelete(item, initiator, predicate, cascadedChanges);
 
-                // Check if existing data meets the condition, only if a condition other than all() was provided.
-                if (!QueryPredicates.all().equals(predicate) && !modelExists(item, predicate)) {
-                    throw new DataStoreException(
-                        "Deletion failed because condition did not match existing model instance.",
-                        "The deletion will continue to fail until the model instance is updated."
-                    );
+                // Pass back item change instance without publishing it, if there was nothing to delete.
+                if (change == null) {
+                    onSuccess.accept(deletionOf(item, initiator, predicate));
+                    return;
                 }
 
-                // identify items affected by cascading delete before deleting them
-                List<Model> cascadedModels = sqliteModelTree.descendantsOf(Collections.singleton(item));
-
-                // execute local deletion
-                writeData(item, StorageItemChange.Type.DELETE);
-
                 // publish cascaded deletions
-                for (Model cascadedModel : cascadedModels) {
-                    ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(cascadedModel.getModelName());
-                    itemChangeSubject.onNext(StorageItemChange.builder()
-                        .item(cascadedModel)
-                        .patchItem(SerializedModel.create(cascadedModel, schema))
-                        .modelSchema(schema)
-                        .type(StorageItemChange.Type.DELETE)
-                        .predicate(QueryPredicates.all())
-                        .initiator(initiator)
-                        .build());
+                for (StorageItemChange<? extends Model> cascadedChange : cascadedChanges) {
+                    updateModelCache(cascadedChange);
+                    itemChangeSubject.onNext(cascadedChange);
                 }
 
                 // publish successful deletion of top-level item
-                StorageItemChange<T> change = StorageItemChange.<T>builder()
-                        .item(item)
-                        .patchItem(SerializedModel.create(item, modelSchema))
-                        .modelSchema(modelSchema)
-                        .type(StorageItemChange.Type.DELETE)
-                        .predicate(predicate)
-                        .initiator(initiator)
-                        .build();
+                updateModelCache(change);
                 itemChangeSubject.onNext(change);
                 onSuccess.accept(change);
             } catch (DataStoreException dataStoreException) {
@@ -536,6 +551,119 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void deleteAll(
+            @NonNull Collection<T> items,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Objects.requireNonNull(items);
+        Objects.requireNonNull(initiator);
+        Objects.requireNonNull(onSuccess);
+        Objects.requireNonNull(onError);
+        final List<T> batch = new ArrayList<>(items);
+        sqliteExecutor.write(() -> {
+            try {
+                final List<StorageItemChange<T>> changes = new ArrayList<>(batch.size());
+                final List<StorageItemChange<? extends Model>> publishableChanges = new ArrayList<>();
+
+                // execute all local deletions in one transaction
+                sqlCommandProcessor.runInTransaction(() -> {
+                    for (T item : batch) {
+                        StorageItemChange<T> change =
+                            writeDelete(item, initiator, QueryPredicates.all(), publishableChanges);
+                        if (change == null) {
+                            // Nothing was deleted; report the change, but don't publish it.
+                            changes.add(deletionOf(item, initiator, QueryPredicates.all()));
+                        } else {
+                            publishableChanges.add(change);
+                            changes.add(change);
+                        }
+                    }
+                });
+
+                // publish cascaded and top-level deletions, only after the transaction has been committed
+                for (StorageItemChange<? extends Model> change : publishableChanges) {
+                    updateModelCache(change);
+                    itemChangeSubject.onNext(change);
+                }
+                onSuccess.accept(Immutable.of(changes));
+            } catch (DataStoreException dataStoreException) {
+                onError.accept(dataStoreException);
+            } catch (Exception someOtherTypeOfException) {
+                DataStoreException dataStoreException = new DataStoreException(
+                    "Error in deleting a batch of " + batch.size() + " models.",
+                    someOtherTypeOfException, "See attached exception for details."
+                );
+                onError.accept(dataStoreException);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void writeAll(
+            @NonNull Collection<T> deletions,
+            @NonNull Collection<T> saves,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Objects.requireNonNull(deletions);
+        Objects.requireNonNull(saves);
+        Objects.requireNonNull(initiator);
+        Objects.requireNonNull(onSuccess);
+        Objects.requireNonNull(onError);
+        final List<T> deletionBatch = new ArrayList<>(deletions);
+        final List<T> saveBatch = new ArrayList<>(saves);
+        sqliteExecutor.write(() -> {
+            try {
+                final List<StorageItemChange<T>> changes = new ArrayList<>(deletionBatch.size() + saveBatch.size());
+                final List<StorageItemChange<? extends Model>> publishableChanges = new ArrayList<>();
+
+                // execute all local deletions, and then all local saves, in one transaction
+                sqlCommandProcessor.runInTransaction(() -> {
+                    for (T item : deletionBatch) {
+                        StorageItemChange<T> change =
+                            writeDelete(item, initiator, QueryPredicates.all(), publishableChanges);
+                        if (change == null) {
+                            // Nothing was deleted; report the change, but don't publish it.
+                            changes.add(deletionOf(item, initiator, QueryPredicates.all()));
+                        } else {
+                            publishableChanges.add(change);
+                            changes.add(change);
+                        }
+                    }
+                    for (T item : saveBatch) {
+                        StorageItemChange<T> change = writeSave(item, initiator, QueryPredicates.all());
+                        publishableChanges.add(change);
+                        changes.add(change);
+                    }
+                });
+
+                // publish all changes, only after the transaction has been committed
+                for (StorageItemChange<? extends Model> change : publishableChanges) {
+                    updateModelCache(change);
+                    itemChangeSubject.onNext(change);
+                }
+                onSuccess.accept(Immutable.of(changes));
+            } catch (DataStoreException dataStoreException) {
+                onError.accept(dataStoreException);
+            } catch (Exception someOtherTypeOfException) {
+                DataStoreException dataStoreException = new DataStoreException(
+                    "Error in writing a batch of " + deletionBatch.size() + " deletions and " +
+                        saveBatch.size() + " saves.",
+                    someOtherTypeOfException, "See attached exception for details."
+                );
+                onError.accept(dataStoreException);
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -553,7 +681,7 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
 
-        threadPool.submit(() -> {
+        sqliteExecutor.write(() -> {
             final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(itemClass);
             QueryOptions options = Where.matches(predicate);
             try (Cursor cursor = sqlCommandProcessor.rawQuery(sqlCommandFactory.queryFor(modelSchema, options))) {
@@ -561,36 +689,28 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                 final String primaryKeyName = sqliteTable.getPrimaryKey().getAliasedName();
 
                 // identify items that meet the predicate
-                List<T> items = new ArrayList<>();
+                Set<String> ids = new LinkedHashSet<>();
                 if (cursor != null && cursor.moveToFirst()) {
                     int index = cursor.getColumnIndexOrThrow(primaryKeyName);
                     do {
-                        String id = cursor.getString(index);
-                        String dummyJson = gson.toJson(Collections.singletonMap("id", id));
-                        T dummyItem = gson.fromJson(dummyJson, itemClass);
-                        items.add(dummyItem);
+                        ids.add(cursor.getString(index));
                     } while (cursor.moveToNext());
                 }
 
                 // identify every model to delete as a result of this operation
-                List<Model> modelsToDelete = new ArrayList<>(items);
-                List<Model> cascadedModels = sqliteModelTree.descendantsOf(items);
-                modelsToDelete.addAll(cascadedModels);
+                List<StorageItemChange<? extends Model>> deletions = new ArrayList<>();
+                for (String id : ids) {
+                    deletions.add(lightweightDeletionOf(modelSchema, id, false, initiator));
+                }
+                addCascadedDeletions(modelSchema, ids, false, initiator, deletions);
 
                 // execute local deletions
                 sqlCommandProcessor.execute(sqlCommandFactory.deleteFor(modelSchema, predicate));
 
                 // publish every deletion
-                for (Model model : modelsToDelete) {
-                    ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(model.getModelName());
-                    itemChangeSubject.onNext(StorageItemChange.builder()
-                            .item(model)
-                            .patchItem(SerializedModel.create(model, schema))
-                            .modelSchema(schema)
-                            .type(StorageItemChange.Type.DELETE)
-                            .predicate(QueryPredicates.all())
-                            .initiator(initiator)
-                            .build());
+                for (StorageItemChange<? extends Model> deletion : deletions) {
+                    updateModelCache(deletion);
+                    itemChangeSubject.onNext(deletion);
                 }
                 onSuccess.call();
             } catch (DataStoreException dataStoreException) {
@@ -647,8 +767,14 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
             if (itemChangeSubject != null) {
                 itemChangeSubject.onComplete();
             }
-            if (threadPool != null) {
-                threadPool.shutdown();
+            if (sqliteExecutor != null) {
+                sqliteExecutor.shutdown();
+            }
+            if (sqlCommandProcessor != null) {
+                sqlCommandProcessor.getStatementCache().invalidate();
+            }
+            if (sqliteModelCache != null) {
+                sqliteModelCache.invalidateAll();
             }
             if (databaseConnectionHandle != null) {
                 databaseConnectionHandle.close();
@@ -670,14 +796,17 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                                    @NonNull Consumer<DataStoreException> onError) {
         try {
             LOG.debug("Shutting down thread pool for the storage adapter.");
-            threadPool.shutdown();
-            if (!threadPool.awaitTermination(THREAD_POOL_TERMINATE_TIMEOUT, TimeUnit.MILLISECONDS)) {
-                threadPool.shutdownNow();
+            sqliteExecutor.shutdown();
+            if (!sqliteExecutor.awaitTermination(THREAD_POOL_TERMINATE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                sqliteExecutor.shutdownNow();
             }
             LOG.debug("Storage adapter thread pool shutdown.");
         } catch (InterruptedException exception) {
             LOG.warn("Storage adapter thread pool was interrupted during shutdown.", exception);
         }
+        // Compiled statements hold a reference to the database, and would keep it open.
+        sqlCommandProcessor.getStatementCache().invalidate();
+        sqliteModelCache.invalidateAll();
         sqliteStorageHelper.close();
         databaseConnectionHandle.close();
         LOG.debug("Clearing DataStore.");
@@ -699,6 +828,134 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         );
     }
 
+    /**
+     * Gets the number of writes which are waiting for the writer thread. A persistently high
+     * number means that writes are being submitted faster than the database can commit them.
+     * @return Number of pending writes, or 0 if the adapter is not initialized
+     */
+    public int getPendingWriteCount() {
+        final SQLiteExecutor executor = sqliteExecutor;
+        return executor == null ? 0 : executor.getPendingWriteCount();
+    }
+
+    /**
+     * Gets the number of reads which are waiting for a reader thread. A persistently high number
+     * means that the read pool, sized by {@link DataStoreConfiguration#getStorageReadPoolSize()},
+     * is too small for the query load.
+     * @return Number of pending reads, or 0 if the adapter is not initialized
+     */
+    public int getPendingReadCount() {
+        final SQLiteExecutor executor = sqliteExecutor;
+        return executor == null ? 0 : executor.getPendingReadCount();
+    }
+
+    /**
+     * Gets the largest number of writes that have been waiting for the writer thread at once,
+     * since the adapter was last initialized.
+     * @return Peak number of pending writes, or 0 if the adapter is not initialized
+     */
+    public int getPeakPendingWriteCount() {
+        final SQLiteExecutor executor = sqliteExecutor;
+        return executor == null ? 0 : executor.getPeakPendingWriteCount();
+    }
+
+    /**
+     * Gets the largest number of reads that have been waiting for a reader thread at once,
+     * since the adapter was last initialized.
+     * @return Peak number of pending reads, or 0 if the adapter is not initialized
+     */
+    public int getPeakPendingReadCount() {
+        final SQLiteExecutor executor = sqliteExecutor;
+        return executor == null ? 0 : executor.getPeakPendingReadCount();
+    }
+
+    /**
+     * Gets the number of lookups by ID which were answered by the model cache, since the adapter
+     * was last initialized. The model cache is sized by {@link StorageConfiguration#getModelCacheSize()}.
+     * @return Number of model cache hits, or 0 if the adapter is not initialized
+     */
+    public long getModelCacheHitCount() {
+        final SQLiteModelCache cache = sqliteModelCache;
+        return cache == null ? 0 : cache.getHitCount();
+    }
+
+    /**
+     * Gets the number of lookups by ID which were not answered by the model cache, and went
+     * to the database, since the adapter was last initialized.
+     * @return Number of model cache misses, or 0 if the adapter is not initialized
+     */
+    public long getModelCacheMissCount() {
+        final SQLiteModelCache cache = sqliteModelCache;
+        return cache == null ? 0 : cache.getMissCount();
+    }
+
+    /**
+     * Gets the number of models which were evicted from a full model cache, since the adapter
+     * was last initialized. A high number relative to the hits means that the cache is too small.
+     * @return Number of model cache evictions, or 0 if the adapter is not initialized
+     */
+    public long getModelCacheEvictionCount() {
+        final SQLiteModelCache cache = sqliteModelCache;
+        return cache == null ? 0 : cache.getEvictionCount();
+    }
+
+    /**
+     * Gets the number of statements which were reused from the cache of compiled statements,
+     * since the adapter was last initialized.
+     * @return Number of statement cache hits, or 0 if the adapter is not initialized
+     */
+    public long getStatementCacheHitCount() {
+        final SQLCommandProcessor processor = sqlCommandProcessor;
+        return processor == null ? 0 : processor.getStatementCache().getHitCount();
+    }
+
+    /**
+     * Gets the number of statements which had to be compiled, because none was idle in the cache
+     * of compiled statements, since the adapter was last initialized.
+     * @return Number of statement cache misses, or 0 if the adapter is not initialized
+     */
+    public long getStatementCacheMissCount() {
+        final SQLCommandProcessor processor = sqlCommandProcessor;
+        return processor == null ? 0 : processor.getStatementCache().getMissCount();
+    }
+
+    /**
+     * Gets the number of compiled statements which were closed to keep the statement cache within
+     * its size bound, since the adapter was last initialized.
+     * @return Number of statement cache evictions, or 0 if the adapter is not initialized
+     */
+    public long getStatementCacheEvictionCount() {
+        final SQLCommandProcessor processor = sqlCommandProcessor;
+        return processor == null ? 0 : processor.getStatementCache().getEvictionCount();
+    }
+
+    private int getReadPoolSize() {
+        DataStoreConfiguration configuration = readConfiguration();
+        if (configuration != null && configuration.getStorageReadPoolSize() != null) {
+            return configuration.getStorageReadPoolSize();
+        }
+        return DataStoreConfiguration.DEFAULT_STORAGE_READ_POOL_SIZE;
+    }
+
+    private StorageConfiguration getStorageConfiguration() {
+        DataStoreConfiguration configuration = readConfiguration();
+        if (configuration != null && configuration.getStorageConfiguration() != null) {
+            return configuration.getStorageConfiguration();
+        }
+        return StorageConfiguration.defaults();
+    }
+
+    @Nullable
+    private DataStoreConfiguration readConfiguration() {
+        try {
+            return configurationProvider.getConfiguration();
+        } catch (DataStoreException configurationError) {
+            LOG.warn("Unable to read the DataStore configuration; using default storage options.",
+                configurationError);
+            return null;
+        }
+    }
+
     private CreateSqlCommands getCreateCommands(@NonNull Set<String> modelNames) {
         final Set<SqlCommand> createTableCommands = new HashSet<>();
         final Set<SqlCommand> createIndexCommands = new HashSet<>();
@@ -743,6 +1000,46 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         }
     }
 
+    private <T extends Model> List<AggregateResult> readAggregate(
+            Class<T> itemClass, Aggregate aggregate, QueryPredicate predicate) throws DataStoreException {
+        final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(itemClass.getSimpleName());
+        final SQLiteModelFieldTypeConverter converter =
+            new SQLiteModelFieldTypeConverter(modelSchema, modelSchemaRegistry, gson);
+        final List<ModelField> groupFields = new ArrayList<>();
+        for (QueryField field : aggregate.getGroupBy()) {
+            groupFields.add(modelSchema.getFields().get(field.getFieldName()));
+        }
+        final List<AggregateResult> results = new ArrayList<>();
+        try (Cursor cursor = sqlCommandProcessor.rawQuery(
+                sqlCommandFactory.aggregateFor(modelSchema, aggregate, predicate))) {
+            LOG.debug("Computing " + aggregate.getFunction() + " of: " + itemClass.getSimpleName());
+            final int valueIndex = cursor.getColumnIndexOrThrow(SQLCommandFactory.AGGREGATE_COLUMN_NAME);
+            while (cursor.moveToNext()) {
+                final Map<String, Object> group = new HashMap<>();
+                for (ModelField field : groupFields) {
+                    group.put(field.getName(), converter.convertGroupKeyFromSource(cursor, field));
+                }
+                results.add(new AggregateResult(group, aggregateValueOf(cursor, valueIndex)));
+            }
+        }
+        return results;
+    }
+
+    // SQLite decides the type of an aggregate from the values it was computed over.
+    @Nullable
+    private static Object aggregateValueOf(Cursor cursor, int columnIndex) {
+        switch (cursor.getType(columnIndex)) {
+            case Cursor.FIELD_TYPE_NULL:
+                return null;
+            case Cursor.FIELD_TYPE_INTEGER:
+                return cursor.getLong(columnIndex);
+            case Cursor.FIELD_TYPE_FLOAT:
+                return cursor.getDouble(columnIndex);
+            default:
+                return cursor.getString(columnIndex);
+        }
+    }
+
     private boolean modelExists(Model model, QueryPredicate predicate) throws DataStoreException {
         final String modelName = model.getModelName();
         final ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
@@ -755,26 +1052,421 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     }
 
     /**
-     * Helper method to synchronously query for a single model instance.  Used before any save initiated by
-     * DATASTORE_API in order to determine which fields have changed.
-     * @param model a Model that we want to query for the same type and id in SQLite.
-     * @return the Model instance from SQLite, if it exists, otherwise null.
+     * Compares an item to the stored row with the same id, without reading the row into a model.
+     * Used before any save initiated by DATASTORE_API, in order to determine which fields have changed.
+     * @param item a Model to compare against the stored row of the same type and id
+     * @param modelSchema schema of the model
+     * @return names of the fields whose stored values differ from those of the item,
+     *         or null if the model is not stored
+     * @throws DataStoreException if the query fails
      */
-    private Model query(Model model) {
-        final String modelName = model.getModelName();
-        final ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
-        final SQLiteTable table = SQLiteTable.fromSchema(schema);
-        final String primaryKeyName = table.getPrimaryKey().getName();
-        final QueryPredicate matchId = QueryField.field(modelName, primaryKeyName).eq(model.getId());
+    private Set<String> findChangedFields(Model item, ModelSchema modelSchema) throws DataStoreException {
+        final Model cached = sqliteModelCache.get(modelSchema.getName(), item.getId());
+        if (cached != null && cached.getClass() == item.getClass()) {
+            return findChangedFields(item, cached, modelSchema);
+        }
+        try (Cursor cursor = sqlCommandProcessor.rawQuery(sqlCommandFactory.compareFor(modelSchema, item))) {
+            if (!cursor.moveToFirst()) {
+                return null;
+            }
+            final Set<String> changedFields = new HashSet<>();
+            for (int columnIndex = 0; columnIndex < cursor.getColumnCount(); columnIndex++) {
+                if (cursor.getInt(columnIndex) == 0) {
+                    changedFields.add(cursor.getColumnName(columnIndex));
+                }
+            }
+            return changedFields;
+        }
+    }
+
+    // Compares the same columns as the query, using the values which would be bound to them.
+    private Set<String> findChangedFields(Model item, Model stored, ModelSchema modelSchema)
+            throws DataStoreException {
+        final SQLiteModelFieldTypeConverter converter =
+            new SQLiteModelFieldTypeConverter(modelSchema, modelSchemaRegistry, gson);
+        final Set<String> changedFields = new HashSet<>();
+        for (SQLiteColumn column : SQLiteTable.fromSchema(modelSchema).getSortedColumns()) {
+            final ModelField field = modelSchema.getFields().get(column.getFieldName());
+            if (field != null && !ObjectsCompat.equals(
+                    converter.convertValueFromTarget(item, field),
+                    converter.convertValueFromTarget(stored, field))) {
+                changedFields.add(column.getFieldName());
+            }
+        }
+        return changedFields;
+    }
+
+    /**
+     * Records a committed change in the model cache. Only models of a Java class are cached,
+     * since the query by ID of a class never returns a {@link SerializedModel}.
+     * @param change A change which has been committed to the database
+     */
+    private void updateModelCache(StorageItemChange<? extends Model> change) {
+        final Model item = change.item();
+        if (change.type() == StorageItemChange.Type.DELETE || item instanceof SerializedModel) {
+            sqliteModelCache.invalidate(change.modelSchema().getName(), item.getId());
+        } else {
+            sqliteModelCache.put(item);
+        }
+    }
+
+    /**
+     * Saves a single model, on the calling thread, without publishing the resulting change.
+     *
+     * Saves from the sync engine are written with a single UPDATE, followed by an INSERT only if
+     * no row was updated. Saves from the DataStore API first compare the item to the stored row,
+     * which tells both whether the row exists, and which fields belong in the patch.
+     * @param item Model to save
+     * @param initiator The actor who initiated the save
+     * @param predicate Condition that an existing model must meet, to be overwritten
+     * @param <T> Type of model being saved
+     * @return A description of the change that was written
+     * @throws DataStoreException If the save is not permitted, or fails
+     */
+    private <T extends Model> StorageItemChange<T> writeSave(
+            T item,
+            StorageItemChange.Initiator initiator,
+            QueryPredicate predicate) throws DataStoreException {
+        final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(item.getModelName());
+        final boolean isConditional = !QueryPredicates.all().equals(predicate);
+
+        final boolean updated;
+        SerializedModel patchItem = null;
+        if (initiator == StorageItemChange.Initiator.DATA_STORE_API) {
+            // When saving items via the DataStore API, compute a SerializedModel containing only the fields
+            // that differ from the model currently in the local storage.  This is not necessary when save
+            // is initiated by the sync engine, so skip it for optimization to avoid the extra SQL query.
+            final Set<String> changedFields = findChangedFields(item, modelSchema);
+            updated = changedFields != null && update(item, modelSchema, predicate);
+            if (updated) {
+                patchItem = patchOf(item, changedFields, modelSchema);
+            } else if (changedFields != null) {
+                throw conditionNotMetOnSave();
+            }
+        } else {
+            updated = update(item, modelSchema, predicate);
+            if (!updated && isConditional && modelExists(item, QueryPredicates.all())) {
+                throw conditionNotMetOnSave();
+            }
+        }
+
+        final StorageItemChange.Type writeType;
+        if (updated) {
+            writeType = StorageItemChange.Type.UPDATE;
+        } else if (isConditional) {
+            // insert not permitted with a condition
+            throw new DataStoreException(
+                "Conditional update must be performed against an already existing data. " +
+                    "Insertion is not permitted while using a predicate.",
+                "Please save without specifying a predicate."
+            );
+        } else {
+            // if data doesn't exist yet, then INSERT a new row
+            writeType = StorageItemChange.Type.CREATE;
+            writeData(item, writeType);
+        }
+
+        return StorageItemChange.<T>builder()
+                .item(item)
+                .patchItem(patchItem != null ? patchItem : serializedModelOf(item, modelSchema))
+                .modelSchema(modelSchema)
+                .type(writeType)
+                .predicate(predicate)
+                .initiator(initiator)
+                .build();
+    }
+
+    // Updates the row for the item, if it exists and meets the predicate. Returns whether it was updated.
+    private boolean update(Model item, ModelSchema modelSchema, QueryPredicate predicate)
+            throws DataStoreException {
+        LOG.verbose("Updating item in " + modelSchema.getName() + " identified by ID: " + item.getId());
+        return sqlCommandProcessor.executeUpdateDelete(sqlCommandFactory.updateFor(modelSchema, item, predicate)) > 0;
+    }
+
+    private static DataStoreException conditionNotMetOnSave() {
+        return new DataStoreException(
+            "Save failed because condition did not match existing model instance.",
+            "The save will continue to fail until the model instance is updated."
+        );
+    }
+
+    /**
+     * Deletes a single model and its descendants, on the calling thread, without publishing
+     * any of the resulting changes.
+     * @param item Model to delete
+     * @param initiator The actor who initiated the deletion
+     * @param predicate Condition that the existing model must meet, to be deleted
+     * @param cascadedChanges A list to which deletions of the model's descendants will be added
+     * @param <T> Type of model being deleted
+     * @return A description of the deletion of the model, or null if the model did not exist
+     * @throws DataStoreException If the deletion is not permitted, or fails
+     */
+    private <T extends Model> StorageItemChange<T> writeDelete(
+            T item,
+            StorageItemChange.Initiator initiator,
+            QueryPredicate predicate,
+            List<StorageItemChange<? extends Model>> cascadedChanges) throws DataStoreException {
+        final String modelName = item.getModelName();
+
+        // Check if data being deleted exists; "Succeed" deletion in that case.
+        if (!modelExists(item, QueryPredicates.all())) {
+            LOG.verbose(modelName + " model with id = " + item.getId() + " does not exist.");
+            return null;
+        }
+
+        // Check if existing data meets the condition, only if a condition other than all() was provided.
+        if (!QueryPredicates.all().equals(predicate) && !modelExists(item, predicate)) {
+            throw new DataStoreException(
+                "Deletion failed because condition did not match existing model instance.",
+                "The deletion will continue to fail until the model instance is updated."
+            );
+        }
+
+        // identify items affected by cascading delete before deleting them
+        final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
+        addCascadedDeletions(modelSchema, Collections.singleton(item.getId()),
+            item instanceof SerializedModel, initiator, cascadedChanges);
+
+        // execute local deletion
+        writeData(item, StorageItemChange.Type.DELETE);
 
-        Iterator<? extends Model> result = Single.<Iterator<? extends Model>>create(emitter -> {
-            if (model instanceof SerializedModel) {
-                query(model.getModelName(), Where.matches(matchId), emitter::onSuccess, emitter::onError);
-            } else {
-                query(model.getClass(), Where.matches(matchId), emitter::onSuccess, emitter::onError);
+        return deletionOf(item, initiator, predicate);
+    }
+
+    /**
+     * Describes the deletions of the descendants of deleted models, which the database removes
+     * by cascade. Descendants are found by their IDs alone, and are described by stand-ins which
+     * only carry their type and ID; no model is read from the database, or serialized.
+     * @param rootSchema Schema of the deleted models
+     * @param rootIds IDs of the deleted models
+     * @param serialized Whether the deleted models are {@link SerializedModel}s
+     * @param initiator Initiator of the deletion
+     * @param deletions A list to which the deletions of the descendants are added
+     */
+    private void addCascadedDeletions(
+            ModelSchema rootSchema,
+            Collection<String> rootIds,
+            boolean serialized,
+            StorageItemChange.Initiator initiator,
+            List<StorageItemChange<? extends Model>> deletions) {
+        for (Map.Entry<ModelSchema, Set<String>> entry :
+                sqliteModelTree.descendantIdsOf(rootSchema, rootIds).entrySet()) {
+            for (String id : entry.getValue()) {
+                deletions.add(lightweightDeletionOf(entry.getKey(), id, serialized, initiator));
+            }
+        }
+    }
+
+    private StorageItemChange<? extends Model> lightweightDeletionOf(
+            ModelSchema modelSchema,
+            String id,
+            boolean serialized,
+            StorageItemChange.Initiator initiator) {
+        // A deletion is sent to the cloud with only the primary key, so the patch needs nothing else.
+        final Model patch = sqliteModelTree.placeholderOf(modelSchema, id, true);
+        final Model item = serialized ? patch : sqliteModelTree.placeholderOf(modelSchema, id, false);
+        return StorageItemChange.builder()
+            .item(item)
+            .patchItem((SerializedModel) patch)
+            .modelSchema(modelSchema)
+            .type(StorageItemChange.Type.DELETE)
+            .predicate(QueryPredicates.all())
+            .initiator(initiator)
+            .build();
+    }
+
+    private <T extends Model> StorageItemChange<T> deletionOf(
+            T item,
+            StorageItemChange.Initiator initiator,
+            QueryPredicate predicate) throws DataStoreException {
+        final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(item.getModelName());
+        return StorageItemChange.<T>builder()
+                .item(item)
+                .patchItem(serializedModelOf(item, modelSchema))
+                .modelSchema(modelSchema)
+                .type(StorageItemChange.Type.DELETE)
+                .predicate(predicate)
+                .initiator(initiator)
+                .build();
+    }
+
+    private static SerializedModel serializedModelOf(Model model, ModelSchema modelSchema)
+            throws DataStoreException {
+        try {
+            return SerializedModel.create(model, modelSchema);
+        } catch (AmplifyException exception) {
+            throw new DataStoreException(
+                "Failed to serialize " + model.getModelName() + "[id=" + model.getId() + "].",
+                exception, AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+            );
+        }
+    }
+
+    // The patch contains the primary key, and only those fields whose values have changed.
+    private static SerializedModel patchOf(Model updated, Set<String> changedFields, ModelSchema modelSchema)
+            throws DataStoreException {
+        final Map<String, Object> serializedData = serializedModelOf(updated, modelSchema).getSerializedData();
+        final List<String> primaryIndexFields = modelSchema.getPrimaryIndexFields();
+        final Map<String, Object> patchData = new HashMap<>();
+        for (Map.Entry<String, Object> entry : serializedData.entrySet()) {
+            if (primaryIndexFields.contains(entry.getKey()) || changedFields.contains(entry.getKey())) {
+                patchData.put(entry.getKey(), entry.getValue());
             }
-        }).blockingGet();
-        return result.hasNext() ? result.next() : null;
+        }
+        return SerializedModel.builder()
+                .serializedData(patchData)
+                .modelSchema(modelSchema)
+                .build();
+    }
+
+    // A projection only reads the model's own columns, so an association in it can only be read by ID.
+    private static AssociationLoadingPolicy associationLoadingPolicyOf(QueryOptions options) {
+        final AssociationLoadingPolicy policy = options.getAssociationLoadingPolicy();
+        if (options.getProjection() != null && AssociationLoadingPolicy.EAGER.equals(policy)) {
+            return AssociationLoadingPolicy.LAZY;
+        }
+        return policy;
+    }
+
+    /**
+     * Reads models of a given class that match the query options, on the calling thread.
+     * @param itemClass Class of models to read
+     * @param options Query options
+     * @param <T> Type of model
+     * @return Models matching the query options
+     * @throws DataStoreException If the query fails
+     */
+    private <T extends Model> List<T> readModels(Class<T> itemClass, QueryOptions options)
+            throws DataStoreException {
+        final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(itemClass.getSimpleName());
+        final String id = sqliteModelCache.isEnabled() ? idMatchedBy(modelSchema, options) : null;
+        if (id == null) {
+            return readModels(itemClass, modelSchema, options);
+        }
+        final Model cached = sqliteModelCache.get(modelSchema.getName(), id);
+        if (itemClass.isInstance(cached)) {
+            return Collections.singletonList(itemClass.cast(cached));
+        }
+        final long generation = sqliteModelCache.getGeneration();
+        final List<T> models = readModels(itemClass, modelSchema, options);
+        if (models.size() == 1) {
+            sqliteModelCache.putIfUnchanged(models.get(0), generation);
+        }
+        return models;
+    }
+
+    private <T extends Model> List<T> readModels(Class<T> itemClass, ModelSchema modelSchema, QueryOptions options)
+            throws DataStoreException {
+        try (Cursor cursor = sqlCommandProcessor.rawQuery(sqlCommandFactory.queryFor(modelSchema, options))) {
+            LOG.debug("Querying item for: " + itemClass.getSimpleName());
+            final List<T> models = new ArrayList<>();
+
+            if (cursor == null) {
+                throw new DataStoreException(
+                    "Error in getting a cursor to the table for class: " + itemClass.getSimpleName(),
+                    AmplifyException.TODO_RECOVERY_SUGGESTION
+                );
+            }
+
+            if (cursor.moveToFirst()) {
+                do {
+                    models.add(sqliteModelMaterializer.materialize(
+                        cursor, itemClass, associationLoadingPolicyOf(options)));
+                } while (cursor.moveToNext());
+            }
+            return models;
+        }
+    }
+
+    /**
+     * Gets the ID of the single model which a query selects, if the model cache can answer it.
+     * That is, a query with no projection for the first result, or the first page, of an
+     * equality test on the primary key, of a model which has no associations to load.
+     * @param modelSchema Schema of the queried model
+     * @param options Query options
+     * @return The ID that the query selects, or null if the query must go to the database
+     */
+    @Nullable
+    private static String idMatchedBy(ModelSchema modelSchema, QueryOptions options) {
+        final QueryPaginationInput pagination = options.getPaginationInput();
+        if (options.getProjection() != null || (pagination != null &&
+                (pagination.getPage() != 0 || pagination.getLimit() <= 0 || pagination.getLastSeenItem() != null))) {
+            return null;
+        }
+        for (ModelField field : modelSchema.getFields().values()) {
+            if (field.isModel()) {
+                return null;
+            }
+        }
+        if (!(options.getQueryPredicate() instanceof QueryPredicateOperation)) {
+            return null;
+        }
+        final QueryPredicateOperation<?> operation = (QueryPredicateOperation<?>) options.getQueryPredicate();
+        final String modelName = operation.modelName();
+        final QueryOperator<?> operator = operation.operator();
+        if (!PrimaryKey.fieldName().equals(operation.field()) ||
+                (modelName != null && !modelName.equals(modelSchema.getName())) ||
+                !(operator instanceof EqualQueryOperator) ||
+                !(((EqualQueryOperator) operator).value() instanceof String)) {
+            return null;
+        }
+        return (String) ((EqualQueryOperator) operator).value();
+    }
+
+    /**
+     * Reads models of a given model name that match the query options, on the calling thread.
+     * The models are returned as {@link SerializedModel}s.
+     * @param modelName Name of the model to read
+     * @param options Query options
+     * @return Models matching the query options
+     * @throws DataStoreException If the query fails
+     */
+    @SuppressWarnings("unchecked")
+    private List<Model> readSerializedModels(String modelName, QueryOptions options) throws DataStoreException {
+        final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
+        try (Cursor cursor = sqlCommandProcessor.rawQuery(sqlCommandFactory.queryFor(modelSchema, options))) {
+            LOG.debug("Querying item for: " + modelName);
+
+            final List<Model> models = new ArrayList<>();
+            final SQLiteModelFieldTypeConverter converter =
+                new SQLiteModelFieldTypeConverter(modelSchema, modelSchemaRegistry, gson);
+
+            if (cursor == null) {
+                throw new DataStoreException(
+                        "Error in getting a cursor to the table for class: " + modelName,
+                        AmplifyException.TODO_RECOVERY_SUGGESTION
+                );
+            }
+
+            if (cursor.moveToFirst()) {
+                do {
+                    final Map<String, Object> serializedData = new HashMap<>();
+                    final Map<String, Object> row =
+                        converter.buildMapForModel(cursor, associationLoadingPolicyOf(options));
+                    for (Map.Entry<String, Object> entry : row.entrySet()) {
+                        ModelField field = modelSchema.getFields().get(entry.getKey());
+                        if (field == null || entry.getValue() == null) {
+                            // Skip it
+                        } else if (field.isModel()) {
+                            String id = (String) ((Map<String, Object>) entry.getValue()).get("id");
+                            serializedData.put(entry.getKey(), SerializedModel.builder()
+                                .serializedData(Collections.singletonMap("id", id))
+                                .modelSchema(null)
+                                .build()
+                            );
+                        } else {
+                            serializedData.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                    SerializedModel model = SerializedModel.builder()
+                        .serializedData(serializedData)
+                        .modelSchema(modelSchema)
+                        .build();
+                    models.add(model);
+                } while (cursor.moveToNext());
+            }
+            return models;
+        }
     }
 
     /*
@@ -795,6 +1487,9 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                     Objects.requireNonNull(sqliteStorageHelper);
                     Objects.requireNonNull(databaseConnectionHandle);
                     sqliteStorageHelper.update(databaseConnectionHandle, oldVersion, newVersion);
+                    // Statements compiled against the old tables must not be reused.
+                    sqlCommandProcessor.getStatementCache().invalidate();
+                    sqliteModelCache.invalidateAll();
                 }
             }
             PersistentModelVersion persistentModelVersion = new PersistentModelVersion(modelsProvider.version());
@@ -24,11 +24,13 @@ import androidx.annotation.NonNull;
 import androidx.core.util.ObjectsCompat;
 
 import com.amplifyframework.core.Amplify;
+import com.amplifyframework.datastore.StorageConfiguration;
 import com.amplifyframework.logging.Logger;
 import com.amplifyframework.util.Empty;
 import com.amplifyframework.util.Wrap;
 
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
 
@@ -45,14 +47,26 @@ final class SQLiteStorageHelper extends SQLiteOpenHelper implements ModelUpdateS
     // Contains all create table and create index commands.
     private final CreateSqlCommands createSqlCommands;
 
+    // Tuning options which are applied to the database when it is configured.
+    private final StorageConfiguration storageConfiguration;
+
     private SQLiteStorageHelper(@NonNull Context context,
                                 @NonNull String databaseName,
                                 int databaseVersion,
-                                @NonNull CreateSqlCommands createSqlCommands) {
+                                @NonNull CreateSqlCommands createSqlCommands,
+                                @NonNull StorageConfiguration storageConfiguration) {
         // Passing null to CursorFactory which is used to create cursor objects
         // as there is no need for a CursorFactory so far.
         super(context, databaseName, null, databaseVersion);
         this.createSqlCommands = createSqlCommands;
+        this.storageConfiguration = storageConfiguration;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            // The framework applies the synchronous mode to each connection of the pool as it
+            // is opened, and again whenever the journal mode of the database changes.
+            setOpenParams(new SQLiteDatabase.OpenParams.Builder()
+                .setSynchronousMode(storageConfiguration.getSynchronousMode().name())
+                .build());
+        }
     }
 
     /**
@@ -68,13 +82,43 @@ final class SQLiteStorageHelper extends SQLiteOpenHelper implements ModelUpdateS
             @NonNull String databaseName,
             int databaseVersion,
             @NonNull CreateSqlCommands createSqlCommands) {
-        return new SQLiteStorageHelper(context, databaseName, databaseVersion, createSqlCommands);
+        return getInstance(context, databaseName, databaseVersion, createSqlCommands,
+            StorageConfiguration.defaults());
+    }
+
+    /**
+     * Creates an instance of the SQLiteStorageHelper, which tunes the database as described
+     * by a {@link StorageConfiguration}.
+     * @param context Android context
+     * @param databaseName name of the database
+     * @param databaseVersion version of the database
+     * @param createSqlCommands set of create table and create index sql commands
+     * @param storageConfiguration tuning options for the database
+     * @return A new instance of the SQLiteStorageHelper
+     */
+    static SQLiteStorageHelper getInstance(
+            @NonNull Context context,
+            @NonNull String databaseName,
+            int databaseVersion,
+            @NonNull CreateSqlCommands createSqlCommands,
+            @NonNull StorageConfiguration storageConfiguration) {
+        return new SQLiteStorageHelper(context, databaseName, databaseVersion, createSqlCommands,
+            Objects.requireNonNull(storageConfiguration));
     }
 
     /**
      * Configure the {@link SQLiteDatabase} when being created.
      * Called when the database connection is being configured, to enable features
-     * such as foreign key support.
+     * such as foreign key support, and write-ahead logging. With write-ahead logging,
+     * the database keeps a pool of connections, so that queries on other threads can
+     * proceed while a write transaction is open.
+     *
+     * The synchronous mode of the {@link StorageConfiguration} is a setting of each
+     * connection. From Android 9 (API 28), it is passed to the framework with the open
+     * parameters of the database, so that every connection of the pool uses it. On older
+     * versions, it is applied here only when write-ahead logging is disabled, since the
+     * database then has a single connection. With write-ahead logging on those versions,
+     * the connections keep the platform's default synchronous mode.
      *
      * @param sqliteDatabase the connection handle to the database.
      */
@@ -84,6 +128,32 @@ final class SQLiteStorageHelper extends SQLiteOpenHelper implements ModelUpdateS
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
             sqliteDatabase.setForeignKeyConstraintsEnabled(true);
         }
+        // The page size can not be changed once the database is in WAL mode,
+        // so it must be set before the journal mode.
+        if (storageConfiguration.getPageSizeBytes() != null) {
+            applyPragma(sqliteDatabase, "page_size", storageConfiguration.getPageSizeBytes());
+        }
+        if (storageConfiguration.isWriteAheadLoggingEnabled()) {
+            sqliteDatabase.enableWriteAheadLogging();
+        } else {
+            sqliteDatabase.disableWriteAheadLogging();
+            // Changing the journal mode resets the synchronous mode, so it is applied afterwards.
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.P) {
+                applyPragma(sqliteDatabase, "synchronous", storageConfiguration.getSynchronousMode().name());
+            }
+        }
+    }
+
+    private static void applyPragma(SQLiteDatabase sqliteDatabase, String name, Object value) {
+        final String pragma = String.format(Locale.US, "PRAGMA %s = %s;", name, value);
+        // Some PRAGMAs return their new value as a row, which execSQL(String) refuses,
+        // so every PRAGMA is run as a query, and its result is discarded.
+        try (Cursor cursor = sqliteDatabase.rawQuery(pragma, null)) {
+            if (cursor != null) {
+                cursor.moveToFirst();
+            }
+        }
+        LOG.debug("Configured database: " + pragma);
     }
 
     /**
@@ -20,7 +20,6 @@ import androidx.core.util.ObjectsCompat;
 
 import com.amplifyframework.util.Immutable;
 
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -89,31 +88,6 @@ final class SqlCommand {
         return Immutable.of(bindings);
     }
 
-    /**
-     * Return the list of arguments to be bound to the sqlStatement
-     * as an array of strings.
-     * @return the list of arguments to be bound to the sqlStatement
-     *         as an array of strings.
-     */
-    String[] getBindingsAsArray() {
-        if (!hasBindings()) {
-            return null;
-        }
-        /*
-         Potentially inefficient to do this per call, but
-         this should never need to be called more than once.
-
-         Doing `Arrays.copyOf(selectionArgs.toArray(), selectionArgs.size(), String[].class);`
-         does NOT work because not every object (e.g. Integer) can be cast to string.
-         */
-        final int length = bindings.size();
-        final String[] array = new String[length];
-        for (int index = 0; index < length; index++) {
-            array[index] = bindings.get(index).toString();
-        }
-        return Arrays.copyOf(array, array.length);
-    }
-
     /**
      * Return true if selectionArgs is not null and not empty.
      * @return true if selectionArgs is not null and not empty.
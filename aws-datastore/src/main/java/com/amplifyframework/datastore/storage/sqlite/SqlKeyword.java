@@ -17,6 +17,7 @@ package com.amplifyframework.datastore.storage.sqlite;
 
 import androidx.annotation.NonNull;
 
+import com.amplifyframework.core.model.query.Aggregate;
 import com.amplifyframework.core.model.query.QuerySortOrder;
 import com.amplifyframework.core.model.query.predicate.QueryOperator;
 import com.amplifyframework.core.model.query.predicate.QueryPredicateGroup;
@@ -172,6 +173,36 @@ public enum SqlKeyword {
      */
     ORDER_BY("ORDER BY"),
 
+    /**
+     * SQL keyword to specify the columns by which rows are grouped, for aggregate functions.
+     */
+    GROUP_BY("GROUP BY"),
+
+    /**
+     * SQL aggregate function which counts rows, or the non-null values of a column.
+     */
+    COUNT("COUNT"),
+
+    /**
+     * SQL aggregate function which sums the non-null values of a column.
+     */
+    SUM("SUM"),
+
+    /**
+     * SQL aggregate function which averages the non-null values of a column.
+     */
+    AVG("AVG"),
+
+    /**
+     * SQL aggregate function which finds the least non-null value of a column.
+     */
+    MIN("MIN"),
+
+    /**
+     * SQL aggregate function which finds the greatest non-null value of a column.
+     */
+    MAX("MAX"),
+
     /**
      * SQL keyword meaning to sort in ascending order, for use with ORDER_BY.
      */
@@ -185,6 +216,7 @@ public enum SqlKeyword {
     private static final Map<QueryOperator.Type, SqlKeyword> QUERY_OPERATOR_TO_SQL = new HashMap<>();
     private static final Map<QueryPredicateGroup.Type, SqlKeyword> QUERY_PREDICATE_GROUP_TO_SQL = new HashMap<>();
     private static final Map<QuerySortOrder, SqlKeyword> QUERY_SORT_BY_TO_SQL = new HashMap<>();
+    private static final Map<Aggregate.Function, SqlKeyword> AGGREGATE_FUNCTION_TO_SQL = new HashMap<>();
 
     private final String stringValue;
 
@@ -202,6 +234,12 @@ public enum SqlKeyword {
 
         QUERY_SORT_BY_TO_SQL.put(QuerySortOrder.ASCENDING, SqlKeyword.ASC);
         QUERY_SORT_BY_TO_SQL.put(QuerySortOrder.DESCENDING, SqlKeyword.DESC);
+
+        AGGREGATE_FUNCTION_TO_SQL.put(Aggregate.Function.COUNT, SqlKeyword.COUNT);
+        AGGREGATE_FUNCTION_TO_SQL.put(Aggregate.Function.SUM, SqlKeyword.SUM);
+        AGGREGATE_FUNCTION_TO_SQL.put(Aggregate.Function.AVERAGE, SqlKeyword.AVG);
+        AGGREGATE_FUNCTION_TO_SQL.put(Aggregate.Function.MIN, SqlKeyword.MIN);
+        AGGREGATE_FUNCTION_TO_SQL.put(Aggregate.Function.MAX, SqlKeyword.MAX);
     }
 
     SqlKeyword(String stringValue) {
@@ -256,6 +294,22 @@ public enum SqlKeyword {
         return sqlKeyword;
     }
 
+    /**
+     * Retrieve the SQL aggregate function for an aggregate function type.
+     * @param function the aggregate function type
+     * @return the SQL specific keyword
+     */
+    @NonNull
+    public static SqlKeyword fromAggregateFunction(@NonNull Aggregate.Function function) {
+        final SqlKeyword sqlKeyword = AGGREGATE_FUNCTION_TO_SQL.get(Objects.requireNonNull(function));
+        if (null == sqlKeyword) {
+            throw new IllegalArgumentException(
+                    "No SQL keyword mapping defined for aggregate function = " + function.toString()
+            );
+        }
+        return sqlKeyword;
+    }
+
     @Override
     public String toString() {
         return stringValue;
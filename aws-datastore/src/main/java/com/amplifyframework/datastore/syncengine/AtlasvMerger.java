@@ -34,10 +34,13 @@ import com.amplifyframework.hub.HubChannel;
 import com.amplifyframework.hub.HubEvent;
 import com.amplifyframework.logging.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 
 /**
  * The merger is responsible for merging cloud data back into the local store.
@@ -130,6 +133,97 @@ final class AtlasvMerger {
                 });
     }
 
+    /**
+     * Merge a whole page of items back into the local store. The current versions of all of the
+     * items are loaded in bulk, and out-of-date items are filtered out. The remaining models and
+     * their metadata are then written in as few transactions as possible. If the batched write
+     * fails (for example, due to a foreign key constraint violation), the page is merged
+     * item-by-item with {@link #merge(ModelWithMetadata, Consumer)} instead, so that a single
+     * bad item is handled exactly as it would be outside of a batch.
+     *
+     * @param page               A page of models, combined with metadata about each
+     * @param changeTypeConsumer A callback invoked each time the merge saves or deletes a model.
+     * @param <T>                Type of model
+     * @return A completable operation to merge the page
+     */
+    <T extends Model> Completable mergePage(
+            List<ModelWithMetadata<T>> page, Consumer<StorageItemChange.Type> changeTypeConsumer) {
+        AtomicReference<Long> startTime = new AtomicReference<>();
+        return Completable.defer(() -> {
+            if (page.isEmpty()) {
+                return Completable.complete();
+            }
+            final List<T> models = new ArrayList<>(page.size());
+            for (ModelWithMetadata<T> modelWithMetadata : page) {
+                models.add(modelWithMetadata.getModel());
+            }
+            return versionRepository.findModelVersions(models)
+                .flatMapCompletable(currentVersions -> {
+                    final List<ModelWithMetadata<T>> mergeable = new ArrayList<>();
+                    for (ModelWithMetadata<T> modelWithMetadata : page) {
+                        Integer currentVersion = currentVersions.get(modelWithMetadata.getModel().getId());
+                        Integer incomingVersion = modelWithMetadata.getSyncMetadata().getVersion();
+                        // Same rule as in merge(...): only merge strictly newer versions.
+                        if (currentVersion == null || (incomingVersion != null && incomingVersion > currentVersion)) {
+                            mergeable.add(modelWithMetadata);
+                        }
+                    }
+                    return writePage(mergeable, changeTypeConsumer)
+                        .doOnComplete(() -> {
+                            for (ModelWithMetadata<T> modelWithMetadata : mergeable) {
+                                announceSuccessfulMerge(modelWithMetadata);
+                            }
+                            LOG.debug("Remote page of " + mergeable.size() + " model update(s) was sync'd down "
+                                + "into local storage, skipping " + (page.size() - mergeable.size()) + ".");
+                        });
+                })
+                .onErrorResumeNext(failure -> {
+                    LOG.warn("Batched merge of a page failed. Merging it item-by-item, instead.", failure);
+                    return Flowable.fromIterable(page)
+                        .concatMapCompletable(modelWithMetadata -> merge(modelWithMetadata, changeTypeConsumer));
+                });
+        })
+            .doOnSubscribe(disposable -> startTime.set(System.currentTimeMillis()))
+            .doOnTerminate(() -> {
+                long duration = System.currentTimeMillis() - startTime.get();
+                LOG.verbose("Merged a page of " + page.size() + " items in " + duration + " ms.");
+            });
+    }
+
+    // Writes deletions, then saves of models and all of their metadata, in a single transaction.
+    private <T extends Model> Completable writePage(
+            List<ModelWithMetadata<T>> mergeable, Consumer<StorageItemChange.Type> changeTypeConsumer) {
+        final List<Model> deletions = new ArrayList<>();
+        final List<Model> saves = new ArrayList<>();
+        final List<Model> metadata = new ArrayList<>(mergeable.size());
+        for (ModelWithMetadata<T> modelWithMetadata : mergeable) {
+            if (Boolean.TRUE.equals(modelWithMetadata.getSyncMetadata().isDeleted())) {
+                deletions.add(modelWithMetadata.getModel());
+            } else {
+                saves.add(modelWithMetadata.getModel());
+            }
+            metadata.add(modelWithMetadata.getSyncMetadata());
+        }
+        // Only report changes to the models themselves, not to their metadata, which is saved last.
+        final int modelCount = deletions.size() + saves.size();
+        saves.addAll(metadata);
+
+        if (saves.isEmpty()) {
+            return Completable.complete();
+        }
+        return Completable.create(emitter ->
+            localStorageAdapter.writeAll(deletions, saves, StorageItemChange.Initiator.SYNC_ENGINE,
+                changes -> {
+                    for (int index = 0; index < modelCount; index++) {
+                        changeTypeConsumer.accept(changes.get(index).type());
+                    }
+                    emitter.onComplete();
+                },
+                emitter::onError
+            )
+        );
+    }
+
     /**
      * Announce a successful merge over Hub.
      *
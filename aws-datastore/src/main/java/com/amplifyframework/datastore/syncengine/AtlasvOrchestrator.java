@@ -58,6 +58,7 @@ public final class AtlasvOrchestrator {
 
     private final AtlasvSyncProcessor syncProcessor;
     private final QueryPredicateProvider queryPredicateProvider;
+    private final VersionRepository versionRepository;
     private final Supplier<State> targetState;
     private final AtomicReference<State> currentState;
     private final CompositeDisposable disposables;
@@ -92,7 +93,7 @@ public final class AtlasvOrchestrator {
         Objects.requireNonNull(appSync);
         Objects.requireNonNull(localStorageAdapter);
 
-        VersionRepository versionRepository = new VersionRepository(localStorageAdapter);
+        this.versionRepository = new VersionRepository(localStorageAdapter);
         AtlasvMerger merger = new AtlasvMerger(versionRepository, localStorageAdapter);
         SyncTimeRegistry syncTimeRegistry = new SyncTimeRegistry(localStorageAdapter);
         ConflictResolver conflictResolver = new ConflictResolver(dataStoreConfigurationProvider, appSync);
@@ -309,6 +310,7 @@ public final class AtlasvOrchestrator {
         LOG.info("Setting currentState to LOCAL_ONLY");
         currentState.set(State.LOCAL_ONLY);
         disposables.clear();
+        versionRepository.unloadIndex();
     }
 
     /**
@@ -16,7 +16,10 @@
 package com.amplifyframework.datastore.syncengine;
 
 import androidx.annotation.NonNull;
+import androidx.core.util.ObjectsCompat;
 
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.api.aws.AppSyncGraphQLRequest;
 import com.amplifyframework.api.graphql.GraphQLRequest;
 import com.amplifyframework.api.graphql.PaginatedResult;
 import com.amplifyframework.core.Amplify;
@@ -46,24 +49,25 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.processors.BehaviorProcessor;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 
 /**
  * "Hydrates" the local DataStore, using model metadata receive from the
  * {@link AppSync#sync(GraphQLRequest, Consumer, Consumer)}.
  * Hydration refers to populating the local storage with values from a remote system.
  *
- * For all items returned by the sync, merge them back into local storage through
- * the {@link Merger}.
+ * For all pages of items returned by the sync, merge them back into local storage through
+ * the {@link AtlasvMerger}.
  */
 final class AtlasvSyncProcessor {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+    private static final String NEXT_TOKEN_KEY = "nextToken";
 
     private final ModelProvider modelProvider;
     private final ModelSchemaRegistry modelSchemaRegistry;
@@ -101,7 +105,6 @@ final class AtlasvSyncProcessor {
      * @return An Rx {@link Completable} which can be used to perform the operation.
      */
     Completable hydrate() {
-        final List<Completable> hydrationTasks = new ArrayList<>();
         List<ModelSchema> modelSchemas = new ArrayList<>(modelProvider.modelSchemas().values());
 
         // And sort them all, according to their model's topological order,
@@ -118,16 +121,16 @@ final class AtlasvSyncProcessor {
             e.printStackTrace();
         }
 
-        for (ModelSchema schema : modelSchemas) {
-            try {
-                hydrationTasks.add(createHydrationTask(schema, isMergeAllRequest ? modelSchemas.size() : 1));
-            } catch (DataStoreException e) {
-                e.printStackTrace();
-            }
-        }
+        final int taskSize = isMergeAllRequest ? modelSchemas.size() : 1;
+        final boolean resumable = !isMergeAllRequest;
 
-//        return Completable.concat(hydrationTasks)
-        return Completable.merge(hydrationTasks)
+        // Each model is synced once the models it belongs to have been synced.
+        return Completable.defer(() -> {
+            final ModelSyncScheduler scheduler =
+                ModelSyncScheduler.forConfiguration(ordering, dataStoreConfigurationProvider.getConfiguration());
+            return scheduler.schedule(modelSchemas, schema ->
+                createHydrationTask(schema, taskSize, resumable, scheduler));
+        })
             .doOnSubscribe(ignore -> {
                 // This is where we trigger the syncQueriesStarted event since
                 // doOnSubscribe means that all upstream hydration tasks
@@ -145,7 +148,8 @@ final class AtlasvSyncProcessor {
             });
     }
 
-    private Completable createHydrationTask(ModelSchema schema, int taskSize) throws DataStoreException {
+    private Completable createHydrationTask(
+            ModelSchema schema, int taskSize, boolean resumable, ModelSyncScheduler scheduler) {
         SyncTime lastDbPublishTime;
         try {
             lastDbPublishTime = SyncTime.from(dataStoreConfigurationProvider.getConfiguration().getLastDbPublishTime());
@@ -159,25 +163,43 @@ final class AtlasvSyncProcessor {
         return syncTimeRegistry.lookupLastSyncTime(schema.getName())
             .map(this::filterOutOldSyncTimes)
             // And for each, perform a sync. The network response will contain an Iterable<ModelWithMetadata<T>>
-            .flatMap(lastSyncTime -> {
-                // Sync all the pages
-                return syncModel(schema, lastSyncTime.exists() ? dbBaseTime : lastSyncTime, taskSize)
-                    // Switch to a new thread so that subsequent API fetches will happen in parallel with DB writes.
-                    .observeOn(Schedulers.io())
-                    // Flatten to a stream of ModelWithMetadata objects
-                    .concatMap(Flowable::fromIterable)
-                    .concatMapCompletable(item -> merger.merge(item, metricsAccumulator::increment))
-                    .toSingle(() -> lastSyncTime.exists() ? SyncType.DELTA : SyncType.BASE);
-            })
-            .flatMapCompletable(syncType -> {
-                Completable syncTimeSaveCompletable = SyncType.DELTA.equals(syncType) ?
-                    syncTimeRegistry.saveLastDeltaSyncTime(schema.getName(), SyncTime.now()) :
-                    syncTimeRegistry.saveLastBaseSyncTime(schema.getName(), SyncTime.now());
-                return syncTimeSaveCompletable.andThen(Completable.fromAction(() ->
-                    Amplify.Hub.publish(
-                        HubChannel.DATASTORE, metricsAccumulator.toModelSyncedEvent(syncType).toHubEvent()
-                    )
-                ));
+            .flatMapCompletable(lastSyncTime -> {
+                final SyncTime requestedSyncTime = lastSyncTime.exists() ? dbBaseTime : lastSyncTime;
+                final SyncType syncType = lastSyncTime.exists() ? SyncType.DELTA : SyncType.BASE;
+                // A merged list request spans several models, so there is no per-model page to resume from.
+                Single<SyncCheckpoint> checkpointLookup = resumable ?
+                    lookupResumableCheckpoint(schema.getName(), requestedSyncTime) :
+                    Single.fromCallable(() -> SyncCheckpoint.start(
+                        schema.getName(), requestedSyncTime.exists() ? requestedSyncTime.toLong() : null, Time.now()));
+                return checkpointLookup.flatMapCompletable(checkpoint -> {
+                    // Sync all the pages, starting from the checkpoint of an interrupted sync, if there is one
+                    Flowable<PaginatedResult<ModelWithMetadata<Model>>> pages =
+                        syncModel(schema, requestedSyncTime, checkpoint, taskSize, scheduler);
+                    AtomicInteger recordsMerged = new AtomicInteger(checkpoint.getRecordsFetched());
+                    // Merge each page as a batch, rather than item-by-item, while the next pages are fetched.
+                    // Once a page is merged, record the page which follows it, to resume from.
+                    Completable merge = scheduler.mergePages(pages, page -> {
+                        List<ModelWithMetadata<Model>> items = itemsOf(page);
+                        Completable mergePage = merger.mergePage(items, metricsAccumulator::increment);
+                        return resumable ? mergePage.andThen(Completable.defer(() ->
+                            saveCheckpoint(checkpoint, page, recordsMerged.addAndGet(items.size())))) : mergePage;
+                    });
+                    // Records changed after the sync started may have been missed, even if the sync
+                    // was resumed much later, so the next sync starts from the original start time.
+                    SyncTime syncStartTime = SyncTime.at(checkpoint.getStartTime());
+                    Completable syncTimeSaveCompletable = SyncType.DELTA.equals(syncType) ?
+                        syncTimeRegistry.saveLastDeltaSyncTime(schema.getName(), syncStartTime) :
+                        syncTimeRegistry.saveLastBaseSyncTime(schema.getName(), syncStartTime);
+                    return merge
+                        .andThen(syncTimeSaveCompletable)
+                        .andThen(resumable ? syncTimeRegistry.clearCheckpoint(schema.getName()) :
+                            Completable.complete())
+                        .andThen(Completable.fromAction(() ->
+                            Amplify.Hub.publish(
+                                HubChannel.DATASTORE, metricsAccumulator.toModelSyncedEvent(syncType).toHubEvent()
+                            )
+                        ));
+                });
             })
             .doOnError(failureToSync -> {
                 LOG.warn("Initial cloud sync failed.", failureToSync);
@@ -217,6 +239,53 @@ final class AtlasvSyncProcessor {
         return SyncTime.never();
     }
 
+    /**
+     * Looks up the checkpoint of an interrupted sync of a model, which the next sync can resume
+     * from. A checkpoint is only resumable by a sync which is requested with the same sync time,
+     * and only while it was reached within the base sync interval.
+     * @param modelName Name of the model to sync
+     * @param syncTime The sync time that the sync is requested with
+     * @return The checkpoint to resume from, or a checkpoint at the start of the sync
+     */
+    private Single<SyncCheckpoint> lookupResumableCheckpoint(String modelName, SyncTime syncTime) {
+        final Long syncTimeAsLong = syncTime.exists() ? syncTime.toLong() : null;
+        return syncTimeRegistry.lookupCheckpoint(modelName)
+            .filter(checkpoint -> checkpoint.getNextToken() != null &&
+                ObjectsCompat.equals(checkpoint.getSyncTime(), syncTimeAsLong) &&
+                Time.now() - checkpoint.getCheckpointTime() <=
+                    dataStoreConfigurationProvider.getConfiguration().getSyncIntervalMs())
+            .doOnSuccess(checkpoint -> LOG.info(String.format(
+                "Resuming sync of model %1$s after %2$d records.", modelName, checkpoint.getRecordsFetched())))
+            .defaultIfEmpty(SyncCheckpoint.start(modelName, syncTimeAsLong, Time.now()));
+    }
+
+    /**
+     * Saves a checkpoint after a page has been merged, if another page follows it.
+     * @param checkpoint The checkpoint from which the sync started or was resumed
+     * @param page The page which was merged
+     * @param recordsFetched Number of records merged so far, including the page
+     * @return A Completable which completes once the checkpoint is saved
+     */
+    private Completable saveCheckpoint(SyncCheckpoint checkpoint, PaginatedResult<?> page, int recordsFetched) {
+        if (!page.hasNextResult()) {
+            return Completable.complete();
+        }
+        final Object nextToken = page.getRequestForNextResult().getVariables().get(NEXT_TOKEN_KEY);
+        if (!(nextToken instanceof String)) {
+            return Completable.complete();
+        }
+        return syncTimeRegistry.saveCheckpoint(SyncCheckpoint.create(checkpoint.getModelClassName(),
+            checkpoint.getSyncTime(), (String) nextToken, recordsFetched, checkpoint.getStartTime(), Time.now()));
+    }
+
+    private static <T> List<T> itemsOf(PaginatedResult<T> page) {
+        final List<T> items = new ArrayList<>();
+        for (T item : page) {
+            items.add(item);
+        }
+        return items;
+    }
+
     /**
      * Sync models for a given model class.
      * This involves three steps:
@@ -228,16 +297,20 @@ final class AtlasvSyncProcessor {
      *
      * @param schema The schema of the model to sync
      * @param syncTime The time of a last successful sync.
+     * @param checkpoint The checkpoint from which to resume the sync
+     * @param syncModels Number of models requested at once, when all models are merged into one request
+     * @param scheduler Limits the number of pages fetched at once, across all models
      * @param <T> The type of model to sync.
-     * @return a stream of all ModelWithMetadata&lt;T&gt; objects from all pages for the provided model.
+     * @return a stream of the pages of ModelWithMetadata&lt;T&gt; objects for the provided model.
      * @throws DataStoreException if dataStoreConfigurationProvider.getConfiguration() fails
      */
-    private <T extends Model> Flowable<List<ModelWithMetadata<T>>> syncModel(ModelSchema schema, SyncTime syncTime, int syncModels)
-            throws DataStoreException {
+    private <T extends Model> Flowable<PaginatedResult<ModelWithMetadata<T>>> syncModel(
+            ModelSchema schema, SyncTime syncTime, SyncCheckpoint checkpoint, int syncModels,
+            ModelSyncScheduler scheduler) throws DataStoreException {
         final Long lastSyncTimeAsLong = syncTime.exists() ? syncTime.toLong() : null;
         final Integer syncPageSize = dataStoreConfigurationProvider.getConfiguration().getSyncPageSize();
         final Integer syncMaxRecords = dataStoreConfigurationProvider.getConfiguration().getSyncMaxRecords();
-        AtomicReference<Integer> recordsFetched = new AtomicReference<>(0);
+        AtomicReference<Integer> recordsFetched = new AtomicReference<>(checkpoint.getRecordsFetched());
         QueryPredicate predicate = queryPredicateProvider.getPredicate(schema.getName());
         // Create a BehaviorProcessor, and set the default value to a GraphQLRequest that fetches the first page.
         BehaviorProcessor<GraphQLRequest<PaginatedResult<ModelWithMetadata<T>>>> processor;
@@ -245,11 +318,17 @@ final class AtlasvSyncProcessor {
             processor = BehaviorProcessor.createDefault(
                     appSync.buildListRequest(schema, lastSyncTimeAsLong, syncPageSize, predicate, syncModels));
         } else {
-            processor = BehaviorProcessor.createDefault(
-                    appSync.buildSyncRequest(schema, lastSyncTimeAsLong, syncPageSize, predicate));
+            GraphQLRequest<PaginatedResult<ModelWithMetadata<T>>> firstRequest =
+                    appSync.buildSyncRequest(schema, lastSyncTimeAsLong, syncPageSize, predicate);
+            if (checkpoint.getNextToken() != null) {
+                firstRequest = withNextToken(firstRequest, checkpoint.getNextToken());
+            }
+            processor = BehaviorProcessor.createDefault(firstRequest);
         }
 
-        return processor.concatMap(request -> syncPage(request).toFlowable())
+        // The request for the next page is issued as the current page is emitted, which happens only
+        // once the page has been requested downstream. So, fetching pauses while the merger's buffer is full.
+        return processor.concatMap(request -> scheduler.fetch(syncPage(request)).toFlowable())
                 .doOnNext(paginatedResult -> {
                     if (paginatedResult.hasNextResult()) {
                         processor.onNext(paginatedResult.getRequestForNextResult());
@@ -258,12 +337,44 @@ final class AtlasvSyncProcessor {
                     }
                 })
                 // If it's a SerializedModel, add the ModelSchema, since it isn't added during deserialization.
-                .map(paginatedResult -> Flowable.fromIterable(paginatedResult)
-                        .map(modelWithMetadata -> hydrateSchemaIfNeeded(modelWithMetadata, schema))
-                        .toList()
-                        .blockingGet()
-                )
-                .takeUntil(items -> recordsFetched.accumulateAndGet(items.size(), Integer::sum) >= syncMaxRecords);
+                .map(paginatedResult -> new PaginatedResult<>(
+                        Flowable.fromIterable(paginatedResult)
+                            .map(modelWithMetadata -> hydrateSchemaIfNeeded(modelWithMetadata, schema))
+                            .toList()
+                            .blockingGet(),
+                        paginatedResult.getRequestForNextResult()
+                ))
+                .takeUntil(page -> recordsFetched.accumulateAndGet(itemsOf(page).size(), Integer::sum)
+                    >= syncMaxRecords);
+    }
+
+    /**
+     * Builds a request for the page of a sync which the given token refers to.
+     * @param request The request for the first page of the sync
+     * @param nextToken Token of the page to request
+     * @param <R> Type of the response
+     * @return A request for the page of the token
+     * @throws DataStoreException If the request can't be built
+     */
+    private static <R> GraphQLRequest<R> withNextToken(GraphQLRequest<R> request, String nextToken)
+            throws DataStoreException {
+        // Only AppSync requests are paginated, so a checkpoint can't have been reached by any other.
+        if (!(request instanceof AppSyncGraphQLRequest)) {
+            throw new DataStoreException(
+                "Unable to resume a sync from its checkpoint, for request: " + request,
+                "This is likely a bug. Please report it to AWS."
+            );
+        }
+        try {
+            return ((AppSyncGraphQLRequest<R>) request).newBuilder()
+                .variable(NEXT_TOKEN_KEY, "String", nextToken)
+                .build();
+        } catch (AmplifyException buildFailure) {
+            throw new DataStoreException(
+                "Failed to build a request to resume a sync from its checkpoint.", buildFailure,
+                "This is likely a bug. Please report it to AWS."
+            );
+        }
     }
 
     @SuppressWarnings("unchecked") // Cast to T
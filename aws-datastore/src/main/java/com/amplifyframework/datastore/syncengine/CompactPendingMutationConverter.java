@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.appsync.SerializedModel;
+import com.amplifyframework.util.GsonFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts between {@link PendingMutation} and {@link PendingMutation.PersistentRecord}, using
+ * a compact, versioned encoding of the mutation.
+ *
+ * The {@link GsonPendingMutationConverter} writes each mutation as a JSON object, field names
+ * and all, including the full {@link ModelSchema} of the mutated model. A schema is usually
+ * much larger than the model itself, and it is the same for every mutation of a model class.
+ * This converter instead writes a JSON array whose positions are fixed by the format version:
+ * <pre>
+ *     [version, mutationId, mutationType, predicate, mutatedItem, modelSchema]
+ * </pre>
+ * The schema is left out (written as null) when it can be derived again from the mutated item,
+ * that is, from the item's class, or from the schema a {@link SerializedModel} carries.
+ *
+ * Records written by the {@link GsonPendingMutationConverter} are JSON objects, not arrays,
+ * so they are still read as before. Such a record is re-written in the compact format the next
+ * time its mutation is saved; until then, nothing needs to migrate it up front.
+ *
+ * Model classes, their schemas, and the types used to read legacy records are looked up once
+ * per class name, and then cached, so that loading an outbox of many mutations doesn't reflect
+ * on the same class over and over.
+ */
+final class CompactPendingMutationConverter implements PendingMutation.Converter {
+    private static final int FORMAT_VERSION = 2;
+    private static final int VERSION_POSITION = 0;
+    private static final int MUTATION_ID_POSITION = 1;
+    private static final int MUTATION_TYPE_POSITION = 2;
+    private static final int PREDICATE_POSITION = 3;
+    private static final int ITEM_POSITION = 4;
+    private static final int SCHEMA_POSITION = 5;
+
+    private final Gson gson;
+    private final Map<String, Class<? extends Model>> itemClasses;
+    private final Map<Class<? extends Model>, ModelSchema> itemSchemas;
+    private final Map<Class<? extends Model>, Type> legacyRecordTypes;
+
+    /**
+     * Constructs a new instance of the {@link CompactPendingMutationConverter}.
+     */
+    CompactPendingMutationConverter() {
+        this.gson = GsonFactory.instance()
+            .newBuilder()
+            .registerTypeAdapter(TimeBasedUuid.class, new TimeBasedUuidTypeAdapter())
+            .create();
+        this.itemClasses = new ConcurrentHashMap<>();
+        this.itemSchemas = new ConcurrentHashMap<>();
+        this.legacyRecordTypes = new ConcurrentHashMap<>();
+    }
+
+    @NonNull
+    @Override
+    public <T extends Model> PendingMutation.PersistentRecord toRecord(@NonNull PendingMutation<T> mutation) {
+        T item = mutation.getMutatedItem();
+        ModelSchema schema = mutation.getModelSchema();
+        boolean schemaIsDerivable = schema.equals(derivedSchema(item));
+
+        JsonArray data = new JsonArray();
+        data.add(new JsonPrimitive(FORMAT_VERSION));
+        data.add(gson.toJsonTree(mutation.getMutationId(), TimeBasedUuid.class));
+        data.add(new JsonPrimitive(mutation.getMutationType().name()));
+        data.add(gson.toJsonTree(mutation.getPredicate(), QueryPredicate.class));
+        data.add(gson.toJsonTree(item, item.getClass()));
+        data.add(schemaIsDerivable ? JsonNull.INSTANCE : gson.toJsonTree(schema, ModelSchema.class));
+
+        return PendingMutation.PersistentRecord.builder()
+            .containedModelId(item.getId())
+            .containedModelClassName(item.getClass().getName())
+            .serializedMutationData(data.toString())
+            .mutationId(mutation.getMutationId())
+            .build();
+    }
+
+    @NonNull
+    @Override
+    public <T extends Model> PendingMutation<T> fromRecord(
+            @NonNull PendingMutation.PersistentRecord record) throws DataStoreException {
+        Class<? extends Model> itemClass = itemClass(record.getContainedModelClassName());
+        final JsonElement data;
+        try {
+            data = JsonParser.parseString(record.getSerializedMutationData());
+        } catch (JsonParseException parseFailure) {
+            throw new DataStoreException(
+                "Could not parse the stored data of pending mutation " + record.getId(),
+                parseFailure,
+                "The outbox may be corrupted. Clearing the local store will remove the pending mutation."
+            );
+        }
+        if (!data.isJsonArray()) {
+            return fromLegacyRecord(itemClass, data);
+        }
+
+        JsonArray fields = data.getAsJsonArray();
+        int version = fields.get(VERSION_POSITION).getAsInt();
+        if (version != FORMAT_VERSION) {
+            throw new DataStoreException(
+                "Pending mutation " + record.getId() + " was stored in an unknown format, version " + version,
+                "The mutation was stored by a newer version of Amplify. Check your Amplify version."
+            );
+        }
+
+        @SuppressWarnings("unchecked") // The record names the item's class.
+        T item = (T) gson.fromJson(fields.get(ITEM_POSITION), itemClass);
+        JsonElement storedSchema = fields.get(SCHEMA_POSITION);
+        ModelSchema schema = storedSchema.isJsonNull() ?
+            derivedSchema(item) : gson.fromJson(storedSchema, ModelSchema.class);
+        if (schema == null) {
+            throw new DataStoreException(
+                "Could not find the model schema of pending mutation " + record.getId(),
+                "Verify that you have built this model into your project."
+            );
+        }
+
+        return PendingMutation.instance(
+            gson.fromJson(fields.get(MUTATION_ID_POSITION), TimeBasedUuid.class),
+            item,
+            schema,
+            PendingMutation.Type.valueOf(fields.get(MUTATION_TYPE_POSITION).getAsString()),
+            gson.fromJson(fields.get(PREDICATE_POSITION), QueryPredicate.class)
+        );
+    }
+
+    // Reads a record written by the GsonPendingMutationConverter, as a JSON object.
+    private <T extends Model> PendingMutation<T> fromLegacyRecord(Class<? extends Model> itemClass, JsonElement data) {
+        Type recordType = legacyRecordTypes.get(itemClass);
+        if (recordType == null) {
+            recordType = TypeToken.getParameterized(PendingMutation.class, itemClass).getType();
+            legacyRecordTypes.put(itemClass, recordType);
+        }
+        return gson.fromJson(data, recordType);
+    }
+
+    private Class<? extends Model> itemClass(String className) throws DataStoreException {
+        Class<? extends Model> itemClass = itemClasses.get(className);
+        if (itemClass != null) {
+            return itemClass;
+        }
+        try {
+            itemClass = Class.forName(className).asSubclass(Model.class);
+        } catch (ClassNotFoundException | ClassCastException lookupFailure) {
+            throw new DataStoreException(
+                "Could not find a model class with the name " + className,
+                lookupFailure,
+                "Verify that you have built this model into your project."
+            );
+        }
+        itemClasses.put(className, itemClass);
+        return itemClass;
+    }
+
+    // Finds the schema of an item from the item alone, if it can be found; or, returns null.
+    @Nullable
+    private ModelSchema derivedSchema(Model item) {
+        if (item instanceof SerializedModel) {
+            return ((SerializedModel) item).getModelSchema();
+        }
+        Class<? extends Model> itemClass = item.getClass();
+        ModelSchema schema = itemSchemas.get(itemClass);
+        if (schema != null) {
+            return schema;
+        }
+        try {
+            schema = ModelSchema.fromModelClass(itemClass);
+        } catch (AmplifyException schemaFailure) {
+            return null;
+        }
+        itemSchemas.put(itemClass, schema);
+        return schema;
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import androidx.annotation.NonNull;
+
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.datastore.DataStoreConfiguration;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
+
+/**
+ * Schedules the sync of a collection of models, so that each model starts to sync as soon as
+ * the models it depends upon have finished, according to a {@link TopologicalOrdering}.
+ * Models which don't depend upon each other sync at the same time.
+ *
+ * The network fetches and the local storage writes of all of the models share two limits,
+ * so that the number of models being synced does not determine how many pages are requested,
+ * or held in memory while they wait to be written, at once.
+ *
+ * Within a model, the pages are pipelined: the next page is fetched while the current page is
+ * written, and a bounded number of fetched pages wait for their turn. Once the buffer is full,
+ * no more pages are requested until the writes catch up.
+ */
+final class ModelSyncScheduler {
+    private final TopologicalOrdering ordering;
+    private final Limiter fetchLimiter;
+    private final Limiter writeLimiter;
+    private final int pageBufferSize;
+    private final Scheduler mergeScheduler;
+
+    /**
+     * Constructs a ModelSyncScheduler.
+     * @param ordering The topological ordering of the models to sync
+     * @param maxConcurrentFetches Number of page fetches which may run at the same time
+     * @param maxConcurrentWrites Number of page writes which may run at the same time
+     * @param pageBufferSize Number of fetched pages of a model which may wait to be written
+     * @param mergeScheduler Scheduler on which fetched pages are handed to their writes
+     */
+    ModelSyncScheduler(
+            @NonNull TopologicalOrdering ordering,
+            int maxConcurrentFetches,
+            int maxConcurrentWrites,
+            int pageBufferSize,
+            @NonNull Scheduler mergeScheduler) {
+        if (pageBufferSize < 1) {
+            throw new IllegalArgumentException("pageBufferSize must be at least 1, but was " + pageBufferSize);
+        }
+        this.ordering = Objects.requireNonNull(ordering);
+        this.fetchLimiter = new Limiter(maxConcurrentFetches);
+        this.writeLimiter = new Limiter(maxConcurrentWrites);
+        this.pageBufferSize = pageBufferSize;
+        this.mergeScheduler = Objects.requireNonNull(mergeScheduler);
+    }
+
+    /**
+     * Creates a ModelSyncScheduler with the limits of a DataStore configuration. A limit which
+     * is not set has its default value.
+     * @param ordering The topological ordering of the models to sync
+     * @param configuration The DataStore configuration
+     * @return A ModelSyncScheduler
+     */
+    @NonNull
+    static ModelSyncScheduler forConfiguration(
+            @NonNull TopologicalOrdering ordering, @NonNull DataStoreConfiguration configuration) {
+        final Integer maxConcurrentFetches = configuration.getSyncMaxConcurrentFetches();
+        final Integer maxConcurrentWrites = configuration.getSyncMaxConcurrentWrites();
+        final Integer pageBufferSize = configuration.getSyncPageBufferSize();
+        return new ModelSyncScheduler(ordering,
+            maxConcurrentFetches != null ?
+                maxConcurrentFetches : DataStoreConfiguration.DEFAULT_SYNC_MAX_CONCURRENT_FETCHES,
+            maxConcurrentWrites != null ?
+                maxConcurrentWrites : DataStoreConfiguration.DEFAULT_SYNC_MAX_CONCURRENT_WRITES,
+            pageBufferSize != null ?
+                pageBufferSize : DataStoreConfiguration.DEFAULT_SYNC_PAGE_BUFFER_SIZE,
+            Schedulers.io());
+    }
+
+    /**
+     * Runs a task for each model, starting each once the tasks of the models it depends upon have
+     * completed. The result fails as soon as any task fails, and the other tasks are disposed.
+     * @param modelSchemas Models to sync
+     * @param syncTask Creates the task which syncs a model
+     * @return A Completable which completes once every task has completed
+     */
+    @NonNull
+    Completable schedule(
+            @NonNull Collection<ModelSchema> modelSchemas,
+            @NonNull Function<ModelSchema, Completable> syncTask) {
+        final Map<ModelSchema, CompletableSubject> completions = new HashMap<>();
+        for (ModelSchema schema : modelSchemas) {
+            completions.put(schema, CompletableSubject.create());
+        }
+        final List<Completable> tasks = new ArrayList<>(modelSchemas.size());
+        for (ModelSchema schema : modelSchemas) {
+            final List<Completable> parentCompletions = new ArrayList<>();
+            for (ModelSchema parent : ordering.getParents(schema)) {
+                // Only wait for models which come first, so that a cycle of associations can't stall.
+                if (completions.containsKey(parent) && ordering.compare(parent, schema) < 0) {
+                    parentCompletions.add(completions.get(parent));
+                }
+            }
+            final CompletableSubject completion = completions.get(schema);
+            tasks.add(Completable.merge(parentCompletions)
+                .andThen(Completable.defer(() -> syncTask.apply(schema)))
+                .doOnComplete(completion::onComplete)
+                .doOnError(completion::onError));
+        }
+        return Completable.merge(tasks);
+    }
+
+    /**
+     * Runs a network fetch, once fewer than the maximum number of fetches are running.
+     * @param fetch A fetch
+     * @param <T> Type of the fetched result
+     * @return A Single which runs the fetch when it is allowed to, and emits its result
+     */
+    @NonNull
+    <T> Single<T> fetch(@NonNull Single<T> fetch) {
+        return fetchLimiter.limit(fetch);
+    }
+
+    /**
+     * Runs a write to the local storage, once fewer than the maximum number of writes are running.
+     * @param write A write
+     * @return A Completable which runs the write when it is allowed to, and completes with it
+     */
+    @NonNull
+    Completable write(@NonNull Completable write) {
+        return writeLimiter.limit(write.toSingleDefault(Boolean.TRUE)).ignoreElement();
+    }
+
+    /**
+     * Writes the pages of a model in order, while the following pages are fetched. The pages are
+     * requested from upstream only as fast as the buffer drains: at most the buffer size of
+     * fetched pages wait behind the page being written, after which fetching pauses until a
+     * write completes. Each write takes a permit of the write limit.
+     * @param pages Pages of a model, fetched on request
+     * @param merge Creates the write of a page
+     * @param <T> Type of a page
+     * @return A Completable which completes once every page has been written
+     */
+    @NonNull
+    <T> Completable mergePages(@NonNull Flowable<T> pages, @NonNull Function<T, Completable> merge) {
+        return pages
+            // Switch threads, so that a write never holds up the callback of the next fetch.
+            .observeOn(mergeScheduler, false, pageBufferSize)
+            .concatMapCompletable(page -> write(merge.apply(page)), 1);
+    }
+
+    /**
+     * Limits the number of operations which run at the same time. An operation which is subscribed
+     * while all permits are taken waits in a queue, without blocking a thread, and is started on
+     * the thread of the operation that releases a permit. Each model has at most one operation
+     * waiting at a time, so the queue is never longer than the number of models.
+     */
+    private static final class Limiter {
+        private final int maxConcurrency;
+        private final Queue<Runnable> waiting;
+        private int running;
+
+        Limiter(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be at least 1, but was " + maxConcurrency);
+            }
+            this.maxConcurrency = maxConcurrency;
+            this.waiting = new ArrayDeque<>();
+        }
+
+        <T> Single<T> limit(Single<T> operation) {
+            return Single.create(emitter -> {
+                final AtomicBoolean released = new AtomicBoolean(false);
+                final Runnable releaseOnce = () -> {
+                    if (released.compareAndSet(false, true)) {
+                        release();
+                    }
+                };
+                final Runnable start = () -> {
+                    if (emitter.isDisposed()) {
+                        releaseOnce.run();
+                        return;
+                    }
+                    emitter.setDisposable(operation
+                        .doFinally(releaseOnce::run)
+                        .subscribe(emitter::onSuccess, emitter::tryOnError));
+                };
+                if (acquire(start)) {
+                    start.run();
+                }
+            });
+        }
+
+        // Takes a permit, or else queues the operation to start once a permit is released.
+        private synchronized boolean acquire(Runnable start) {
+            if (running < maxConcurrency) {
+                running++;
+                return true;
+            }
+            waiting.add(start);
+            return false;
+        }
+
+        // Hands the permit to the next waiting operation, if there is one.
+        private void release() {
+            final Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                    return;
+                }
+            }
+            next.run();
+        }
+    }
+}
@@ -21,6 +21,8 @@ import androidx.annotation.Nullable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.datastore.DataStoreException;
 
+import java.util.Collection;
+
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 
@@ -89,6 +91,16 @@ interface MutationOutbox {
     @Nullable
     PendingMutation<? extends Model> peek();
 
+    /**
+     * Take a peek at the next item in the outbox, skipping the mutations of the given models.
+     * The item is the earliest mutation of its model, so it may be published while the mutations
+     * of the skipped models are being published.
+     * @param excludedModelIds IDs of models whose mutations are skipped
+     * @return The next pending mutation of any other model, if there is one. Null otherwise.
+     */
+    @Nullable
+    PendingMutation<? extends Model> peekExcludingModelIds(@NonNull Collection<String> excludedModelIds);
+
     /**
      * Marks a pending mutation as "in-flight." An in-flight mutation becomes
      * frozen to any further modifications, until it can be removed from the outbox, entirely.
@@ -23,9 +23,12 @@ import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.datastore.DataStoreConfiguration;
+import com.amplifyframework.datastore.DataStoreConfigurationProvider;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.AppSync;
 import com.amplifyframework.datastore.appsync.AppSyncConflictUnhandledError;
+import com.amplifyframework.datastore.appsync.BatchedMutation;
 import com.amplifyframework.datastore.appsync.ModelWithMetadata;
 import com.amplifyframework.datastore.appsync.SerializedModel;
 import com.amplifyframework.datastore.events.OutboxStatusEvent;
@@ -33,11 +36,17 @@ import com.amplifyframework.hub.HubChannel;
 import com.amplifyframework.hub.HubEvent;
 import com.amplifyframework.logging.Logger;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
@@ -57,6 +66,7 @@ final class MutationProcessor {
     private final MutationOutbox mutationOutbox;
     private final AppSync appSync;
     private final ConflictResolver conflictResolver;
+    private final DataStoreConfigurationProvider dataStoreConfigurationProvider;
     private final CompositeDisposable ongoingOperationsDisposable;
 
     private MutationProcessor(Builder builder) {
@@ -66,6 +76,7 @@ final class MutationProcessor {
         this.mutationOutbox = Objects.requireNonNull(builder.mutationOutbox);
         this.appSync = Objects.requireNonNull(builder.appSync);
         this.conflictResolver = Objects.requireNonNull(builder.conflictResolver);
+        this.dataStoreConfigurationProvider = Objects.requireNonNull(builder.dataStoreConfigurationProvider);
         this.ongoingOperationsDisposable = new CompositeDisposable();
     }
 
@@ -98,7 +109,10 @@ final class MutationProcessor {
             .startWithItem(MutationOutbox.OutboxEvent.CONTENT_AVAILABLE) // To start draining immediately
             .subscribeOn(Schedulers.single())
             .observeOn(Schedulers.single())
-            .flatMapCompletable(event -> drainMutationOutbox())
+            // Drain the outbox once at a time. The events which arrive while it drains are
+            // collapsed into the latest one, which drains it again, afterwards.
+            .toFlowable(BackpressureStrategy.LATEST)
+            .concatMapCompletable(event -> drainMutationOutbox(), 1)
             .subscribe(
                 () -> LOG.warn("Observation of mutation outbox was completed."),
                 error -> LOG.warn("Error ended observation of mutation outbox: ", error)
@@ -106,54 +120,146 @@ final class MutationProcessor {
         );
     }
 
+    /**
+     * Publishes the mutations in the outbox, up to the configured number at a time. Only the
+     * earliest mutation of a model is ever published, so the mutations of a model are published
+     * strictly in order, while the mutations of different models are published side by side.
+     * The results are applied in the order in which the mutations were taken from the outbox, so
+     * mutations are removed from the outbox in order, too.
+     *
+     * When batching is configured, consecutive mutations of different models are taken from the
+     * outbox together, and are published in a single request. A batch counts once toward the
+     * number of mutations in flight.
+     *
+     * The drain completes once no mutation can be taken, that is, once the outbox is empty, or
+     * every mutation left in it waits for a mutation of its model to be published. Removing a
+     * mutation from a non-empty outbox signals that content is available, which drains it again.
+     * @return A Completable which completes once the mutations taken from the outbox are processed
+     */
     private Completable drainMutationOutbox() {
-        PendingMutation<? extends Model> next;
-        do {
-            next = mutationOutbox.peek();
-            if (next == null) {
-                return Completable.complete();
-            }
-            boolean itemFailedToProcess = !processOutboxItem(next)
-                .blockingAwait(ITEM_PROCESSING_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-            if (itemFailedToProcess) {
-                return Completable.error(new DataStoreException(
-                    "Failed to process " + next, "Check your internet connection."
-                ));
-            }
-        } while (true);
+        return Completable.defer(() -> {
+            final DataStoreConfiguration configuration = dataStoreConfigurationProvider.getConfiguration();
+            final int maxConcurrentMutations = valueOrDefault(
+                configuration.getOutboxMaxConcurrentMutations(),
+                DataStoreConfiguration.DEFAULT_OUTBOX_MAX_CONCURRENT_MUTATIONS
+            );
+            final int maxBatchSize = valueOrDefault(
+                configuration.getOutboxMaxBatchSize(),
+                DataStoreConfiguration.DEFAULT_OUTBOX_MAX_BATCH_SIZE
+            );
+            final Set<String> modelIdsInFlight = Collections.synchronizedSet(new HashSet<>());
+            return Flowable.<List<PendingMutation<? extends Model>>>generate(emitter -> {
+                List<PendingMutation<? extends Model>> batch = new ArrayList<>();
+                while (batch.size() < maxBatchSize) {
+                    PendingMutation<? extends Model> next = mutationOutbox.peekExcludingModelIds(modelIdsInFlight);
+                    if (next == null) {
+                        break;
+                    }
+                    modelIdsInFlight.add(next.getMutatedItem().getId());
+                    batch.add(next);
+                }
+                if (batch.isEmpty()) {
+                    emitter.onComplete();
+                } else {
+                    emitter.onNext(batch);
+                }
+            })
+            // Publish up to the maximum number of batches at once, but keep their results in order.
+            .concatMapEager(batch -> publishOutboxBatch(batch)
+                .map(result -> result.doFinally(() -> {
+                    for (PendingMutation<? extends Model> mutation : batch) {
+                        modelIdsInFlight.remove(mutation.getMutatedItem().getId());
+                    }
+                }))
+                .toFlowable(), maxConcurrentMutations, 1)
+            .concatMapCompletable(result -> result, 1);
+        });
+    }
+
+    private static int valueOrDefault(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
     }
 
     /**
-     * Process an item in the mutation outbox.
+     * Publish a batch of items in the mutation outbox, in a single request. A batch of one
+     * item is published like any other item.
+     * @param batch Items in the mutation outbox, each of a different model
+     * @return A Single that emits the processing of the published items, in order, which
+     *         removes them from the outbox, once it is subscribed; or emits failure, if the
+     *         items could not be published
+     */
+    private Single<Completable> publishOutboxBatch(List<PendingMutation<? extends Model>> batch) {
+        if (batch.size() == 1) {
+            return publishOutboxItem(batch.get(0));
+        }
+        // First, mark the items as in-flight.
+        return Flowable.fromIterable(batch)
+            .concatMapSingle(this::toBatchedMutation)
+            .toList()
+            // Then, put them "into flight", together.
+            .flatMap(mutations -> Single.<List<GraphQLResponse<ModelWithMetadata<? extends Model>>>>create(
+                subscriber -> appSync.mutate(mutations, subscriber::onSuccess, subscriber::onError)
+            ))
+            .timeout(ITEM_PROCESSING_TIMEOUT_MS, TimeUnit.MILLISECONDS, Single.error(new DataStoreException(
+                "Failed to process " + batch, "Check your internet connection."
+            )))
+            .doOnError(error -> {
+                LOG.warn("Failed to publish a batch of local changes = " + batch, error);
+            })
+            // Each response is then processed as if its item had been published alone.
+            .flatMap(responses -> Flowable.range(0, batch.size())
+                .concatMapSingle(index -> processBatchedResponse(batch.get(index), responses.get(index)))
+                .toList())
+            .map(Completable::concat);
+    }
+
+    /**
+     * Publish an item in the mutation outbox.
      * @param mutationOutboxItem An item in the mutation outbox
      * @param <T> Type of model
-     * @return A Completable that emits success when the item is processed, emits failure, otherwise
+     * @return A Single that emits the processing of the published item, which removes it from the
+     *         outbox, once it is subscribed; or emits failure, if the item could not be published
      */
-    private <T extends Model> Completable processOutboxItem(PendingMutation<T> mutationOutboxItem) {
+    private <T extends Model> Single<Completable> publishOutboxItem(PendingMutation<T> mutationOutboxItem) {
         // First, mark the item as in-flight.
-        return mutationOutbox.markInFlight(mutationOutboxItem.getMutationId())
+        return processPublication(mutationOutboxItem, mutationOutbox.markInFlight(mutationOutboxItem.getMutationId())
             // Then, put it "into flight"
-            .andThen(publishToNetwork(mutationOutboxItem)
-                .map(modelWithMetadata -> ensureModelHasSchema(mutationOutboxItem, modelWithMetadata))
-                .flatMapCompletable(modelWithMetadata ->
-                    // Once the server knows about it, it's safe to remove from the outbox.
-                    // This is done before merging, because the merger will refuse to merge
-                    // if there are outstanding mutations in the outbox.
-                    mutationOutbox.remove(mutationOutboxItem.getMutationId())
-                        .andThen(merger.merge(modelWithMetadata))
-                        .doOnComplete(() -> {
-                            String modelName = mutationOutboxItem.getModelSchema().getName();
-                            announceMutationProcessed(modelName, modelWithMetadata);
-                        })
-                )
-            )
-            .doOnComplete(() -> {
-                LOG.debug(
-                    "Pending mutation was published to cloud successfully, " +
-                        "and removed from the mutation outbox: " + mutationOutboxItem
-                );
-                publishCurrentOutboxStatus();
-            })
+            .andThen(publishToNetwork(mutationOutboxItem))
+            .timeout(ITEM_PROCESSING_TIMEOUT_MS, TimeUnit.MILLISECONDS, Single.error(new DataStoreException(
+                "Failed to process " + mutationOutboxItem, "Check your internet connection."
+            )))
+        );
+    }
+
+    /**
+     * Process the response to an item of a batch, which was published.
+     * @param mutationOutboxItem An item in the mutation outbox, which was published in a batch
+     * @param response The response to the item
+     * @param <T> Type of model
+     * @return A Single that emits the processing of the published item
+     */
+    @SuppressWarnings("unchecked") // The response to an item holds a model of the item's type
+    private <T extends Model> Single<Completable> processBatchedResponse(
+            PendingMutation<T> mutationOutboxItem, GraphQLResponse<ModelWithMetadata<? extends Model>> response) {
+        GraphQLResponse<ModelWithMetadata<T>> itemResponse =
+            (GraphQLResponse<ModelWithMetadata<T>>) (GraphQLResponse<?>) response;
+        return processPublication(mutationOutboxItem, handleResponse(mutationOutboxItem, itemResponse));
+    }
+
+    /**
+     * Process the publication of an item in the mutation outbox.
+     * @param mutationOutboxItem An item in the mutation outbox
+     * @param publication A Single that emits the model and its metadata, as the server knows
+     *                    them, once the item is published
+     * @param <T> Type of model
+     * @return A Single that emits the processing of the published item, which removes it from the
+     *         outbox, once it is subscribed; or emits failure, if the item could not be published
+     */
+    private <T extends Model> Single<Completable> processPublication(
+            PendingMutation<T> mutationOutboxItem, Single<ModelWithMetadata<T>> publication) {
+        return publication
+            .map(modelWithMetadata -> ensureModelHasSchema(mutationOutboxItem, modelWithMetadata))
+            .map(modelWithMetadata -> processPublishedItem(mutationOutboxItem, modelWithMetadata))
             // If caused by an AppSync error, then publish it to hub, swallow,
             // and then remove from the outbox to unblock the queue.
             // Otherwise, pass it through.
@@ -161,10 +267,10 @@ final class MutationProcessor {
                 if (error instanceof DataStoreException.GraphQLResponseException) {
                     DataStoreException.GraphQLResponseException appSyncError =
                         (DataStoreException.GraphQLResponseException) error;
-                    return mutationOutbox.remove(mutationOutboxItem.getMutationId())
-                        .doOnComplete(() -> announceMutationFailed(mutationOutboxItem, appSyncError));
+                    return Single.just(mutationOutbox.remove(mutationOutboxItem.getMutationId())
+                        .doOnComplete(() -> announceMutationFailed(mutationOutboxItem, appSyncError)));
                 }
-                return Completable.error(error);
+                return Single.error(error);
             })
             // Finally, catch all.
             .doOnError(error -> {
@@ -172,6 +278,34 @@ final class MutationProcessor {
             });
     }
 
+    /**
+     * Process an item in the mutation outbox, once it has been published.
+     * @param mutationOutboxItem An item in the mutation outbox, which was published
+     * @param modelWithMetadata The model and its metadata, as the server knows them
+     * @param <T> Type of model
+     * @return A Completable that emits success when the item is processed, emits failure, otherwise
+     */
+    private <T extends Model> Completable processPublishedItem(
+            PendingMutation<T> mutationOutboxItem, ModelWithMetadata<? extends Model> modelWithMetadata) {
+        // Once the server knows about it, it's safe to remove from the outbox.
+        // This is done before merging, because the merger will refuse to merge
+        // if there are outstanding mutations in the outbox.
+        return mutationOutbox.remove(mutationOutboxItem.getMutationId())
+            .andThen(merger.merge(modelWithMetadata))
+            .doOnComplete(() -> {
+                String modelName = mutationOutboxItem.getModelSchema().getName();
+                announceMutationProcessed(modelName, modelWithMetadata);
+                LOG.debug(
+                    "Pending mutation was published to cloud successfully, " +
+                        "and removed from the mutation outbox: " + mutationOutboxItem
+                );
+                publishCurrentOutboxStatus();
+            })
+            .doOnError(error -> {
+                LOG.warn("Failed to process a published local change = " + mutationOutboxItem, error);
+            });
+    }
+
     private <T extends Model> ModelWithMetadata<? extends Model> ensureModelHasSchema(
         PendingMutation<T> mutationOutboxItem,
         ModelWithMetadata<T> modelWithMetadata
@@ -263,6 +397,32 @@ final class MutationProcessor {
         }
     }
 
+    // For an item in the outbox, mark it as in-flight, and describe its mutation within a batch
+    private <T extends Model> Single<BatchedMutation<? extends Model>> toBatchedMutation(PendingMutation<T> mutation) {
+        final T item = mutation.getMutatedItem();
+        final ModelSchema schema = this.modelSchemaRegistry.getModelSchemaForModelClass(item.getModelName());
+        final Single<BatchedMutation<? extends Model>> batchedMutation;
+        switch (mutation.getMutationType()) {
+            case UPDATE:
+                batchedMutation = versionRepository.findModelVersion(item).map(version ->
+                    BatchedMutation.update(item, schema, version, mutation.getPredicate()));
+                break;
+            case CREATE:
+                batchedMutation = Single.just(BatchedMutation.creation(item, schema));
+                break;
+            case DELETE:
+                batchedMutation = versionRepository.findModelVersion(item).map(version ->
+                    BatchedMutation.deletion(item, schema, version, mutation.getPredicate()));
+                break;
+            default:
+                return Single.error(new DataStoreException(
+                   "Unknown mutation type in storage = " + mutation.getMutationType(),
+                   "This is likely a bug. Please file a ticket with AWS."
+                ));
+        }
+        return mutationOutbox.markInFlight(mutation.getMutationId()).andThen(batchedMutation);
+    }
+
     // For an item in the outbox, dispatch an update mutation
     private <T extends Model> Single<ModelWithMetadata<T>> update(PendingMutation<T> mutation) {
         final T updatedItem = mutation.getMutatedItem();
@@ -314,14 +474,26 @@ final class MutationProcessor {
             .<GraphQLResponse<ModelWithMetadata<T>>>create(subscriber ->
                 publicationStrategy.publish(mutation.getMutatedItem(), subscriber::onSuccess, subscriber::onError)
             )
-            .flatMap(response -> {
-                // If there are no errors, and the response has data, just return.
-                if (!response.hasErrors() && response.hasData()) {
-                    return Single.just(response.getData());
-                } else {
-                    return handleResponseErrors(mutation, response.getErrors());
-                }
-            });
+            .flatMap(response -> handleResponse(mutation, response));
+    }
+
+    /**
+     * Handle the response from AppSync to the publication of a mutation.
+     * @param mutation A mutation that was published
+     * @param response The response to the mutation
+     * @param <T> The model type of the item
+     * @return A single which emits the model with its metadata, upon success; emits
+     *         a failure, if publication did not succeed
+     */
+    private <T extends Model> Single<ModelWithMetadata<T>> handleResponse(
+            PendingMutation<T> mutation,
+            GraphQLResponse<ModelWithMetadata<T>> response) {
+        // If there are no errors, and the response has data, just return.
+        if (!response.hasErrors() && response.hasData()) {
+            return Single.just(response.getData());
+        } else {
+            return handleResponseErrors(mutation, response.getErrors());
+        }
     }
 
     /**
@@ -348,7 +520,7 @@ final class MutationProcessor {
 
         // If error was not due to ConflictUnhandled, then mark it as an AppSync
         // error and bubble it up further to be taken care of inside
-        // processOutboxItem() method.
+        // publishOutboxItem() method.
         return Single.error(new DataStoreException.GraphQLResponseException(
             "Mutation failed. Failed mutation = " + pendingMutation + ". " +
                 "AppSync response contained errors = " + errors, errors
@@ -380,6 +552,7 @@ final class MutationProcessor {
             BuilderSteps.MutationOutboxStep,
             BuilderSteps.AppSyncStep,
             BuilderSteps.ConflictResolverStep,
+            BuilderSteps.DataStoreConfigurationProviderStep,
             BuilderSteps.BuildStep {
         private Merger merger;
         private VersionRepository versionRepository;
@@ -387,6 +560,7 @@ final class MutationProcessor {
         private MutationOutbox mutationOutbox;
         private AppSync appSync;
         private ConflictResolver conflictResolver;
+        private DataStoreConfigurationProvider dataStoreConfigurationProvider;
 
         @NonNull
         @Override
@@ -425,11 +599,20 @@ final class MutationProcessor {
 
         @NonNull
         @Override
-        public BuilderSteps.BuildStep conflictResolver(@NonNull ConflictResolver conflictResolver) {
+        public BuilderSteps.DataStoreConfigurationProviderStep conflictResolver(
+                @NonNull ConflictResolver conflictResolver) {
             this.conflictResolver = Objects.requireNonNull(conflictResolver);
             return Builder.this;
         }
 
+        @NonNull
+        @Override
+        public BuilderSteps.BuildStep dataStoreConfigurationProvider(
+                @NonNull DataStoreConfigurationProvider dataStoreConfigurationProvider) {
+            this.dataStoreConfigurationProvider = Objects.requireNonNull(dataStoreConfigurationProvider);
+            return Builder.this;
+        }
+
         @NonNull
         @Override
         public MutationProcessor build() {
@@ -465,7 +648,13 @@ final class MutationProcessor {
 
         interface ConflictResolverStep {
             @NonNull
-            BuildStep conflictResolver(@NonNull ConflictResolver conflictResolver);
+            DataStoreConfigurationProviderStep conflictResolver(@NonNull ConflictResolver conflictResolver);
+        }
+
+        interface DataStoreConfigurationProviderStep {
+            @NonNull
+            BuildStep dataStoreConfigurationProvider(
+                    @NonNull DataStoreConfigurationProvider dataStoreConfigurationProvider);
         }
 
         interface BuildStep {
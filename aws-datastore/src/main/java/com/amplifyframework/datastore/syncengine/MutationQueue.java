@@ -20,20 +20,32 @@ import androidx.annotation.Nullable;
 
 import com.amplifyframework.core.model.Model;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeSet;
 
 /**
  * The {@link MutationQueue} is a LinkedHashMap like container , the goal of using this container is to
  * achieve O(1) time complexity for both getting a {@link PendingMutation} and update an existing mutation with
  * valid id.
  * MutationQueue is implementing the Queue interface and provide most of the queue operations,
+ * and the nodes are also indexed by the id of their model, in order, so that the next mutation of
+ * a model is found in O(1) time as well. The first node of each model is kept in queue order, so that
+ * the next mutation of any model but a few is found without walking the mutations of those few.
  */
 public final class MutationQueue {
 
     private final Map<TimeBasedUuid, Node> mutationMap = new HashMap<>();
+    private final Map<String, Deque<Node>> modelIdMap = new HashMap<>();
+    private final TreeSet<Node> modelHeads = new TreeSet<>(
+        (one, other) -> one.sequence < other.sequence ? -1 : (one.sequence == other.sequence ? 0 : 1)
+    );
     private final Node dummyHead;
     private final Node dummyTail;
+    private long nextSequence;
 
     /**
      * Default constructor for {@link MutationQueue}.
@@ -52,15 +64,24 @@ public final class MutationQueue {
      * @return the {@link PendingMutation} instance
      */
     synchronized PendingMutation<? extends Model> nextMutationForModelId(String modelId) {
-        Node head = dummyHead.next;
-        if (head == dummyTail) {
-            return null;
-        }
-        while (head != dummyTail) {
-            if (head.mutation.getMutatedItem().getId().equals(modelId)) {
-                return head.mutation;
+        Deque<Node> modelNodes = modelIdMap.get(modelId);
+        return modelNodes == null ? null : modelNodes.peekFirst().mutation;
+    }
+
+    /**
+     * Find the first Pending Mutation whose model id is not one of the given ids. Since the
+     * queue is in order, the mutation found is the earliest pending mutation of its model.
+     *
+     * @param excludedModelIds ids of the models whose mutations are skipped
+     * @return the {@link PendingMutation} instance, or null if every mutation is skipped
+     */
+    @Nullable
+    synchronized PendingMutation<? extends Model> nextMutationExcludingModelIds(
+            @NonNull Collection<String> excludedModelIds) {
+        for (Node modelHead : modelHeads) {
+            if (!excludedModelIds.contains(modelHead.modelId)) {
+                return modelHead.mutation;
             }
-            head = head.next;
         }
         return null;
     }
@@ -84,6 +105,20 @@ public final class MutationQueue {
         //remove from current linkedlist
         removingPrev.next = removingNext;
         removingNext.prev = removingPrev;
+        //remove from the nodes of its model
+        Deque<Node> modelNodes = modelIdMap.get(removingNode.modelId);
+        if (modelNodes.peekFirst() == removingNode) {
+            modelNodes.removeFirst();
+            modelHeads.remove(removingNode);
+            if (!modelNodes.isEmpty()) {
+                modelHeads.add(modelNodes.peekFirst());
+            }
+        } else {
+            modelNodes.removeFirstOccurrence(removingNode);
+        }
+        if (modelNodes.isEmpty()) {
+            modelIdMap.remove(removingNode.modelId);
+        }
         return true;
     }
 
@@ -98,6 +133,8 @@ public final class MutationQueue {
         Node pendingNode = new Node();
         pendingNode.id = pendingMutation.getMutationId();
         pendingNode.mutation = pendingMutation;
+        pendingNode.modelId = pendingMutation.getMutatedItem().getId();
+        pendingNode.sequence = nextSequence++;
         //insert the new node into the current linkedlist
         Node addingPrev = dummyTail.prev;
         addingPrev.next = pendingNode;
@@ -106,11 +143,20 @@ public final class MutationQueue {
         pendingNode.next = dummyTail;
         //put the mutation into the mutationmap
         mutationMap.put(pendingMutation.getMutationId(), pendingNode);
+        //append it to the nodes of its model
+        Deque<Node> modelNodes = modelIdMap.get(pendingNode.modelId);
+        if (modelNodes == null) {
+            modelNodes = new ArrayDeque<>();
+            modelIdMap.put(pendingNode.modelId, modelNodes);
+            modelHeads.add(pendingNode);
+        }
+        modelNodes.addLast(pendingNode);
         return true;
     }
 
     /**
-     * Replace an existing {@link PendingMutation} inside the Queue.
+     * Replace an existing {@link PendingMutation} inside the Queue. A mutation is only ever
+     * replaced by a mutation of the same model, so it keeps its place among that model's nodes.
      *
      * @param timeBasedUuid              the UUID of a pending mutation
      * @param pendingMutation the pending mutation's instance
@@ -156,7 +202,7 @@ public final class MutationQueue {
      * @param pendingMutation the mutation instance
      * @return return true if we successfully added the pending mutation into the queue
      */
-    public boolean add(PendingMutation<? extends Model> pendingMutation) {
+    public synchronized boolean add(PendingMutation<? extends Model> pendingMutation) {
         if (pendingMutation != null && !mutationMap.containsKey(pendingMutation.getMutationId())) {
             return addToTail(pendingMutation);
         } else {
@@ -169,7 +215,7 @@ public final class MutationQueue {
      *
      * @return return the size of the queue
      */
-    public int size() {
+    public synchronized int size() {
         return mutationMap.size();
     }
 
@@ -194,6 +240,8 @@ public final class MutationQueue {
         dummyHead.next = dummyTail;
         dummyTail.prev = dummyHead;
         mutationMap.clear();
+        modelIdMap.clear();
+        modelHeads.clear();
     }
 
     /**
@@ -213,6 +261,8 @@ public final class MutationQueue {
     private class Node {
         private TimeBasedUuid id;
         private PendingMutation<? extends Model> mutation;
+        private String modelId;
+        private long sequence;
         private Node next;
         private Node prev;
     }
@@ -60,6 +60,7 @@ public final class Orchestrator {
     private final SyncProcessor syncProcessor;
     private final MutationProcessor mutationProcessor;
     private final QueryPredicateProvider queryPredicateProvider;
+    private final VersionRepository versionRepository;
     private final StorageObserver storageObserver;
     private final Supplier<State> targetState;
     private final AtomicReference<State> currentState;
@@ -98,7 +99,7 @@ public final class Orchestrator {
         Objects.requireNonNull(localStorageAdapter);
 
         this.mutationOutbox = new PersistentMutationOutbox(localStorageAdapter);
-        VersionRepository versionRepository = new VersionRepository(localStorageAdapter);
+        this.versionRepository = new VersionRepository(localStorageAdapter);
         Merger merger = new Merger(mutationOutbox, versionRepository, localStorageAdapter);
         SyncTimeRegistry syncTimeRegistry = new SyncTimeRegistry(localStorageAdapter);
         ConflictResolver conflictResolver = new ConflictResolver(dataStoreConfigurationProvider, appSync);
@@ -111,6 +112,7 @@ public final class Orchestrator {
             .mutationOutbox(mutationOutbox)
             .appSync(appSync)
             .conflictResolver(conflictResolver)
+            .dataStoreConfigurationProvider(dataStoreConfigurationProvider)
             .build();
         this.syncProcessor = SyncProcessor.builder()
             .modelProvider(modelProvider)
@@ -376,6 +378,7 @@ public final class Orchestrator {
         LOG.info("Setting currentState to LOCAL_ONLY");
         currentState.set(State.LOCAL_ONLY);
         disposables.clear();
+        versionRepository.unloadIndex();
         subscriptionProcessor.stopAllSubscriptionActivity();
         mutationProcessor.stopDrainingMutationOutbox();
     }
@@ -33,10 +33,11 @@ import com.amplifyframework.datastore.storage.StorageItemChange;
 import com.amplifyframework.hub.HubChannel;
 import com.amplifyframework.logging.Logger;
 
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
@@ -52,16 +53,21 @@ import io.reactivex.rxjava3.subjects.Subject;
  * This component is an "offline mutation queue,"; items in the mutation outbox are observed,
  * and written out over the network. When an item is written out over the network successfully,
  * it is safe to remove it from this outbox.
+ *
+ * Changes to the mutations of one model are made one at a time, in order. Changes to the
+ * mutations of different models are made concurrently, unless the models' IDs share a stripe
+ * of the {@link StripedSequencer}. No thread is blocked while waiting its turn.
  */
 final class PersistentMutationOutbox implements MutationOutbox {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+    private static final int ADMISSION_STRIPES = 16;
 
     private final LocalStorageAdapter storage;
     private final MutationQueue mutationQueue;
     private final Set<TimeBasedUuid> inFlightMutations;
     private final PendingMutation.Converter converter;
     private final Subject<OutboxEvent> events;
-    private final Semaphore semaphore;
+    private final StripedSequencer admission;
 
     PersistentMutationOutbox(@NonNull final LocalStorageAdapter localStorageAdapter) {
         this(localStorageAdapter, new MutationQueue());
@@ -70,12 +76,19 @@ final class PersistentMutationOutbox implements MutationOutbox {
     @VisibleForTesting
     PersistentMutationOutbox(@NonNull final LocalStorageAdapter localStorageAdapter,
                              @NonNull MutationQueue mutationQueue) {
+        this(localStorageAdapter, mutationQueue, new CompactPendingMutationConverter());
+    }
+
+    @VisibleForTesting
+    PersistentMutationOutbox(@NonNull final LocalStorageAdapter localStorageAdapter,
+                             @NonNull MutationQueue mutationQueue,
+                             @NonNull PendingMutation.Converter converter) {
         this.storage = Objects.requireNonNull(localStorageAdapter);
         this.mutationQueue = mutationQueue;
-        this.inFlightMutations = new HashSet<>();
-        this.converter = new GsonPendingMutationConverter();
+        this.inFlightMutations = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        this.converter = Objects.requireNonNull(converter);
         this.events = PublishSubject.<OutboxEvent>create().toSerialized();
-        this.semaphore = new Semaphore(1);
+        this.admission = new StripedSequencer(ADMISSION_STRIPES);
     }
 
     @Override
@@ -88,10 +101,10 @@ final class PersistentMutationOutbox implements MutationOutbox {
     @Override
     public <T extends Model> Completable enqueue(@NonNull PendingMutation<T> incomingMutation) {
         Objects.requireNonNull(incomingMutation);
-        return Completable.defer(() -> {
+        String modelId = incomingMutation.getMutatedItem().getId();
+        return admission.sequence(modelId, Completable.defer(() -> {
             // If there is no existing mutation for the model, then just apply the incoming
             // mutation, and be done with this.
-            String modelId = incomingMutation.getMutatedItem().getId();
             @SuppressWarnings("unchecked")
             PendingMutation<T> existingMutation = (PendingMutation<T>) mutationQueue.nextMutationForModelId(modelId);
             if (existingMutation == null || inFlightMutations.contains(existingMutation.getMutationId())) {
@@ -100,9 +113,7 @@ final class PersistentMutationOutbox implements MutationOutbox {
             } else {
                 return resolveConflict(existingMutation, incomingMutation);
             }
-        })
-        .doOnSubscribe(disposable -> semaphore.acquire())
-        .doOnTerminate(semaphore::release);
+        }));
     }
 
     private <T extends Model> Completable resolveConflict(@NonNull PendingMutation<T> existingMutation,
@@ -136,9 +147,15 @@ final class PersistentMutationOutbox implements MutationOutbox {
     @NonNull
     @Override
     public Completable remove(@NonNull TimeBasedUuid pendingMutationId) {
-        return removeNotLocking(pendingMutationId)
-            .doOnSubscribe(disposable -> semaphore.acquire())
-            .doOnTerminate(semaphore::release);
+        Objects.requireNonNull(pendingMutationId);
+        return Completable.defer(() -> {
+            PendingMutation<? extends Model> pendingMutation = mutationQueue.getMutationById(pendingMutationId);
+            if (pendingMutation == null) {
+                // Nothing to sequence against; let the removal report the missing mutation.
+                return removeNotLocking(pendingMutationId);
+            }
+            return admission.sequence(pendingMutation.getMutatedItem().getId(), removeNotLocking(pendingMutationId));
+        });
     }
 
     @NonNull
@@ -179,7 +196,7 @@ final class PersistentMutationOutbox implements MutationOutbox {
     @NonNull
     @Override
     public Completable load() {
-        return Completable.create(emitter -> {
+        return admission.sequenceExclusively(Completable.create(emitter -> {
             inFlightMutations.clear();
             mutationQueue.clear();
             storage.query(PendingMutation.PersistentRecord.class, Where.matchesAll(),
@@ -198,9 +215,7 @@ final class PersistentMutationOutbox implements MutationOutbox {
                 },
                 emitter::onError
             );
-        })
-        .doOnSubscribe(disposable -> semaphore.acquire())
-        .doOnTerminate(semaphore::release);
+        }));
     }
 
     @NonNull
@@ -219,6 +234,13 @@ final class PersistentMutationOutbox implements MutationOutbox {
         return mutationQueue.peek();
     }
 
+    @Nullable
+    @Override
+    public PendingMutation<? extends Model> peekExcludingModelIds(@NonNull Collection<String> excludedModelIds) {
+        Objects.requireNonNull(excludedModelIds);
+        return mutationQueue.nextMutationExcludingModelIds(excludedModelIds);
+    }
+
     @NonNull
     @Override
     public Completable markInFlight(@NonNull TimeBasedUuid pendingMutationId) {
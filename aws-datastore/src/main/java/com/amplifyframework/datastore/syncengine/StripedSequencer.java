@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.CompletableEmitter;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+/**
+ * Runs {@link Completable} operations one after another, per key, without blocking any thread.
+ *
+ * Keys are hashed onto a fixed number of stripes. Operations on keys of the same stripe run
+ * one at a time, in the order they were subscribed; operations on different stripes run
+ * concurrently. An operation that is subscribed while its stripe is busy waits in the stripe's
+ * queue, instead of holding the subscribing thread, and is started by whichever thread
+ * completes the operation ahead of it.
+ */
+final class StripedSequencer {
+    private final Stripe[] stripes;
+
+    /**
+     * Constructs a new StripedSequencer.
+     * @param stripeCount Number of stripes onto which keys are hashed
+     */
+    StripedSequencer(int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("A sequencer needs at least one stripe, but got " + stripeCount);
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int index = 0; index < stripeCount; index++) {
+            stripes[index] = new Stripe();
+        }
+    }
+
+    /**
+     * Sequences an operation after all operations previously subscribed for keys of the same stripe.
+     * @param key Key of the operation, e.g., a model ID
+     * @param operation Operation to sequence
+     * @return A Completable which runs the operation when its turn comes
+     */
+    @NonNull
+    Completable sequence(@NonNull String key, @NonNull Completable operation) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(operation);
+        return stripes[Math.abs(key.hashCode() % stripes.length)].sequence(operation);
+    }
+
+    /**
+     * Sequences an operation on every stripe, so that no other operation runs while this one does.
+     * @param operation Operation to sequence
+     * @return A Completable which runs the operation when its turn comes on every stripe
+     */
+    @NonNull
+    Completable sequenceExclusively(@NonNull Completable operation) {
+        // Stripes are always taken in the same order, so two exclusive operations can't deadlock.
+        Completable sequenced = Objects.requireNonNull(operation);
+        for (int index = stripes.length - 1; index >= 0; index--) {
+            sequenced = stripes[index].sequence(sequenced);
+        }
+        return sequenced;
+    }
+
+    /**
+     * A queue of operations, of which at most one runs at a time.
+     */
+    private static final class Stripe {
+        private final Queue<Turn> turns = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private volatile boolean busy;
+
+        Completable sequence(Completable operation) {
+            return Completable.create(emitter -> {
+                turns.offer(new Turn(operation, emitter));
+                drain();
+            });
+        }
+
+        // Starts the next operation if none is running. Only one thread drains at a time; a thread
+        // that asks for a drain while another is draining leaves it to that thread, to go again.
+        // So, an operation that completes right away doesn't start the next one on a deeper stack.
+        private void drain() {
+            if (pendingDrains.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!busy) {
+                    Turn turn = turns.poll();
+                    if (turn != null) {
+                        busy = true;
+                        turn.take();
+                    }
+                }
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void finishTurn() {
+            busy = false;
+            drain();
+        }
+
+        private final class Turn {
+            private final Completable operation;
+            private final CompletableEmitter emitter;
+            private final AtomicBoolean finished;
+
+            Turn(Completable operation, CompletableEmitter emitter) {
+                this.operation = operation;
+                this.emitter = emitter;
+                this.finished = new AtomicBoolean();
+            }
+
+            void take() {
+                if (emitter.isDisposed()) {
+                    // The subscriber went away while waiting; skip its operation.
+                    finish();
+                    return;
+                }
+                Disposable disposable = operation.subscribe(
+                    () -> {
+                        emitter.onComplete();
+                        finish();
+                    },
+                    error -> {
+                        emitter.tryOnError(error);
+                        finish();
+                    }
+                );
+                // If the subscriber goes away mid-operation, the operation never terminates,
+                // so the turn has to end on disposal, too.
+                emitter.setCancellable(() -> {
+                    disposable.dispose();
+                    finish();
+                });
+            }
+
+            private void finish() {
+                if (finished.compareAndSet(false, true)) {
+                    finishTurn();
+                }
+            }
+        }
+    }
+}
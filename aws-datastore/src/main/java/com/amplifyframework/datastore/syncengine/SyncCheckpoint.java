@@ -0,0 +1,218 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.ObjectsCompat;
+
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.annotations.ModelConfig;
+import com.amplifyframework.core.model.annotations.ModelField;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The progress of a sync of a model class which is still underway. After each page of a sync
+ * has been merged, the token of the next page is persisted locally as a system model, along with
+ * the number of records which have been fetched so far. If the sync is interrupted, the next sync
+ * of the model class resumes from the checkpoint, rather than from the first page. The checkpoint
+ * also keeps the time at which the interrupted sync started, which becomes the last sync time once
+ * the resumed sync completes. The checkpoint is removed once the sync completes.
+ */
+@ModelConfig
+public final class SyncCheckpoint implements Model {
+    private final @ModelField(targetType = "ID", isRequired = true) String id;
+    private final @ModelField(targetType = "String", isRequired = true) String modelClassName;
+    private final @ModelField(targetType = "AWSTimestamp") Long syncTime;
+    private final @ModelField(targetType = "String") String nextToken;
+    private final @ModelField(targetType = "Int", isRequired = true) Integer recordsFetched;
+    private final @ModelField(targetType = "AWSTimestamp", isRequired = true) Long startTime;
+    private final @ModelField(targetType = "AWSTimestamp", isRequired = true) Long checkpointTime;
+
+    @SuppressWarnings("checkstyle:ParameterName") // The field is named "id" in the model; keep it consistent
+    private SyncCheckpoint(String id, String modelClassName, Long syncTime, String nextToken,
+                           Integer recordsFetched, Long startTime, Long checkpointTime) {
+        this.id = id;
+        this.modelClassName = modelClassName;
+        this.syncTime = syncTime;
+        this.nextToken = nextToken;
+        this.recordsFetched = recordsFetched;
+        this.startTime = startTime;
+        this.checkpointTime = checkpointTime;
+    }
+
+    /**
+     * Creates a {@link SyncCheckpoint}, indicating that a sync of the provided model class has
+     * merged some records, and should continue with the page of the given token.
+     * @param modelClassName Name of model class being synced
+     * @param syncTime The last sync time with which the sync was requested; null, for a base sync
+     * @param nextToken Token of the next page to fetch
+     * @param recordsFetched Number of records fetched and merged so far
+     * @param startTime Time at which the sync started, before its first page was fetched
+     * @param checkpointTime Time at which the checkpoint was reached
+     * @return {@link SyncCheckpoint} for the model class
+     */
+    @NonNull
+    static SyncCheckpoint create(@NonNull String modelClassName, @Nullable Long syncTime,
+                                 @NonNull String nextToken, int recordsFetched, long startTime,
+                                 long checkpointTime) {
+        Objects.requireNonNull(modelClassName);
+        Objects.requireNonNull(nextToken);
+        return new SyncCheckpoint(hash(modelClassName), modelClassName, syncTime, nextToken,
+            recordsFetched, startTime, checkpointTime);
+    }
+
+    /**
+     * Creates a {@link SyncCheckpoint} at the start of a sync of the provided model class, which
+     * begins with the first page, having fetched nothing.
+     * @param modelClassName Name of model class being synced
+     * @param syncTime The last sync time with which the sync was requested; null, for a base sync
+     * @param startTime Time at which the sync starts
+     * @return {@link SyncCheckpoint} for the model class
+     */
+    @NonNull
+    static SyncCheckpoint start(@NonNull String modelClassName, @Nullable Long syncTime, long startTime) {
+        Objects.requireNonNull(modelClassName);
+        return new SyncCheckpoint(hash(modelClassName), modelClassName, syncTime, null, 0, startTime, 0L);
+    }
+
+    @NonNull
+    @Override
+    public String getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the name of the model class to which this checkpoint applies.
+     * @return Name of model class associated with this checkpoint
+     */
+    @NonNull
+    String getModelClassName() {
+        return this.modelClassName;
+    }
+
+    /**
+     * Gets the last sync time with which the sync was requested. A checkpoint only applies to a
+     * sync which is requested with the same time.
+     * @return Last sync time of the sync; null, for a base sync
+     */
+    @Nullable
+    Long getSyncTime() {
+        return this.syncTime;
+    }
+
+    /**
+     * Gets the token of the next page to fetch.
+     * @return Token of the next page, or null, to begin with the first page
+     */
+    @Nullable
+    String getNextToken() {
+        return this.nextToken;
+    }
+
+    /**
+     * Gets the number of records which were fetched and merged before the checkpoint.
+     * @return Number of records fetched so far
+     */
+    int getRecordsFetched() {
+        return this.recordsFetched;
+    }
+
+    /**
+     * Gets the time at which the sync started. Records changed after this time may not have been
+     * fetched, so it is saved as the last sync time when the sync completes, even if it was resumed.
+     * @return Start time of the sync, in milliseconds since the epoch
+     */
+    long getStartTime() {
+        return this.startTime;
+    }
+
+    /**
+     * Gets the time at which the checkpoint was reached.
+     * @return Time of the checkpoint, in milliseconds since the epoch
+     */
+    long getCheckpointTime() {
+        return this.checkpointTime;
+    }
+
+    /**
+     * Computes a stable hash for a model class, by its name, so that a model class has at most
+     * one checkpoint.
+     * @param modelClassName Name of model class
+     * @return hash for model class
+     */
+    private static String hash(@NonNull String modelClassName) {
+        return UUID.nameUUIDFromBytes(modelClassName.getBytes()).toString();
+    }
+
+    @Override
+    public boolean equals(Object thatObject) {
+        if (this == thatObject) {
+            return true;
+        }
+        if (thatObject == null || getClass() != thatObject.getClass()) {
+            return false;
+        }
+
+        SyncCheckpoint that = (SyncCheckpoint) thatObject;
+        if (!ObjectsCompat.equals(id, that.id)) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(modelClassName, that.modelClassName)) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(syncTime, that.syncTime)) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(nextToken, that.nextToken)) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(recordsFetched, that.recordsFetched)) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(startTime, that.startTime)) {
+            return false;
+        }
+        return ObjectsCompat.equals(checkpointTime, that.checkpointTime);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = id.hashCode();
+        result = 31 * result + modelClassName.hashCode();
+        result = 31 * result + (syncTime != null ? syncTime.hashCode() : 0);
+        result = 31 * result + (nextToken != null ? nextToken.hashCode() : 0);
+        result = 31 * result + recordsFetched.hashCode();
+        result = 31 * result + startTime.hashCode();
+        result = 31 * result + checkpointTime.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SyncCheckpoint{" +
+            "id='" + id + '\'' +
+            ", modelClassName='" + modelClassName + '\'' +
+            ", syncTime=" + syncTime +
+            ", nextToken='" + nextToken + '\'' +
+            ", recordsFetched=" + recordsFetched +
+            ", startTime=" + startTime +
+            ", checkpointTime=" + checkpointTime +
+            '}';
+    }
+}
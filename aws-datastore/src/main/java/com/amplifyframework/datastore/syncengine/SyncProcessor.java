@@ -16,7 +16,10 @@
 package com.amplifyframework.datastore.syncengine;
 
 import androidx.annotation.NonNull;
+import androidx.core.util.ObjectsCompat;
 
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.api.aws.AppSyncGraphQLRequest;
 import com.amplifyframework.api.graphql.GraphQLRequest;
 import com.amplifyframework.api.graphql.PaginatedResult;
 import com.amplifyframework.core.Amplify;
@@ -46,13 +49,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.processors.BehaviorProcessor;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 
 /**
  * "Hydrates" the local DataStore, using model metadata receive from the
@@ -64,6 +67,7 @@ import io.reactivex.rxjava3.schedulers.Schedulers;
  */
 final class SyncProcessor {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+    private static final String NEXT_TOKEN_KEY = "nextToken";
 
     private final ModelProvider modelProvider;
     private final ModelSchemaRegistry modelSchemaRegistry;
@@ -101,7 +105,6 @@ final class SyncProcessor {
      * @return An Rx {@link Completable} which can be used to perform the operation.
      */
     Completable hydrate() {
-        final List<Completable> hydrationTasks = new ArrayList<>();
         List<ModelSchema> modelSchemas = new ArrayList<>(modelProvider.modelSchemas().values());
 
         // And sort them all, according to their model's topological order,
@@ -109,12 +112,13 @@ final class SyncProcessor {
         TopologicalOrdering ordering =
             TopologicalOrdering.forRegisteredModels(modelSchemaRegistry, modelProvider);
         Collections.sort(modelSchemas, ordering::compare);
-        for (ModelSchema schema : modelSchemas) {
-            hydrationTasks.add(createHydrationTask(schema));
-        }
 
-//        return Completable.concat(hydrationTasks)
-        return Completable.merge(hydrationTasks)
+        // Each model is synced once the models it belongs to have been synced.
+        return Completable.defer(() -> {
+            final ModelSyncScheduler scheduler =
+                ModelSyncScheduler.forConfiguration(ordering, dataStoreConfigurationProvider.getConfiguration());
+            return scheduler.schedule(modelSchemas, schema -> createHydrationTask(schema, scheduler));
+        })
             .doOnSubscribe(ignore -> {
                 // This is where we trigger the syncQueriesStarted event since
                 // doOnSubscribe means that all upstream hydration tasks
@@ -132,26 +136,36 @@ final class SyncProcessor {
             });
     }
 
-    private Completable createHydrationTask(ModelSchema schema) {
+    private Completable createHydrationTask(ModelSchema schema, ModelSyncScheduler scheduler) {
         ModelSyncMetricsAccumulator metricsAccumulator = new ModelSyncMetricsAccumulator(schema.getName());
         return syncTimeRegistry.lookupLastSyncTime(schema.getName())
             .map(this::filterOutOldSyncTimes)
             // And for each, perform a sync. The network response will contain an Iterable<ModelWithMetadata<T>>
-            .flatMap(lastSyncTime -> {
-                // Sync all the pages
-                return syncModel(schema, lastSyncTime)
-                    // Switch to a new thread so that subsequent API fetches will happen in parallel with DB writes.
-                    .observeOn(Schedulers.io())
-                    // Flatten to a stream of ModelWithMetadata objects
-                    .concatMap(Flowable::fromIterable)
-                    .concatMapCompletable(item -> merger.merge(item, metricsAccumulator::increment))
-                    .toSingle(() -> lastSyncTime.exists() ? SyncType.DELTA : SyncType.BASE);
-            })
-            .flatMapCompletable(syncType -> {
+            .flatMap(lastSyncTime -> lookupResumableCheckpoint(schema.getName(), lastSyncTime)
+                .flatMap(checkpoint -> {
+                    // Sync all the pages, starting from the checkpoint of an interrupted sync, if there is one
+                    Flowable<PaginatedResult<ModelWithMetadata<Model>>> pages =
+                        syncModel(schema, lastSyncTime, checkpoint, scheduler);
+                    AtomicInteger recordsMerged = new AtomicInteger(checkpoint.getRecordsFetched());
+                    // Merge each page's ModelWithMetadata objects, one at a time, while the next pages are
+                    // fetched. Once a page is merged, record the page which follows it, to resume from.
+                    return scheduler.mergePages(pages, page -> Flowable.fromIterable(page)
+                            .concatMapCompletable(item -> merger.merge(item, metricsAccumulator::increment))
+                            .andThen(Completable.defer(() -> saveCheckpoint(
+                                checkpoint, page, recordsMerged.addAndGet(sizeOf(page))))))
+                        .toSingle(() -> checkpoint);
+                }))
+            .flatMapCompletable(checkpoint -> {
+                // Records changed after the sync started may have been missed, even if the sync
+                // was resumed much later, so the next delta sync starts from the original start time.
+                SyncTime syncStartTime = SyncTime.at(checkpoint.getStartTime());
+                SyncType syncType = checkpoint.getSyncTime() != null ? SyncType.DELTA : SyncType.BASE;
                 Completable syncTimeSaveCompletable = SyncType.DELTA.equals(syncType) ?
-                    syncTimeRegistry.saveLastDeltaSyncTime(schema.getName(), SyncTime.now()) :
-                    syncTimeRegistry.saveLastBaseSyncTime(schema.getName(), SyncTime.now());
-                return syncTimeSaveCompletable.andThen(Completable.fromAction(() ->
+                    syncTimeRegistry.saveLastDeltaSyncTime(schema.getName(), syncStartTime) :
+                    syncTimeRegistry.saveLastBaseSyncTime(schema.getName(), syncStartTime);
+                return syncTimeSaveCompletable
+                    .andThen(syncTimeRegistry.clearCheckpoint(schema.getName()))
+                    .andThen(Completable.fromAction(() ->
                     Amplify.Hub.publish(
                         HubChannel.DATASTORE, metricsAccumulator.toModelSyncedEvent(syncType).toHubEvent()
                     )
@@ -195,6 +209,54 @@ final class SyncProcessor {
         return SyncTime.never();
     }
 
+    /**
+     * Looks up the checkpoint of an interrupted sync of a model, which the next sync can resume
+     * from. A checkpoint is only resumable by a sync which is requested with the same last sync
+     * time, and only while it was reached within the base sync interval. Otherwise, the sync
+     * starts from the first page.
+     * @param modelName Name of the model to sync
+     * @param lastSyncTime The time of a last successful sync
+     * @return The checkpoint to resume from, or a checkpoint at the start of the sync
+     */
+    private Single<SyncCheckpoint> lookupResumableCheckpoint(String modelName, SyncTime lastSyncTime) {
+        final Long lastSyncTimeAsLong = lastSyncTime.exists() ? lastSyncTime.toLong() : null;
+        return syncTimeRegistry.lookupCheckpoint(modelName)
+            .filter(checkpoint -> checkpoint.getNextToken() != null &&
+                ObjectsCompat.equals(checkpoint.getSyncTime(), lastSyncTimeAsLong) &&
+                Time.now() - checkpoint.getCheckpointTime() <=
+                    dataStoreConfigurationProvider.getConfiguration().getSyncIntervalMs())
+            .doOnSuccess(checkpoint -> LOG.info(String.format(
+                "Resuming sync of model %1$s after %2$d records.", modelName, checkpoint.getRecordsFetched())))
+            .defaultIfEmpty(SyncCheckpoint.start(modelName, lastSyncTimeAsLong, Time.now()));
+    }
+
+    /**
+     * Saves a checkpoint after a page has been merged, if another page follows it.
+     * @param checkpoint The checkpoint from which the sync started or was resumed
+     * @param page The page which was merged
+     * @param recordsFetched Number of records merged so far, including the page
+     * @return A Completable which completes once the checkpoint is saved
+     */
+    private Completable saveCheckpoint(SyncCheckpoint checkpoint, PaginatedResult<?> page, int recordsFetched) {
+        if (!page.hasNextResult()) {
+            return Completable.complete();
+        }
+        final Object nextToken = page.getRequestForNextResult().getVariables().get(NEXT_TOKEN_KEY);
+        if (!(nextToken instanceof String)) {
+            return Completable.complete();
+        }
+        return syncTimeRegistry.saveCheckpoint(SyncCheckpoint.create(checkpoint.getModelClassName(),
+            checkpoint.getSyncTime(), (String) nextToken, recordsFetched, checkpoint.getStartTime(), Time.now()));
+    }
+
+    private static int sizeOf(Iterable<?> items) {
+        int size = 0;
+        for (Object ignored : items) {
+            size++;
+        }
+        return size;
+    }
+
     /**
      * Sync models for a given model class.
      * This involves three steps:
@@ -206,23 +268,32 @@ final class SyncProcessor {
      *
      * @param schema The schema of the model to sync
      * @param syncTime The time of a last successful sync.
+     * @param checkpoint The checkpoint from which to resume the sync
+     * @param scheduler Limits the number of pages fetched at once, across all models
      * @param <T> The type of model to sync.
-     * @return a stream of all ModelWithMetadata&lt;T&gt; objects from all pages for the provided model.
+     * @return a stream of the pages of ModelWithMetadata&lt;T&gt; objects for the provided model.
      * @throws DataStoreException if dataStoreConfigurationProvider.getConfiguration() fails
      */
-    private <T extends Model> Flowable<List<ModelWithMetadata<T>>> syncModel(ModelSchema schema, SyncTime syncTime)
+    private <T extends Model> Flowable<PaginatedResult<ModelWithMetadata<T>>> syncModel(
+            ModelSchema schema, SyncTime syncTime, SyncCheckpoint checkpoint, ModelSyncScheduler scheduler)
             throws DataStoreException {
         final Long lastSyncTimeAsLong = syncTime.exists() ? syncTime.toLong() : null;
         final Integer syncPageSize = dataStoreConfigurationProvider.getConfiguration().getSyncPageSize();
         final Integer syncMaxRecords = dataStoreConfigurationProvider.getConfiguration().getSyncMaxRecords();
-        AtomicReference<Integer> recordsFetched = new AtomicReference<>(0);
+        AtomicReference<Integer> recordsFetched = new AtomicReference<>(checkpoint.getRecordsFetched());
         QueryPredicate predicate = queryPredicateProvider.getPredicate(schema.getName());
+        GraphQLRequest<PaginatedResult<ModelWithMetadata<T>>> firstRequest =
+                appSync.buildSyncRequest(schema, lastSyncTimeAsLong, syncPageSize, predicate);
+        if (checkpoint.getNextToken() != null) {
+            firstRequest = withNextToken(firstRequest, checkpoint.getNextToken());
+        }
         // Create a BehaviorProcessor, and set the default value to a GraphQLRequest that fetches the first page.
         BehaviorProcessor<GraphQLRequest<PaginatedResult<ModelWithMetadata<T>>>> processor =
-                BehaviorProcessor.createDefault(
-                        appSync.buildSyncRequest(schema, lastSyncTimeAsLong, syncPageSize, predicate));
+                BehaviorProcessor.createDefault(firstRequest);
 
-        return processor.concatMap(request -> syncPage(request).toFlowable())
+        // The request for the next page is issued as the current page is emitted, which happens only
+        // once the page has been requested downstream. So, fetching pauses while the merger's buffer is full.
+        return processor.concatMap(request -> scheduler.fetch(syncPage(request)).toFlowable())
                 .doOnNext(paginatedResult -> {
                     if (paginatedResult.hasNextResult()) {
                         processor.onNext(paginatedResult.getRequestForNextResult());
@@ -231,12 +302,43 @@ final class SyncProcessor {
                     }
                 })
                 // If it's a SerializedModel, add the ModelSchema, since it isn't added during deserialization.
-                .map(paginatedResult -> Flowable.fromIterable(paginatedResult)
-                        .map(modelWithMetadata -> hydrateSchemaIfNeeded(modelWithMetadata, schema))
-                        .toList()
-                        .blockingGet()
-                )
-                .takeUntil(items -> recordsFetched.accumulateAndGet(items.size(), Integer::sum) >= syncMaxRecords);
+                .map(paginatedResult -> new PaginatedResult<>(
+                        Flowable.fromIterable(paginatedResult)
+                            .map(modelWithMetadata -> hydrateSchemaIfNeeded(modelWithMetadata, schema))
+                            .toList()
+                            .blockingGet(),
+                        paginatedResult.getRequestForNextResult()
+                ))
+                .takeUntil(page -> recordsFetched.accumulateAndGet(sizeOf(page), Integer::sum) >= syncMaxRecords);
+    }
+
+    /**
+     * Builds a request for the page of a sync which the given token refers to.
+     * @param request The request for the first page of the sync
+     * @param nextToken Token of the page to request
+     * @param <R> Type of the response
+     * @return A request for the page of the token
+     * @throws DataStoreException If the request can't be built
+     */
+    private static <R> GraphQLRequest<R> withNextToken(GraphQLRequest<R> request, String nextToken)
+            throws DataStoreException {
+        // Only AppSync requests are paginated, so a checkpoint can't have been reached by any other.
+        if (!(request instanceof AppSyncGraphQLRequest)) {
+            throw new DataStoreException(
+                "Unable to resume a sync from its checkpoint, for request: " + request,
+                "This is likely a bug. Please report it to AWS."
+            );
+        }
+        try {
+            return ((AppSyncGraphQLRequest<R>) request).newBuilder()
+                .variable(NEXT_TOKEN_KEY, "String", nextToken)
+                .build();
+        } catch (AmplifyException buildFailure) {
+            throw new DataStoreException(
+                "Failed to build a request to resume a sync from its checkpoint.", buildFailure,
+                "This is likely a bug. Please report it to AWS."
+            );
+        }
     }
 
     @SuppressWarnings("unchecked") // Cast to T
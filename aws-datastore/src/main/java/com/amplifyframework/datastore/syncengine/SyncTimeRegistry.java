@@ -31,6 +31,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 
 final class SyncTimeRegistry {
@@ -87,6 +88,60 @@ final class SyncTimeRegistry {
         );
     }
 
+    /**
+     * Looks up the checkpoint of a sync of a model class which did not complete.
+     * @param modelClassName Name of model class
+     * @return The checkpoint, or nothing, if there is none
+     */
+    Maybe<SyncCheckpoint> lookupCheckpoint(@NonNull String modelClassName) {
+        return Maybe.create(emitter -> {
+            QueryPredicate hasMatchingModelClassName = QueryField.field("modelClassName").eq(modelClassName);
+
+            localStorageAdapter.query(SyncCheckpoint.class, Where.matches(hasMatchingModelClassName), results -> {
+                if (results.hasNext()) {
+                    emitter.onSuccess(results.next());
+                } else {
+                    emitter.onComplete();
+                }
+            }, emitter::onError);
+        });
+    }
+
+    /**
+     * Saves the checkpoint of a sync of a model class, replacing any earlier checkpoint of it.
+     * @param checkpoint The checkpoint reached by the sync
+     * @return A Completable which completes once the checkpoint has been saved
+     */
+    Completable saveCheckpoint(@NonNull SyncCheckpoint checkpoint) {
+        return Completable.create(emitter ->
+            localStorageAdapter.save(
+                checkpoint,
+                Initiator.SYNC_ENGINE,
+                QueryPredicates.all(),
+                saveResult -> emitter.onComplete(),
+                emitter::onError
+            )
+        );
+    }
+
+    /**
+     * Removes the checkpoint of a sync of a model class, if there is one.
+     * @param modelClassName Name of model class
+     * @return A Completable which completes once there is no checkpoint for the model class
+     */
+    Completable clearCheckpoint(@NonNull String modelClassName) {
+        return lookupCheckpoint(modelClassName)
+            .flatMapCompletable(checkpoint -> Completable.create(emitter ->
+                localStorageAdapter.delete(
+                    checkpoint,
+                    Initiator.SYNC_ENGINE,
+                    QueryPredicates.all(),
+                    deleteResult -> emitter.onComplete(),
+                    emitter::onError
+                )
+            ));
+    }
+
     private LastSyncMetadata extractSingleResult(
             String modelClassName, Iterator<LastSyncMetadata> metadataIterator) throws DataStoreException {
         final List<LastSyncMetadata> lastSyncMetadata = new ArrayList<>();
@@ -24,8 +24,11 @@ import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
@@ -45,9 +48,11 @@ import java.util.Stack;
 @SuppressWarnings("unused")
 final class TopologicalOrdering {
     private final List<ModelSchema> modelSchema;
+    private final Map<ModelSchema, Set<ModelSchema>> parents;
 
-    private TopologicalOrdering(List<ModelSchema> modelSchema) {
+    private TopologicalOrdering(List<ModelSchema> modelSchema, Map<ModelSchema, Set<ModelSchema>> parents) {
         this.modelSchema = modelSchema;
+        this.parents = parents;
     }
 
     /**
@@ -68,7 +73,8 @@ final class TopologicalOrdering {
             final ModelSchema schemaForModelClass = modelSchemaRegistry.getModelSchemaForModelClass(modelClassName);
             schemaForModels.add(schemaForModelClass);
         }
-        return new TopologicalOrdering(new TopologicalSort(schemaForModels).result());
+        final TopologicalSort sort = new TopologicalSort(schemaForModels);
+        return new TopologicalOrdering(sort.result(), sort.parents);
     }
 
     /**
@@ -95,6 +101,22 @@ final class TopologicalOrdering {
         return onePosition - twoPosition;
     }
 
+    /**
+     * Gets the ModelSchema which a ModelSchema directly depends upon, that is, the models which
+     * own an association to it. For example, getParents(postSchema) == [blogSchema].
+     * @param modelSchema A model schema
+     * @return The schema which come directly before the given schema in the ordering
+     */
+    @NonNull
+    Set<ModelSchema> getParents(@NonNull ModelSchema modelSchema) {
+        Objects.requireNonNull(modelSchema);
+        final Set<ModelSchema> parentsOfSchema = parents.get(modelSchema);
+        if (parentsOfSchema == null) {
+            throw new NoSuchElementException("No model schema matching " + modelSchema.getName());
+        }
+        return Collections.unmodifiableSet(parentsOfSchema);
+    }
+
     /**
      * Check the ordering of a ModelSchema.
      * @param modelSchema A model schema
@@ -118,11 +140,13 @@ final class TopologicalOrdering {
         private final Stack<ModelSchema> result;
         private final Set<ModelSchema> unvisited;
         private final List<ModelSchema> input;
+        private final Map<ModelSchema, Set<ModelSchema>> parents;
 
         private TopologicalSort(List<ModelSchema> modelSchema) {
             this.input = modelSchema;
             this.unvisited = new HashSet<>(modelSchema);
             this.result = new Stack<>();
+            this.parents = new HashMap<>();
         }
 
         private List<ModelSchema> result() {
@@ -135,6 +159,7 @@ final class TopologicalOrdering {
 
         private void visit(ModelSchema node) {
             unvisited.remove(node);
+            parents.put(node, findAssociationOwners(node));
             for (ModelSchema unvisitedAssociationOwner : findUnvisitedAssociationOwners(node)) {
                 visit(unvisitedAssociationOwner);
             }
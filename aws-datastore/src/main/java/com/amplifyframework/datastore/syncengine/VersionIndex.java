@@ -0,0 +1,252 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A map of model ID to version, which is compact enough to hold the versions of every model in
+ * the local storage.
+ *
+ * IDs in the canonical, lower-case form of a UUID, as DataStore generates them, are kept as two
+ * longs in an open-addressing table, next to their version. This takes fewer than 60 bytes per
+ * model, where a String key, a boxed version and a hash map entry take more than 100. Since the
+ * UUID is kept whole, a lookup never confuses two IDs. Any other form of ID is kept in an
+ * ordinary map.
+ *
+ * An instance is not thread-safe.
+ */
+final class VersionIndex {
+    // Version stored in a slot of the table which holds no ID.
+    private static final int EMPTY = Integer.MIN_VALUE;
+    // Version stored for metadata which has no version.
+    private static final int NO_VERSION = Integer.MIN_VALUE + 1;
+    private static final int MIN_CAPACITY_BITS = 10;
+    // The table grows once it is three-quarters full.
+    private static final int MAX_LOAD_NUMERATOR = 3;
+    private static final int MAX_LOAD_DENOMINATOR = 4;
+    // The fractional part of the golden ratio, which spreads the bits of the IDs over the table.
+    private static final long GOLDEN_RATIO_BITS = 0x9E3779B97F4A7C15L;
+
+    private static final int UUID_LENGTH = 36;
+    private static final int[] UUID_DASH_POSITIONS = {8, 13, 18, 23};
+    private static final int UUID_HALF_END = 18;
+    private static final int HEX_RADIX = 16;
+    private static final int BITS_PER_HEX_DIGIT = 4;
+
+    private final Map<String, Integer> otherVersions;
+    private long[] mostSignificantBits;
+    private long[] leastSignificantBits;
+    private int[] versions;
+    private int capacityBits;
+    private int uuidCount;
+
+    /**
+     * Constructs an empty VersionIndex.
+     */
+    VersionIndex() {
+        this.otherVersions = new HashMap<>();
+        allocate(MIN_CAPACITY_BITS);
+    }
+
+    /**
+     * Gets the number of IDs in the index.
+     * @return Number of IDs in the index
+     */
+    int size() {
+        return uuidCount + otherVersions.size();
+    }
+
+    /**
+     * Checks if the index has a version for an ID, even if that version is null.
+     * @param id A model ID
+     * @return True if the ID is in the index
+     */
+    boolean containsKey(@NonNull String id) {
+        if (!isCanonicalUuid(id)) {
+            return otherVersions.containsKey(id);
+        }
+        return slotOf(mostSignificantBitsOf(id), leastSignificantBitsOf(id)) >= 0;
+    }
+
+    /**
+     * Gets the version of an ID.
+     * @param id A model ID
+     * @return The version of the ID, or null if the ID is not in the index, or has a null version
+     */
+    @Nullable
+    Integer get(@NonNull String id) {
+        if (!isCanonicalUuid(id)) {
+            return otherVersions.get(id);
+        }
+        int slot = slotOf(mostSignificantBitsOf(id), leastSignificantBitsOf(id));
+        return slot < 0 || versions[slot] == NO_VERSION ? null : versions[slot];
+    }
+
+    /**
+     * Sets the version of an ID, replacing any version that the ID had.
+     * @param id A model ID
+     * @param version The version of the ID, possibly null
+     */
+    void put(@NonNull String id, @Nullable Integer version) {
+        if (!isCanonicalUuid(id)) {
+            otherVersions.put(id, version);
+            return;
+        }
+        final long msb = mostSignificantBitsOf(id);
+        final long lsb = leastSignificantBitsOf(id);
+        final int storedVersion = version == null ? NO_VERSION : version;
+        int slot = slotOf(msb, lsb);
+        if (slot >= 0) {
+            versions[slot] = storedVersion;
+            return;
+        }
+        if ((uuidCount + 1) * MAX_LOAD_DENOMINATOR > capacity() * MAX_LOAD_NUMERATOR) {
+            grow();
+        }
+        insert(msb, lsb, storedVersion);
+        uuidCount++;
+    }
+
+    /**
+     * Removes an ID and its version from the index, if it is there.
+     * @param id A model ID
+     */
+    void remove(@NonNull String id) {
+        if (!isCanonicalUuid(id)) {
+            otherVersions.remove(id);
+            return;
+        }
+        int slot = slotOf(mostSignificantBitsOf(id), leastSignificantBitsOf(id));
+        if (slot >= 0) {
+            removeAt(slot);
+            uuidCount--;
+        }
+    }
+
+    private int capacity() {
+        return 1 << capacityBits;
+    }
+
+    private void allocate(int bits) {
+        capacityBits = bits;
+        mostSignificantBits = new long[capacity()];
+        leastSignificantBits = new long[capacity()];
+        versions = new int[capacity()];
+        Arrays.fill(versions, EMPTY);
+    }
+
+    private void grow() {
+        final long[] oldMostSignificantBits = mostSignificantBits;
+        final long[] oldLeastSignificantBits = leastSignificantBits;
+        final int[] oldVersions = versions;
+        allocate(capacityBits + 1);
+        for (int slot = 0; slot < oldVersions.length; slot++) {
+            if (oldVersions[slot] != EMPTY) {
+                insert(oldMostSignificantBits[slot], oldLeastSignificantBits[slot], oldVersions[slot]);
+            }
+        }
+    }
+
+    // The slot at which probing for an ID starts.
+    private int homeSlotOf(long msb, long lsb) {
+        return (int) (((msb ^ lsb) * GOLDEN_RATIO_BITS) >>> (Long.SIZE - capacityBits));
+    }
+
+    // The slot that holds an ID, or -1 if it is not in the table.
+    private int slotOf(long msb, long lsb) {
+        final int mask = capacity() - 1;
+        for (int slot = homeSlotOf(msb, lsb); versions[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (mostSignificantBits[slot] == msb && leastSignificantBits[slot] == lsb) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // Puts an ID which is not in the table into the first empty slot from its home slot.
+    private void insert(long msb, long lsb, int version) {
+        final int mask = capacity() - 1;
+        int slot = homeSlotOf(msb, lsb);
+        while (versions[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        mostSignificantBits[slot] = msb;
+        leastSignificantBits[slot] = lsb;
+        versions[slot] = version;
+    }
+
+    // Empties a slot, and then moves back any later IDs of the same run which can no longer be
+    // reached from their home slot, so that no tombstones are needed.
+    private void removeAt(int slot) {
+        final int mask = capacity() - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; versions[next] != EMPTY; next = (next + 1) & mask) {
+            int home = homeSlotOf(mostSignificantBits[next], leastSignificantBits[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                mostSignificantBits[hole] = mostSignificantBits[next];
+                leastSignificantBits[hole] = leastSignificantBits[next];
+                versions[hole] = versions[next];
+                hole = next;
+            }
+        }
+        versions[hole] = EMPTY;
+    }
+
+    // Only the canonical form is parsed, so that two different ID strings never share a UUID.
+    private static boolean isCanonicalUuid(String id) {
+        if (id.length() != UUID_LENGTH) {
+            return false;
+        }
+        int dashIndex = 0;
+        for (int index = 0; index < UUID_LENGTH; index++) {
+            char character = id.charAt(index);
+            if (dashIndex < UUID_DASH_POSITIONS.length && index == UUID_DASH_POSITIONS[dashIndex]) {
+                if (character != '-') {
+                    return false;
+                }
+                dashIndex++;
+            } else if (!((character >= '0' && character <= '9') || (character >= 'a' && character <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mostSignificantBitsOf(String uuid) {
+        return parseHex(uuid, 0, UUID_HALF_END);
+    }
+
+    private static long leastSignificantBitsOf(String uuid) {
+        return parseHex(uuid, UUID_HALF_END + 1, UUID_LENGTH);
+    }
+
+    private static long parseHex(String uuid, int start, int end) {
+        long bits = 0;
+        for (int index = start; index < end; index++) {
+            char character = uuid.charAt(index);
+            if (character != '-') {
+                bits = (bits << BITS_PER_HEX_DIGIT) | Character.digit(character, HEX_RADIX);
+            }
+        }
+        return bits;
+    }
+}
@@ -17,26 +17,51 @@ package com.amplifyframework.datastore.syncengine;
 
 import androidx.annotation.NonNull;
 
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.query.predicate.QueryField;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.ModelMetadata;
 import com.amplifyframework.datastore.storage.LocalStorageAdapter;
+import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.logging.Logger;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 
 /**
  * The VersionRepository provides a higher-level facade to lookup the version
  * of the various models in the local storage.
+ *
+ * Versions are answered from an in-memory {@link VersionIndex} of model ID to version, which is
+ * loaded from the stored {@link ModelMetadata} the first time that it is needed, and which is then
+ * kept up to date by observing every change to the metadata in the local storage. The index keeps
+ * the IDs that DataStore generates in a compact form, so that it stays small with hundreds of
+ * thousands of models.
  */
 @SuppressWarnings("CodeBlock2Expr")
 final class VersionRepository {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+    private static final QueryField VERSION_FIELD = QueryField.field(ModelMetadata.class.getSimpleName(), "_version");
+
     private final LocalStorageAdapter localStorageAdapter;
+    private final Object indexLock;
+
+    // Versions by model ID, or null versions for metadata without one. Null while not loaded.
+    private VersionIndex versionIndex;
+    // IDs whose metadata changed while the index was loading, which the load must not overwrite.
+    private Set<String> changedWhileLoading;
+    private Completable indexLoad;
+    private Cancelable indexObservation;
 
     /**
      * Constructs a new VersionRepository.
@@ -44,6 +69,7 @@ final class VersionRepository {
      */
     VersionRepository(@NonNull LocalStorageAdapter localStorageAdapter) {
         this.localStorageAdapter = Objects.requireNonNull(localStorageAdapter);
+        this.indexLock = new Object();
     }
 
     /**
@@ -53,48 +79,155 @@ final class VersionRepository {
      * @return Current version known locally
      */
     <T extends Model> Single<Integer> findModelVersion(T model) {
-        return Single.create(emitter -> {
-            // The ModelMetadata for the model uses the same ID as an identifier.
-            localStorageAdapter.query(ModelMetadata.class, Where.id(model.getId()), iterableResults -> {
-                try {
-                    emitter.onSuccess(extractVersion(model, iterableResults));
-                } catch (DataStoreException badVersionFailure) {
-                    emitter.onError(badVersionFailure);
+        return loadIndex().andThen(Single.fromCallable(() -> extractVersion(model)));
+    }
+
+    /**
+     * Find the current versions of a collection of models, that we have in the local store.
+     * The versions of the whole collection are read from the index at once.
+     * @param models A collection of models
+     * @return A map of model ID to current version known locally. Models which have no
+     *         local metadata, or whose metadata has no version, are absent from the map.
+     */
+    Single<Map<String, Integer>> findModelVersions(Collection<? extends Model> models) {
+        return loadIndex().andThen(Single.fromCallable(() -> {
+            final Map<String, Integer> versions = new HashMap<>();
+            synchronized (indexLock) {
+                requireIndex();
+                for (Model model : models) {
+                    Integer version = versionIndex.get(model.getId());
+                    if (version != null) {
+                        versions.put(model.getId(), version);
+                    }
                 }
-            }, emitter::onError);
-        });
+            }
+            return versions;
+        }));
     }
 
     /**
-     * Extract a model version from an metadata iterator.
-     * @param model The model for which metadata is being interrogated, used only for creating error messages.
-     * @param metadataIterator An iterator of ModelMetadata; the metadata is associated with the provided model
-     * @param <T> The type of model
-     * @return The version of the model, if available
-     * @throws DataStoreException If there is no version for the model, or if the version cannot be obtained
+     * Stops maintaining the version index, and releases it. The index is loaded again from the
+     * local storage the next time a version is needed. This is done when the sync engine stops,
+     * since the local storage may be cleared before it starts again.
      */
-    private <T extends Model> int extractVersion(T model, Iterator<ModelMetadata> metadataIterator)
-            throws DataStoreException {
-        final List<ModelMetadata> results = new ArrayList<>();
-        while (metadataIterator.hasNext()) {
-            results.add(metadataIterator.next());
+    void unloadIndex() {
+        synchronized (indexLock) {
+            if (indexObservation != null) {
+                indexObservation.cancel();
+            }
+            versionIndex = null;
+            changedWhileLoading = null;
+            indexLoad = null;
+            indexObservation = null;
         }
+    }
+
+    // Loads the index, unless it has been loaded already. Concurrent callers share one load.
+    private Completable loadIndex() {
+        synchronized (indexLock) {
+            if (indexLoad != null) {
+                return indexLoad;
+            }
+            final VersionIndex index = new VersionIndex();
+            versionIndex = index;
+            changedWhileLoading = new HashSet<>();
+            // Observe first, so that no change is missed between the load and the observation.
+            indexObservation = localStorageAdapter.observe(
+                change -> onStorageChange(index, change),
+                failure -> {
+                    LOG.warn("Version index stopped observing the local storage.", failure);
+                    unloadIndex();
+                },
+                this::unloadIndex
+            );
+            indexLoad = Completable.create(emitter -> {
+                localStorageAdapter.queryStream(ModelMetadata.class, Where.matchesAll().select(VERSION_FIELD),
+                    metadata -> {
+                        synchronized (indexLock) {
+                            if (versionIndex == index && !changedWhileLoading.contains(metadata.getId())) {
+                                index.put(metadata.getId(), metadata.getVersion());
+                            }
+                        }
+                    },
+                    failure -> {
+                        unloadIndex();
+                        emitter.onError(failure);
+                    },
+                    () -> {
+                        synchronized (indexLock) {
+                            if (versionIndex == index) {
+                                changedWhileLoading = null;
+                            }
+                        }
+                        LOG.debug("Loaded the versions of " + index.size() + " models into the version index.");
+                        emitter.onComplete();
+                    }
+                );
+            }).cache();
+            return indexLoad;
+        }
+    }
 
-        // There should be only one metadata for the model....
-        if (results.size() != 1) {
+    private void onStorageChange(VersionIndex index, StorageItemChange<? extends Model> change) {
+        if (!ModelMetadata.class.getSimpleName().equals(change.modelSchema().getName())) {
+            return;
+        }
+        final Model item = change.item();
+        if (change.type() != StorageItemChange.Type.DELETE && !(item instanceof ModelMetadata)) {
+            // The version can't be read from this form of the metadata, so start over.
+            unloadIndex();
+            return;
+        }
+        synchronized (indexLock) {
+            if (versionIndex != index) {
+                return;
+            }
+            if (change.type() == StorageItemChange.Type.DELETE) {
+                index.remove(item.getId());
+            } else {
+                index.put(item.getId(), ((ModelMetadata) item).getVersion());
+            }
+            if (changedWhileLoading != null) {
+                changedWhileLoading.add(item.getId());
+            }
+        }
+    }
+
+    private void requireIndex() throws DataStoreException {
+        if (versionIndex == null) {
             throw new DataStoreException(
-                "Wanted 1 metadata for item with id = " + model.getId() + ", but had " + results.size() + ".",
-                "This is likely a bug. please report to AWS."
+                "The version index was unloaded while it was being read.",
+                "This happens when the sync engine is stopped. Retry once it has started again."
             );
         }
-        final Integer version = results.get(0).getVersion();
+    }
+
+    /**
+     * Extract a model version from the version index.
+     * @param model The model for which metadata is being interrogated
+     * @param <T> The type of model
+     * @return The version of the model, if available
+     * @throws DataStoreException If there is no version for the model
+     */
+    private <T extends Model> int extractVersion(T model) throws DataStoreException {
+        final Integer version;
+        synchronized (indexLock) {
+            requireIndex();
+            // There should be only one metadata for the model....
+            if (!versionIndex.containsKey(model.getId())) {
+                throw new DataStoreException(
+                    "Wanted 1 metadata for item with id = " + model.getId() + ", but had 0.",
+                    "This is likely a bug. please report to AWS."
+                );
+            }
+            version = versionIndex.get(model.getId());
+        }
         if (version == null) {
             throw new DataStoreException(
                 "Metadata for item with id = " + model.getId() + " had null version.",
                 "This is likely a bug. Please report to AWS."
             );
         }
-
         return version;
     }
 }
@@ -61,6 +61,23 @@ public final class DataStoreConfigurationTest {
             dataStoreConfiguration.getSyncMaxRecords().intValue());
         assertEquals(DataStoreConfiguration.DEFAULT_SYNC_PAGE_SIZE,
             dataStoreConfiguration.getSyncPageSize().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_STORAGE_READ_POOL_SIZE,
+            dataStoreConfiguration.getStorageReadPoolSize().intValue());
+        assertEquals(StorageConfiguration.defaults(), dataStoreConfiguration.getStorageConfiguration());
+        assertEquals(DataStoreConfiguration.DEFAULT_OBSERVE_QUERY_MAX_RECORDS,
+            dataStoreConfiguration.getObserveQueryMaxRecords().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_OBSERVE_QUERY_MAX_TIME_MS,
+            dataStoreConfiguration.getObserveQueryMaxTimeMs().longValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_SYNC_MAX_CONCURRENT_FETCHES,
+            dataStoreConfiguration.getSyncMaxConcurrentFetches().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_SYNC_MAX_CONCURRENT_WRITES,
+            dataStoreConfiguration.getSyncMaxConcurrentWrites().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_SYNC_PAGE_BUFFER_SIZE,
+            dataStoreConfiguration.getSyncPageBufferSize().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_OUTBOX_MAX_CONCURRENT_MUTATIONS,
+            dataStoreConfiguration.getOutboxMaxConcurrentMutations().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_OUTBOX_MAX_BATCH_SIZE,
+            dataStoreConfiguration.getOutboxMaxBatchSize().intValue());
 
         assertTrue(dataStoreConfiguration.getConflictHandler() instanceof AlwaysApplyRemoteHandler);
         assertTrue(dataStoreConfiguration.getErrorHandler() instanceof DefaultDataStoreErrorHandler);
@@ -105,6 +122,18 @@ public final class DataStoreConfigurationTest {
         long expectedSyncIntervalMinutes = 6L;
         Long expectedSyncIntervalMs = TimeUnit.MINUTES.toMillis(expectedSyncIntervalMinutes);
         Integer expectedSyncMaxRecords = 3;
+        Integer expectedStorageReadPoolSize = 2;
+        Integer expectedObserveQueryMaxRecords = 50;
+        Long expectedObserveQueryMaxTimeMs = TimeUnit.SECONDS.toMillis(5);
+        Integer expectedSyncMaxConcurrentFetches = 8;
+        Integer expectedSyncMaxConcurrentWrites = 1;
+        Integer expectedSyncPageBufferSize = 5;
+        Integer expectedOutboxMaxConcurrentMutations = 6;
+        Integer expectedOutboxMaxBatchSize = 10;
+        StorageConfiguration expectedStorageConfiguration = StorageConfiguration.builder()
+            .synchronousMode(StorageConfiguration.SynchronousMode.FULL)
+            .modelCacheSize(1024)
+            .build();
         DummyConflictHandler dummyConflictHandler = new DummyConflictHandler();
         DataStoreErrorHandler errorHandler = DefaultDataStoreErrorHandler.instance();
 
@@ -113,6 +142,15 @@ public final class DataStoreConfigurationTest {
         DataStoreConfiguration configObject = DataStoreConfiguration
             .builder()
             .syncMaxRecords(expectedSyncMaxRecords)
+            .storageReadPoolSize(expectedStorageReadPoolSize)
+            .storageConfiguration(expectedStorageConfiguration)
+            .observeQueryMaxRecords(expectedObserveQueryMaxRecords)
+            .observeQueryMaxTime(5, TimeUnit.SECONDS)
+            .syncMaxConcurrentFetches(expectedSyncMaxConcurrentFetches)
+            .syncMaxConcurrentWrites(expectedSyncMaxConcurrentWrites)
+            .syncPageBufferSize(expectedSyncPageBufferSize)
+            .outboxMaxConcurrentMutations(expectedOutboxMaxConcurrentMutations)
+            .outboxMaxBatchSize(expectedOutboxMaxBatchSize)
             .conflictHandler(dummyConflictHandler)
             .errorHandler(errorHandler)
             .syncExpression(BlogOwner.class, ownerSyncExpression)
@@ -129,6 +167,15 @@ public final class DataStoreConfigurationTest {
         assertEquals(expectedSyncMaxRecords, dataStoreConfiguration.getSyncMaxRecords());
         assertEquals(DataStoreConfiguration.DEFAULT_SYNC_PAGE_SIZE,
             dataStoreConfiguration.getSyncPageSize().longValue());
+        assertEquals(expectedStorageReadPoolSize, dataStoreConfiguration.getStorageReadPoolSize());
+        assertEquals(expectedStorageConfiguration, dataStoreConfiguration.getStorageConfiguration());
+        assertEquals(expectedObserveQueryMaxRecords, dataStoreConfiguration.getObserveQueryMaxRecords());
+        assertEquals(expectedObserveQueryMaxTimeMs, dataStoreConfiguration.getObserveQueryMaxTimeMs());
+        assertEquals(expectedSyncMaxConcurrentFetches, dataStoreConfiguration.getSyncMaxConcurrentFetches());
+        assertEquals(expectedSyncMaxConcurrentWrites, dataStoreConfiguration.getSyncMaxConcurrentWrites());
+        assertEquals(expectedSyncPageBufferSize, dataStoreConfiguration.getSyncPageBufferSize());
+        assertEquals(expectedOutboxMaxConcurrentMutations, dataStoreConfiguration.getOutboxMaxConcurrentMutations());
+        assertEquals(expectedOutboxMaxBatchSize, dataStoreConfiguration.getOutboxMaxBatchSize());
 
         assertEquals(dummyConflictHandler, dataStoreConfiguration.getConflictHandler());
         assertEquals(errorHandler, dataStoreConfiguration.getErrorHandler());
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore;
+
+import com.amplifyframework.core.NoOpAction;
+import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+import com.amplifyframework.datastore.storage.InMemoryStorageAdapter;
+import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ObserveQueryManager}.
+ */
+public final class ObserveQueryManagerTest {
+    private static final int MAX_RECORDS = 3;
+    private static final long MAX_TIME_MS = TimeUnit.SECONDS.toMillis(1);
+
+    private InMemoryStorageAdapter inMemoryStorageAdapter;
+    private SynchronousStorageAdapter storageAdapter;
+    private TestScheduler scheduler;
+    private List<DataStoreQuerySnapshot<BlogOwner>> snapshots;
+    private List<DataStoreException> failures;
+    private BlogOwner ann;
+    private BlogOwner bo;
+    private BlogOwner cy;
+
+    /**
+     * Saves a few owners into an in-memory storage, and observes the query of those whose
+     * name does not begin with "C", sorted by name.
+     * @throws DataStoreException On failure to arrange the owners into the storage
+     */
+    @Before
+    public void setup() throws DataStoreException {
+        inMemoryStorageAdapter = InMemoryStorageAdapter.create();
+        storageAdapter = SynchronousStorageAdapter.delegatingTo(inMemoryStorageAdapter);
+        scheduler = new TestScheduler();
+        snapshots = new ArrayList<>();
+        failures = new ArrayList<>();
+        ann = BlogOwner.builder().name("Ann").build();
+        bo = BlogOwner.builder().name("Bo").build();
+        cy = BlogOwner.builder().name("Cy").build();
+        storageAdapter.save(cy, bo, ann);
+    }
+
+    /**
+     * The first snapshot holds the results of the query, sorted, and reports them all as added.
+     */
+    @Test
+    public void firstSnapshotHoldsSortedResults() {
+        observe(Where.matches(BlogOwner.NAME.lt("C")).sorted(BlogOwner.NAME.ascending()));
+
+        assertEquals(Collections.singletonList(
+            new DataStoreQuerySnapshot<>(Arrays.asList(ann, bo), Arrays.asList(ann, bo),
+                Collections.emptyList(), Collections.emptyList())
+        ), snapshots);
+    }
+
+    /**
+     * Changes to the storage are evaluated against the predicate, and are gathered into a single
+     * snapshot, which is emitted once the maximum time has passed since the previous one.
+     * @throws DataStoreException On failure to change the storage
+     */
+    @Test
+    public void changesAreGatheredUntilMaxTimePasses() throws DataStoreException {
+        observe(Where.matches(BlogOwner.NAME.lt("C")).sorted(BlogOwner.NAME.ascending()));
+        BlogOwner ab = BlogOwner.builder().name("Ab").build();
+        BlogOwner boRenamed = bo.copyOfBuilder().name("Cz").build();
+        storageAdapter.save(ab);
+        storageAdapter.save(boRenamed);
+        storageAdapter.delete(cy);
+
+        scheduler.advanceTimeBy(MAX_TIME_MS - 1, TimeUnit.MILLISECONDS);
+        assertEquals(1, snapshots.size());
+
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(
+            new DataStoreQuerySnapshot<>(Arrays.asList(ann, bo), Arrays.asList(ann, bo),
+                Collections.emptyList(), Collections.emptyList()),
+            new DataStoreQuerySnapshot<>(Arrays.asList(ab, ann), Collections.singletonList(ab),
+                Collections.emptyList(), Collections.singletonList(bo))
+        ), snapshots);
+    }
+
+    /**
+     * A snapshot is emitted right away, once the maximum number of changes has been gathered.
+     * An item which is added and then updated before the snapshot is reported as added.
+     * @throws DataStoreException On failure to change the storage
+     */
+    @Test
+    public void snapshotIsEmittedOnceMaxRecordsChange() throws DataStoreException {
+        observe(Where.matchesAll());
+        BlogOwner dee = BlogOwner.builder().name("Dee").build();
+        BlogOwner deeRenamed = dee.copyOfBuilder().name("Dee Dee").build();
+        BlogOwner annRenamed = ann.copyOfBuilder().name("Anne").build();
+        storageAdapter.save(dee);
+        storageAdapter.save(deeRenamed);
+        storageAdapter.save(annRenamed);
+        scheduler.triggerActions();
+
+        assertEquals(2, snapshots.size());
+        DataStoreQuerySnapshot<BlogOwner> snapshot = snapshots.get(1);
+        assertEquals(Arrays.asList(cy, bo, annRenamed, deeRenamed), snapshot.getItems());
+        assertEquals(Collections.singletonList(deeRenamed), snapshot.getAdded());
+        assertEquals(Collections.singletonList(annRenamed), snapshot.getChanged());
+        assertTrue(snapshot.getRemoved().isEmpty());
+    }
+
+    /**
+     * Paginated queries can't be observed.
+     */
+    @Test
+    public void paginatedQueryFails() {
+        observe(Where.matches(QueryPredicates.all()).paginated(Page.firstPage()));
+
+        assertTrue(snapshots.isEmpty());
+        assertEquals(1, failures.size());
+    }
+
+    private void observe(QueryOptions options) {
+        new ObserveQueryManager<>(inMemoryStorageAdapter, BlogOwner.class, options, MAX_RECORDS, MAX_TIME_MS, scheduler)
+            .start(snapshots::add, failures::add, NoOpAction.create());
+        scheduler.triggerActions();
+    }
+}
@@ -18,10 +18,12 @@ package com.amplifyframework.datastore.appsync;
 import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.ApiCategoryBehavior;
 import com.amplifyframework.api.graphql.GraphQLOperation;
+import com.amplifyframework.api.graphql.GraphQLPathSegment;
 import com.amplifyframework.api.graphql.GraphQLRequest;
 import com.amplifyframework.api.graphql.GraphQLResponse;
 import com.amplifyframework.api.graphql.PaginatedResult;
 import com.amplifyframework.core.Consumer;
+import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.core.model.temporal.Temporal;
@@ -34,6 +36,10 @@ import com.amplifyframework.testutils.Await;
 import com.amplifyframework.testutils.Resources;
 import com.amplifyframework.util.TypeMaker;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
 import org.json.JSONException;
 import org.junit.Before;
 import org.junit.Test;
@@ -43,10 +49,18 @@ import org.robolectric.RobolectricTestRunner;
 import org.skyscreamer.jsonassert.JSONAssert;
 
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -120,6 +134,69 @@ public final class AppSyncClientTest {
         );
     }
 
+    /**
+     * Validates that several mutations are sent in a single document, in which each mutation
+     * is aliased and has variables of its own, and that the data and the errors of the response
+     * are routed back to the mutation they belong to.
+     * @throws AmplifyException from ModelSchema.fromModelClass to convert model to schema
+     */
+    @Test
+    public void batchedMutationResponseIsDemultiplexed() throws AmplifyException {
+        ModelSchema schema = ModelSchema.fromModelClass(BlogOwner.class);
+        BlogOwner tony = BlogOwner.builder()
+            .name("Tony Daniels")
+            .build();
+        BlogOwner joe = BlogOwner.builder()
+            .name("Average Joe")
+            .build();
+        List<BatchedMutation<? extends Model>> mutations = Arrays.asList(
+            BatchedMutation.creation(tony, schema),
+            BatchedMutation.update(joe, schema, 1, QueryPredicates.all())
+        );
+
+        // Have AppSync accept the first mutation, and reject the second.
+        JsonObject tonyData = new JsonObject();
+        tonyData.addProperty("id", tony.getId());
+        tonyData.addProperty("name", tony.getName());
+        tonyData.addProperty("_version", 1);
+        tonyData.addProperty("_deleted", false);
+        tonyData.addProperty("_lastChangedAt", 1_000);
+        Map<String, JsonElement> data = new HashMap<>();
+        data.put("mutation0", tonyData);
+        data.put("mutation1", JsonNull.INSTANCE);
+        GraphQLResponse.Error error = new GraphQLResponse.Error(
+            "Rejected.", null, Collections.singletonList(new GraphQLPathSegment("mutation1")), null
+        );
+        doAnswer(invocation -> {
+            Consumer<GraphQLResponse<Map<String, JsonElement>>> onResponse = invocation.getArgument(1);
+            onResponse.accept(new GraphQLResponse<>(data, Collections.singletonList(error)));
+            return mock(GraphQLOperation.class);
+        }).when(api).mutate(any(GraphQLRequest.class), any(Consumer.class), any(Consumer.class));
+
+        List<GraphQLResponse<ModelWithMetadata<? extends Model>>> responses = Await.result(
+            (
+                Consumer<List<GraphQLResponse<ModelWithMetadata<? extends Model>>>> onResult,
+                Consumer<DataStoreException> onError
+            ) -> endpoint.mutate(mutations, onResult, onError)
+        );
+
+        // Now, capture the request argument on API, so we can see what was passed.
+        ArgumentCaptor<GraphQLRequest<Map<String, JsonElement>>> requestCaptor =
+                ArgumentCaptor.forClass(GraphQLRequest.class);
+        verify(api).mutate(requestCaptor.capture(), any(Consumer.class), any(Consumer.class));
+        GraphQLRequest<Map<String, JsonElement>> capturedRequest = requestCaptor.getValue();
+        assertTrue(capturedRequest.getQuery().contains("mutation0: createBlogOwner(input: $input0)"));
+        assertTrue(capturedRequest.getQuery().contains("mutation1: updateBlogOwner(input: $input1)"));
+        assertEquals(new HashSet<>(Arrays.asList("input0", "input1")), capturedRequest.getVariables().keySet());
+
+        // Assert: each response holds the outcome of its own mutation.
+        assertEquals(2, responses.size());
+        assertFalse(responses.get(0).hasErrors());
+        assertEquals(tony.getId(), responses.get(0).getData().getModel().getId());
+        assertNull(responses.get(1).getData());
+        assertEquals(Collections.singletonList(error), responses.get(1).getErrors());
+    }
+
     /**
      * Configures the API mock to return a particular response.
      * @param arrangedApiResponse Some response you want the API to return
@@ -24,14 +24,25 @@ import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.query.Aggregate;
+import com.amplifyframework.core.model.query.AggregateResult;
 import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.predicate.QueryField;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.SerializedModel;
+import com.amplifyframework.util.FieldFinder;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.subjects.PublishSubject;
@@ -113,6 +124,24 @@ public final class InMemoryStorageAdapter implements LocalStorageAdapter {
         onSuccess.accept(change);
     }
 
+    @Override
+    public <T extends Model> void saveAll(
+            @NonNull final Collection<T> items,
+            @NonNull final StorageItemChange.Initiator initiator,
+            @NonNull final Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull final Consumer<DataStoreException> onError) {
+        final List<StorageItemChange<T>> changes = new ArrayList<>();
+        final List<DataStoreException> errors = new ArrayList<>();
+        for (T item : items) {
+            save(item, initiator, QueryPredicates.all(), changes::add, errors::add);
+            if (!errors.isEmpty()) {
+                onError.accept(errors.get(0));
+                return;
+            }
+        }
+        onSuccess.accept(changes);
+    }
+
     @SuppressWarnings("unchecked") // (T) item *is* checked, via isAssignableFrom().
     @Override
     public <T extends Model> void query(
@@ -131,6 +160,107 @@ public final class InMemoryStorageAdapter implements LocalStorageAdapter {
         onSuccess.accept(result.iterator());
     }
 
+    @NonNull
+    @Override
+    public <T extends Model> Cancelable queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<T> onResult,
+            @NonNull Consumer<DataStoreException> onError,
+            @NonNull Action onComplete
+    ) {
+        final AtomicBoolean canceled = new AtomicBoolean(false);
+        query(itemClass, options, results -> {
+            while (!canceled.get() && results.hasNext()) {
+                onResult.accept(results.next());
+            }
+            if (!canceled.get()) {
+                onComplete.call();
+            }
+        }, onError);
+        return () -> canceled.set(true);
+    }
+
+    @Override
+    public <T extends Model> void aggregate(
+            @NonNull Class<T> itemClass,
+            @NonNull Aggregate aggregate,
+            @NonNull QueryPredicate predicate,
+            @NonNull Consumer<List<AggregateResult>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError
+    ) {
+        // Collect the aggregated values of each group, in the order in which the groups are found.
+        final Map<Map<String, Object>, List<Object>> valuesByGroup = new LinkedHashMap<>();
+        if (aggregate.getGroupBy().isEmpty()) {
+            valuesByGroup.put(Collections.emptyMap(), new ArrayList<>());
+        }
+        try {
+            for (Model item : items) {
+                if (!itemClass.isAssignableFrom(item.getClass()) || !predicate.evaluate(item)) {
+                    continue;
+                }
+                final Map<String, Object> group = new HashMap<>();
+                for (QueryField field : aggregate.getGroupBy()) {
+                    group.put(field.getFieldName(), groupKeyOf(item, field));
+                }
+                List<Object> values = valuesByGroup.get(group);
+                if (values == null) {
+                    values = new ArrayList<>();
+                    valuesByGroup.put(group, values);
+                }
+                final QueryField field = aggregate.getField();
+                final Object value = field == null ? item : FieldFinder.extractFieldValue(item, field.getFieldName());
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+        } catch (NoSuchFieldException noSuchField) {
+            onError.accept(new DataStoreException("No such field.", noSuchField, "Check the aggregate."));
+            return;
+        }
+        final List<AggregateResult> results = new ArrayList<>();
+        for (Map.Entry<Map<String, Object>, List<Object>> entry : valuesByGroup.entrySet()) {
+            results.add(new AggregateResult(entry.getKey(), aggregateOf(aggregate.getFunction(), entry.getValue())));
+        }
+        onSuccess.accept(results);
+    }
+
+    private static Object groupKeyOf(Model item, QueryField field) throws NoSuchFieldException {
+        final Object value = FieldFinder.extractFieldValue(item, field.getFieldName());
+        return value instanceof Model ? ((Model) value).getId() : value;
+    }
+
+    @SuppressWarnings("unchecked") // Values of a field are comparable to each other.
+    private static Object aggregateOf(Aggregate.Function function, List<Object> values) {
+        if (Aggregate.Function.COUNT.equals(function)) {
+            return (long) values.size();
+        } else if (values.isEmpty()) {
+            return null;
+        }
+        switch (function) {
+            case SUM:
+            case AVERAGE:
+                double sum = 0;
+                boolean integral = true;
+                for (Object value : values) {
+                    sum += ((Number) value).doubleValue();
+                    integral &= !(value instanceof Float || value instanceof Double);
+                }
+                if (Aggregate.Function.AVERAGE.equals(function)) {
+                    return sum / values.size();
+                }
+                if (integral) {
+                    return (long) sum;
+                }
+                return sum;
+            case MIN:
+                return Collections.min((List<Comparable<Object>>) (List<?>) values);
+            case MAX:
+            default:
+                return Collections.max((List<Comparable<Object>>) (List<?>) values);
+        }
+    }
+
     @Override
     public void query(
             @NonNull String modelName,
@@ -195,6 +325,66 @@ public final class InMemoryStorageAdapter implements LocalStorageAdapter {
         onSuccess.accept(deletion);
     }
 
+    @Override
+    public <T extends Model> void deleteAll(
+            @NonNull final Collection<T> items,
+            @NonNull final StorageItemChange.Initiator initiator,
+            @NonNull final Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull final Consumer<DataStoreException> onError) {
+        final List<StorageItemChange<T>> changes = new ArrayList<>();
+        final List<DataStoreException> errors = new ArrayList<>();
+        for (T item : items) {
+            delete(item, initiator, QueryPredicates.all(), changes::add, errors::add);
+            if (!errors.isEmpty()) {
+                onError.accept(errors.get(0));
+                return;
+            }
+        }
+        onSuccess.accept(changes);
+    }
+
+    @Override
+    public <T extends Model> void writeAll(
+            @NonNull final Collection<T> deletions,
+            @NonNull final Collection<T> saves,
+            @NonNull final StorageItemChange.Initiator initiator,
+            @NonNull final Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull final Consumer<DataStoreException> onError) {
+        final List<StorageItemChange<T>> changes = new ArrayList<>();
+        final List<DataStoreException> errors = new ArrayList<>();
+        for (T item : deletions) {
+            if (indexOf(item) < 0) {
+                // Like the SQLite adapter, report the deletion of a missing item, but don't publish it.
+                try {
+                    changes.add(StorageItemChange.<T>builder()
+                        .item(item)
+                        .modelSchema(ModelSchema.fromModelClass(item.getClass()))
+                        .type(StorageItemChange.Type.DELETE)
+                        .predicate(QueryPredicates.all())
+                        .initiator(initiator)
+                        .build());
+                } catch (AmplifyException schemaBuildFailure) {
+                    errors.add(new DataStoreException(
+                        "Failed to build model schema.", schemaBuildFailure, "Verify your model."
+                    ));
+                }
+            } else {
+                delete(item, initiator, QueryPredicates.all(), changes::add, errors::add);
+            }
+            if (!errors.isEmpty()) {
+                break;
+            }
+        }
+        if (errors.isEmpty()) {
+            saveAll(saves, initiator, changes::addAll, errors::add);
+        }
+        if (!errors.isEmpty()) {
+            onError.accept(errors.get(0));
+            return;
+        }
+        onSuccess.accept(changes);
+    }
+
     @SuppressWarnings("unchecked") // item.getClass() -> Class<?>, but type is T. So cast as Class<T> is OK.
     @Override
     public <T extends Model> void delete(
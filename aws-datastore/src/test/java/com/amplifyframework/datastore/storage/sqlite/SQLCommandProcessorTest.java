@@ -24,6 +24,7 @@ import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
 import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.testmodels.commentsblog.AmplifyModelProvider;
 import com.amplifyframework.testmodels.commentsblog.BlogOwner;
 import com.amplifyframework.util.GsonFactory;
@@ -43,6 +44,7 @@ import java.util.Map;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Asserts that the SQLCommandProcessor executes SqlCommand objects as expected.
@@ -131,6 +133,31 @@ public class SQLCommandProcessorTest {
         assertEquals(Arrays.asList(abigailMcGregor), results);
     }
 
+    /**
+     * Verify that a rawQuery binds null values, as SQL NULL, so that the comparison query of a model
+     * with unset optional fields runs, and finds those fields unchanged.
+     * @throws AmplifyException on failure to create ModelSchema from class
+     */
+    @Test
+    public void rawQueryBindsNullValues() throws AmplifyException {
+        ModelSchema blogOwnerSchema = ModelSchema.fromModelClass(BlogOwner.class);
+        BlogOwner abigailMcGregor = BlogOwner.builder()
+                .name("Abigail McGregor")
+                .wea(null)
+                .build();
+        sqlCommandProcessor.execute(sqlCommandFactory.insertFor(blogOwnerSchema, abigailMcGregor));
+
+        BlogOwner renamed = abigailMcGregor.copyOfBuilder()
+                .name("Abigail Smith")
+                .build();
+        try (Cursor cursor = sqlCommandProcessor.rawQuery(sqlCommandFactory.compareFor(blogOwnerSchema, renamed))) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals(0, cursor.getInt(cursor.getColumnIndexOrThrow("name")));
+            assertEquals(1, cursor.getInt(cursor.getColumnIndexOrThrow("wea")));
+            assertEquals(1, cursor.getInt(cursor.getColumnIndexOrThrow("createdAt")));
+        }
+    }
+
     /**
      * Create and insert a BlogOwner, and then verify that executeExists return true.
      * @throws AmplifyException on failure to create ModelSchema from class.
@@ -166,4 +193,56 @@ public class SQLCommandProcessorTest {
         SqlCommand existsCommand = sqlCommandFactory.existsFor(blogOwnerSchema, predicate);
         assertFalse(sqlCommandProcessor.executeExists(existsCommand));
     }
+
+    /**
+     * Insert two BlogOwners inside of a single transaction, and verify that both are committed.
+     * @throws AmplifyException on failure to create ModelSchema from class.
+     */
+    @Test
+    public void runInTransactionCommitsAllCommands() throws AmplifyException {
+        ModelSchema blogOwnerSchema = ModelSchema.fromModelClass(BlogOwner.class);
+        BlogOwner abigailMcGregor = BlogOwner.builder()
+                .name("Abigail McGregor")
+                .build();
+        BlogOwner jamesMcGregor = BlogOwner.builder()
+                .name("James McGregor")
+                .build();
+
+        sqlCommandProcessor.runInTransaction(() -> {
+            sqlCommandProcessor.execute(sqlCommandFactory.insertFor(blogOwnerSchema, abigailMcGregor));
+            sqlCommandProcessor.execute(sqlCommandFactory.insertFor(blogOwnerSchema, jamesMcGregor));
+        });
+
+        assertTrue(sqlCommandProcessor.executeExists(
+                sqlCommandFactory.existsFor(blogOwnerSchema, BlogOwner.ID.eq(abigailMcGregor.getId()))));
+        assertTrue(sqlCommandProcessor.executeExists(
+                sqlCommandFactory.existsFor(blogOwnerSchema, BlogOwner.ID.eq(jamesMcGregor.getId()))));
+    }
+
+    /**
+     * Insert a BlogOwner inside of a transaction that subsequently fails, and verify that
+     * the insertion is rolled back.
+     * @throws AmplifyException on failure to create ModelSchema from class.
+     */
+    @Test
+    public void runInTransactionRollsBackOnFailure() throws AmplifyException {
+        ModelSchema blogOwnerSchema = ModelSchema.fromModelClass(BlogOwner.class);
+        BlogOwner abigailMcGregor = BlogOwner.builder()
+                .name("Abigail McGregor")
+                .build();
+
+        DataStoreException expected = new DataStoreException("Boom.", "Expected in test.");
+        try {
+            sqlCommandProcessor.runInTransaction(() -> {
+                sqlCommandProcessor.execute(sqlCommandFactory.insertFor(blogOwnerSchema, abigailMcGregor));
+                throw expected;
+            });
+            fail("Expected transaction to fail.");
+        } catch (DataStoreException failure) {
+            assertEquals(expected, failure);
+        }
+
+        assertFalse(sqlCommandProcessor.executeExists(
+                sqlCommandFactory.existsFor(blogOwnerSchema, BlogOwner.ID.eq(abigailMcGregor.getId()))));
+    }
 }
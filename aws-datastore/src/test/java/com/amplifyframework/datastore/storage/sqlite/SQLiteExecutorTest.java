@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link SQLiteExecutor}.
+ */
+public final class SQLiteExecutorTest {
+    private static final long TIMEOUT_SECONDS = 2;
+    private static final int READ_POOL_SIZE = 2;
+
+    private SQLiteExecutor executor;
+
+    /**
+     * Creates an executor with a small read pool.
+     */
+    @Before
+    public void setup() {
+        executor = new SQLiteExecutor(READ_POOL_SIZE);
+    }
+
+    /**
+     * Stops the executor's threads.
+     */
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Writes run one at a time, on the same thread, in the order in which they were submitted.
+     * While one write is running, the writes behind it are counted as pending.
+     * @throws Exception If interrupted, or if a write fails
+     */
+    @Test
+    public void writesRunInSubmissionOrderOnOneThread() throws Exception {
+        final int writeCount = 10;
+        final CountDownLatch firstWriteMayFinish = new CountDownLatch(1);
+        final List<Integer> order = new ArrayList<>();
+        final Set<Thread> threads = new HashSet<>();
+
+        executor.write(() -> awaitQuietly(firstWriteMayFinish));
+        for (int write = 0; write < writeCount; write++) {
+            final int position = write;
+            executor.write(() -> {
+                order.add(position);
+                threads.add(Thread.currentThread());
+            });
+        }
+        assertEquals(writeCount, executor.getPendingWriteCount());
+        firstWriteMayFinish.countDown();
+        awaitAll();
+
+        List<Integer> expected = new ArrayList<>();
+        for (int write = 0; write < writeCount; write++) {
+            expected.add(write);
+        }
+        assertEquals(expected, order);
+        assertEquals(1, threads.size());
+        assertEquals(0, executor.getPendingWriteCount());
+        assertEquals(writeCount, executor.getPeakPendingWriteCount());
+    }
+
+    /**
+     * Reads do not wait behind a write that is still running.
+     * @throws Exception If interrupted, or if a read fails
+     */
+    @Test
+    public void readsRunWhileWriteIsRunning() throws Exception {
+        final CountDownLatch writeMayFinish = new CountDownLatch(1);
+        executor.write(() -> awaitQuietly(writeMayFinish));
+
+        final CountDownLatch readsFinished = new CountDownLatch(READ_POOL_SIZE);
+        for (int read = 0; read < READ_POOL_SIZE; read++) {
+            executor.read(readsFinished::countDown);
+        }
+
+        assertTrue(readsFinished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        writeMayFinish.countDown();
+        awaitAll();
+    }
+
+    private void awaitAll() throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
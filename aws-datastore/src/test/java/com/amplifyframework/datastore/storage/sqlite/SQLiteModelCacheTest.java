@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the {@link SQLiteModelCache}.
+ */
+public final class SQLiteModelCacheTest {
+    private static final String MODEL_NAME = BlogOwner.class.getSimpleName();
+
+    /**
+     * When the cache is full, the least recently used model is evicted, and every lookup is
+     * counted as a hit or a miss.
+     */
+    @Test
+    public void leastRecentlyUsedModelIsEvicted() {
+        SQLiteModelCache cache = new SQLiteModelCache(2);
+        BlogOwner ann = BlogOwner.builder().name("Ann").build();
+        BlogOwner bo = BlogOwner.builder().name("Bo").build();
+        BlogOwner cy = BlogOwner.builder().name("Cy").build();
+        cache.put(ann);
+        cache.put(bo);
+        assertEquals(ann, cache.get(MODEL_NAME, ann.getId()));
+        cache.put(cy);
+
+        assertNull(cache.get(MODEL_NAME, bo.getId()));
+        assertEquals(ann, cache.get(MODEL_NAME, ann.getId()));
+        assertEquals(cy, cache.get(MODEL_NAME, cy.getId()));
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    /**
+     * A model which was read before a write was recorded is not cached, since it may be older
+     * than the written model.
+     */
+    @Test
+    public void readIsNotCachedAfterWrite() {
+        SQLiteModelCache cache = new SQLiteModelCache(2);
+        BlogOwner ann = BlogOwner.builder().name("Ann").build();
+        BlogOwner annRenamed = ann.copyOfBuilder().name("Anne").build();
+        long generation = cache.getGeneration();
+        cache.put(annRenamed);
+        cache.putIfUnchanged(ann, generation);
+        assertEquals(annRenamed, cache.get(MODEL_NAME, ann.getId()));
+
+        generation = cache.getGeneration();
+        cache.invalidate(MODEL_NAME, ann.getId());
+        cache.putIfUnchanged(annRenamed, generation);
+        assertNull(cache.get(MODEL_NAME, ann.getId()));
+
+        cache.putIfUnchanged(annRenamed, cache.getGeneration());
+        assertEquals(annRenamed, cache.get(MODEL_NAME, ann.getId()));
+    }
+
+    /**
+     * A cache with a size of zero caches nothing, and counts no lookups.
+     */
+    @Test
+    public void disabledCacheHoldsNothing() {
+        SQLiteModelCache cache = new SQLiteModelCache(0);
+        BlogOwner ann = BlogOwner.builder().name("Ann").build();
+        cache.put(ann);
+
+        assertFalse(cache.isEnabled());
+        assertNull(cache.get(MODEL_NAME, ann.getId()));
+        assertEquals(0, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+}
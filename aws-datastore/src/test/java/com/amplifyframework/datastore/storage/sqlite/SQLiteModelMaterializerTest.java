@@ -0,0 +1,222 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelProvider;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.query.AssociationLoadingPolicy;
+import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.testmodels.commentsblog.AmplifyModelProvider;
+import com.amplifyframework.testmodels.commentsblog.Blog;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.util.GsonFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests that the {@link SQLiteModelMaterializer} creates models from query results.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class SQLiteModelMaterializerTest {
+    private ModelSchemaRegistry modelSchemaRegistry;
+    private SQLCommandFactory sqlCommandFactory;
+    private SQLCommandProcessor sqlCommandProcessor;
+    private SQLiteModelMaterializer materializer;
+    private SQLiteDatabase sqliteDatabase;
+
+    /**
+     * Sets up model registry and in-memory database.
+     * @throws AmplifyException if model fails to register.
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        ModelProvider modelProvider = AmplifyModelProvider.getInstance();
+        modelSchemaRegistry = ModelSchemaRegistry.instance();
+        modelSchemaRegistry.register(modelProvider.models());
+        sqlCommandFactory = new SQLiteCommandFactory(modelSchemaRegistry, GsonFactory.instance());
+        sqliteDatabase = SQLiteDatabase.createInMemory(new SQLiteDatabase.OpenParams.Builder().build());
+        for (String modelName : modelProvider.modelNames()) {
+            final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
+            sqliteDatabase.execSQL(sqlCommandFactory.createTableFor(modelSchema).sqlStatement());
+        }
+        sqlCommandProcessor = new SQLCommandProcessor(sqliteDatabase);
+        materializer = new SQLiteModelMaterializer(modelSchemaRegistry, GsonFactory.instance());
+    }
+
+    /**
+     * Closes in-memory database.
+     */
+    @After
+    public void clear() {
+        modelSchemaRegistry.clear();
+        sqlCommandProcessor.getStatementCache().invalidate();
+        sqliteDatabase.close();
+    }
+
+    /**
+     * Models read from the database are equal to the models that were written to it,
+     * including temporal and nullable fields.
+     * @throws AmplifyException On failure to write or read the models
+     */
+    @Test
+    public void materializesModelsFromRows() throws AmplifyException {
+        BlogOwner abigail = BlogOwner.builder()
+            .name("Abigail McGregor")
+            .createdAt(new Temporal.DateTime("2021-03-04T05:06:07.890Z"))
+            .build();
+        BlogOwner jameson = BlogOwner.builder()
+            .name("Jameson Williams")
+            .wea("Pacific")
+            .build();
+        insert(abigail);
+        insert(jameson);
+
+        assertEquals(Arrays.asList(abigail, jameson), readAll(BlogOwner.class));
+    }
+
+    /**
+     * A model which belongs to another model is read along with the model it belongs to,
+     * from the joined columns of the row.
+     * @throws AmplifyException On failure to write or read the models
+     */
+    @Test
+    public void materializesJoinedAssociation() throws AmplifyException {
+        BlogOwner owner = BlogOwner.builder()
+            .name("Tony Daniels")
+            .build();
+        Blog blog = Blog.builder()
+            .name("Tony's Travels")
+            .owner(owner)
+            .build();
+        insert(owner);
+        insert(blog);
+
+        List<Blog> blogs = readAll(Blog.class);
+        assertEquals(Arrays.asList(blog), blogs);
+        assertEquals(owner, blogs.get(0).getOwner());
+    }
+
+    /**
+     * With lazy association loading, the models that a model belongs to are not joined, and
+     * each is read as an instance with only its ID.
+     * @throws AmplifyException On failure to write or read the models
+     */
+    @Test
+    public void materializesLazyAssociationAsIdOnly() throws AmplifyException {
+        BlogOwner owner = BlogOwner.builder()
+            .name("Tony Daniels")
+            .build();
+        Blog blog = Blog.builder()
+            .name("Tony's Travels")
+            .owner(owner)
+            .build();
+        insert(owner);
+        insert(blog);
+
+        QueryOptions options = Where.matchesAll().loadingAssociations(AssociationLoadingPolicy.LAZY);
+        ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(Blog.class.getSimpleName());
+        assertFalse(sqlCommandFactory.queryFor(schema, options).sqlStatement().contains("JOIN"));
+
+        List<Blog> blogs = readAll(Blog.class, options);
+        assertEquals(1, blogs.size());
+        assertEquals(blog.getName(), blogs.get(0).getName());
+        assertEquals(owner.getId(), blogs.get(0).getOwner().getId());
+        assertNull(blogs.get(0).getOwner().getName());
+    }
+
+    /**
+     * With no association loading, the models that a model belongs to are left empty.
+     * @throws AmplifyException On failure to write or read the models
+     */
+    @Test
+    public void leavesAssociationEmptyWhenNotLoaded() throws AmplifyException {
+        BlogOwner owner = BlogOwner.builder()
+            .name("Tony Daniels")
+            .build();
+        Blog blog = Blog.builder()
+            .name("Tony's Travels")
+            .owner(owner)
+            .build();
+        insert(owner);
+        insert(blog);
+
+        List<Blog> blogs = readAll(Blog.class, Where.matchesAll().loadingAssociations(AssociationLoadingPolicy.NONE));
+        assertEquals(1, blogs.size());
+        assertEquals(blog.getId(), blogs.get(0).getId());
+        assertNull(blogs.get(0).getOwner());
+    }
+
+    /**
+     * A projection reads only the selected fields and the ID; other fields are left empty.
+     * @throws AmplifyException On failure to write or read the models
+     */
+    @Test
+    public void materializesProjectedFieldsOnly() throws AmplifyException {
+        BlogOwner owner = BlogOwner.builder()
+            .name("Jameson Williams")
+            .wea("Pacific")
+            .build();
+        insert(owner);
+
+        List<BlogOwner> owners = readAll(BlogOwner.class, Where.matchesAll().select(BlogOwner.NAME));
+        assertEquals(1, owners.size());
+        assertEquals(owner.getId(), owners.get(0).getId());
+        assertEquals(owner.getName(), owners.get(0).getName());
+        assertNull(owners.get(0).getWea());
+    }
+
+    private void insert(Model model) throws AmplifyException {
+        ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(model.getModelName());
+        sqlCommandProcessor.execute(sqlCommandFactory.insertFor(schema, model));
+    }
+
+    private <T extends Model> List<T> readAll(Class<T> itemClass) throws AmplifyException {
+        return readAll(itemClass, Where.matchesAll());
+    }
+
+    private <T extends Model> List<T> readAll(Class<T> itemClass, QueryOptions options) throws AmplifyException {
+        ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(itemClass.getSimpleName());
+        List<T> results = new ArrayList<>();
+        try (Cursor cursor = sqlCommandProcessor.rawQuery(sqlCommandFactory.queryFor(schema, options))) {
+            if (cursor.moveToFirst()) {
+                do {
+                    results.add(materializer.materialize(cursor, itemClass, options.getAssociationLoadingPolicy()));
+                } while (cursor.moveToNext());
+            }
+        }
+        return results;
+    }
+}
@@ -35,6 +35,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -116,6 +117,26 @@ public final class SQLiteModelTreeTest {
         assertTrue(modelTree.descendantsOf(Collections.singleton(new C(6))).isEmpty());
     }
 
+    /**
+     * Tests that SQLite model tree finds every descendant of a model which has more children
+     * than can be bound to a single query.
+     */
+    @Test
+    public void testDescendantsOfModelWithManyChildren() {
+        final int childCount = 1_234;
+        database.execSQL("INSERT INTO 'A' (id) values (1)");
+        Set<Model> expected = new HashSet<>();
+        for (int id = 2; id < childCount + 2; id++) {
+            database.execSQL("INSERT INTO 'B' (id, aId) values (" + id + ", 1)");
+            expected.add(new B(id));
+        }
+        // One grandchild, under the last child
+        database.execSQL("INSERT INTO 'C' (id, bId) values (" + (childCount + 2) + ", " + (childCount + 1) + ")");
+        expected.add(new C(childCount + 2));
+
+        assertEquals(expected, new HashSet<>(modelTree.descendantsOf(Collections.singleton(new A(1)))));
+    }
+
     // Test models only care about ID when comparing
     @SuppressWarnings("all")
     private abstract static class TestModel implements Model {
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link SQLiteStatementCache}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class SQLiteStatementCacheTest {
+    private static final String SELECT_ONE = "SELECT 1";
+    private static final String SELECT_TWO = "SELECT 2";
+    private static final String SELECT_THREE = "SELECT 3";
+
+    private SQLiteDatabase sqliteDatabase;
+    private SQLiteStatementCache statementCache;
+
+    /**
+     * Creates an in-memory database, and a cache which holds at most two statements.
+     */
+    @Before
+    public void setup() {
+        sqliteDatabase = SQLiteDatabase.createInMemory(new SQLiteDatabase.OpenParams.Builder().build());
+        statementCache = new SQLiteStatementCache(sqliteDatabase, 2);
+    }
+
+    /**
+     * Closes the cache and the in-memory database.
+     */
+    @After
+    public void teardown() {
+        statementCache.invalidate();
+        sqliteDatabase.close();
+    }
+
+    /**
+     * A statement that has been released back to the cache is handed out again
+     * on the next acquisition of the same SQL, and is counted as a hit.
+     */
+    @Test
+    public void releasedStatementIsReused() {
+        SQLiteStatement first = statementCache.acquire(SELECT_ONE);
+        statementCache.release(SELECT_ONE, first);
+        SQLiteStatement second = statementCache.acquire(SELECT_ONE);
+        statementCache.release(SELECT_ONE, second);
+
+        assertSame(first, second);
+        assertEquals(1, statementCache.getHitCount());
+        assertEquals(1, statementCache.getMissCount());
+        assertEquals(1, second.simpleQueryForLong());
+    }
+
+    /**
+     * A statement that is currently leased is not handed out to a second caller.
+     */
+    @Test
+    public void leasedStatementIsNotShared() {
+        SQLiteStatement first = statementCache.acquire(SELECT_ONE);
+        SQLiteStatement second = statementCache.acquire(SELECT_ONE);
+        statementCache.release(SELECT_ONE, first);
+        statementCache.release(SELECT_ONE, second);
+
+        assertNotSame(first, second);
+        assertEquals(0, statementCache.getHitCount());
+        assertEquals(2, statementCache.getMissCount());
+        assertEquals(1, statementCache.size());
+    }
+
+    /**
+     * When the cache exceeds its size bound, the least-recently-used statement is evicted.
+     */
+    @Test
+    public void leastRecentlyUsedStatementIsEvicted() {
+        statementCache.release(SELECT_ONE, statementCache.acquire(SELECT_ONE));
+        statementCache.release(SELECT_TWO, statementCache.acquire(SELECT_TWO));
+        // Touch SELECT_ONE, so that SELECT_TWO becomes the least-recently-used.
+        statementCache.release(SELECT_ONE, statementCache.acquire(SELECT_ONE));
+        statementCache.release(SELECT_THREE, statementCache.acquire(SELECT_THREE));
+
+        assertEquals(2, statementCache.size());
+        assertEquals(1, statementCache.getEvictionCount());
+
+        statementCache.release(SELECT_ONE, statementCache.acquire(SELECT_ONE));
+        statementCache.release(SELECT_TWO, statementCache.acquire(SELECT_TWO));
+        assertEquals(2, statementCache.getHitCount());
+        assertEquals(4, statementCache.getMissCount());
+    }
+
+    /**
+     * After the cache is invalidated, neither idle statements nor statements that were
+     * leased before the invalidation are handed out again.
+     */
+    @Test
+    public void invalidatedStatementsAreNotReused() {
+        SQLiteStatement idle = statementCache.acquire(SELECT_ONE);
+        statementCache.release(SELECT_ONE, idle);
+        SQLiteStatement leased = statementCache.acquire(SELECT_TWO);
+
+        statementCache.invalidate();
+        statementCache.release(SELECT_TWO, leased);
+
+        assertEquals(0, statementCache.size());
+        SQLiteStatement afterInvalidation = statementCache.acquire(SELECT_ONE);
+        statementCache.release(SELECT_ONE, afterInvalidation);
+        assertNotSame(idle, afterInvalidation);
+        assertEquals(3, statementCache.getMissCount());
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import com.amplifyframework.datastore.StorageConfiguration;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Tests the validation of the {@link StorageConfiguration} which tunes the {@link SQLiteStorageHelper}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class SQLiteStorageHelperTest {
+    /**
+     * A page size which is not a power of two is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPageSizeIsRejected() {
+        StorageConfiguration.builder()
+            .pageSizeBytes(1000)
+            .build();
+    }
+
+    /**
+     * A negative size of the model cache is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeModelCacheSizeIsRejected() {
+        StorageConfiguration.builder()
+            .modelCacheSize(-1)
+            .build();
+    }
+}
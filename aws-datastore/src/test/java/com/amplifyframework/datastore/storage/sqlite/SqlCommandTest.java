@@ -18,17 +18,21 @@ package com.amplifyframework.datastore.storage.sqlite;
 import android.os.Build;
 
 import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelField;
 import com.amplifyframework.core.model.ModelIndex;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.query.Aggregate;
 import com.amplifyframework.core.model.query.Page;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.QueryPaginationInput;
 import com.amplifyframework.core.model.query.QuerySortBy;
 import com.amplifyframework.core.model.query.QuerySortOrder;
 import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.query.predicate.QueryField;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.syncengine.PendingMutation;
 import com.amplifyframework.testmodels.personcar.Person;
@@ -41,6 +45,7 @@ import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -227,6 +232,60 @@ public class SqlCommandTest {
         assertEquals(0, bindings.get(1));
     }
 
+    /**
+     * Validates that paginating after the last seen item seeks past that item's sort key
+     * and id, instead of skipping rows with an offset.
+     * @throws DataStoreException From {@link SQLCommandFactory#queryFor(ModelSchema, QueryOptions)}
+     */
+    @Test
+    public void queryWithKeysetPaginationInput() throws DataStoreException {
+        final ModelSchema personSchema = getPersonModelSchema();
+        final Person tony = Person.builder()
+                .firstName("Tony")
+                .lastName("Daniels")
+                .build();
+        final SqlCommand sqlCommand = sqlCommandFactory.queryFor(
+                personSchema,
+                Where.sorted(new QuerySortBy("lastName", QuerySortOrder.ASCENDING))
+                        .paginated(Page.startingAfter(tony).withLimit(20))
+        );
+        assertEquals(
+                PERSON_BASE_QUERY + " WHERE `Person`.`lastName` >= ? AND ((`Person`.`lastName` > ?) OR " +
+                        "(`Person`.`lastName` IS ? AND `Person`.`id` > ?)) " +
+                        "ORDER BY `Person`.`lastName` ASC, `Person`.`id` ASC LIMIT ?;",
+                sqlCommand.sqlStatement()
+        );
+        assertEquals(
+                Arrays.asList("Daniels", "Daniels", "Daniels", tony.getId(), 20),
+                sqlCommand.getBindings()
+        );
+    }
+
+    /**
+     * Validates that paginating after an item whose sort key is null, in descending order,
+     * only continues through the other items which share that null sort key.
+     * @throws DataStoreException From {@link SQLCommandFactory#queryFor(ModelSchema, QueryOptions)}
+     */
+    @Test
+    public void queryWithKeysetPaginationAfterNullSortKey() throws DataStoreException {
+        final ModelSchema personSchema = getPersonModelSchema();
+        final Person tony = Person.builder()
+                .firstName("Tony")
+                .lastName("Daniels")
+                .build();
+        final SqlCommand sqlCommand = sqlCommandFactory.queryFor(
+                personSchema,
+                Where.sorted(new QuerySortBy("age", QuerySortOrder.DESCENDING))
+                        .paginated(Page.startingAfter(tony))
+        );
+        assertEquals(
+                PERSON_BASE_QUERY + " WHERE ((0) OR (`Person`.`age` IS NULL AND `Person`.`id` > ?)) " +
+                        "ORDER BY `Person`.`age` DESC, `Person`.`id` ASC LIMIT ?;",
+                sqlCommand.sqlStatement()
+        );
+        assertEquals(Arrays.asList(tony.getId(), 100), sqlCommand.getBindings());
+    }
+
     /**
      * Validates that a query, with an order by clause is generated correctly.
      * @throws DataStoreException From {@link SQLCommandFactory#queryFor(ModelSchema, QueryOptions)}
@@ -248,6 +307,80 @@ public class SqlCommandTest {
         assertEquals(0, sqlCommand.getBindings().size());
     }
 
+    /**
+     * Validates that a query with a projection selects only the projected columns, and the primary key.
+     * @throws DataStoreException From {@link SQLCommandFactory#queryFor(ModelSchema, QueryOptions)}
+     */
+    @Test
+    public void queryWithProjection() throws DataStoreException {
+        final ModelSchema personSchema = getPersonModelSchema();
+        final SqlCommand sqlCommand = sqlCommandFactory.queryFor(
+                personSchema,
+                Where.matchesAll().select(QueryField.field("Person", "lastName"), QueryField.field("firstName"))
+        );
+        assertEquals(
+                "SELECT `Person`.`id` AS `Person_id`, `Person`.`firstName` AS `Person_firstName`, " +
+                        "`Person`.`lastName` AS `Person_lastName` FROM `Person`;",
+                sqlCommand.sqlStatement()
+        );
+    }
+
+    /**
+     * A projection of a field which the model does not store is rejected.
+     * @throws DataStoreException From {@link SQLCommandFactory#queryFor(ModelSchema, QueryOptions)}
+     */
+    @Test(expected = DataStoreException.class)
+    public void queryWithProjectionOfUnknownFieldFails() throws DataStoreException {
+        sqlCommandFactory.queryFor(getPersonModelSchema(), Where.matchesAll().select(QueryField.field("nickname")));
+    }
+
+    /**
+     * Validates that an aggregate is computed by SQLite, over the rows which match the predicate.
+     * @throws DataStoreException From {@link SQLCommandFactory#aggregateFor(ModelSchema, Aggregate, QueryPredicate)}
+     */
+    @Test
+    public void aggregateWithPredicate() throws DataStoreException {
+        final SqlCommand sqlCommand = sqlCommandFactory.aggregateFor(
+                getPersonModelSchema(),
+                Aggregate.count(),
+                QueryField.field("lastName").eq("Lovelace")
+        );
+        assertEquals(
+                "SELECT COUNT(*) AS `aggregate` FROM `Person` WHERE lastName = ?;",
+                sqlCommand.sqlStatement()
+        );
+        assertEquals(Collections.singletonList("Lovelace"), sqlCommand.getBindings());
+    }
+
+    /**
+     * Validates that a grouped aggregate selects the grouping columns, and groups the rows by them.
+     * @throws DataStoreException From {@link SQLCommandFactory#aggregateFor(ModelSchema, Aggregate, QueryPredicate)}
+     */
+    @Test
+    public void aggregateGroupedByField() throws DataStoreException {
+        final SqlCommand sqlCommand = sqlCommandFactory.aggregateFor(
+                getPersonModelSchema(),
+                Aggregate.max(QueryField.field("firstName")).groupedBy(QueryField.field("Person", "lastName")),
+                QueryPredicates.all()
+        );
+        assertEquals(
+                "SELECT `Person`.`lastName` AS `Person_lastName`, MAX(`Person`.`firstName`) AS `aggregate` " +
+                        "FROM `Person` GROUP BY `Person`.`lastName`;",
+                sqlCommand.sqlStatement()
+        );
+        assertEquals(0, sqlCommand.getBindings().size());
+    }
+
+    /**
+     * An aggregate of a field which the model does not store is rejected.
+     * @throws DataStoreException From {@link SQLCommandFactory#aggregateFor(ModelSchema, Aggregate, QueryPredicate)}
+     */
+    @Test(expected = DataStoreException.class)
+    public void aggregateOfUnknownFieldFails() throws DataStoreException {
+        sqlCommandFactory.aggregateFor(
+                getPersonModelSchema(), Aggregate.sum(QueryField.field("nickname")), QueryPredicates.all());
+    }
+
     /**
      * Verify the SqlCommand generated to check if a model exists is as expected.
      * @throws DataStoreException From {@link SQLCommandFactory#existsFor(ModelSchema, QueryPredicate)}
@@ -262,6 +395,83 @@ public class SqlCommandTest {
         assertEquals(Collections.singletonList(personId), sqlCommand.getBindings());
     }
 
+    /**
+     * Verify that the SqlCommand generated to update a model matches its primary key, and
+     * that repeated calls for the same schema reuse the same statement, with fresh bindings.
+     * @throws AmplifyException On failure to derive the schema, or to build the commands
+     */
+    @Test
+    public void updateForBindsNewValuesToSameStatement() throws AmplifyException {
+        final ModelSchema personSchema = ModelSchema.fromModelClass(Person.class);
+        final Person tony = Person.builder()
+            .firstName("Tony")
+            .lastName("Daniels")
+            .build();
+        final Person jane = Person.builder()
+            .firstName("Jane")
+            .lastName("Doe")
+            .build();
+
+        final SqlCommand updateTony = sqlCommandFactory.updateFor(personSchema, tony);
+        final SqlCommand updateJane = sqlCommandFactory.updateFor(personSchema, jane);
+
+        assertTrue(updateTony.sqlStatement().startsWith("UPDATE `Person` SET `id` = ?, "));
+        assertTrue(updateTony.sqlStatement().endsWith(" WHERE `Person`.`id` = ?;"));
+        assertEquals(updateTony.sqlStatement(), updateJane.sqlStatement());
+
+        final List<Object> tonyBindings = updateTony.getBindings();
+        final List<Object> janeBindings = updateJane.getBindings();
+        assertEquals(tony.getId(), tonyBindings.get(tonyBindings.size() - 1));
+        assertEquals(jane.getId(), janeBindings.get(janeBindings.size() - 1));
+        assertTrue(janeBindings.contains("Jane"));
+    }
+
+    /**
+     * Verify that a conditional update only changes the row with the model's id, which
+     * also meets the condition.
+     * @throws DataStoreException From {@link SQLCommandFactory#updateFor(ModelSchema, Model, QueryPredicate)}
+     */
+    @Test
+    public void updateForWithPredicateAppendsCondition() throws DataStoreException {
+        final ModelSchema personSchema = getPersonModelSchema();
+        final Person tony = Person.builder()
+            .firstName("Tony")
+            .lastName("Daniels")
+            .build();
+
+        final SqlCommand sqlCommand = sqlCommandFactory.updateFor(
+            personSchema, tony, QueryField.field("lastName").eq("Daniels"));
+
+        assertTrue(sqlCommand.sqlStatement().startsWith("UPDATE `Person` SET `id` = ?, "));
+        assertTrue(sqlCommand.sqlStatement().endsWith(" WHERE `Person`.`id` = ? AND (lastName = ?);"));
+        final List<Object> bindings = sqlCommand.getBindings();
+        assertEquals(Arrays.asList(tony.getId(), "Daniels"), bindings.subList(bindings.size() - 2, bindings.size()));
+    }
+
+    /**
+     * Verify that the comparison query for a model tests each of its columns for equality with
+     * the model's values, naming each result after its field.
+     * @throws DataStoreException From {@link SQLCommandFactory#compareFor(ModelSchema, Model)}
+     */
+    @Test
+    public void compareForTestsEachColumn() throws DataStoreException {
+        final ModelSchema personSchema = getPersonModelSchema();
+        final Person tony = Person.builder()
+            .firstName("Tony")
+            .lastName("Daniels")
+            .build();
+
+        final SqlCommand sqlCommand = sqlCommandFactory.compareFor(personSchema, tony);
+
+        assertTrue(sqlCommand.sqlStatement().startsWith("SELECT `id` IS ? AS `id`, "));
+        assertTrue(sqlCommand.sqlStatement().contains(", `lastName` IS ? AS `lastName`"));
+        assertTrue(sqlCommand.sqlStatement().endsWith(" FROM `Person` WHERE `Person`.`id` = ?;"));
+        final List<Object> bindings = sqlCommand.getBindings();
+        assertEquals(personSchema.getFields().size() + 1, bindings.size());
+        assertEquals(tony.getId(), bindings.get(0));
+        assertEquals(tony.getId(), bindings.get(bindings.size() - 1));
+    }
+
     private static ModelSchema getPersonModelSchema() {
         final SortedMap<String, ModelField> fields = getFieldsMap();
         return ModelSchema.builder()
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import android.database.sqlite.SQLiteConstraintException;
+
+import com.amplifyframework.core.Consumer;
+import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.appsync.ModelMetadata;
+import com.amplifyframework.datastore.appsync.ModelWithMetadata;
+import com.amplifyframework.datastore.storage.InMemoryStorageAdapter;
+import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.observers.TestObserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the merging of whole pages of models by the {@link AtlasvMerger}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class AtlasvMergerTest {
+    private static final long REASONABLE_WAIT_TIME = TimeUnit.SECONDS.toMillis(2);
+
+    private InMemoryStorageAdapter inMemoryStorageAdapter;
+    private SynchronousStorageAdapter storageAdapter;
+    private AtlasvMerger merger;
+
+    /**
+     * Sets up the test. An {@link AtlasvMerger} is being tested, which writes into an
+     * {@link InMemoryStorageAdapter}. A {@link SynchronousStorageAdapter} is created to
+     * facilitate arranging model data into the storage, and verifying it afterwards.
+     */
+    @Before
+    public void setup() {
+        this.inMemoryStorageAdapter = spy(InMemoryStorageAdapter.create());
+        this.storageAdapter = SynchronousStorageAdapter.delegatingTo(inMemoryStorageAdapter);
+        VersionRepository versionRepository = new VersionRepository(inMemoryStorageAdapter);
+        this.merger = new AtlasvMerger(versionRepository, inMemoryStorageAdapter);
+    }
+
+    /**
+     * Items of a page whose version is lower than, or equal to, the version in the local
+     * store are not merged. The remaining items of the page are.
+     * @throws DataStoreException On failure to arrange or query data in the store
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void mergePageSkipsStaleAndEqualVersions() throws DataStoreException, InterruptedException {
+        // Arrange: two blog owners are in the store, at version 5.
+        BlogOwner cornelius = BlogOwner.builder().name("Cornelius Daniels").build();
+        BlogOwner jameson = BlogOwner.builder().name("Jameson Williams").build();
+        ModelMetadata corneliusMetadata = new ModelMetadata(cornelius.getId(), false, 5, Temporal.Timestamp.now());
+        ModelMetadata jamesonMetadata = new ModelMetadata(jameson.getId(), false, 5, Temporal.Timestamp.now());
+        storageAdapter.save(cornelius, corneliusMetadata, jameson, jamesonMetadata);
+
+        // Act: merge a page with an older version of one, the same version of the other, and a new owner.
+        BlogOwner staleCornelius = cornelius.copyOfBuilder().name("Cornelius, but stale").build();
+        BlogOwner clobberingJameson = jameson.copyOfBuilder().name("Jameson, but clobbering").build();
+        BlogOwner isla = BlogOwner.builder().name("Isla Bandar").build();
+        List<StorageItemChange.Type> changeTypes = mergePage(Arrays.asList(
+            new ModelWithMetadata<>(staleCornelius, new ModelMetadata(cornelius.getId(), false, 4, null)),
+            new ModelWithMetadata<>(clobberingJameson, new ModelMetadata(jameson.getId(), false, 5, null)),
+            new ModelWithMetadata<>(isla, new ModelMetadata(isla.getId(), false, 1, null))
+        ));
+
+        // Assert: only the new owner was merged, and reported.
+        assertEquals(Collections.singletonList(StorageItemChange.Type.CREATE), changeTypes);
+        assertEquals(
+            new HashSet<>(Arrays.asList(cornelius, jameson, isla)),
+            new HashSet<>(storageAdapter.query(BlogOwner.class))
+        );
+        assertEquals(
+            Collections.singletonList(corneliusMetadata),
+            storageAdapter.query(ModelMetadata.class, Where.id(cornelius.getId()))
+        );
+        assertEquals(
+            Collections.singletonList(jamesonMetadata),
+            storageAdapter.query(ModelMetadata.class, Where.id(jameson.getId()))
+        );
+    }
+
+    /**
+     * A deleted item which is not in the local store is merged along with the rest of the page,
+     * without falling back to merging item-by-item. Its metadata is kept, so that an older
+     * version of the item will not be merged later.
+     * @throws DataStoreException On failure to query data in the store
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void mergePageDeletesItemsNotInStore() throws DataStoreException, InterruptedException {
+        // Act: merge a page with a deletion of an owner which was never stored, and a new owner.
+        BlogOwner ghost = BlogOwner.builder().name("Never Saved").build();
+        BlogOwner isla = BlogOwner.builder().name("Isla Bandar").build();
+        ModelMetadata ghostMetadata = new ModelMetadata(ghost.getId(), true, 2, Temporal.Timestamp.now());
+        List<StorageItemChange.Type> changeTypes = mergePage(Arrays.asList(
+            new ModelWithMetadata<>(ghost, ghostMetadata),
+            new ModelWithMetadata<>(isla, new ModelMetadata(isla.getId(), false, 1, null))
+        ));
+
+        // Assert: both were merged in the batch, and the deletion was reported first.
+        assertEquals(Arrays.asList(StorageItemChange.Type.DELETE, StorageItemChange.Type.CREATE), changeTypes);
+        verify(inMemoryStorageAdapter, never()).delete(eq(ghost), any(), any(), any(), any());
+        assertEquals(Collections.singletonList(isla), storageAdapter.query(BlogOwner.class));
+        assertEquals(
+            Collections.singletonList(ghostMetadata),
+            storageAdapter.query(ModelMetadata.class, Where.id(ghost.getId()))
+        );
+    }
+
+    /**
+     * When the batched write of a page fails on a constraint violation, the page is merged
+     * item-by-item instead. An item which violates a constraint on its own is skipped, while
+     * the rest of the page is merged.
+     * @throws DataStoreException On failure to query data in the store
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void mergePageFallsBackToItemByItemOnConstraintFailure()
+            throws DataStoreException, InterruptedException {
+        BlogOwner jameson = BlogOwner.builder().name("Jameson Williams").build();
+        BlogOwner violator = BlogOwner.builder().name("Violates a Constraint").build();
+        BlogOwner isla = BlogOwner.builder().name("Isla Bandar").build();
+
+        // Arrange: the batched write fails, as would a save of the violating owner.
+        doAnswer(invocation -> {
+            Consumer<DataStoreException> onError = invocation.getArgument(4);
+            onError.accept(new DataStoreException(
+                "Error in writing a batch.", new SQLiteConstraintException("FOREIGN KEY constraint failed"), "Retry."
+            ));
+            return null;
+        }).when(inMemoryStorageAdapter).writeAll(any(), any(), any(), any(), any());
+        doThrow(SQLiteConstraintException.class)
+            .when(inMemoryStorageAdapter)
+            .save(eq(violator), any(), any(), any(), any());
+
+        // Act: merge a page which contains the violating owner.
+        List<StorageItemChange.Type> changeTypes = mergePage(Arrays.asList(
+            new ModelWithMetadata<>(jameson, new ModelMetadata(jameson.getId(), false, 1, null)),
+            new ModelWithMetadata<>(violator, new ModelMetadata(violator.getId(), false, 1, null)),
+            new ModelWithMetadata<>(isla, new ModelMetadata(isla.getId(), false, 1, null))
+        ));
+
+        // Assert: the other owners were merged one at a time, and reported.
+        assertEquals(Arrays.asList(StorageItemChange.Type.CREATE, StorageItemChange.Type.CREATE), changeTypes);
+        assertEquals(
+            new HashSet<>(Arrays.asList(jameson, isla)),
+            new HashSet<>(storageAdapter.query(BlogOwner.class))
+        );
+        assertTrue(storageAdapter.query(ModelMetadata.class, Where.id(violator.getId())).isEmpty());
+    }
+
+    /**
+     * The change type callback is invoked once for each model which is merged: first for the
+     * deletions, and then for the saves. It is not invoked for the metadata of the models,
+     * which is written in the same batch.
+     * @throws DataStoreException On failure to arrange or query data in the store
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void mergePageReportsOneChangePerModel() throws DataStoreException, InterruptedException {
+        // Arrange: two blog owners are in the store, at version 1.
+        BlogOwner cornelius = BlogOwner.builder().name("Cornelius Daniels").build();
+        BlogOwner jameson = BlogOwner.builder().name("Jameson Williams").build();
+        storageAdapter.save(
+            cornelius, new ModelMetadata(cornelius.getId(), false, 1, Temporal.Timestamp.now()),
+            jameson, new ModelMetadata(jameson.getId(), false, 1, Temporal.Timestamp.now())
+        );
+
+        // Act: merge a page with a new owner, an update of one owner, and a deletion of the other.
+        BlogOwner isla = BlogOwner.builder().name("Isla Bandar").build();
+        BlogOwner renamedCornelius = cornelius.copyOfBuilder().name("Cornelius Daniels-Kim").build();
+        List<StorageItemChange.Type> changeTypes = mergePage(Arrays.asList(
+            new ModelWithMetadata<>(isla, new ModelMetadata(isla.getId(), false, 1, null)),
+            new ModelWithMetadata<>(renamedCornelius, new ModelMetadata(cornelius.getId(), false, 2, null)),
+            new ModelWithMetadata<>(jameson, new ModelMetadata(jameson.getId(), true, 2, null))
+        ));
+
+        // Assert: one change per model, with the deletion first, and then the saves in page order.
+        assertEquals(Arrays.asList(
+            StorageItemChange.Type.DELETE,
+            StorageItemChange.Type.CREATE,
+            StorageItemChange.Type.UPDATE
+        ), changeTypes);
+        assertEquals(
+            new HashSet<>(Arrays.asList(isla, renamedCornelius)),
+            new HashSet<>(storageAdapter.query(BlogOwner.class))
+        );
+        assertEquals(3, storageAdapter.query(ModelMetadata.class).size());
+    }
+
+    private List<StorageItemChange.Type> mergePage(List<ModelWithMetadata<BlogOwner>> page)
+            throws InterruptedException {
+        List<StorageItemChange.Type> changeTypes = new ArrayList<>();
+        TestObserver<Void> observer = merger.mergePage(page, changeTypes::add).test();
+        assertTrue(observer.await(REASONABLE_WAIT_TIME, TimeUnit.MILLISECONDS));
+        observer.assertNoErrors().assertComplete();
+        return changeTypes;
+    }
+}
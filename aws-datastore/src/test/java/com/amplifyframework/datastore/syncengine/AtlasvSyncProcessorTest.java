@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.api.graphql.GraphQLResponse;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelProvider;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.datastore.DataStoreConfiguration;
+import com.amplifyframework.datastore.DataStoreConfigurationProvider;
+import com.amplifyframework.datastore.appsync.AppSync;
+import com.amplifyframework.datastore.appsync.AppSyncMocking;
+import com.amplifyframework.datastore.model.SimpleModelProvider;
+import com.amplifyframework.datastore.model.SystemModelsProviderFactory;
+import com.amplifyframework.datastore.storage.InMemoryStorageAdapter;
+import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
+import com.amplifyframework.testmodels.commentsblog.AmplifyModelProvider;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testutils.random.RandomString;
+import com.amplifyframework.util.Time;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.amplifyframework.datastore.appsync.TestModelWithMetadataInstances.BLOGGER_ISLA;
+import static com.amplifyframework.datastore.appsync.TestModelWithMetadataInstances.BLOGGER_JAMESON;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests the {@link AtlasvSyncProcessor}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class AtlasvSyncProcessorTest {
+    private static final long OP_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(2);
+    private static final long BASE_SYNC_INTERVAL_MINUTES = TimeUnit.DAYS.toMinutes(1);
+
+    private AppSync appSync;
+    private SynchronousStorageAdapter storageAdapter;
+    private AtlasvSyncProcessor syncProcessor;
+
+    /**
+     * Wire up dependencies for the AtlasvSyncProcessor, and build one for testing.
+     * @throws AmplifyException On failure to load models into registry
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        final LinkedHashSet<Class<? extends Model>> modelClasses = new LinkedHashSet<>();
+        modelClasses.addAll(SystemModelsProviderFactory.create().models());
+        modelClasses.addAll(AmplifyModelProvider.getInstance().models());
+        ModelProvider modelProvider = SimpleModelProvider.instance(UUID.randomUUID().toString(), modelClasses);
+
+        ModelSchemaRegistry modelSchemaRegistry = ModelSchemaRegistry.instance();
+        modelSchemaRegistry.clear();
+        modelSchemaRegistry.register(modelProvider.models());
+
+        InMemoryStorageAdapter inMemoryStorageAdapter = InMemoryStorageAdapter.create();
+        this.storageAdapter = SynchronousStorageAdapter.delegatingTo(inMemoryStorageAdapter);
+        this.appSync = mock(AppSync.class);
+
+        final SyncTimeRegistry syncTimeRegistry = new SyncTimeRegistry(inMemoryStorageAdapter);
+        final VersionRepository versionRepository = new VersionRepository(inMemoryStorageAdapter);
+        final AtlasvMerger merger = new AtlasvMerger(versionRepository, inMemoryStorageAdapter);
+
+        DataStoreConfigurationProvider dataStoreConfigurationProvider = () -> DataStoreConfiguration
+            .builder()
+            .syncInterval(BASE_SYNC_INTERVAL_MINUTES, TimeUnit.MINUTES)
+            .syncMaxRecords(10_000)
+            .syncPageSize(1_000)
+            .errorHandler(dataStoreException -> { })
+            .build();
+
+        QueryPredicateProvider queryPredicateProvider = new QueryPredicateProvider(dataStoreConfigurationProvider);
+        queryPredicateProvider.resolvePredicates();
+
+        this.syncProcessor = AtlasvSyncProcessor.builder()
+            .modelProvider(modelProvider)
+            .modelSchemaRegistry(modelSchemaRegistry)
+            .syncTimeRegistry(syncTimeRegistry)
+            .appSync(appSync)
+            .merger(merger)
+            .dataStoreConfigurationProvider(dataStoreConfigurationProvider)
+            .queryPredicateProvider(queryPredicateProvider)
+            .build();
+    }
+
+    /**
+     * When a base sync fails after some of its pages have been merged, a checkpoint is left
+     * behind, which refers to the page after the last one that was merged.
+     * @throws AmplifyException On failure to build the mocked responses
+     */
+    @Test
+    public void interruptedSyncLeavesCheckpoint() throws AmplifyException {
+        // Arrange: the first page of BlogOwners holds Jameson, but the next page fails.
+        String nextToken = RandomString.string();
+        GraphQLResponse.Error error = new GraphQLResponse.Error("Network is gone.", null, null, null);
+        AppSyncMocking.sync(appSync)
+            .mockSuccessResponse(BlogOwner.class, null, nextToken, BLOGGER_JAMESON)
+            .mockSuccessResponse(
+                request -> nextToken.equals(request.getVariables().get("nextToken")),
+                new GraphQLResponse<>(null, Collections.singletonList(error)));
+
+        // Act: hydrate the store, which fails on the second page.
+        assertTrue(syncProcessor.hydrate().onErrorComplete().blockingAwait(OP_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        // Assert: the first page was merged, and the checkpoint refers to the next one.
+        assertEquals(Collections.singletonList(BLOGGER_JAMESON.getModel()), storageAdapter.query(BlogOwner.class));
+        List<SyncCheckpoint> checkpoints = storageAdapter.query(SyncCheckpoint.class);
+        assertEquals(1, checkpoints.size());
+        SyncCheckpoint checkpoint = checkpoints.get(0);
+        assertEquals(BlogOwner.class.getSimpleName(), checkpoint.getModelClassName());
+        assertEquals(nextToken, checkpoint.getNextToken());
+        assertEquals(1, checkpoint.getRecordsFetched());
+        assertNull(checkpoint.getSyncTime());
+    }
+
+    /**
+     * When a checkpoint of an interrupted base sync is within the sync interval, the next sync
+     * resumes from the checkpoint's page, rather than from the first page. Once the sync
+     * completes, the checkpoint is removed, and the last sync time is when the interrupted sync started.
+     * @throws AmplifyException On failure to build the mocked responses
+     */
+    @Test
+    public void baseSyncResumesFromCheckpoint() throws AmplifyException {
+        // Arrange: a checkpoint of a base sync of BlogOwner, which had merged the first page.
+        String nextToken = RandomString.string();
+        long startTime = Time.now() - TimeUnit.HOURS.toMillis(1);
+        storageAdapter.save(SyncCheckpoint.create(
+            BlogOwner.class.getSimpleName(), null, nextToken, 1, startTime, Time.now()));
+
+        // Arrange: the first page holds Jameson, while the page of the checkpoint holds Isla.
+        AppSyncMocking.sync(appSync)
+            .mockSuccessResponse(BlogOwner.class, null, nextToken, BLOGGER_JAMESON)
+            .mockSuccessResponse(BlogOwner.class, nextToken, null, BLOGGER_ISLA);
+
+        // Act: hydrate the store.
+        assertTrue(syncProcessor.hydrate().blockingAwait(OP_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        // Assert: only the page of the checkpoint was synced, and the checkpoint is gone.
+        assertEquals(Collections.singletonList(BLOGGER_ISLA.getModel()), storageAdapter.query(BlogOwner.class));
+        assertTrue(storageAdapter.query(SyncCheckpoint.class).isEmpty());
+
+        // Assert: the last sync time of BlogOwner is when the interrupted sync started.
+        List<Long> blogOwnerSyncTimes = new ArrayList<>();
+        for (LastSyncMetadata metadata : storageAdapter.query(LastSyncMetadata.class)) {
+            if (BlogOwner.class.getSimpleName().equals(metadata.getModelClassName())) {
+                blogOwnerSyncTimes.add(metadata.getLastSyncTime());
+            }
+        }
+        assertEquals(Collections.singletonList(startTime), blogOwnerSyncTimes);
+    }
+}
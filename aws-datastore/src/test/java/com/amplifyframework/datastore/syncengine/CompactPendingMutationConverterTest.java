@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.datastore.appsync.SerializedModel;
+import com.amplifyframework.testmodels.commentsblog.Blog;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the functionality of the {@link CompactPendingMutationConverter}.
+ */
+public final class CompactPendingMutationConverterTest {
+    /**
+     * Validate that the {@link CompactPendingMutationConverter} can be
+     * used to convert a sample {@link PendingMutation} to a
+     * {@link PendingMutation.PersistentRecord}, and vice-versa.
+     * @throws AmplifyException On failure to arrange model schema
+     */
+    @Test
+    public void convertPendingMutationToRecordAndBack() throws AmplifyException {
+        ModelSchema schema = ModelSchema.fromModelClass(Blog.class);
+        PendingMutation<Blog> originalMutation = PendingMutation.creation(blog(), schema);
+        PendingMutation.Converter converter = new CompactPendingMutationConverter();
+
+        PendingMutation.PersistentRecord record = converter.toRecord(originalMutation);
+        assertNotNull(record);
+        assertEquals(originalMutation.getMutationId().toString(), record.getId());
+
+        PendingMutation<Blog> reconstructedMutation = converter.fromRecord(record);
+        assertEquals(originalMutation, reconstructedMutation);
+    }
+
+    /**
+     * Validate that a {@link PendingMutation} of a {@link SerializedModel}, with a condition,
+     * is converted to a record and back by the {@link CompactPendingMutationConverter}.
+     * @throws AmplifyException On failure to arrange model schema
+     */
+    @Test
+    public void convertPendingMutationWithSerializedModelToRecordAndBack() throws AmplifyException {
+        ModelSchema schema = ModelSchema.fromModelClass(Blog.class);
+        SerializedModel serializedBlog = SerializedModel.create(blog(), schema);
+        QueryPredicate predicate = Blog.NAME.eq("A neat blog");
+        PendingMutation<SerializedModel> originalMutation = PendingMutation.update(serializedBlog, schema, predicate);
+        PendingMutation.Converter converter = new CompactPendingMutationConverter();
+
+        PendingMutation.PersistentRecord record = converter.toRecord(originalMutation);
+        PendingMutation<SerializedModel> reconstructedMutation = converter.fromRecord(record);
+        assertEquals(originalMutation, reconstructedMutation);
+    }
+
+    /**
+     * The compact record of a mutation is smaller than the record the {@link GsonPendingMutationConverter}
+     * writes for it, since it doesn't repeat the model schema.
+     * @throws AmplifyException On failure to arrange model schema
+     */
+    @Test
+    public void compactRecordIsSmallerThanGsonRecord() throws AmplifyException {
+        PendingMutation<Blog> mutation = PendingMutation.creation(blog(), ModelSchema.fromModelClass(Blog.class));
+
+        String compactData = new CompactPendingMutationConverter().toRecord(mutation).getSerializedMutationData();
+        String gsonData = new GsonPendingMutationConverter().toRecord(mutation).getSerializedMutationData();
+        assertTrue(compactData.length() < gsonData.length());
+    }
+
+    /**
+     * Records written by the {@link GsonPendingMutationConverter}, before the compact
+     * format existed, are still read by the {@link CompactPendingMutationConverter}.
+     * @throws AmplifyException On failure to arrange model schema
+     */
+    @Test
+    public void legacyGsonRecordIsReadBack() throws AmplifyException {
+        ModelSchema schema = ModelSchema.fromModelClass(BlogOwner.class);
+        BlogOwner owner = BlogOwner.builder()
+            .name("Joe Swanson")
+            .build();
+        SerializedModel serializedOwner = SerializedModel.create(owner, schema);
+        PendingMutation<Blog> blogMutation = PendingMutation.creation(blog(), ModelSchema.fromModelClass(Blog.class));
+        PendingMutation<SerializedModel> ownerMutation = PendingMutation.deletion(serializedOwner, schema);
+
+        PendingMutation.Converter legacyConverter = new GsonPendingMutationConverter();
+        PendingMutation.Converter converter = new CompactPendingMutationConverter();
+        assertEquals(blogMutation, converter.fromRecord(legacyConverter.toRecord(blogMutation)));
+        assertEquals(ownerMutation, converter.fromRecord(legacyConverter.toRecord(ownerMutation)));
+    }
+
+    private static Blog blog() {
+        return Blog.builder()
+            .name("A neat blog")
+            .owner(BlogOwner.builder()
+                .name("Joe Swanson")
+                .build())
+            .build();
+    }
+}
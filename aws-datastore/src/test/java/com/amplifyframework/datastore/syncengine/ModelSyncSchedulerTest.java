@@ -0,0 +1,178 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.datastore.model.SimpleModelProvider;
+import com.amplifyframework.testmodels.commentsblog.Author;
+import com.amplifyframework.testmodels.commentsblog.Blog;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testmodels.commentsblog.Post;
+import com.amplifyframework.testmodels.commentsblog.PostAuthorJoin;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ModelSyncScheduler}.
+ */
+public final class ModelSyncSchedulerTest {
+    private static final int PAGE_COUNT = 10;
+    private static final int PAGE_BUFFER_SIZE = 2;
+
+    private TopologicalOrdering ordering;
+    private List<ModelSchema> modelSchemas;
+
+    /**
+     * Registers a set of models in which a PostAuthorJoin depends upon both a Post and an
+     * Author, while a Post depends upon a Blog, which depends upon a BlogOwner.
+     * @throws AmplifyException On failure to load models into the registry
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        SimpleModelProvider provider = SimpleModelProvider.withRandomVersion(
+            PostAuthorJoin.class, Post.class, Author.class, Blog.class, BlogOwner.class);
+        ModelSchemaRegistry registry = ModelSchemaRegistry.instance();
+        registry.clear();
+        registry.register(provider.models());
+        ordering = TopologicalOrdering.forRegisteredModels(registry, provider);
+        modelSchemas = new ArrayList<>(registry.getModelSchemaMap().values());
+    }
+
+    /**
+     * Models without dependencies start right away, and every other model starts as soon as
+     * the last of the models it depends upon has completed.
+     */
+    @Test
+    public void modelStartsOnceItsParentsComplete() {
+        Map<String, CompletableSubject> tasks = new HashMap<>();
+        List<String> started = new ArrayList<>();
+        TestObserver<Void> observer = new ModelSyncScheduler(ordering, 1, 1, 1, Schedulers.trampoline())
+            .schedule(modelSchemas, schema -> {
+                CompletableSubject task = CompletableSubject.create();
+                tasks.put(schema.getName(), task);
+                started.add(schema.getName());
+                return task;
+            })
+            .test();
+        assertEquals(new HashSet<>(Arrays.asList("BlogOwner", "Author")), new HashSet<>(started));
+
+        tasks.get("Author").onComplete();
+        tasks.get("BlogOwner").onComplete();
+        assertEquals(Collections.singletonList("Blog"), started.subList(2, started.size()));
+
+        tasks.get("Blog").onComplete();
+        tasks.get("Post").onComplete();
+        assertEquals(Arrays.asList("Blog", "Post", "PostAuthorJoin"), started.subList(2, started.size()));
+
+        observer.assertNotComplete();
+        tasks.get("PostAuthorJoin").onComplete();
+        observer.assertComplete();
+    }
+
+    /**
+     * When a model's task fails, the models which depend upon it are not started, and the
+     * schedule fails.
+     */
+    @Test
+    public void failureOfParentFailsSchedule() {
+        List<String> started = new ArrayList<>();
+        TestObserver<Void> observer = new ModelSyncScheduler(ordering, 1, 1, 1, Schedulers.trampoline())
+            .schedule(modelSchemas, schema -> {
+                started.add(schema.getName());
+                return "BlogOwner".equals(schema.getName()) ?
+                    Completable.error(new RuntimeException("Sync failed.")) :
+                    CompletableSubject.create();
+            })
+            .test();
+
+        observer.assertError(RuntimeException.class);
+        assertFalse(started.contains("Blog"));
+    }
+
+    /**
+     * Fetches beyond the maximum wait until a running fetch has completed.
+     */
+    @Test
+    public void fetchesAreLimited() {
+        ModelSyncScheduler scheduler = new ModelSyncScheduler(ordering, 1, 1, 1, Schedulers.trampoline());
+        SingleSubject<String> firstFetch = SingleSubject.create();
+        SingleSubject<String> secondFetch = SingleSubject.create();
+
+        TestObserver<String> firstObserver = scheduler.fetch(firstFetch).test();
+        TestObserver<String> secondObserver = scheduler.fetch(secondFetch).test();
+        assertTrue(firstFetch.hasObservers());
+        assertFalse(secondFetch.hasObservers());
+
+        firstFetch.onSuccess("first page");
+        firstObserver.assertValue("first page");
+        assertTrue(secondFetch.hasObservers());
+        secondFetch.onSuccess("second page");
+        secondObserver.assertValue("second page");
+    }
+
+    /**
+     * Pages are fetched while an earlier page is written, but fetching pauses once the buffer
+     * of pages waiting to be written is full, and resumes as the writes complete.
+     */
+    @Test
+    public void fetchingPausesWhileWritesFallBehind() {
+        ModelSyncScheduler scheduler =
+            new ModelSyncScheduler(ordering, 1, 1, PAGE_BUFFER_SIZE, Schedulers.trampoline());
+        List<Integer> fetched = new ArrayList<>();
+        List<CompletableSubject> writes = new ArrayList<>();
+        TestObserver<Void> observer = scheduler
+            .mergePages(Flowable.range(0, PAGE_COUNT).doOnNext(fetched::add), page -> {
+                CompletableSubject write = CompletableSubject.create();
+                writes.add(write);
+                return write;
+            })
+            .test();
+
+        // One page is being written, one waits behind it, and the buffer is full.
+        assertEquals(1, writes.size());
+        assertTrue(fetched.size() > 1);
+        assertTrue(fetched.size() <= 2 + PAGE_BUFFER_SIZE);
+
+        for (int page = 0; page < PAGE_COUNT; page++) {
+            observer.assertNotComplete();
+            writes.get(page).onComplete();
+        }
+        assertEquals(PAGE_COUNT, fetched.size());
+        observer.assertComplete();
+    }
+}
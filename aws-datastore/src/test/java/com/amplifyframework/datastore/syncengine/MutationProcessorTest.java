@@ -19,6 +19,9 @@ import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.graphql.GraphQLLocation;
 import com.amplifyframework.api.graphql.GraphQLPathSegment;
 import com.amplifyframework.api.graphql.GraphQLResponse;
+import com.amplifyframework.core.Consumer;
+import com.amplifyframework.core.async.NoOpCancelable;
+import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
 import com.amplifyframework.core.model.temporal.Temporal;
@@ -29,6 +32,7 @@ import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.AppSync;
 import com.amplifyframework.datastore.appsync.AppSyncMocking;
 import com.amplifyframework.datastore.appsync.ModelMetadata;
+import com.amplifyframework.datastore.appsync.ModelWithMetadata;
 import com.amplifyframework.datastore.storage.InMemoryStorageAdapter;
 import com.amplifyframework.datastore.storage.LocalStorageAdapter;
 import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
@@ -43,6 +47,7 @@ import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.shadows.ShadowLog;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -56,8 +61,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -90,6 +97,7 @@ public final class MutationProcessorTest {
         Merger merger = new Merger(mutationOutbox, versionRepository, localStorageAdapter);
         this.appSync = mock(AppSync.class);
         this.configurationProvider = mock(DataStoreConfigurationProvider.class);
+        when(configurationProvider.getConfiguration()).thenReturn(DataStoreConfiguration.defaults());
         ConflictResolver conflictResolver = new ConflictResolver(configurationProvider, appSync);
         modelSchemaRegistry = ModelSchemaRegistry.instance();
         modelSchemaRegistry.register(Collections.singleton(BlogOwner.class));
@@ -100,6 +108,7 @@ public final class MutationProcessorTest {
             .mutationOutbox(mutationOutbox)
             .appSync(appSync)
             .conflictResolver(conflictResolver)
+            .dataStoreConfigurationProvider(configurationProvider)
             .build();
     }
 
@@ -312,4 +321,74 @@ public final class MutationProcessorTest {
         mutationProcessor.startDrainingMutationOutbox();
         accumulator.await();
     }
+
+    /**
+     * When batching is configured, consecutive mutations of different models are published
+     * in a single request, and each response is processed as if its mutation had been
+     * published alone: a success is merged, and an error is announced via Hub.
+     * @throws DataStoreException On failure to save models
+     */
+    @Test
+    public void batchedMutationsAreProcessedIndividually() throws DataStoreException {
+        when(configurationProvider.getConfiguration())
+            .thenReturn(DataStoreConfiguration.builder()
+                .outboxMaxBatchSize(2)
+                .build()
+            );
+        ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(BlogOwner.class);
+        BlogOwner tony = BlogOwner.builder()
+            .name("Tony Daniels")
+            .build();
+        BlogOwner joe = BlogOwner.builder()
+            .name("Average Joe")
+            .build();
+        synchronousStorageAdapter.save(tony);
+        synchronousStorageAdapter.save(joe);
+
+        // Have AppSync accept the first mutation of the batch, and reject the second.
+        ModelMetadata metadata = new ModelMetadata(tony.getId(), false, 1, Temporal.Timestamp.now());
+        GraphQLResponse.Error error = new GraphQLResponse.Error("Rejected.", null, null, null);
+        List<GraphQLResponse<ModelWithMetadata<? extends Model>>> responses = Arrays.asList(
+            new GraphQLResponse<>(new ModelWithMetadata<>(tony, metadata), Collections.emptyList()),
+            new GraphQLResponse<>(null, Collections.singletonList(error))
+        );
+        doAnswer(invocation -> {
+            Consumer<List<GraphQLResponse<ModelWithMetadata<? extends Model>>>> onResponse =
+                invocation.getArgument(1);
+            onResponse.accept(responses);
+            return new NoOpCancelable();
+        }).when(appSync).mutate(any(), any(), any());
+
+        assertTrue(mutationOutbox.enqueue(PendingMutation.creation(tony, schema))
+            .blockingAwait(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(mutationOutbox.enqueue(PendingMutation.creation(joe, schema))
+            .blockingAwait(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // Start listening for publication events.
+        HubAccumulator processedAccumulator =
+            HubAccumulator.create(HubChannel.DATASTORE, isProcessed(tony), 1)
+                .start();
+        HubAccumulator errorAccumulator = HubAccumulator.create(
+            HubChannel.DATASTORE,
+            DataStoreChannelEventName.OUTBOX_MUTATION_FAILED,
+            1
+        ).start();
+        HubAccumulator statusAccumulator =
+            HubAccumulator.create(HubChannel.DATASTORE, isOutboxEmpty(true), 1)
+                .start();
+
+        // Act! Start draining the outbox.
+        mutationProcessor.startDrainingMutationOutbox();
+
+        // Assert: both mutations were processed, and neither is left in the outbox.
+        processedAccumulator.await();
+        errorAccumulator.await();
+        statusAccumulator.await();
+        assertFalse(mutationOutbox.hasPendingMutation(tony.getId()));
+        assertFalse(mutationOutbox.hasPendingMutation(joe.getId()));
+
+        // And that they were passed to AppSync in a single request.
+        verify(appSync).mutate(any(), any(), any());
+        verify(appSync, never()).create(any(), any(), any(), any());
+    }
 }
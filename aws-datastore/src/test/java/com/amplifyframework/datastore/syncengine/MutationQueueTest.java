@@ -24,8 +24,12 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -122,4 +126,70 @@ public final class MutationQueueTest {
         mutationQueue.add(createTony);
         assertEquals(createQing, mutationQueue.peek());
     }
+
+    /**
+     * Prepare mutations of two models, and insert them into the {@link MutationQueue}.
+     * Excluding a model skips all of its mutations, and yields the earliest mutation
+     * of another model; excluding every model yields nothing.
+     */
+    @Test
+    public void nextMutationExcludingModelIdsSkipsExcludedModels() {
+        mutationQueue.clear();
+        BlogOwner qing = BlogOwner.builder()
+                .name("Qing Zhong")
+                .build();
+        PendingMutation<BlogOwner> createQing = PendingMutation.creation(qing, schema);
+        PendingMutation<BlogOwner> updateQing = PendingMutation.update(qing, schema);
+
+        BlogOwner tony = BlogOwner.builder()
+                .name("The Real Papa Tony")
+                .build();
+        PendingMutation<BlogOwner> createTony = PendingMutation.creation(tony, schema);
+
+        mutationQueue.add(createQing);
+        mutationQueue.add(updateQing);
+        mutationQueue.add(createTony);
+        assertEquals(createQing, mutationQueue.nextMutationExcludingModelIds(Collections.emptySet()));
+        assertEquals(createTony,
+            mutationQueue.nextMutationExcludingModelIds(Collections.singleton(qing.getId())));
+        assertNull(mutationQueue.nextMutationExcludingModelIds(Arrays.asList(qing.getId(), tony.getId())));
+    }
+
+    /**
+     * Prepare mutations of two models, and insert them into the {@link MutationQueue}.
+     * The next mutation of a model follows the removal of its earlier mutations, and
+     * no mutation is found for a model once all of its mutations are removed.
+     */
+    @Test
+    public void nextMutationForModelIdFollowsRemovals() {
+        mutationQueue.clear();
+        BlogOwner qing = BlogOwner.builder()
+                .name("Qing Zhong")
+                .build();
+        PendingMutation<BlogOwner> createQing = PendingMutation.creation(qing, schema);
+        PendingMutation<BlogOwner> updateQing = PendingMutation.update(qing, schema);
+
+        BlogOwner tony = BlogOwner.builder()
+                .name("The Real Papa Tony")
+                .build();
+        PendingMutation<BlogOwner> createTony = PendingMutation.creation(tony, schema);
+
+        mutationQueue.add(createQing);
+        mutationQueue.add(createTony);
+        mutationQueue.add(updateQing);
+        assertEquals(createQing, mutationQueue.nextMutationForModelId(qing.getId()));
+        assertEquals(createTony, mutationQueue.nextMutationForModelId(tony.getId()));
+
+        mutationQueue.remove(createQing);
+        assertEquals(updateQing, mutationQueue.nextMutationForModelId(qing.getId()));
+        assertEquals(createTony, mutationQueue.nextMutationExcludingModelIds(Collections.emptySet()));
+
+        mutationQueue.remove(createTony);
+        assertNull(mutationQueue.nextMutationForModelId(tony.getId()));
+        assertEquals(updateQing, mutationQueue.nextMutationExcludingModelIds(Collections.emptySet()));
+
+        mutationQueue.clear();
+        assertNull(mutationQueue.nextMutationForModelId(qing.getId()));
+        assertNull(mutationQueue.nextMutationExcludingModelIds(Collections.emptySet()));
+    }
 }
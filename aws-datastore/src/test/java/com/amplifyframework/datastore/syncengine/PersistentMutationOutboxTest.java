@@ -76,7 +76,7 @@ public final class PersistentMutationOutboxTest {
         storage = SynchronousStorageAdapter.delegatingTo(inMemoryStorageAdapter);
         mutationQueue = new MutationQueue();
         mutationOutbox = new PersistentMutationOutbox(inMemoryStorageAdapter, mutationQueue);
-        converter = new GsonPendingMutationConverter();
+        converter = new CompactPendingMutationConverter();
     }
 
     /**
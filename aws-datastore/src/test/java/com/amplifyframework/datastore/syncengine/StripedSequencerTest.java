@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests the {@link StripedSequencer}.
+ */
+public final class StripedSequencerTest {
+    private StripedSequencer sequencer;
+    private List<String> started;
+
+    /**
+     * Sets up a sequencer with two stripes.
+     */
+    @Before
+    public void setup() {
+        sequencer = new StripedSequencer(2);
+        started = new ArrayList<>();
+    }
+
+    /**
+     * Operations of the same key run one at a time, in the order they were subscribed.
+     * Waiting for a turn does not block the subscribing thread.
+     */
+    @Test
+    public void operationsOfSameKeyRunInOrder() {
+        CompletableSubject first = CompletableSubject.create();
+        TestObserver<Void> firstObserver = sequencer.sequence("a", operation("first", first)).test();
+        TestObserver<Void> secondObserver = sequencer.sequence("a", operation("second", Completable.complete())).test();
+        assertEquals(Arrays.asList("first"), started);
+        secondObserver.assertNotComplete();
+
+        first.onComplete();
+        firstObserver.assertComplete();
+        secondObserver.assertComplete();
+        assertEquals(Arrays.asList("first", "second"), started);
+    }
+
+    /**
+     * Operations of keys on different stripes do not wait for each other.
+     */
+    @Test
+    public void operationsOfDifferentStripesRunConcurrently() {
+        // "a" and "b" hash onto different stripes, of two.
+        CompletableSubject neverEnding = CompletableSubject.create();
+        sequencer.sequence("a", operation("a", neverEnding)).test();
+        sequencer.sequence("b", operation("b", Completable.complete())).test().assertComplete();
+        assertEquals(Arrays.asList("a", "b"), started);
+    }
+
+    /**
+     * A failed or disposed operation ends its turn, so that the next operation still runs.
+     */
+    @Test
+    public void failedAndDisposedOperationsEndTheirTurn() {
+        CompletableSubject disposed = CompletableSubject.create();
+        TestObserver<Void> disposedObserver = sequencer.sequence("a", operation("disposed", disposed)).test();
+        TestObserver<Void> failedObserver =
+            sequencer.sequence("a", operation("failed", Completable.error(new RuntimeException()))).test();
+        TestObserver<Void> lastObserver = sequencer.sequence("a", operation("last", Completable.complete())).test();
+
+        disposedObserver.dispose();
+        failedObserver.assertError(RuntimeException.class);
+        lastObserver.assertComplete();
+        assertEquals(Arrays.asList("disposed", "failed", "last"), started);
+        assertFalse(disposed.hasObservers());
+    }
+
+    /**
+     * An exclusive operation waits for the operations of every stripe, and holds up
+     * every stripe until it is done.
+     */
+    @Test
+    public void exclusiveOperationHoldsEveryStripe() {
+        CompletableSubject before = CompletableSubject.create();
+        CompletableSubject exclusive = CompletableSubject.create();
+        sequencer.sequence("b", operation("before", before)).test();
+        TestObserver<Void> exclusiveObserver = sequencer.sequenceExclusively(operation("exclusive", exclusive)).test();
+        assertEquals(Arrays.asList("before"), started);
+
+        before.onComplete();
+        assertEquals(Arrays.asList("before", "exclusive"), started);
+        TestObserver<Void> afterObserver = sequencer.sequence("a", operation("after", Completable.complete())).test();
+        afterObserver.assertNotComplete();
+
+        exclusive.onComplete();
+        exclusiveObserver.assertComplete();
+        afterObserver.assertComplete();
+        assertEquals(Arrays.asList("before", "exclusive", "after"), started);
+    }
+
+    private Completable operation(String name, Completable work) {
+        return Completable.defer(() -> {
+            started.add(name);
+            return work;
+        });
+    }
+}
@@ -59,6 +59,7 @@ import org.robolectric.RobolectricTestRunner;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -473,6 +474,44 @@ public final class SyncProcessorTest {
         }
     }
 
+    /**
+     * When a sync was interrupted after a page was merged, and its checkpoint is still within the
+     * base sync interval, the next sync resumes from the page that follows, instead of the first page.
+     * Once the sync completes, the checkpoint is removed, and the time at which the interrupted sync
+     * started is saved as the last sync time, so that the next delta sync covers the interruption.
+     * @throws AmplifyException On failure to arrange the checkpoint, or to build the sync requests
+     */
+    @Test
+    public void baseSyncResumesFromCheckpoint() throws AmplifyException {
+        // Arrange: a checkpoint of a base sync of BlogOwner, which had merged the first page.
+        String nextToken = RandomString.string();
+        long startTime = Time.now() - TimeUnit.HOURS.toMillis(1);
+        storageAdapter.save(SyncCheckpoint.create(
+            BlogOwner.class.getSimpleName(), null, nextToken, 1, startTime, Time.now()));
+
+        // Arrange: the first page holds Jameson, while the page of the checkpoint holds Isla.
+        AppSyncMocking.sync(appSync)
+            .mockSuccessResponse(BlogOwner.class, null, nextToken, BLOGGER_JAMESON)
+            .mockSuccessResponse(BlogOwner.class, nextToken, null, BLOGGER_ISLA);
+
+        // Act: hydrate the store.
+        assertTrue(syncProcessor.hydrate().blockingAwait(OP_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        // Assert: only the page of the checkpoint was synced, and the checkpoint is gone.
+        List<BlogOwner> blogOwners = storageAdapter.query(BlogOwner.class);
+        assertEquals(Collections.singletonList(BLOGGER_ISLA.getModel()), blogOwners);
+        assertTrue(storageAdapter.query(SyncCheckpoint.class).isEmpty());
+
+        // Assert: the last sync time of BlogOwner is when the interrupted sync started.
+        List<Long> blogOwnerSyncTimes = new ArrayList<>();
+        for (LastSyncMetadata metadata : storageAdapter.query(LastSyncMetadata.class)) {
+            if (BlogOwner.class.getSimpleName().equals(metadata.getModelClassName())) {
+                blogOwnerSyncTimes.add(metadata.getLastSyncTime());
+            }
+        }
+        assertEquals(Collections.singletonList(startTime), blogOwnerSyncTimes);
+    }
+
     /**
      * When a sync is requested, the last sync time should be considered.
      * If the last sync time is after (nowMs - baseSyncIntervalMs) - that is,
@@ -653,9 +692,10 @@ public final class SyncProcessorTest {
                         .blockingGet(),
                 // Actually...
                 Observable.fromIterable(adapterObserver.values())
-                        // Ignore the sync time records for a moment.
+                        // Ignore the sync time and sync checkpoint records for a moment.
                         .map(StorageItemChange::item)
                         .filter(item -> !LastSyncMetadata.class.isAssignableFrom(item.getClass()))
+                        .filter(item -> !SyncCheckpoint.class.isAssignableFrom(item.getClass()))
                         .toSortedList(SortByModelId::compare)
                         .blockingGet()
         );
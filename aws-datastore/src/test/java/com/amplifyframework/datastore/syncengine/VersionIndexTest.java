@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link VersionIndex}.
+ */
+public final class VersionIndexTest {
+    /**
+     * The version of an ID can be put, replaced, and removed.
+     */
+    @Test
+    public void versionsCanBePutReplacedAndRemoved() {
+        VersionIndex index = new VersionIndex();
+        String id = UUID.randomUUID().toString();
+
+        index.put(id, 1);
+        assertEquals(Integer.valueOf(1), index.get(id));
+        index.put(id, 2);
+        assertEquals(Integer.valueOf(2), index.get(id));
+        assertEquals(1, index.size());
+
+        index.remove(id);
+        assertFalse(index.containsKey(id));
+        assertNull(index.get(id));
+        assertEquals(0, index.size());
+    }
+
+    /**
+     * An ID may be in the index with a null version, which is told apart from a missing ID.
+     */
+    @Test
+    public void nullVersionIsKept() {
+        VersionIndex index = new VersionIndex();
+        String id = UUID.randomUUID().toString();
+
+        index.put(id, null);
+
+        assertTrue(index.containsKey(id));
+        assertNull(index.get(id));
+        assertFalse(index.containsKey(UUID.randomUUID().toString()));
+    }
+
+    /**
+     * IDs which are not canonical UUIDs are kept as they are, so that IDs which only differ
+     * in case, or which are not UUIDs at all, have their own versions.
+     */
+    @Test
+    public void idsWhichAreNotCanonicalUuidsAreKeptApart() {
+        VersionIndex index = new VersionIndex();
+        String lowerCaseId = UUID.randomUUID().toString();
+        String upperCaseId = lowerCaseId.toUpperCase();
+
+        index.put(lowerCaseId, 1);
+        index.put(upperCaseId, 2);
+        index.put("Jameson", 3);
+        index.put("", 4);
+
+        assertEquals(Integer.valueOf(1), index.get(lowerCaseId));
+        assertEquals(Integer.valueOf(2), index.get(upperCaseId));
+        assertEquals(Integer.valueOf(3), index.get("Jameson"));
+        assertEquals(Integer.valueOf(4), index.get(""));
+        assertEquals(4, index.size());
+    }
+
+    /**
+     * While many IDs are put into the index and removed from it, so that the table grows
+     * and its probe sequences are rearranged, the index agrees with an ordinary map.
+     */
+    @Test
+    public void manyPutsAndRemovesAgreeWithMap() {
+        VersionIndex index = new VersionIndex();
+        Map<String, Integer> expected = new HashMap<>();
+        List<String> ids = new ArrayList<>();
+        Random random = new Random(42);
+        for (int count = 0; count < 20_000; count++) {
+            String id = new UUID(random.nextLong(), random.nextLong()).toString();
+            ids.add(id);
+            index.put(id, count);
+            expected.put(id, count);
+        }
+        for (int count = 0; count < 10_000; count++) {
+            String id = ids.get(random.nextInt(ids.size()));
+            if (random.nextBoolean()) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                index.put(id, -count);
+                expected.put(id, -count);
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (String id : ids) {
+            assertEquals(expected.containsKey(id), index.containsKey(id));
+            assertEquals(expected.get(id), index.get(id));
+        }
+    }
+}
@@ -25,7 +25,10 @@ import com.amplifyframework.testmodels.commentsblog.BlogOwner;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
@@ -147,4 +150,70 @@ public final class VersionRepositoryTest {
             .assertComplete()
             .assertValue(expectedVersion);
     }
+
+    /**
+     * When looking up versions for a group of models, the repository should emit a map
+     * containing the version of each model that has versioned metadata in the store,
+     * and omit the models that do not.
+     * @throws DataStoreException On failure to arrange data into store
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void emitsVersionsForModelsWithMetadataInStore() throws DataStoreException, InterruptedException {
+        // Arrange versioning info for two of three models into the store.
+        BlogOwner jameson = BlogOwner.builder()
+            .name("Jameson")
+            .build();
+        BlogOwner tony = BlogOwner.builder()
+            .name("Tony")
+            .build();
+        BlogOwner unknown = BlogOwner.builder()
+            .name("Unknown")
+            .build();
+        storageAdapter.save(new ModelMetadata(jameson.getId(), false, 3, Temporal.Timestamp.now()));
+        storageAdapter.save(new ModelMetadata(tony.getId(), false, 7, Temporal.Timestamp.now()));
+
+        // Act: look up the versions of all three models at once.
+        TestObserver<Map<String, Integer>> observer =
+            versionRepository.findModelVersions(Arrays.asList(jameson, tony, unknown)).test();
+        assertTrue(observer.await(REASONABLE_WAIT_TIME, TimeUnit.MILLISECONDS));
+
+        // Assert: versions are emitted for the two models with metadata.
+        Map<String, Integer> expectedVersions = new HashMap<>();
+        expectedVersions.put(jameson.getId(), 3);
+        expectedVersions.put(tony.getId(), 7);
+        observer
+            .assertNoErrors()
+            .assertComplete()
+            .assertValue(expectedVersions);
+    }
+
+    /**
+     * Once the versions have been loaded, metadata which is saved to the store afterwards is
+     * reflected by the next lookup.
+     * @throws DataStoreException On failure to arrange data into store
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void emitsVersionSavedAfterVersionsWereLoaded() throws DataStoreException, InterruptedException {
+        // Arrange: load the versions, while the model is at version 1.
+        BlogOwner owner = BlogOwner.builder()
+            .name("Jameson")
+            .build();
+        storageAdapter.save(new ModelMetadata(owner.getId(), false, 1, Temporal.Timestamp.now()));
+        TestObserver<Integer> firstObserver = versionRepository.findModelVersion(owner).test();
+        assertTrue(firstObserver.await(REASONABLE_WAIT_TIME, TimeUnit.MILLISECONDS));
+        firstObserver.assertValue(1);
+
+        // Act: save a newer version, and look it up again.
+        storageAdapter.save(new ModelMetadata(owner.getId(), false, 2, Temporal.Timestamp.now()));
+        TestObserver<Integer> secondObserver = versionRepository.findModelVersion(owner).test();
+        assertTrue(secondObserver.await(REASONABLE_WAIT_TIME, TimeUnit.MILLISECONDS));
+
+        // Assert: the newer version is emitted.
+        secondObserver
+            .assertNoErrors()
+            .assertComplete()
+            .assertValue(2);
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.core.model.query;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.ObjectsCompat;
+
+import com.amplifyframework.core.model.query.predicate.QueryField;
+import com.amplifyframework.util.Immutable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Describes a value which is computed over all of the models that match a query, such as their
+ * count, or the sum of one of their fields. The models may also be divided into groups, by the
+ * values of some of their fields, in which case one value is computed for each group.
+ *
+ * For example, {@code Aggregate.count().groupedBy(Post.STATUS)} counts the posts with each status.
+ */
+public final class Aggregate {
+    private final Function function;
+    private final QueryField field;
+    private final List<QueryField> groupBy;
+
+    private Aggregate(@NonNull Function function, @Nullable QueryField field, @NonNull List<QueryField> groupBy) {
+        this.function = Objects.requireNonNull(function);
+        this.field = field;
+        this.groupBy = Immutable.of(groupBy);
+    }
+
+    /**
+     * Counts the models.
+     * @return An aggregate which counts the models
+     */
+    @NonNull
+    public static Aggregate count() {
+        return new Aggregate(Function.COUNT, null, Collections.emptyList());
+    }
+
+    /**
+     * Counts the models which have a value for a field.
+     * @param field The field to count the values of
+     * @return An aggregate which counts the non-null values of the field
+     */
+    @NonNull
+    public static Aggregate count(@NonNull QueryField field) {
+        return of(Function.COUNT, field);
+    }
+
+    /**
+     * Sums a numeric field of the models.
+     * @param field The field to sum
+     * @return An aggregate which sums the non-null values of the field
+     */
+    @NonNull
+    public static Aggregate sum(@NonNull QueryField field) {
+        return of(Function.SUM, field);
+    }
+
+    /**
+     * Averages a numeric field of the models.
+     * @param field The field to average
+     * @return An aggregate which averages the non-null values of the field
+     */
+    @NonNull
+    public static Aggregate average(@NonNull QueryField field) {
+        return of(Function.AVERAGE, field);
+    }
+
+    /**
+     * Finds the least value of a field of the models.
+     * @param field The field to find the least value of
+     * @return An aggregate which finds the least non-null value of the field
+     */
+    @NonNull
+    public static Aggregate min(@NonNull QueryField field) {
+        return of(Function.MIN, field);
+    }
+
+    /**
+     * Finds the greatest value of a field of the models.
+     * @param field The field to find the greatest value of
+     * @return An aggregate which finds the greatest non-null value of the field
+     */
+    @NonNull
+    public static Aggregate max(@NonNull QueryField field) {
+        return of(Function.MAX, field);
+    }
+
+    private static Aggregate of(Function function, QueryField field) {
+        return new Aggregate(function, Objects.requireNonNull(field), Collections.emptyList());
+    }
+
+    /**
+     * Computes this aggregate once for each group of models which have equal values for the given fields.
+     * @param fields The fields to group the models by
+     * @return A copy of this aggregate, which is computed for each group
+     */
+    @NonNull
+    public Aggregate groupedBy(@NonNull QueryField... fields) {
+        return new Aggregate(function, field, Arrays.asList(Objects.requireNonNull(fields)));
+    }
+
+    /**
+     * Gets the function which computes the aggregate.
+     * @return The aggregate function
+     */
+    @NonNull
+    public Function getFunction() {
+        return function;
+    }
+
+    /**
+     * Gets the field which the function is applied to.
+     * @return The aggregated field, or null if the aggregate is a count of the models
+     */
+    @Nullable
+    public QueryField getField() {
+        return field;
+    }
+
+    /**
+     * Gets the fields by which the models are grouped.
+     * @return The fields to group by, which is empty if all models are aggregated together
+     */
+    @NonNull
+    public List<QueryField> getGroupBy() {
+        return groupBy;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        Aggregate that = (Aggregate) object;
+        return function == that.function &&
+                ObjectsCompat.equals(field, that.field) &&
+                groupBy.equals(that.groupBy);
+    }
+
+    @Override
+    public int hashCode() {
+        return ObjectsCompat.hash(function, field, groupBy);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "Aggregate{" +
+                "function=" + function +
+                ", field=" + field +
+                ", groupBy=" + groupBy +
+                '}';
+    }
+
+    /**
+     * The functions by which an aggregate is computed.
+     */
+    public enum Function {
+        /**
+         * The number of models, or of non-null values of a field.
+         */
+        COUNT,
+        /**
+         * The sum of the non-null values of a field.
+         */
+        SUM,
+        /**
+         * The average of the non-null values of a field.
+         */
+        AVERAGE,
+        /**
+         * The least non-null value of a field.
+         */
+        MIN,
+        /**
+         * The greatest non-null value of a field.
+         */
+        MAX
+    }
+}
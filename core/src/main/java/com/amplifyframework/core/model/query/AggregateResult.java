@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.core.model.query;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.ObjectsCompat;
+
+import com.amplifyframework.util.Immutable;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The value of an {@link Aggregate}, for one group of models.
+ *
+ * A count is a {@link Long}, and an average is a {@link Double}. A sum is a {@link Long} if
+ * all of the summed values are integers, and a {@link Double} otherwise. A min or max is the
+ * value as it is stored: numbers are {@link Long}s or {@link Double}s, booleans are 0 or 1, and
+ * other values, such as enums and dates, are their {@link String} representations.
+ * Except for a count, the value is null if no model in the group has a value for the field.
+ */
+public final class AggregateResult {
+    private final Map<String, Object> group;
+    private final Object value;
+
+    /**
+     * Constructs an aggregate result.
+     * @param group The values of the grouping fields, by field name, which are shared by the group
+     * @param value The value of the aggregate for the group
+     */
+    public AggregateResult(@NonNull Map<String, Object> group, @Nullable Object value) {
+        this.group = Immutable.of(Objects.requireNonNull(group));
+        this.value = value;
+    }
+
+    /**
+     * Gets the values which the models of the group share, for each of the fields in
+     * {@link Aggregate#getGroupBy()}. Each value has the type of its field, except that an
+     * associated model is represented by its ID.
+     * @return The values of the grouping fields, by field name; empty if the models were not grouped
+     */
+    @NonNull
+    public Map<String, Object> getGroup() {
+        return group;
+    }
+
+    /**
+     * Gets the value of the aggregate for the group.
+     * @return The value of the aggregate
+     */
+    @Nullable
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        AggregateResult that = (AggregateResult) object;
+        return group.equals(that.group) &&
+                ObjectsCompat.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return ObjectsCompat.hash(group, value);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "AggregateResult{" +
+                "group=" + group +
+                ", value=" + value +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.core.model.query;
+
+/**
+ * Enum used to specify how the models that a queried model belongs to are loaded.
+ * @see QueryOptions#loadingAssociations(AssociationLoadingPolicy)
+ */
+public enum AssociationLoadingPolicy {
+    /**
+     * Read each associated model along with the queried model, and each model that it belongs
+     * to in turn. This is the default.
+     */
+    EAGER,
+
+    /**
+     * Do not read associated models. Each association is populated with an instance of the
+     * associated model that has only its ID, so that the full models can be queried later,
+     * by their IDs, if they are needed.
+     */
+    LAZY,
+
+    /**
+     * Do not read associated models, and leave each association empty.
+     */
+    NONE;
+}
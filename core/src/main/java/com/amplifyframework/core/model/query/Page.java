@@ -15,6 +15,12 @@
 
 package com.amplifyframework.core.model.query;
 
+import androidx.annotation.NonNull;
+
+import com.amplifyframework.core.model.Model;
+
+import java.util.Objects;
+
 /**
  * Query DSL for pagination.
  */
@@ -38,6 +44,21 @@ public final class Page {
         return new QueryPaginationInput(page, DEFAULT_LIMIT);
     }
 
+    /**
+     * Creates a {@link QueryPaginationInput} for the page which follows the given item, in the
+     * order given by {@link QueryOptions#sorted(QuerySortBy...)}. Ties between items with equal
+     * sort keys are broken by their ids, so that every item appears on exactly one page.
+     *
+     * Unlike {@link #startingAt(int)}, the cost of fetching a page does not grow with the number
+     * of pages which precede it. This makes it the better choice for walking through large results.
+     *
+     * @param lastSeenItem the last item of the previous page
+     * @return a new instance of <code>QueryPaginationInput</code>.
+     */
+    public static QueryPaginationInput startingAfter(@NonNull final Model lastSeenItem) {
+        return new QueryPaginationInput(0, DEFAULT_LIMIT, Objects.requireNonNull(lastSeenItem));
+    }
+
     /**
      * Utility that creates a <code>QueryPaginationInput</code>
      * with <code>page</code> 0 and <code>limit</code> {@link #DEFAULT_LIMIT}.
@@ -19,6 +19,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.util.ObjectsCompat;
 
+import com.amplifyframework.core.model.query.predicate.QueryField;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 
@@ -34,6 +35,8 @@ public final class QueryOptions {
     private QueryPredicate queryPredicate;
     private QueryPaginationInput paginationInput;
     private List<QuerySortBy> sortBy;
+    private AssociationLoadingPolicy associationLoadingPolicy;
+    private List<QueryField> projection;
 
     /**
      * This class should be created using the factory methods such as {@link Where#matchesAll()}
@@ -43,10 +46,23 @@ public final class QueryOptions {
             @Nullable QueryPredicate queryPredicate,
             @Nullable QueryPaginationInput paginationInput,
             @Nullable List<QuerySortBy> sortBy
+    ) {
+        this(queryPredicate, paginationInput, sortBy, null, null);
+    }
+
+    private QueryOptions(
+            @Nullable QueryPredicate queryPredicate,
+            @Nullable QueryPaginationInput paginationInput,
+            @Nullable List<QuerySortBy> sortBy,
+            @Nullable AssociationLoadingPolicy associationLoadingPolicy,
+            @Nullable List<QueryField> projection
     ) {
         this.queryPredicate = queryPredicate == null ? QueryPredicates.all() : queryPredicate;
         this.paginationInput = paginationInput;
         this.sortBy = sortBy;
+        this.associationLoadingPolicy = associationLoadingPolicy == null ?
+                AssociationLoadingPolicy.EAGER : associationLoadingPolicy;
+        this.projection = projection;
     }
 
     QueryOptions() {
@@ -61,7 +77,8 @@ public final class QueryOptions {
      */
     @NonNull
     public QueryOptions matches(@NonNull final QueryPredicate queryPredicate) {
-        return new QueryOptions(Objects.requireNonNull(queryPredicate), paginationInput, sortBy);
+        return new QueryOptions(Objects.requireNonNull(queryPredicate), paginationInput, sortBy,
+                associationLoadingPolicy, projection);
     }
 
     /**
@@ -74,7 +91,8 @@ public final class QueryOptions {
      */
     @NonNull
     public QueryOptions paginated(@NonNull final QueryPaginationInput paginationInput) {
-        return new QueryOptions(queryPredicate, Objects.requireNonNull(paginationInput), sortBy);
+        return new QueryOptions(queryPredicate, Objects.requireNonNull(paginationInput), sortBy,
+                associationLoadingPolicy, projection);
     }
 
     /**
@@ -84,7 +102,39 @@ public final class QueryOptions {
      * @return current options with an updated {@code sortBy}.
      */
     public QueryOptions sorted(@NonNull final QuerySortBy... querySortBy) {
-        return new QueryOptions(queryPredicate, paginationInput, Arrays.asList(Objects.requireNonNull(querySortBy)));
+        return new QueryOptions(queryPredicate, paginationInput, Arrays.asList(Objects.requireNonNull(querySortBy)),
+                associationLoadingPolicy, projection);
+    }
+
+    /**
+     * Returns an immutable copy of the current query options with the given {@code associationLoadingPolicy}.
+     * The policy decides whether the models that each result belongs to are read along with it.
+     * Lists which only show the queried model's own fields can avoid reading, and joining, every
+     * associated model by using {@link AssociationLoadingPolicy#LAZY} or {@link AssociationLoadingPolicy#NONE}.
+     *
+     * @param associationLoadingPolicy how associated models are loaded.
+     * @return current options with an updated {@code associationLoadingPolicy}.
+     */
+    @NonNull
+    public QueryOptions loadingAssociations(@NonNull final AssociationLoadingPolicy associationLoadingPolicy) {
+        return new QueryOptions(queryPredicate, paginationInput, sortBy,
+                Objects.requireNonNull(associationLoadingPolicy), projection);
+    }
+
+    /**
+     * Returns an immutable copy of the current query options which reads only the given fields
+     * of each result, such as {@code Where.matchesAll().select(Todo.NAME, Todo.STATUS)}. The
+     * primary key is always read. Other fields are left empty, and an association in the
+     * projection is read as an instance with only its ID, unless associations are not loaded
+     * at all.
+     *
+     * @param fields the fields to read.
+     * @return current options with an updated {@code projection}.
+     */
+    @NonNull
+    public QueryOptions select(@NonNull final QueryField... fields) {
+        return new QueryOptions(queryPredicate, paginationInput, sortBy, associationLoadingPolicy,
+                Arrays.asList(Objects.requireNonNull(fields)));
     }
 
     /**
@@ -114,6 +164,24 @@ public final class QueryOptions {
         return sortBy;
     }
 
+    /**
+     * Returns the {@code associationLoadingPolicy} property.
+     * @return the {@code associationLoadingPolicy} property.
+     */
+    @NonNull
+    public AssociationLoadingPolicy getAssociationLoadingPolicy() {
+        return associationLoadingPolicy;
+    }
+
+    /**
+     * Returns the {@code projection} property.
+     * @return the {@code projection} property, or null if every field is read.
+     */
+    @Nullable
+    public List<QueryField> getProjection() {
+        return projection;
+    }
+
     @Override
     public boolean equals(@Nullable Object object) {
         if (this == object) {
@@ -125,12 +193,14 @@ public final class QueryOptions {
         QueryOptions that = (QueryOptions) object;
         return ObjectsCompat.equals(queryPredicate, that.queryPredicate) &&
                 ObjectsCompat.equals(paginationInput, that.paginationInput) &&
-                ObjectsCompat.equals(sortBy, that.sortBy);
+                ObjectsCompat.equals(sortBy, that.sortBy) &&
+                associationLoadingPolicy == that.associationLoadingPolicy &&
+                ObjectsCompat.equals(projection, that.projection);
     }
 
     @Override
     public int hashCode() {
-        return ObjectsCompat.hash(queryPredicate, paginationInput, sortBy);
+        return ObjectsCompat.hash(queryPredicate, paginationInput, sortBy, associationLoadingPolicy, projection);
     }
 
     @NonNull
@@ -140,6 +210,8 @@ public final class QueryOptions {
                 "queryPredicate=" + queryPredicate +
                 ", paginationInput=" + paginationInput +
                 ", sortBy=" + sortBy +
+                ", associationLoadingPolicy=" + associationLoadingPolicy +
+                ", projection=" + projection +
                 '}';
     }
 }
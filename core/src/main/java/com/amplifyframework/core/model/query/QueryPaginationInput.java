@@ -16,10 +16,17 @@
 package com.amplifyframework.core.model.query;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.util.ObjectsCompat;
 
+import com.amplifyframework.core.model.Model;
+
 /**
  * A simple data structure that holds pagination information that can be applied queries.
+ *
+ * A page may be identified either by its number, or by the last item of the previous page. When
+ * the last seen item is provided, the next page is found by seeking past that item's sort keys
+ * and id, instead of by skipping over all of the rows of the preceding pages.
  */
 public final class QueryPaginationInput {
 
@@ -30,10 +37,16 @@ public final class QueryPaginationInput {
 
     private final int page;
     private final int limit;
+    private final Model lastSeenItem;
 
     QueryPaginationInput(int page, int limit) {
+        this(page, limit, null);
+    }
+
+    QueryPaginationInput(int page, int limit, @Nullable Model lastSeenItem) {
         this.page = page;
         this.limit = limit;
+        this.lastSeenItem = lastSeenItem;
     }
 
     /**
@@ -43,7 +56,7 @@ public final class QueryPaginationInput {
      * @return a copy of the current {@link QueryPaginationInput} with a new <code>limit</code>.
      */
     public QueryPaginationInput withLimit(@NonNull Integer limit) {
-        return new QueryPaginationInput(this.page, limit);
+        return new QueryPaginationInput(this.page, limit, this.lastSeenItem);
     }
 
     /**
@@ -62,6 +75,16 @@ public final class QueryPaginationInput {
         return limit;
     }
 
+    /**
+     * Returns the {@code lastSeenItem} property, which is the last item of the previous page,
+     * or null if the page is identified by its number.
+     * @return the {@code lastSeenItem} property.
+     */
+    @Nullable
+    public Model getLastSeenItem() {
+        return lastSeenItem;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) {
@@ -72,12 +95,13 @@ public final class QueryPaginationInput {
         }
         QueryPaginationInput that = (QueryPaginationInput) object;
         return page == that.page &&
-                limit == that.limit;
+                limit == that.limit &&
+                ObjectsCompat.equals(lastSeenItem, that.lastSeenItem);
     }
 
     @Override
     public int hashCode() {
-        return ObjectsCompat.hash(page, limit);
+        return ObjectsCompat.hash(page, limit, lastSeenItem);
     }
 
     @Override
@@ -85,6 +109,7 @@ public final class QueryPaginationInput {
         return "QueryPaginationInput{" +
                 "page=" + page +
                 ", limit=" + limit +
+                ", lastSeenItem=" + lastSeenItem +
                 '}';
     }
 
@@ -15,8 +15,13 @@
 
 package com.amplifyframework.core.model.query.predicate;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.ObjectsCompat;
+
 import com.amplifyframework.core.model.query.QuerySortBy;
 import com.amplifyframework.core.model.query.QuerySortOrder;
+import com.amplifyframework.util.Wrap;
 
 /**
  * Represents a property in a model with methods for chaining conditions.
@@ -56,6 +61,24 @@ public final class QueryField {
         return new QueryField(modelName, fieldName);
     }
 
+    /**
+     * Returns the name of the model owning this field.
+     * @return the name of the model owning this field, or null if it was not given.
+     */
+    @Nullable
+    public String getModelName() {
+        return modelName;
+    }
+
+    /**
+     * Returns the name of the model property this QueryField represents.
+     * @return the name of the model property.
+     */
+    @NonNull
+    public String getFieldName() {
+        return fieldName;
+    }
+
     /**
      * Generates a new equality comparison object to compare this field to the specified value.
      * @param value the value to be compared
@@ -169,4 +192,32 @@ public final class QueryField {
     public QuerySortBy descending() {
         return new QuerySortBy(modelName, fieldName, QuerySortOrder.DESCENDING);
     }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        QueryField that = (QueryField) object;
+        return ObjectsCompat.equals(modelName, that.modelName) &&
+                ObjectsCompat.equals(fieldName, that.fieldName);
+    }
+
+    @Override
+    public int hashCode() {
+        return ObjectsCompat.hash(modelName, fieldName);
+    }
+
+    @Override
+    public String toString() {
+        return "QueryField{" +
+                "model=" + (modelName == null ? null : Wrap.inSingleQuotes(modelName)) +
+                ", field=" + Wrap.inSingleQuotes(fieldName) +
+                '}';
+    }
 }
@@ -23,10 +23,13 @@ import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.category.Category;
 import com.amplifyframework.core.category.CategoryType;
 import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.query.Aggregate;
+import com.amplifyframework.core.model.query.AggregateResult;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * DataStore simplifies local storage of your application data on the
@@ -135,6 +138,28 @@ public final class DataStoreCategory
         getSelectedPlugin().query(itemClass, options, onQueryResults, onQueryFailure);
     }
 
+    @Override
+    public <T extends Model> void queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<Cancelable> onQueryStarted,
+            @NonNull Consumer<T> onQueryResult,
+            @NonNull Consumer<DataStoreException> onQueryFailure,
+            @NonNull Action onQueryCompleted) {
+        getSelectedPlugin().queryStream(
+            itemClass, options, onQueryStarted, onQueryResult, onQueryFailure, onQueryCompleted);
+    }
+
+    @Override
+    public <T extends Model> void aggregate(
+            @NonNull Class<T> itemClass,
+            @NonNull Aggregate aggregate,
+            @NonNull QueryPredicate predicate,
+            @NonNull Consumer<List<AggregateResult>> onAggregateResults,
+            @NonNull Consumer<DataStoreException> onAggregateFailure) {
+        getSelectedPlugin().aggregate(itemClass, aggregate, predicate, onAggregateResults, onAggregateFailure);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -192,6 +217,18 @@ public final class DataStoreCategory
             onObservationStarted, onDataStoreItemChange, onObservationFailure, onObservationCompleted);
     }
 
+    @Override
+    public <T extends Model> void observeQuery(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<Cancelable> onObservationStarted,
+            @NonNull Consumer<DataStoreQuerySnapshot<T>> onQuerySnapshot,
+            @NonNull Consumer<DataStoreException> onObservationFailure,
+            @NonNull Action onObservationCompleted) {
+        getSelectedPlugin().observeQuery(itemClass, options,
+            onObservationStarted, onQuerySnapshot, onObservationFailure, onObservationCompleted);
+    }
+
     @Override
     public void start(@NonNull Action onComplete, @NonNull Consumer<DataStoreException> onError) {
         getSelectedPlugin().start(onComplete, onError);
@@ -22,10 +22,13 @@ import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelField;
+import com.amplifyframework.core.model.query.Aggregate;
+import com.amplifyframework.core.model.query.AggregateResult;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * A DataStore is a high-level abstraction of an object repository.
@@ -161,6 +164,53 @@ public interface DataStoreCategoryBehavior {
             @NonNull Consumer<DataStoreException> onQueryFailure
     );
 
+    /**
+     * Query the DataStore to find items of the requested Java class, using the provided
+     * {@link QueryOptions}, and stream the results one at a time. Unlike
+     * {@link #query(Class, QueryOptions, Consumer, Consumer)}, the results are not all
+     * loaded into memory before they are delivered. Instead, each result is read from
+     * storage after the previous result has been accepted by {@code onQueryResult}.
+     * The stream may be stopped early by canceling the {@link Cancelable} that is
+     * passed to {@code onQueryStarted}.
+     * Since the storage keeps its cursor open while {@code onQueryResult} runs, it should
+     * hand each result off promptly, rather than wait for other work on the DataStore.
+     * @param itemClass Class of items that will be queried
+     * @param options Filtering, paging, and sorting options
+     * @param onQueryStarted Called when the query begins
+     * @param onQueryResult Called once for each item that matches the query
+     * @param onQueryFailure Called if a failure interrupts the stream of results
+     * @param onQueryCompleted Called after the last result has been delivered
+     * @param <T> The type of items being queried
+     */
+    <T extends Model> void queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<Cancelable> onQueryStarted,
+            @NonNull Consumer<T> onQueryResult,
+            @NonNull Consumer<DataStoreException> onQueryFailure,
+            @NonNull Action onQueryCompleted
+    );
+
+    /**
+     * Compute an {@link Aggregate}, such as a count or a sum, over the items of the requested
+     * Java class that fulfill the predicate. The aggregate is computed by the storage, so the
+     * items themselves are never loaded. If the aggregate groups the items by some of their
+     * fields, one result is returned for each group. Otherwise, exactly one result is returned.
+     * @param itemClass Class of items that will be aggregated
+     * @param aggregate The aggregate to compute, and the fields to group the items by
+     * @param predicate Predicate condition that the aggregated items fulfill
+     * @param onAggregateResults Called with the result for each group
+     * @param onAggregateFailure Called when a failure prevents the aggregate from being computed
+     * @param <T> The type of items being aggregated
+     */
+    <T extends Model> void aggregate(
+            @NonNull Class<T> itemClass,
+            @NonNull Aggregate aggregate,
+            @NonNull QueryPredicate predicate,
+            @NonNull Consumer<List<AggregateResult>> onAggregateResults,
+            @NonNull Consumer<DataStoreException> onAggregateFailure
+    );
+
     /**
      * Observe all changes to any/all item(s) in the DataStore.
      * @param onObservationStarted Called when observation begins
@@ -245,6 +295,33 @@ public interface DataStoreCategoryBehavior {
             @NonNull Action onObservationCompleted
     );
 
+    /**
+     * Observe the results of a query, as they change over time. A first snapshot of the results
+     * is emitted once they have been queried, and then a new snapshot is emitted whenever the
+     * results change: when an item starts or stops matching the query's predicate, or when an
+     * item that matches it is updated. Changes which occur close together, such as during a sync,
+     * are gathered into a single snapshot. Each snapshot holds all of the results, sorted as
+     * the query requests, along with the items which were added, changed, and removed since the
+     * previous snapshot. Pagination is not supported.
+     * @param itemClass The class of item(s) to observe
+     * @param options Filtering and sorting options of the observed query
+     * @param onObservationStarted Called when observation begins
+     * @param onQuerySnapshot Called with the first snapshot of the results, and then 0..n times,
+     *                        whenever the results change
+     * @param onObservationFailure Called if observation of the DataStore terminates
+     *                             with a non-recoverable failure
+     * @param onObservationCompleted Called when observation completes gracefully
+     * @param <T> The type of the item(s) to observe
+     */
+    <T extends Model> void observeQuery(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<Cancelable> onObservationStarted,
+            @NonNull Consumer<DataStoreQuerySnapshot<T>> onQuerySnapshot,
+            @NonNull Consumer<DataStoreException> onObservationFailure,
+            @NonNull Action onObservationCompleted
+    );
+
     /**
      * Starts the DataStore's synchronization with a remote system, if DataStore is configured to support
      * remote synchronization. This only needs to be called if you wish to start the synchronization eagerly.
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.util.Immutable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The results of an observed query, as of some point in time, along with the changes to the
+ * results since the previous snapshot. The first snapshot of a query reports all of its results
+ * as added.
+ * @param <T> The type of the items in the results
+ */
+public final class DataStoreQuerySnapshot<T extends Model> {
+    private final List<T> items;
+    private final List<T> added;
+    private final List<T> changed;
+    private final List<T> removed;
+
+    /**
+     * Constructs a snapshot of the results of a query.
+     * @param items All of the results, in the order requested by the query
+     * @param added The results which were not in the previous snapshot
+     * @param changed The results which were in the previous snapshot, and have been updated since
+     * @param removed The items which were in the previous snapshot, and no longer match the query
+     */
+    public DataStoreQuerySnapshot(
+            @NonNull List<T> items,
+            @NonNull List<T> added,
+            @NonNull List<T> changed,
+            @NonNull List<T> removed) {
+        this.items = Immutable.of(Objects.requireNonNull(items));
+        this.added = Immutable.of(Objects.requireNonNull(added));
+        this.changed = Immutable.of(Objects.requireNonNull(changed));
+        this.removed = Immutable.of(Objects.requireNonNull(removed));
+    }
+
+    /**
+     * Gets all of the results of the query, in the order requested by the query.
+     * @return The results of the query
+     */
+    @NonNull
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the results which were not in the previous snapshot.
+     * @return The added results
+     */
+    @NonNull
+    public List<T> getAdded() {
+        return added;
+    }
+
+    /**
+     * Gets the results which were in the previous snapshot, and have been updated since.
+     * @return The updated results, as they are now
+     */
+    @NonNull
+    public List<T> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Gets the items which were in the previous snapshot, but no longer match the query,
+     * either because they were deleted, or because they were updated to no longer match.
+     * @return The removed items, as they were before they were removed
+     */
+    @NonNull
+    public List<T> getRemoved() {
+        return removed;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        DataStoreQuerySnapshot<?> that = (DataStoreQuerySnapshot<?>) object;
+        return items.equals(that.items) &&
+                added.equals(that.added) &&
+                changed.equals(that.changed) &&
+                removed.equals(that.removed);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = items.hashCode();
+        result = 31 * result + added.hashCode();
+        result = 31 * result + changed.hashCode();
+        result = 31 * result + removed.hashCode();
+        return result;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "DataStoreQuerySnapshot{" +
+                "items=" + items +
+                ", added=" + added +
+                ", changed=" + changed +
+                ", removed=" + removed +
+                '}';
+    }
+}
@@ -22,21 +22,36 @@ import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.NoOpAction;
 import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.PrimaryKey;
+import com.amplifyframework.core.model.query.Aggregate;
+import com.amplifyframework.core.model.query.AggregateResult;
+import com.amplifyframework.core.model.query.Page;
 import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.QueryPaginationInput;
+import com.amplifyframework.core.model.query.QuerySortBy;
+import com.amplifyframework.core.model.query.QuerySortOrder;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.datastore.DataStoreCategory;
 import com.amplifyframework.datastore.DataStoreCategoryBehavior;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.DataStoreItemChange;
+import com.amplifyframework.datastore.DataStoreQuerySnapshot;
 import com.amplifyframework.rx.RxAdapters.VoidBehaviors;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
 
 final class RxDataStoreBinding implements RxDataStoreCategoryBehavior {
+    // The number of results that a streamed query reads from storage at a time.
+    private static final int QUERY_STREAM_WINDOW_SIZE = Page.DEFAULT_LIMIT;
+
     private final DataStoreCategoryBehavior dataStore;
 
     RxDataStoreBinding() {
@@ -102,6 +117,60 @@ final class RxDataStoreBinding implements RxDataStoreCategoryBehavior {
             dataStore.query(itemClass, options, onResult, onError));
     }
 
+    @NonNull
+    @Override
+    public <T extends Model> Flowable<T> queryStream(
+            @NonNull Class<T> itemClass, @NonNull QueryOptions options) {
+        if (options.getPaginationInput() != null) {
+            // The caller has already bounded the query to a single page.
+            return queryWindow(itemClass, options).flattenAsFlowable(window -> window);
+        }
+        // Each window is read by a short query, which starts after the last item of the
+        // previous window, and only once the previous window has been consumed. No storage
+        // thread or cursor is held while waiting on the subscriber. Windows must be in a
+        // total order, which is by id when the caller did not ask for one.
+        final QueryOptions orderedOptions = options.getSortBy() == null ?
+            options.sorted(new QuerySortBy(PrimaryKey.fieldName(), QuerySortOrder.ASCENDING)) : options;
+        return Flowable.defer(() -> {
+            AtomicReference<T> lastSeenItem = new AtomicReference<>();
+            return Flowable.<Single<List<T>>>generate(emitter -> emitter.onNext(Single.defer(() -> {
+                T lastSeen = lastSeenItem.get();
+                QueryPaginationInput window = lastSeen == null ?
+                    Page.firstPage().withLimit(QUERY_STREAM_WINDOW_SIZE) :
+                    Page.startingAfter(lastSeen).withLimit(QUERY_STREAM_WINDOW_SIZE);
+                return queryWindow(itemClass, orderedOptions.paginated(window))
+                    .doOnSuccess(results -> {
+                        if (!results.isEmpty()) {
+                            lastSeenItem.set(results.get(results.size() - 1));
+                        }
+                    });
+            })))
+                .concatMapSingle(window -> window, 1)
+                .takeUntil(results -> results.size() < QUERY_STREAM_WINDOW_SIZE)
+                .concatMapIterable(results -> results, 1);
+        });
+    }
+
+    private <T extends Model> Single<List<T>> queryWindow(Class<T> itemClass, QueryOptions options) {
+        return VoidBehaviors.<Iterator<T>, DataStoreException>toSingle((onResult, onError) ->
+            dataStore.query(itemClass, options, onResult, onError))
+            .map(iterator -> {
+                List<T> results = new ArrayList<>();
+                while (iterator.hasNext()) {
+                    results.add(iterator.next());
+                }
+                return results;
+            });
+    }
+
+    @NonNull
+    @Override
+    public <T extends Model> Single<List<AggregateResult>> aggregate(
+            @NonNull Class<T> itemClass, @NonNull Aggregate aggregate, @NonNull QueryPredicate predicate) {
+        return VoidBehaviors.toSingle((onResult, onError) ->
+            dataStore.aggregate(itemClass, aggregate, predicate, onResult, onError));
+    }
+
     @NonNull
     @Override
     public Observable<DataStoreItemChange<? extends Model>> observe() {
@@ -134,6 +203,15 @@ final class RxDataStoreBinding implements RxDataStoreCategoryBehavior {
         );
     }
 
+    @NonNull
+    @Override
+    public <T extends Model> Observable<DataStoreQuerySnapshot<T>> observeQuery(
+            @NonNull Class<T> itemClass, @NonNull QueryOptions options) {
+        return toObservable((onStart, onItem, onError, onComplete) ->
+            dataStore.observeQuery(itemClass, options, onStart, onItem, onError, onComplete)
+        );
+    }
+
     @Override
     public Completable start() {
         return VoidBehaviors.toCompletable(dataStore::start);
@@ -18,13 +18,20 @@ package com.amplifyframework.rx;
 import androidx.annotation.NonNull;
 
 import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.query.Aggregate;
+import com.amplifyframework.core.model.query.AggregateResult;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.datastore.DataStoreCategoryBehavior;
 import com.amplifyframework.datastore.DataStoreItemChange;
+import com.amplifyframework.datastore.DataStoreQuerySnapshot;
+
+import java.util.List;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
 
 /**
  * An Rx-idiomatic expression of the behaviors in {@link DataStoreCategoryBehavior}.
@@ -134,6 +141,44 @@ public interface RxDataStoreCategoryBehavior {
             @NonNull QueryOptions options
     );
 
+    /**
+     * Query the DataStore to find items of the requested Java class, using the provided
+     * {@link QueryOptions}, and stream the results as they are read from storage. Unlike
+     * {@link #query(Class, QueryOptions)}, the results are not all loaded into memory before
+     * the first one is emitted. Results are read in windows of consecutive items, as the
+     * subscriber requests them, and no storage resources are held between windows. When the
+     * options are paginated, only that page is read. Unsorted results are streamed by id.
+     * When the options select a projection, it should include the fields which the results
+     * are sorted by.
+     * @param itemClass Class of items that will be queried
+     * @param options Filtering, paging, and sorting options
+     * @param <T> The type of items being queried
+     * @return A flowable stream of 0..n query results, which then terminates
+     *         with either a completion or an error
+     */
+    @NonNull
+    <T extends Model> Flowable<T> queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options
+    );
+
+    /**
+     * Compute an {@link Aggregate}, such as a count or a sum, over the items of the requested
+     * Java class that fulfill the predicate. If the aggregate groups the items by some of their
+     * fields, one result is emitted for each group. Otherwise, exactly one result is emitted.
+     * @param itemClass Class of items that will be aggregated
+     * @param aggregate The aggregate to compute, and the fields to group the items by
+     * @param predicate Predicate condition that the aggregated items fulfill
+     * @param <T> The type of items being aggregated
+     * @return A single which emits the result for each group, or an error
+     */
+    @NonNull
+    <T extends Model> Single<List<AggregateResult>> aggregate(
+            @NonNull Class<T> itemClass,
+            @NonNull Aggregate aggregate,
+            @NonNull QueryPredicate predicate
+    );
+
     /**
      * Observe all changes to any/all item(s) in the DataStore.
      * @return An observable stream of {@link DataStoreItemChange}s,
@@ -189,6 +234,23 @@ public interface RxDataStoreCategoryBehavior {
             @NonNull QueryPredicate selectionCriteria
     );
 
+    /**
+     * Observe the results of a query, as they change over time. The first snapshot holds the
+     * results as they are first queried. A new snapshot is then emitted whenever the results
+     * change, with changes that occur close together, such as during a sync, gathered into
+     * a single snapshot. Pagination is not supported.
+     * @param itemClass The class of item(s) to observe
+     * @param options Filtering and sorting options of the observed query
+     * @param <T> The type of the item(s) to observe
+     * @return An observable stream of {@link DataStoreQuerySnapshot}s, each of which holds
+     *         all of the results, and the changes to them since the previous snapshot
+     */
+    @NonNull
+    <T extends Model> Observable<DataStoreQuerySnapshot<T>> observeQuery(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options
+    );
+
     /**
      * Starts the DataStore.  This only needs to be called if you wish to start eagerly.  If you don't call it,
      * it will be called automatically prior to executing any other operations (#query, #save, #delete, #observe).
@@ -23,6 +23,14 @@ import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.async.NoOpCancelable;
 import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.query.Aggregate;
+import com.amplifyframework.core.model.query.AggregateResult;
+import com.amplifyframework.core.model.query.Page;
+import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.QueryPaginationInput;
+import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreCategory;
 import com.amplifyframework.datastore.DataStoreCategoryConfiguration;
 import com.amplifyframework.datastore.DataStoreException;
@@ -30,24 +38,31 @@ import com.amplifyframework.datastore.DataStoreItemChange;
 import com.amplifyframework.datastore.DataStoreItemChange.Initiator;
 import com.amplifyframework.datastore.DataStoreItemChange.Type;
 import com.amplifyframework.datastore.DataStorePlugin;
+import com.amplifyframework.datastore.DataStoreQuerySnapshot;
 import com.amplifyframework.testutils.random.RandomModel;
 import com.amplifyframework.testutils.random.RandomString;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
 
 import static com.amplifyframework.rx.Matchers.anyAction;
 import static com.amplifyframework.rx.Matchers.anyConsumer;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -266,6 +281,146 @@ public final class RxDataStoreBindingTest {
             .query(eq(Model.class), anyConsumer(), anyConsumer());
     }
 
+    /**
+     * When the DataStore category behavior returns fewer results than fill a window, the Rx
+     * binding for a streamed query should emit them, and then complete.
+     * @throws InterruptedException If interrupted while test subscriber is awaiting terminal event
+     */
+    @Test
+    public void queryStreamEmitsCategoryBehaviorResults() throws InterruptedException {
+        // Arrange: the category behavior holds two models.
+        List<Model> models = Arrays.asList(RandomModel.model(), RandomModel.model());
+        answerQueriesFrom(models);
+
+        // Act: stream a query for Model.class via the Rx binding
+        TestSubscriber<Model> subscriber = rxDataStore.queryStream(Model.class, Where.matchesAll()).test();
+
+        // Assert: results are emitted, then the stream completes, after a single query.
+        subscriber.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        subscriber
+            .assertValueSequence(models)
+            .assertComplete();
+        verify(delegate)
+            .query(eq(Model.class), any(QueryOptions.class), anyConsumer(), anyConsumer());
+    }
+
+    /**
+     * The Rx binding for a streamed query should read the results a window at a time, and
+     * only read further windows as the subscriber requests more results.
+     * @throws InterruptedException If interrupted while test subscriber is awaiting terminal event
+     */
+    @Test
+    public void queryStreamReadsWindowsOnDemand() throws InterruptedException {
+        // Arrange: the category behavior holds three and a half windows of models.
+        List<Model> models = new ArrayList<>();
+        final int modelCount = Page.DEFAULT_LIMIT * 3 + Page.DEFAULT_LIMIT / 2;
+        for (int index = 0; index < modelCount; index++) {
+            models.add(RandomModel.model());
+        }
+        answerQueriesFrom(models);
+
+        // Act: subscribe, requesting a single result.
+        TestSubscriber<Model> subscriber = rxDataStore.queryStream(Model.class, Where.matchesAll()).test(1);
+
+        // Assert: one result is emitted, and at most one window is read ahead of it.
+        subscriber.assertValueCount(1).assertNotComplete();
+        verify(delegate, atMost(2))
+            .query(eq(Model.class), any(QueryOptions.class), anyConsumer(), anyConsumer());
+
+        // Act: request the rest of the results.
+        subscriber.request(Long.MAX_VALUE);
+
+        // Assert: every result is emitted in order, from one query per window.
+        subscriber.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        subscriber
+            .assertValueSequence(models)
+            .assertComplete();
+        verify(delegate, times(4))
+            .query(eq(Model.class), any(QueryOptions.class), anyConsumer(), anyConsumer());
+    }
+
+    /**
+     * When the options of a streamed query are already paginated, the Rx binding should
+     * read only that page.
+     * @throws InterruptedException If interrupted while test subscriber is awaiting terminal event
+     */
+    @Test
+    public void queryStreamReadsOnlyTheRequestedPage() throws InterruptedException {
+        // Arrange: the category behavior holds more models than fit on the requested page.
+        List<Model> models = Arrays.asList(RandomModel.model(), RandomModel.model(), RandomModel.model());
+        answerQueriesFrom(models);
+        QueryOptions options = Where.matchesAll().paginated(Page.firstPage().withLimit(2));
+
+        // Act: stream the first page.
+        TestSubscriber<Model> subscriber = rxDataStore.queryStream(Model.class, options).test();
+
+        // Assert: only the page is emitted, from the caller's own options.
+        subscriber.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        subscriber
+            .assertValueSequence(models.subList(0, 2))
+            .assertComplete();
+        verify(delegate)
+            .query(eq(Model.class), eq(options), anyConsumer(), anyConsumer());
+    }
+
+    /**
+     * When a subscriber to the Rx binding for a streamed query cancels, no further
+     * windows should be read.
+     */
+    @Test
+    public void queryStreamStopsReadingWhenCanceled() {
+        // Arrange: the category behavior holds more models than fit in one window.
+        List<Model> models = new ArrayList<>();
+        final int modelCount = Page.DEFAULT_LIMIT * 2;
+        for (int index = 0; index < modelCount; index++) {
+            models.add(RandomModel.model());
+        }
+        answerQueriesFrom(models);
+
+        // Act: take one result, then cancel.
+        TestSubscriber<Model> subscriber = rxDataStore.queryStream(Model.class, Where.matchesAll()).test(1);
+        subscriber.cancel();
+        subscriber.request(Long.MAX_VALUE);
+
+        // Assert: nothing more was read or emitted.
+        subscriber.assertValueCount(1).assertNotComplete();
+        verify(delegate, atMost(2))
+            .query(eq(Model.class), any(QueryOptions.class), anyConsumer(), anyConsumer());
+    }
+
+    /**
+     * When the DataStore category behavior computes an aggregate, the results
+     * should be emitted by a Single in the Rx binding.
+     * @throws InterruptedException If interrupted while test observer is awaiting terminal event
+     */
+    @Test
+    public void aggregateEmitsCategoryBehaviorResults() throws InterruptedException {
+        // Arrange: the category behavior computes a count.
+        Aggregate aggregate = Aggregate.count();
+        QueryPredicate predicate = QueryPredicates.all();
+        List<AggregateResult> results =
+            Collections.singletonList(new AggregateResult(Collections.emptyMap(), 2L));
+        doAnswer(invocation -> {
+            // 0 = clazz, 1 = aggregate, 2 = predicate, 3 = onResults, 4 = onFailure
+            final int positionOfOnResults = 3;
+            Consumer<List<AggregateResult>> onResults = invocation.getArgument(positionOfOnResults);
+            onResults.accept(results);
+            return null; // "void"
+        }).when(delegate)
+            .aggregate(eq(Model.class), eq(aggregate), eq(predicate), anyConsumer(), anyConsumer());
+
+        // Act: compute the aggregate via the Rx binding
+        TestObserver<List<AggregateResult>> observer =
+            rxDataStore.aggregate(Model.class, aggregate, predicate).test();
+
+        // Assert: the results are emitted
+        observer.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        observer.assertValue(results);
+
+        verify(delegate)
+            .aggregate(eq(Model.class), eq(aggregate), eq(predicate), anyConsumer(), anyConsumer());
+    }
+
     /**
      * The Rx binding for observing the DataStore should be an Observable stream
      * of DataStore changes. It should emit events whenever they are observed
@@ -373,6 +528,44 @@ public final class RxDataStoreBindingTest {
             .observe(eq(Model.class), anyConsumer(), anyConsumer(), anyConsumer(), anyAction());
     }
 
+    /**
+     * The Rx binding for observing a query is an Observable stream of the snapshots
+     * which the category behavior emits.
+     */
+    @Test
+    public void observeQueryReturnsCategoryBehaviorSnapshots() {
+        // Arrange: observeQuery() will emit a first snapshot of the results.
+        Model model = RandomModel.model();
+        List<Model> items = Collections.singletonList(model);
+        DataStoreQuerySnapshot<Model> snapshot =
+            new DataStoreQuerySnapshot<>(items, items, Collections.emptyList(), Collections.emptyList());
+        QueryOptions options = Where.matchesAll();
+        doAnswer(invocation -> {
+            // 0 = clazz, 1 = options, 2 = onStart, 3 = onSnapshot, 4 = onFailure, 5 = onComplete
+            final int positionOfOnStart = 2;
+            Consumer<Cancelable> onStart = invocation.getArgument(positionOfOnStart);
+            onStart.accept(new NoOpCancelable());
+
+            final int positionOfOnSnapshot = 3;
+            Consumer<DataStoreQuerySnapshot<Model>> onSnapshot = invocation.getArgument(positionOfOnSnapshot);
+            onSnapshot.accept(snapshot);
+
+            return null; // "void"
+        }).when(delegate)
+            .observeQuery(eq(Model.class), eq(options), anyConsumer(), anyConsumer(), anyConsumer(), anyAction());
+
+        // Act: observe the query via Rx binding
+        TestObserver<DataStoreQuerySnapshot<Model>> observer = rxDataStore.observeQuery(Model.class, options).test();
+
+        // Assert: the snapshot is observed
+        observer
+            .awaitCount(1)
+            .assertValue(snapshot);
+
+        verify(delegate)
+            .observeQuery(eq(Model.class), eq(options), anyConsumer(), anyConsumer(), anyConsumer(), anyAction());
+    }
+
     /**
      * The Rx binding for the DataStore's start() method will propagate failures
      * faithfully from the underlying delegate.
@@ -519,4 +712,22 @@ public final class RxDataStoreBindingTest {
         observer.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
         observer.assertComplete();
     }
+
+    // Answers queries for Model.class with the window of the models that the options paginate to.
+    private void answerQueriesFrom(List<Model> models) {
+        doAnswer(invocation -> {
+            // 0 = clazz, 1 = options, 2 = result consumer, 3 = error consumer
+            final int positionOfOptions = 1;
+            final int positionOfResultConsumer = 2;
+            QueryOptions options = invocation.getArgument(positionOfOptions);
+            QueryPaginationInput page = options.getPaginationInput();
+            Model lastSeenItem = page.getLastSeenItem();
+            int from = lastSeenItem == null ? 0 : models.indexOf(lastSeenItem) + 1;
+            int to = Math.min(models.size(), from + page.getLimit());
+            Consumer<Iterator<Model>> resultConsumer = invocation.getArgument(positionOfResultConsumer);
+            resultConsumer.accept(models.subList(from, to).iterator());
+            return null; // "void"
+        }).when(delegate)
+            .query(eq(Model.class), any(QueryOptions.class), anyConsumer(), anyConsumer());
+    }
 }